@@ -21,6 +21,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.InstanceRequestCache;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
@@ -577,8 +578,9 @@ public class AssetCatalogService {
 
     private List<AssetDescription> searchAssets(String serverName, String userId, String searchCriteria, boolean containsConnectionDetails) throws PropertyServerException, RepositoryErrorException, UserNotAuthorizedException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityNotKnownException, EntityProxyOnlyException, TypeDefNotKnownException {
         setMetadataRepositoryDetails(serverName, userId);
-        List<AssetDescription> assetDescriptions = processAssetsBySearchCriteria(userId, searchCriteria);
-        setAssetsConnection(userId, assetDescriptions, containsConnectionDetails);
+        InstanceRequestCache instanceCache = new InstanceRequestCache(metadataCollectionForSearch, userId);
+        List<AssetDescription> assetDescriptions = processAssetsBySearchCriteria(instanceCache, searchCriteria);
+        setAssetsConnection(instanceCache, assetDescriptions, containsConnectionDetails);
         return assetDescriptions;
     }
 
@@ -589,24 +591,24 @@ public class AssetCatalogService {
         this.serverName = serverName;
     }
 
-    private List<AssetDescription> processAssetsBySearchCriteria(String userId, String searchCriteria) throws UserNotAuthorizedException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityNotKnownException, EntityProxyOnlyException, TypeDefNotKnownException {
-        List<EntityDetail> matchCriteriaEntities = findEntitiesBySearchCriteria(metadataCollectionForSearch, userId, searchCriteria);
+    private List<AssetDescription> processAssetsBySearchCriteria(InstanceRequestCache instanceCache, String searchCriteria) throws UserNotAuthorizedException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityNotKnownException, EntityProxyOnlyException, TypeDefNotKnownException {
+        List<EntityDetail> matchCriteriaEntities = findEntitiesBySearchCriteria(instanceCache.getMetadataCollection(), instanceCache.getUserId(), searchCriteria);
         List<AssetDescription> assetDescriptions = new ArrayList<>(matchCriteriaEntities.size());
 
         for (EntityDetail entityDetail : matchCriteriaEntities) {
             final InstanceType entityType = entityDetail.getType();
             if (entityType.getTypeDefName().equals(GLOSSARY_TERM)) {
-                AssetDescription assetDescription = processGlossaryTerm(userId, entityDetail);
+                AssetDescription assetDescription = processGlossaryTerm(instanceCache, entityDetail);
                 assetDescriptions.add(assetDescription);
             } else if (hasSuperTypeAsset(entityType) || hasSuperTypeSchemaAttribute(entityType)) {
-                AssetDescription assetDescription = processAsset(userId, entityDetail);
+                AssetDescription assetDescription = processAsset(instanceCache, entityDetail);
                 assetDescriptions.add(assetDescription);
             }
         }
         return assetDescriptions;
     }
 
-    private void setAssetsConnection(String userId, List<AssetDescription> assetDescriptions, boolean containsDetails) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException, PropertyServerException {
+    private void setAssetsConnection(InstanceRequestCache instanceCache, List<AssetDescription> assetDescriptions, boolean containsDetails) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException, PropertyServerException {
 
         for (AssetDescription assetDescription : assetDescriptions) {
 
@@ -616,9 +618,9 @@ public class AssetCatalogService {
                     if (context.getDatabase() != null && context.getDatabase().getGuid() != null) {
                         Connection connection;
                         if (containsDetails) {
-                            connection = getConnectionDetails(metadataCollectionForSearch, userId, context.getDatabase().getGuid());
+                            connection = getConnectionDetails(instanceCache, context.getDatabase().getGuid());
                         } else {
-                            connection = getConnectionId(userId, context.getDatabase().getGuid());
+                            connection = getConnectionId(instanceCache, context.getDatabase().getGuid());
 
                         }
                         context.setConnection(connection);
@@ -882,36 +884,19 @@ public class AssetCatalogService {
         return null;
     }
 
-    private List<Relationship> getRelationshipByType(OMRSMetadataCollection metadataCollection, String userId, String entityGUID, String relationshipType) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, TypeDefNotKnownException {
-        String typeGuid = getTypeName(userId, relationshipType, metadataCollection);
+    private List<Relationship> getRelationshipByType(InstanceRequestCache instanceCache, String entityGUID, String relationshipType) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, TypeDefNotKnownException {
+        String typeGuid = instanceCache.getTypeDefGUID(relationshipType);
 
-        List<InstanceStatus> instanceStatuses = new ArrayList<>(1);
-        instanceStatuses.add(InstanceStatus.ACTIVE);
-
-        List<Relationship> relationshipsForEntity = metadataCollection.getRelationshipsForEntity(userId,
-                entityGUID,
-                typeGuid,
-                0,
-                instanceStatuses,
-                null,
-                null,
-                SequencingOrder.ANY,
-                0);
-        if (relationshipsForEntity != null) {
-            return relationshipsForEntity;
-        }
-
-        return new ArrayList<>();
+        return instanceCache.getRelationshipsForEntity(entityGUID, typeGuid);
     }
 
-    private AssetDescription processGlossaryTerm(String userId, EntityDetail entityDetail) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private AssetDescription processGlossaryTerm(InstanceRequestCache instanceCache, EntityDetail entityDetail) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
         AssetDescription assetDescription = converter.getAssetDescription(entityDetail);
 
-        final List<Relationship> relationshipsToColumn = getRelationshipByType(metadataCollectionForSearch,
-                userId,
+        final List<EntityDetail> assignedColumns = getTheEndsRelationship(instanceCache,
                 entityDetail.getGUID(),
                 Constants.SEMANTIC_ASSIGNMENT);
-        final List<Context> glossaryTermConnections = getGlossaryTermConnections(userId, entityDetail, relationshipsToColumn);
+        final List<Context> glossaryTermConnections = getGlossaryTermConnections(instanceCache, assignedColumns);
 
         if (!glossaryTermConnections.isEmpty()) {
             assetDescription.setContexts(glossaryTermConnections);
@@ -920,9 +905,9 @@ public class AssetCatalogService {
         return assetDescription;
     }
 
-    private AssetDescription processAsset(String userId, EntityDetail entityDetail) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private AssetDescription processAsset(InstanceRequestCache instanceCache, EntityDetail entityDetail) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
         AssetDescription assetDescription = converter.getAssetDescription(entityDetail);
-        Context context = getConnectionToAsset(metadataCollectionForSearch, userId, entityDetail);
+        Context context = getConnectionToAsset(instanceCache, entityDetail);
 
         if (context != null) {
             List<Context> contexts = new ArrayList<>();
@@ -933,12 +918,12 @@ public class AssetCatalogService {
         return assetDescription;
     }
 
-    private List<Context> getGlossaryTermConnections(String userId, EntityDetail entityDetail, List<Relationship> relationshipsToColumn) throws UserNotAuthorizedException, RepositoryErrorException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException, FunctionNotSupportedException, PropertyErrorException, TypeErrorException, PagingErrorException, TypeDefNotKnownException {
+    private List<Context> getGlossaryTermConnections(InstanceRequestCache instanceCache, List<EntityDetail> assignedColumns) throws UserNotAuthorizedException, RepositoryErrorException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException, FunctionNotSupportedException, PropertyErrorException, TypeErrorException, PagingErrorException, TypeDefNotKnownException {
         List<Context> contexts = new ArrayList<>();
 
-        if (!relationshipsToColumn.isEmpty()) {
-            for (Relationship relationship : relationshipsToColumn) {
-                final Context context = processColumn(userId, entityDetail, relationship);
+        for (EntityDetail relationalColumn : assignedColumns) {
+            if (relationalColumn != null) {
+                final Context context = getConnectionToAsset(instanceCache, relationalColumn);
                 if (context != null) {
                     contexts.add(context);
                 }
@@ -947,37 +932,29 @@ public class AssetCatalogService {
         return contexts;
     }
 
-    private Context processColumn(String userId, EntityDetail entityDetail, Relationship relationship) throws UserNotAuthorizedException, RepositoryErrorException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException, FunctionNotSupportedException, PropertyErrorException, TypeErrorException, PagingErrorException, TypeDefNotKnownException {
-        final EntityDetail relationalColumn = getThePairEntity(metadataCollectionForSearch, userId, entityDetail.getGUID(), relationship);
-        if (relationalColumn != null) {
-            return getConnectionToAsset(metadataCollectionForSearch, userId, relationalColumn);
-        }
-        return null;
-    }
-
-    private Context getConnectionToAsset(OMRSMetadataCollection metadataCollection, String userId, EntityDetail entityDetail) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private Context getConnectionToAsset(InstanceRequestCache instanceCache, EntityDetail entityDetail) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
         String typeDefName = entityDetail.getType().getTypeDefName();
 
         switch (typeDefName) {
             case Constants.RELATIONAL_COLUMN:
-                return processColumn(metadataCollection, userId, entityDetail);
+                return processColumn(instanceCache, entityDetail);
             case Constants.RELATIONAL_TABLE:
-                return processTable(userId, entityDetail);
+                return processTable(instanceCache, entityDetail);
             case Constants.DATA_STORE:
                 return processDataStore(entityDetail);
             case Constants.DEPLOYED_DB_SCHEMA_TYPE:
-                return processDataSet(userId, entityDetail);
+                return processDataSet(instanceCache, entityDetail);
             default:
                 return null;
         }
     }
 
-    private Context processDataSet(String userId, EntityDetail entityDetail)
+    private Context processDataSet(InstanceRequestCache instanceCache, EntityDetail entityDetail)
             throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
         Context context = new Context();
 
         String dataSetName = converter.getStringPropertyValue(entityDetail.getProperties(), Constants.DISPLAY_NAME);
-        getDataSet(userId, entityDetail, context, dataSetName);
+        getDataSet(instanceCache, entityDetail, context, dataSetName);
 
         return context;
     }
@@ -993,27 +970,27 @@ public class AssetCatalogService {
         return context;
     }
 
-    private Context processTable(String userId, EntityDetail relationalTable) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private Context processTable(InstanceRequestCache instanceCache, EntityDetail relationalTable) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
         Context context = new Context();
-        getDatabaseSchema(userId, relationalTable, context);
+        getDatabaseSchema(instanceCache, relationalTable, context);
         return context;
     }
 
-    private Context processColumn(OMRSMetadataCollection metadataCollection, String userId, EntityDetail relationalColumn)
+    private Context processColumn(InstanceRequestCache instanceCache, EntityDetail relationalColumn)
             throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException,
             PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
 
         Context context = new Context();
 
-        Column column = getColumn(metadataCollection, userId, relationalColumn);
+        Column column = getColumn(instanceCache, relationalColumn);
         context.setColumn(column);
-        getTable(userId, relationalColumn, context);
+        getTable(instanceCache, relationalColumn, context);
 
         return context;
     }
 
-    private void getDataSet(String userId, EntityDetail entityDetail, Context context, String dataSetName) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
-        EntityDetail dataSet = getTheEndOfRelationship(userId, entityDetail.getGUID(), Constants.DATA_CONTENT_FOR_DATA_SET);
+    private void getDataSet(InstanceRequestCache instanceCache, EntityDetail entityDetail, Context context, String dataSetName) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+        EntityDetail dataSet = getTheEndOfRelationship(instanceCache, entityDetail.getGUID(), Constants.DATA_CONTENT_FOR_DATA_SET);
 
         if (dataSet != null) {
             Database database = getDatabase(dataSet);
@@ -1025,37 +1002,37 @@ public class AssetCatalogService {
         }
     }
 
-    private void getTable(String userId, EntityDetail relationalColumn, Context context) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private void getTable(InstanceRequestCache instanceCache, EntityDetail relationalColumn, Context context) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
 
-        final EntityDetail relationalTableType = getTheEndOfRelationship(userId, relationalColumn.getGUID(), Constants.ATTRIBUTE_FOR_SCHEMA);
+        final EntityDetail relationalTableType = getTheEndOfRelationship(instanceCache, relationalColumn.getGUID(), Constants.ATTRIBUTE_FOR_SCHEMA);
         if (relationalTableType != null) {
-            EntityDetail relationalTable = getTheEndOfRelationship(userId, relationalTableType.getGUID(), Constants.SCHEMA_ATTRIBUTE_TYPE);
+            EntityDetail relationalTable = getTheEndOfRelationship(instanceCache, relationalTableType.getGUID(), Constants.SCHEMA_ATTRIBUTE_TYPE);
             if (relationalTable != null) {
                 Table table = getTable(relationalTableType, relationalTable);
                 context.setTable(table);
 
-                getDatabaseSchema(userId, relationalTable, context);
+                getDatabaseSchema(instanceCache, relationalTable, context);
             }
         }
 
     }
 
-    private void getDatabaseSchema(String userId, EntityDetail relationalTable, Context context) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
-        final EntityDetail relationalDbSchemaType = getTheEndOfRelationship(userId, relationalTable.getGUID(), Constants.ATTRIBUTE_FOR_SCHEMA);
+    private void getDatabaseSchema(InstanceRequestCache instanceCache, EntityDetail relationalTable, Context context) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+        final EntityDetail relationalDbSchemaType = getTheEndOfRelationship(instanceCache, relationalTable.getGUID(), Constants.ATTRIBUTE_FOR_SCHEMA);
         if (relationalDbSchemaType != null) {
             Schema schema = getSchema(relationalDbSchemaType);
             context.setSchema(schema);
 
-            final EntityDetail deployedDbSchema = getTheEndOfRelationship(userId, relationalDbSchemaType.getGUID(), Constants.ASSET_SCHEMA_TYPE);
+            final EntityDetail deployedDbSchema = getTheEndOfRelationship(instanceCache, relationalDbSchemaType.getGUID(), Constants.ASSET_SCHEMA_TYPE);
             if (deployedDbSchema != null && deployedDbSchema.getProperties() != null) {
                 String dataSetName = converter.getStringPropertyValue(deployedDbSchema.getProperties(), Constants.DISPLAY_NAME);
-                getDataSet(userId, context, deployedDbSchema, dataSetName);
+                getDataSet(instanceCache, context, deployedDbSchema, dataSetName);
             }
         }
     }
 
-    private void getDataSet(String userId, Context context, EntityDetail deployedDbSchema, String dataSetName) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
-        EntityDetail dataSet = getTheEndOfRelationship(userId, deployedDbSchema.getGUID(), Constants.DATA_CONTENT_FOR_DATA_SET);
+    private void getDataSet(InstanceRequestCache instanceCache, Context context, EntityDetail deployedDbSchema, String dataSetName) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+        EntityDetail dataSet = getTheEndOfRelationship(instanceCache, deployedDbSchema.getGUID(), Constants.DATA_CONTENT_FOR_DATA_SET);
         if (dataSet != null) {
             Database database = getDatabase(dataSet);
             if (database != null) {
@@ -1065,13 +1042,13 @@ public class AssetCatalogService {
         }
     }
 
-    private Connection getConnectionDetails(OMRSMetadataCollection metadataCollection, String userId, String dataSetGuid) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException, PropertyServerException {
-        final EntityDetail connectionEntity = getTheEndOfRelationship(userId, dataSetGuid, Constants.CONNECTION_TO_ASSET);
+    private Connection getConnectionDetails(InstanceRequestCache instanceCache, String dataSetGuid) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException, PropertyServerException {
+        final EntityDetail connectionEntity = getTheEndOfRelationship(instanceCache, dataSetGuid, Constants.CONNECTION_TO_ASSET);
 
         if (connectionEntity != null) {
             Connection connection = getConnection(connectionEntity);
-            Connector connectorType = getConnectorType(metadataCollection, userId, connectionEntity);
-            Endpoint endpoint = getEndpoint(metadataCollection, userId, connectionEntity);
+            Connector connectorType = getConnectorType(instanceCache, connectionEntity);
+            Endpoint endpoint = getEndpoint(instanceCache, connectionEntity);
 
             if (connectorType != null) {
                 connection.setConnector(connectorType);
@@ -1085,8 +1062,8 @@ public class AssetCatalogService {
         return null;
     }
 
-    private Connection getConnectionId(String userId, String dataSetGuid) throws InvalidParameterException, TypeDefNotKnownException, PropertyErrorException, EntityProxyOnlyException, EntityNotKnownException, FunctionNotSupportedException, PagingErrorException, UserNotAuthorizedException, TypeErrorException, RepositoryErrorException {
-        final EntityDetail connectionEntity = getTheEndOfRelationship(userId, dataSetGuid, Constants.CONNECTION_TO_ASSET);
+    private Connection getConnectionId(InstanceRequestCache instanceCache, String dataSetGuid) throws InvalidParameterException, TypeDefNotKnownException, PropertyErrorException, EntityProxyOnlyException, EntityNotKnownException, FunctionNotSupportedException, PagingErrorException, UserNotAuthorizedException, TypeErrorException, RepositoryErrorException {
+        final EntityDetail connectionEntity = getTheEndOfRelationship(instanceCache, dataSetGuid, Constants.CONNECTION_TO_ASSET);
 
         if (connectionEntity != null) {
             Connection connection = new Connection();
@@ -1097,11 +1074,11 @@ public class AssetCatalogService {
     }
 
 
-    private Column getColumn(OMRSMetadataCollection metadataCollection, String userId, EntityDetail relationalColumn) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private Column getColumn(InstanceRequestCache instanceCache, EntityDetail relationalColumn) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
         Column column = new Column();
 
         column.setName(converter.getStringPropertyValue(relationalColumn.getProperties(), Constants.NAME));
-        column.setType(getColumnType(metadataCollection, userId, relationalColumn));
+        column.setType(getColumnType(instanceCache, relationalColumn));
         column.setGuid(relationalColumn.getGUID());
 
         return column;
@@ -1123,11 +1100,11 @@ public class AssetCatalogService {
         return connection;
     }
 
-    private Endpoint getEndpoint(OMRSMetadataCollection metadataCollection, String userId, EntityDetail connectionEntity) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
-        final List<Relationship> relationshipsToEndpoint = getRelationshipByType(metadataCollection, userId, connectionEntity.getGUID(), Constants.CONNECTION_ENDPOINT);
+    private Endpoint getEndpoint(InstanceRequestCache instanceCache, EntityDetail connectionEntity) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+        final List<Relationship> relationshipsToEndpoint = getRelationshipByType(instanceCache, connectionEntity.getGUID(), Constants.CONNECTION_ENDPOINT);
 
         if (!relationshipsToEndpoint.isEmpty()) {
-            final EntityDetail endpointEntity = getThePairEntity(metadataCollection, userId, connectionEntity.getGUID(), relationshipsToEndpoint.get(0));
+            final EntityDetail endpointEntity = getThePairEntity(instanceCache, connectionEntity.getGUID(), relationshipsToEndpoint.get(0));
             if (endpointEntity != null) {
                 return getEndpoint(endpointEntity);
             }
@@ -1149,12 +1126,11 @@ public class AssetCatalogService {
         return endpoint;
     }
 
-    private Connector getConnectorType(OMRSMetadataCollection metadataCollection, String userId, EntityDetail connectionEntity) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException, PropertyServerException {
-        final List<Relationship> relationshipsToConnectorType = getRelationshipByType(metadataCollection, userId, connectionEntity.getGUID(), Constants.CONNECTION_CONNECTOR_TYPE);
+    private Connector getConnectorType(InstanceRequestCache instanceCache, EntityDetail connectionEntity) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException, PropertyServerException {
+        final List<Relationship> relationshipsToConnectorType = getRelationshipByType(instanceCache, connectionEntity.getGUID(), Constants.CONNECTION_CONNECTOR_TYPE);
 
         if (!relationshipsToConnectorType.isEmpty()) {
-            final EntityDetail connectorType = getThePairEntity(metadataCollection,
-                    userId,
+            final EntityDetail connectorType = getThePairEntity(instanceCache,
                     connectionEntity.getGUID(),
                     relationshipsToConnectorType.get(0));
             if (connectorType != null) {
@@ -1234,12 +1210,8 @@ public class AssetCatalogService {
         return database;
     }
 
-    private EntityDetail getThePairEntity(OMRSMetadataCollection metadataCollection, String userId, String entityDetailGUID, Relationship relationship) throws UserNotAuthorizedException, RepositoryErrorException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException {
-        if (relationship.getEntityOneProxy().getGUID().equals(entityDetailGUID)) {
-            return metadataCollection.getEntityDetail(userId, relationship.getEntityTwoProxy().getGUID());
-        } else {
-            return metadataCollection.getEntityDetail(userId, relationship.getEntityOneProxy().getGUID());
-        }
+    private EntityDetail getThePairEntity(InstanceRequestCache instanceCache, String entityDetailGUID, Relationship relationship) throws UserNotAuthorizedException, RepositoryErrorException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException {
+        return instanceCache.getOtherEnd(entityDetailGUID, relationship);
     }
 
     private List<EntityDetail> findEntitiesByClassifications(String serverName, String userId, String assetTypeId,
@@ -1410,45 +1382,28 @@ public class AssetCatalogService {
         return relatedEntities;
     }
 
-    private List<Relationship> getRelationshipsByAssetId(String userId, String entityId, String relationshipType) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, TypeDefNotKnownException {
-
-        return getRelationshipByType(metadataCollectionForSearch,
-                userId,
-                entityId,
-                relationshipType);
-    }
-
-    private EntityDetail getTheEndOfRelationship(String userId, String assetId, String relationshipType) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private EntityDetail getTheEndOfRelationship(InstanceRequestCache instanceCache, String assetId, String relationshipType) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
 
-        List<Relationship> relationshipsToColumnTypes = getRelationshipsByAssetId(userId, assetId, relationshipType);
+        List<Relationship> relationshipsToColumnTypes = getRelationshipByType(instanceCache, assetId, relationshipType);
 
         if (relationshipsToColumnTypes.isEmpty() || relationshipsToColumnTypes.size() != 1) {
             return null;
         }
 
-        return getThePairEntity(metadataCollectionForSearch, userId, assetId, relationshipsToColumnTypes.get(0));
+        return getThePairEntity(instanceCache, assetId, relationshipsToColumnTypes.get(0));
     }
 
-    private List<EntityDetail> getTheEndsRelationship(String userId, String assetId, String relationshipType) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private List<EntityDetail> getTheEndsRelationship(InstanceRequestCache instanceCache, String assetId, String relationshipType) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+        String typeGuid = instanceCache.getTypeDefGUID(relationshipType);
 
-        List<Relationship> relationships = getRelationshipsByAssetId(userId, assetId, relationshipType);
-
-        if (relationships.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        List<EntityDetail> entityDetails = new ArrayList<>(relationships.size());
-        for (Relationship relationship : relationships) {
-            entityDetails.add(getThePairEntity(metadataCollectionForSearch, userId, assetId, relationship));
-        }
-        return entityDetails;
+        return instanceCache.getRelatedEntities(assetId, typeGuid);
     }
 
-    private DataType getColumnType(OMRSMetadataCollection metadataCollection, String userId, EntityDetail relationalColumn) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
-        final List<Relationship> relationshipsToType = getRelationshipByType(metadataCollection, userId, relationalColumn.getGUID(), Constants.SCHEMA_ATTRIBUTE_TYPE);
+    private DataType getColumnType(InstanceRequestCache instanceCache, EntityDetail relationalColumn) throws UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+        final List<Relationship> relationshipsToType = getRelationshipByType(instanceCache, relationalColumn.getGUID(), Constants.SCHEMA_ATTRIBUTE_TYPE);
 
         if (!relationshipsToType.isEmpty()) {
-            final EntityDetail columnType = getThePairEntity(metadataCollection, userId, relationalColumn.getGUID(), relationshipsToType.get(0));
+            final EntityDetail columnType = getThePairEntity(instanceCache, relationalColumn.getGUID(), relationshipsToType.get(0));
 
             if (columnType != null && columnType.getProperties() != null) {
                 return converter.getColumnTypeValue(columnType);
@@ -1498,7 +1453,7 @@ public class AssetCatalogService {
 
         try {
             setMetadataRepositoryDetails(serverName, userId);
-
+            InstanceRequestCache instanceCache = new InstanceRequestCache(metadataCollectionForSearch, userId);
 
             List<EntityDetail> entitiesByType = searchEntityByCriteria(metadataCollectionForSearch, userId, searchCriteria, GLOSSARY_TERM, searchParameters);
 
@@ -1507,7 +1462,7 @@ public class AssetCatalogService {
             for (EntityDetail glossaryTerm : entitiesByType) {
                 Term term = buildTerm(glossaryTerm);
 
-                List<EntityDetail> schemas = getTheEndsRelationship(userId, glossaryTerm.getGUID(), SEMANTIC_ASSIGNMENT);
+                List<EntityDetail> schemas = getTheEndsRelationship(instanceCache, glossaryTerm.getGUID(), SEMANTIC_ASSIGNMENT);
                 List<AssetElement> assets = new ArrayList<>(schemas.size());
 
                 for (EntityDetail schema : schemas) {
@@ -1516,7 +1471,7 @@ public class AssetCatalogService {
                     Element firstElement = buildElement(schema);
                     assetElement.getSubElements().add(firstElement);
 
-                    findAsset(userId, Collections.singletonList(schema), assetElement, knownAssetConnection);
+                    findAsset(instanceCache, Collections.singletonList(schema), assetElement, knownAssetConnection);
                     assets.add(assetElement);
                 }
 
@@ -1535,34 +1490,34 @@ public class AssetCatalogService {
         return response;
     }
 
-    private void findAsset(String userId, List<EntityDetail> entitiesByType, AssetElement assetElement, Map<String, List<Connection>> knownAssetConnection) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private void findAsset(InstanceRequestCache instanceCache, List<EntityDetail> entitiesByType, AssetElement assetElement, Map<String, List<Connection>> knownAssetConnection) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
 
         for (EntityDetail entityDetail : entitiesByType) {
-            List<EntityDetail> theEndOfRelationship = getTheEndsRelationship(userId, entityDetail.getGUID(), ATTRIBUTE_FOR_SCHEMA);
+            List<EntityDetail> theEndOfRelationship = getTheEndsRelationship(instanceCache, entityDetail.getGUID(), ATTRIBUTE_FOR_SCHEMA);
 
             for (EntityDetail entity : theEndOfRelationship) {
                 Optional<TypeDef> isComplexSchemaType = isComplexSchemaType(entity.getType().getTypeDefName());
                 if (isComplexSchemaType.isPresent()) {
-                    EntityDetail dataSet = getTheEndOfRelationship(userId, entity.getGUID(), ASSET_SCHEMA_TYPE);
+                    EntityDetail dataSet = getTheEndOfRelationship(instanceCache, entity.getGUID(), ASSET_SCHEMA_TYPE);
                     assetElement.getSubElements().add(buildElement(dataSet));
 
-                    setAssetDetails(userId, assetElement, knownAssetConnection, dataSet);
+                    setAssetDetails(instanceCache, assetElement, knownAssetConnection, dataSet);
                     return;
                 } else {
-                    List<EntityDetail> schemaAttributeTypeEntities = getTheEndsRelationship(userId, entity.getGUID(), SCHEMA_ATTRIBUTE_TYPE);
+                    List<EntityDetail> schemaAttributeTypeEntities = getTheEndsRelationship(instanceCache, entity.getGUID(), SCHEMA_ATTRIBUTE_TYPE);
                     getSubElements(assetElement, schemaAttributeTypeEntities);
 
-                    findAsset(userId, schemaAttributeTypeEntities, assetElement, knownAssetConnection);
+                    findAsset(instanceCache, schemaAttributeTypeEntities, assetElement, knownAssetConnection);
                 }
             }
         }
     }
 
-    private void setAssetDetails(String userId, AssetElement assetElement, Map<String, List<Connection>> knownAssetConnection, EntityDetail dataSet) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
-        EntityDetail asset = getTheEndOfRelationship(userId, dataSet.getGUID(), DATA_CONTENT_FOR_DATA_SET);
+    private void setAssetDetails(InstanceRequestCache instanceCache, AssetElement assetElement, Map<String, List<Connection>> knownAssetConnection, EntityDetail dataSet) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+        EntityDetail asset = getTheEndOfRelationship(instanceCache, dataSet.getGUID(), DATA_CONTENT_FOR_DATA_SET);
         if (asset != null) {
             setAssetElementAttributes(assetElement, asset);
-            setConnections(userId, assetElement, knownAssetConnection, asset);
+            setConnections(instanceCache, assetElement, knownAssetConnection, asset);
         }
     }
 
@@ -1571,11 +1526,11 @@ public class AssetCatalogService {
         assetElement.getSubElements().addAll(elements);
     }
 
-    private void setConnections(String userId, AssetElement assetElement, Map<String, List<Connection>> knownAssetConnection, EntityDetail asset) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+    private void setConnections(InstanceRequestCache instanceCache, AssetElement assetElement, Map<String, List<Connection>> knownAssetConnection, EntityDetail asset) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
         if (knownAssetConnection.containsKey(asset.getGUID())) {
             assetElement.setConnectionIds(knownAssetConnection.get(asset.getGUID()));
         } else {
-            List<Connection> connections = getConnections(userId, asset.getGUID());
+            List<Connection> connections = getConnections(instanceCache, asset.getGUID());
             knownAssetConnection.put(asset.getGUID(), connections);
             assetElement.setConnectionIds(connections);
         }
@@ -1619,8 +1574,8 @@ public class AssetCatalogService {
         return allTypes.getTypeDefs().stream().filter(t -> t.getName().equals(typeDefName) && t.getSuperType().getName().equals(COMPLEX_SCHEMA_TYPE)).findAny();
     }
 
-    private List<Connection> getConnections(String userId, String dataSetGuid) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
-        List<EntityDetail> connections = getTheEndsRelationship(userId, dataSetGuid, Constants.CONNECTION_TO_ASSET);
+    private List<Connection> getConnections(InstanceRequestCache instanceCache, String dataSetGuid) throws RepositoryErrorException, UserNotAuthorizedException, EntityNotKnownException, FunctionNotSupportedException, InvalidParameterException, PropertyErrorException, TypeErrorException, PagingErrorException, EntityProxyOnlyException, TypeDefNotKnownException {
+        List<EntityDetail> connections = getTheEndsRelationship(instanceCache, dataSetGuid, Constants.CONNECTION_TO_ASSET);
 
         if (!connections.isEmpty()) {
             return connections.stream()
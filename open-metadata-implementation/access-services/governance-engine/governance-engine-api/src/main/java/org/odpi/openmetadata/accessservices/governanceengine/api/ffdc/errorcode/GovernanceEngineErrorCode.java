@@ -60,6 +60,14 @@ public enum GovernanceEngineErrorCode {
             "The text field value passed on the {0} parameter of the {1} operation is null",
             "The system is unable to process the request without this text field value.",
             "Correct the code in the caller to provide the name."),
+    NEGATIVE_PAGE_SIZE(400, "OMAS-GOVERNANCEENGINE-400-012 ",
+            "The page size {0} passed on the {1} parameter of the {2} operation is negative",
+            "The system is unable to process the request with a negative page size.",
+            "Correct the code in the caller to provide a page size of zero or more."),
+    INVALID_SYNC_TOKEN(400, "OMAS-GOVERNANCEENGINE-400-013 ",
+            "The sync token {0} passed on the {1} parameter of the {2} operation is not valid",
+            "The system is unable to process the request because it can not tell which changes have been seen.",
+            "Correct the code in the caller to pass a sync token returned by an earlier request, or no token to retrieve all of the assets."),
     OMRS_NOT_INITIALIZED(404, "OMAS-GOVERNANCEENGINE-404-001 ",
             "The open metadata repository services are not initialized for the {0} operation",
             "The system is unable to connect to the open metadata property handlers.",
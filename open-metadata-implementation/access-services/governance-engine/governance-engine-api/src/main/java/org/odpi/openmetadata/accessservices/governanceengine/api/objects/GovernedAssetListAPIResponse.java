@@ -21,6 +21,7 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class GovernedAssetListAPIResponse extends GovernanceEngineOMASAPIResponse {
     private List<GovernedAsset> assetList = null;
+    private String syncToken = null;
 
     /**
      * Default constructor
@@ -47,6 +48,28 @@ public class GovernedAssetListAPIResponse extends GovernanceEngineOMASAPIRespons
         this.assetList = assetList;
     }
 
+    /**
+     * Return the token to pass on a later request to only retrieve the assets that change after this request.
+     * When the assets are read in pages, keep the token returned with the first page.  The assets returned for
+     * the token are the ones that have been added or updated; assets that have lost their classifications or been
+     * deleted are not reported.  The token overlaps the newest changes that were read, so an asset may be returned
+     * again even though it has not changed.
+     *
+     * @return sync token
+     */
+    public String getSyncToken() {
+        return syncToken;
+    }
+
+    /**
+     * Set up the token to pass on a later request to only retrieve the assets that change after this request.
+     *
+     * @param syncToken - sync token
+     */
+    public void setSyncToken(String syncToken) {
+        this.syncToken = syncToken;
+    }
+
 
 
 }
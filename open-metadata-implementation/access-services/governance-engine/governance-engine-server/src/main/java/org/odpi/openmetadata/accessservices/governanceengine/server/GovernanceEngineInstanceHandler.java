@@ -4,6 +4,7 @@ package org.odpi.openmetadata.accessservices.governanceengine.server;
 
 import org.odpi.openmetadata.accessservices.governanceengine.api.ffdc.errorcode.GovernanceEngineErrorCode;
 import org.odpi.openmetadata.accessservices.governanceengine.api.ffdc.exceptions.PropertyServerException;
+import org.odpi.openmetadata.accessservices.governanceengine.server.handlers.GovernedAssetCursorCache;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
@@ -107,4 +108,32 @@ class GovernanceEngineInstanceHandler {
                     errorCode.getUserAction());
         }
     }
+
+
+    /**
+     * Return the cursors for paged reads of the governed assets from this server.
+     *
+     * @param serverName name of the server tied to the request
+     * @return GovernedAssetCursorCache object
+     * @throws PropertyServerException no available instance for the requested server
+     */
+    GovernedAssetCursorCache getGovernedAssetCursorCache(String serverName) throws PropertyServerException {
+        GovernanceEngineServicesInstance instance = instanceMap.getInstance(serverName);
+
+        if (instance != null) {
+            return instance.getGovernedAssetCursorCache();
+        } else {
+            final String methodName = "getGovernedAssetCursorCache";
+
+            GovernanceEngineErrorCode errorCode = GovernanceEngineErrorCode.SERVICE_NOT_INITIALIZED;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(serverName, methodName);
+
+            throw new PropertyServerException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
+        }
+    }
 }
@@ -134,6 +134,10 @@ public class GovernanceEngineRESTServices {
      * @param userId         - String - userId of user making request.
      * @param classification - this may be the qualifiedName or displayName of the connection.
      * @param type           types to start query from
+     * @param syncToken      only return the assets that have changed since the token was returned - null for all;
+     *                       a delta read does not report assets that have lost their classifications
+     * @param startAfterGuid guid of the last asset on the previous page - null for the first page
+     * @param pageSize       maximum number of assets to return - 0 for all of them
      * @return GovernedAssetComponentList or
      * InvalidParameterException - one of the parameters is null or invalid.
      * UnrecognizedConnectionNameException - there is no connection defined for this name.
@@ -144,14 +148,19 @@ public class GovernanceEngineRESTServices {
     public GovernedAssetListAPIResponse getGovernedAssets(String serverName,
                                                           String userId,
                                                           List<String> classification,
-                                                          List<String> type) {
+                                                          List<String> type,
+                                                          String syncToken,
+                                                          String startAfterGuid,
+                                                          int pageSize) {
         log.debug("Calling method: getGovernedAssets");
         GovernedAssetListAPIResponse response = new GovernedAssetListAPIResponse();
 
         try {
-            GovernedAssetHandler governedAssetHandler = new GovernedAssetHandler(instanceHandler.getRepositoryConnector(serverName));
+            GovernedAssetHandler governedAssetHandler = new GovernedAssetHandler(instanceHandler.getRepositoryConnector(serverName),
+                    instanceHandler.getGovernedAssetCursorCache(serverName));
 
-            response.setGovernedAssetList(governedAssetHandler.getGovernedAssets(userId, classification, type));
+            response.setGovernedAssetList(governedAssetHandler.getGovernedAssets(userId, classification, type, syncToken, startAfterGuid, pageSize));
+            response.setSyncToken(governedAssetHandler.getSyncToken());
         } catch (InvalidParameterException error) {
             exceptionHandler.captureInvalidParameterException(response, error);
         } catch (MetadataServerException error) {
@@ -5,6 +5,7 @@ package org.odpi.openmetadata.accessservices.governanceengine.server;
 import org.odpi.openmetadata.accessservices.governanceengine.api.ffdc.errorcode.GovernanceEngineErrorCode;
 import org.odpi.openmetadata.accessservices.governanceengine.api.ffdc.exceptions.NewInstanceException;
 import org.odpi.openmetadata.accessservices.governanceengine.api.ffdc.exceptions.PropertyServerException;
+import org.odpi.openmetadata.accessservices.governanceengine.server.handlers.GovernedAssetCursorCache;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
@@ -19,6 +20,7 @@ public class GovernanceEngineServicesInstance {
     private OMRSMetadataCollection metadataCollection;
     private String serverName;
     private AccessServiceDescription myDescription = AccessServiceDescription.GOVERNANCE_ENGINE_OMAS;
+    private GovernedAssetCursorCache governedAssetCursorCache = new GovernedAssetCursorCache();
 
     /**
      * Set up the local repository connector that will service the REST Calls.
@@ -148,6 +150,16 @@ public class GovernanceEngineServicesInstance {
     }
 
 
+    /**
+     * Return the cursors for paged reads of the governed assets from this server.
+     *
+     * @return GovernedAssetCursorCache object
+     */
+    public GovernedAssetCursorCache getGovernedAssetCursorCache() {
+        return governedAssetCursorCache;
+    }
+
+
     /**
      * Unregister this instance from the instance map.
      */
@@ -102,4 +102,64 @@ public final class GovernanceEngineValidator {
         // NULL is valid, so no further checks for now
         return;
     }
+
+    /**
+     * Throw an exception if the supplied page size is negative
+     *
+     * @param pageSize      - page size to validate
+     * @param parameterName - name of the parameter that passed the page size.
+     * @param methodName    - name of the method making the call.
+     * @throws InvalidParameterException - the page size is negative
+     */
+    public static void validatePageSize(int pageSize,
+                                        String parameterName,
+                                        String methodName) throws InvalidParameterException {
+        if (pageSize < 0) {
+            GovernanceEngineErrorCode errorCode = GovernanceEngineErrorCode.NEGATIVE_PAGE_SIZE;
+            String errorMessage = errorCode.getErrorMessageId()
+                    + errorCode.getFormattedErrorMessage(Integer.toString(pageSize), parameterName, methodName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                    MethodHandles.lookup().lookupClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
+        }
+    }
+
+    /**
+     * Throw an exception if the supplied sync token was not issued by the governance engine
+     *
+     * @param syncToken     - sync token to validate - null is valid
+     * @param parameterName - name of the parameter that passed the sync token.
+     * @param methodName    - name of the method making the call.
+     * @throws InvalidParameterException - the sync token is not valid
+     */
+    public static void validateSyncToken(String syncToken,
+                                         String parameterName,
+                                         String methodName) throws InvalidParameterException {
+        if (syncToken == null) {
+            return;
+        }
+
+        try {
+            if (Long.parseLong(syncToken) >= 0) {
+                return;
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Sync token {} is not a number", syncToken);
+        }
+
+        GovernanceEngineErrorCode errorCode = GovernanceEngineErrorCode.INVALID_SYNC_TOKEN;
+        String errorMessage = errorCode.getErrorMessageId()
+                + errorCode.getFormattedErrorMessage(syncToken, parameterName, methodName);
+
+        throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                MethodHandles.lookup().lookupClass().getName(),
+                methodName,
+                errorMessage,
+                errorCode.getSystemAction(),
+                errorCode.getUserAction());
+    }
 }
@@ -0,0 +1,102 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.governanceengine.server.handlers;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * GovernedAssetCursorCache keeps the governed entities that have not yet been returned by a paged read of the
+ * governed assets, with the sync token of the read.  The remaining entities are saved under the query and the guid
+ * of the last asset on the page, so a request for the next page picks them up rather than running the
+ * classification searches again.
+ * <p>
+ * The cache holds a limited number of cursors and discards cursors that have not been used for a while.  If there
+ * is no cursor for a request, the searches are run again and the page starts after the requested guid.
+ */
+public class GovernedAssetCursorCache {
+
+    private static final int MAX_CURSORS = 100;
+    private static final long CURSOR_TIMEOUT = 5 * 60 * 1000;
+
+    private final Map<String, SavedCursor> savedCursors = new LinkedHashMap<String, SavedCursor>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SavedCursor> eldest) {
+            return size() > MAX_CURSORS;
+        }
+    };
+
+    /**
+     * Return the cursor holding the entities remaining for a query after the requested guid.  The cursor is removed
+     * from the cache so that it is only used by one request.
+     *
+     * @param queryKey       - string identifying the query (excluding its startAfterGuid).
+     * @param startAfterGuid - guid of the last asset on the previous page.
+     * @return cursor, or null if there is no saved cursor
+     */
+    SavedCursor getCursor(String queryKey, String startAfterGuid) {
+        if (startAfterGuid == null) {
+            return null;
+        }
+
+        SavedCursor savedCursor;
+        synchronized (savedCursors) {
+            savedCursor = savedCursors.remove(getCursorKey(queryKey, startAfterGuid));
+        }
+
+        if (savedCursor != null && System.currentTimeMillis() - savedCursor.savedTime < CURSOR_TIMEOUT) {
+            return savedCursor;
+        }
+        return null;
+    }
+
+    /**
+     * Save the entities remaining for a query so they can be used to return the next page.  Nothing is saved if
+     * all of the entities have been returned.
+     *
+     * @param queryKey          - string identifying the query (excluding its startAfterGuid).
+     * @param lastGuid          - guid of the last asset on the page that has been returned.
+     * @param remainingEntities - entities after lastGuid ordered by guid.
+     * @param syncToken         - sync token of the read.
+     */
+    void saveCursor(String queryKey, String lastGuid, NavigableMap<String, EntityDetail> remainingEntities, String syncToken) {
+        if (lastGuid == null || remainingEntities == null || remainingEntities.isEmpty()) {
+            return;
+        }
+
+        synchronized (savedCursors) {
+            savedCursors.put(getCursorKey(queryKey, lastGuid), new SavedCursor(remainingEntities, syncToken));
+        }
+    }
+
+    private String getCursorKey(String queryKey, String lastGuid) {
+        return queryKey + '@' + lastGuid;
+    }
+
+    /**
+     * SavedCursor holds the remaining entities and the sync token of a read, and records when they were saved.
+     */
+    static class SavedCursor {
+        private final NavigableMap<String, EntityDetail> remainingEntities;
+        private final String syncToken;
+        private final long savedTime = System.currentTimeMillis();
+
+        SavedCursor(NavigableMap<String, EntityDetail> remainingEntities, String syncToken) {
+            this.remainingEntities = remainingEntities;
+            this.syncToken = syncToken;
+        }
+
+        NavigableMap<String, EntityDetail> getRemainingEntities() {
+            return remainingEntities;
+        }
+
+        String getSyncToken() {
+            return syncToken;
+        }
+    }
+}
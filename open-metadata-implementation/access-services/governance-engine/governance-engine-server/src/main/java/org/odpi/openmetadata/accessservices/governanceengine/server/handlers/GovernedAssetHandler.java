@@ -35,12 +35,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import static org.odpi.openmetadata.accessservices.governanceengine.server.util.Constants.CONFIDENCE;
@@ -59,10 +62,19 @@ import static org.odpi.openmetadata.accessservices.governanceengine.server.util.
  */
 public class GovernedAssetHandler {
 
+    /**
+     * Time in milliseconds that a sync token goes back before the newest change that was read.  Changes saved with
+     * a time up to this much earlier than that change, because they were saved late or by a server whose clock is
+     * behind, are returned by the next delta read.  The changes inside the overlap are returned again, so the
+     * caller must expect to receive an unchanged asset more than once.
+     */
+    public static final long SYNC_TOKEN_OVERLAP = 60 * 1000;
+
     private static final Logger log = LoggerFactory.getLogger(GovernedAssetHandler.class);
     private OMRSMetadataCollection metadataCollection;
+    private GovernedAssetCursorCache cursorCache;
+    private String nextSyncToken;
 
-    private Map<String, String> knownTypeDefs = new HashMap<>();
     private Set<String> governedClassifications = setGovernedClassifications();
     private ContextBuilder contextBuilder = new ContextBuilder();
 
@@ -74,8 +86,21 @@ public class GovernedAssetHandler {
      * @throws MetadataServerException - there is a problem retrieving information from the metadata server
      */
     public GovernedAssetHandler(OMRSRepositoryConnector repositoryConnector) throws MetadataServerException {
+        this(repositoryConnector, new GovernedAssetCursorCache());
+    }
+
+    /**
+     * Construct the connection handler with a link to the property handlers's connector and the cache of the
+     * cursors for paged reads of the governed assets, which is shared by the requests to the server.
+     *
+     * @param repositoryConnector - connector to the property handlers.
+     * @param cursorCache         - cursors for paged reads of the governed assets.
+     * @throws MetadataServerException - there is a problem retrieving information from the metadata server
+     */
+    public GovernedAssetHandler(OMRSRepositoryConnector repositoryConnector, GovernedAssetCursorCache cursorCache) throws MetadataServerException {
         final String methodName = "GovernedAssetHandler";
 
+        this.cursorCache = cursorCache;
         if (repositoryConnector != null) {
             try {
                 this.metadataCollection = repositoryConnector.getMetadataCollection();
@@ -106,13 +131,48 @@ public class GovernedAssetHandler {
     public List<GovernedAsset> getGovernedAssets(String userId,
                                                  List<String> classification,
                                                  List<String> type) throws InvalidParameterException, EntityProxyOnlyException, TypeErrorException, FunctionNotSupportedException, PropertyErrorException, EntityNotKnownException, TypeDefNotKnownException, PagingErrorException, UserNotAuthorizedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException {
+        return getGovernedAssets(userId, classification, type, null, null, 0);
+    }
+
+    /**
+     * Returns a page of the governed assets with associated tags, ordered by the guid of the asset.
+     * <p>
+     * Each classification is queried once, whatever the number of types, and the assets are merged by guid.  Only
+     * the assets on the requested page are built into governed assets.  To read all of the assets, pass the guid of
+     * the last asset of each page as startAfterGuid of the next request until a page has less than pageSize assets.
+     * The assets after a page are kept in the cursor cache, so the next page is served from the results of the
+     * first request rather than by running the searches again.  If the cursor has expired, the searches are run
+     * again and the page starts after startAfterGuid.
+     * <p>
+     * To read only the assets that have changed, pass the sync token returned by getSyncToken after an earlier
+     * read.  A delta read only adds and updates: assets that have lost all of the requested classifications, or
+     * have been deleted, are not returned, so a caller that needs to remove them must compare against a full read.
+     *
+     * @param userId         - String - userId of user making request.
+     * @param classification - classifications to start query from .
+     * @param type           - types to start query from.
+     * @param syncToken      - only return assets that have changed since the token was issued - null for all assets.
+     * @param startAfterGuid - guid of the last asset on the previous page - null for the first page.
+     * @param pageSize       - maximum number of assets to return - 0 for all of them.
+     * @return List of Governed Access
+     */
+    public List<GovernedAsset> getGovernedAssets(String userId,
+                                                 List<String> classification,
+                                                 List<String> type,
+                                                 String syncToken,
+                                                 String startAfterGuid,
+                                                 int pageSize) throws InvalidParameterException, EntityProxyOnlyException, TypeErrorException, FunctionNotSupportedException, PropertyErrorException, EntityNotKnownException, TypeDefNotKnownException, PagingErrorException, UserNotAuthorizedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException {
         final String methodName = "getGovernedAssets";
         final String classificationParameter = "classification";
         final String typeParameter = "type";
+        final String syncTokenParameter = "syncToken";
+        final String pageSizeParameter = "pageSize";
 
         GovernanceEngineValidator.validateUserId(userId, methodName);
         GovernanceEngineValidator.validateClassification(classification, classificationParameter, methodName);
-        GovernanceEngineValidator.validateType(classification, typeParameter, methodName);
+        GovernanceEngineValidator.validateType(type, typeParameter, methodName);
+        GovernanceEngineValidator.validateSyncToken(syncToken, syncTokenParameter, methodName);
+        GovernanceEngineValidator.validatePageSize(pageSize, pageSizeParameter, methodName);
 
         if (classification == null) {
             List<String> classificationTypeDef = getClassificationsDef(userId);
@@ -121,20 +181,76 @@ public class GovernedAssetHandler {
             }
         }
 
-        List<GovernedAsset> response = new ArrayList<>();
-        if (type == null) {
-            return addToAssetListByType(null, classification, userId);
+        String queryKey = getQueryKey(userId, classification, type, syncToken);
+        GovernedAssetCursorCache.SavedCursor cursor = cursorCache.getCursor(queryKey, startAfterGuid);
+        NavigableMap<String, EntityDetail> entities;
+        if (cursor != null) {
+            entities = cursor.getRemainingEntities();
+            nextSyncToken = cursor.getSyncToken();
         } else {
-            for (String searchedType : type) {
-                List<GovernedAsset> assetsByType = addToAssetListByType(searchedType, classification, userId);
-                if (assetsByType != null) {
-                    response.addAll(assetsByType);
-                }
+            long changedSince = syncToken == null ? 0 : Long.parseLong(syncToken);
+            entities = getGovernedEntities(userId, classification, type);
+            nextSyncToken = getNextSyncToken(entities, syncToken);
+            entities.values().removeIf(entity -> !hasChangedSince(entity, changedSince));
+            if (startAfterGuid != null) {
+                entities = entities.tailMap(startAfterGuid, false);
+            }
+        }
+
+        List<GovernedAsset> response = new ArrayList<>();
+        String lastGuid = null;
+        for (EntityDetail entity : entities.values()) {
+            if (pageSize > 0 && response.size() == pageSize) {
+                cursorCache.saveCursor(queryKey, lastGuid, entities.tailMap(lastGuid, false), nextSyncToken);
+                break;
             }
+            response.add(getGovernedAssetWithClassifications(entity));
+            lastGuid = entity.getGUID();
         }
         return response;
     }
 
+    private String getQueryKey(String userId, List<String> classification, List<String> type, String syncToken) {
+        return userId + '|' + classification + '|' + type + '|' + syncToken;
+    }
+
+    /**
+     * Returns the token that can be passed to getGovernedAssets to only return the assets that change after the
+     * last read by this handler.  The token is taken from the times of the changes to the governed entities that
+     * were read rather than the clock of this server, less SYNC_TOKEN_OVERLAP.
+     *
+     * @return sync token, or null if there has been no read
+     */
+    public String getSyncToken() {
+        return nextSyncToken;
+    }
+
+    private String getNextSyncToken(NavigableMap<String, EntityDetail> entities, String syncToken) {
+        long newestChangeTime = -1;
+        for (EntityDetail entity : entities.values()) {
+            newestChangeTime = Math.max(newestChangeTime, getNewestChangeTime(entity));
+        }
+
+        if (newestChangeTime < 0) {
+            return syncToken == null ? "0" : syncToken;
+        }
+        return Long.toString(Math.max(0, newestChangeTime - SYNC_TOKEN_OVERLAP));
+    }
+
+    private long getNewestChangeTime(EntityDetail entity) {
+        long newestChangeTime = Math.max(getTime(entity.getCreateTime()), getTime(entity.getUpdateTime()));
+        if (entity.getClassifications() != null) {
+            for (Classification classification : entity.getClassifications()) {
+                newestChangeTime = Math.max(newestChangeTime, Math.max(getTime(classification.getCreateTime()), getTime(classification.getUpdateTime())));
+            }
+        }
+        return newestChangeTime;
+    }
+
+    private long getTime(Date time) {
+        return time == null ? -1 : time.getTime();
+    }
+
     /**
      * Returns the list of governed assets with associated tags
      *
@@ -203,20 +319,6 @@ public class GovernedAssetHandler {
         return classifications;
     }
 
-    private List<GovernedAsset> addToAssetListByType(String type, List<String> classification, String userId) throws EntityProxyOnlyException, TypeErrorException, TypeDefNotKnownException, PropertyErrorException, EntityNotKnownException, FunctionNotSupportedException, PagingErrorException, UserNotAuthorizedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException {
-        if (classification == null) {
-            return Collections.emptyList();
-        }
-
-        List<GovernedAsset> response = new ArrayList<>();
-        for (String searchedClassifications : classification) {
-            List<GovernedAsset> assetsToReturn = addToAssetListByClassification(type, searchedClassifications, userId);
-            response.addAll(assetsToReturn);
-        }
-
-        return response;
-    }
-
     private List<String> getClassificationsDef(String userId) {
         try {
             List<TypeDef> classificationsDef = metadataCollection.findTypeDefsByCategory(userId, TypeDefCategory.CLASSIFICATION_DEF);
@@ -228,29 +330,57 @@ public class GovernedAssetHandler {
         return Collections.emptyList();
     }
 
-    private List<GovernedAsset> addToAssetListByClassification(String type, String classification, String userId) throws EntityProxyOnlyException, TypeErrorException, FunctionNotSupportedException, PropertyErrorException, EntityNotKnownException, TypeDefNotKnownException, PagingErrorException, UserNotAuthorizedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException {
-        String typeGuid = getTypeGuidFromTypeName(type, userId);
-        List<EntityDetail> entities = getEntitiesByClassification(classification, userId, typeGuid);
+    private NavigableMap<String, EntityDetail> getGovernedEntities(String userId, List<String> classification, List<String> type) {
+        NavigableMap<String, EntityDetail> governedEntities = new TreeMap<>();
+        if (classification == null) {
+            return governedEntities;
+        }
 
-        List<GovernedAsset> assetsToReturn = new ArrayList<>();
-        if (entities != null) {
-            for (EntityDetail entity : entities) {
-                GovernedAsset entry = existingGovernedAsset(assetsToReturn, entity);
+        for (String searchedClassification : new LinkedHashSet<>(classification)) {
+            List<EntityDetail> entities = getEntitiesByClassification(searchedClassification, userId, null);
+            if (entities == null) {
+                continue;
+            }
 
-                if (entry == null) {
-                    entry = getGovernedAsset(entity);
-                    assetsToReturn.add(entry);
+            for (EntityDetail entity : entities) {
+                if (entity == null || entity.getGUID() == null || governedEntities.containsKey(entity.getGUID())) {
+                    continue;
+                }
+                if (isOfType(entity, type)) {
+                    governedEntities.put(entity.getGUID(), entity);
                 }
-
-                addClassificationInfoToEntry(entry, entity);
             }
         }
-        return assetsToReturn;
+        return governedEntities;
     }
 
-    private GovernedAsset existingGovernedAsset(List<GovernedAsset> assetsToReturn, EntityDetail entity) {
-        Optional<GovernedAsset> asset = assetsToReturn.stream().filter(s -> entity.getGUID().equals(s.getGuid())).findFirst();
-        return asset.orElse(null);
+    private boolean isOfType(EntityDetail entity, List<String> type) {
+        if (type == null) {
+            return true;
+        }
+        if (entity.getType() == null) {
+            return false;
+        }
+        if (type.contains(entity.getType().getTypeDefName())) {
+            return true;
+        }
+
+        List<TypeDefLink> superTypes = entity.getType().getTypeDefSuperTypes();
+        return superTypes != null && superTypes.stream().anyMatch(superType -> type.contains(superType.getName()));
+    }
+
+    private boolean hasChangedSince(EntityDetail entity, long changedSince) {
+        if (changedSince <= 0 || isChangedSince(entity.getCreateTime(), entity.getUpdateTime(), changedSince)) {
+            return true;
+        }
+        if (entity.getClassifications() == null) {
+            return false;
+        }
+        return entity.getClassifications().stream().anyMatch(c -> isChangedSince(c.getCreateTime(), c.getUpdateTime(), changedSince));
+    }
+
+    private boolean isChangedSince(Date createTime, Date updateTime, long changedSince) {
+        return (createTime != null && createTime.getTime() >= changedSince) || (updateTime != null && updateTime.getTime() >= changedSince);
     }
 
     private List<EntityDetail> getEntitiesByClassification(String classification, String userId, String typeGuid) {
@@ -273,36 +403,16 @@ public class GovernedAssetHandler {
     }
 
 
-    private void addClassificationInfoToEntry(GovernedAsset entry, EntityDetail governedAsset) {
-
-        final List<Classification> classifications = filterGovernedClassifications(governedAsset.getClassifications());
-        if (classifications == null || classifications.isEmpty()) {
-            return;
-        }
-
-        List<GovernanceClassification> governanceClassifications = getGovernanceClassifications(entry, classifications);
-        if (governanceClassifications.isEmpty()) {
-            return;
-        }
-
-        List<GovernanceClassification> usageList = entry.getAssignedGovernanceClassifications();
-        if (usageList == null) {
-            usageList = new ArrayList<>();
-        }
-        usageList.addAll(governanceClassifications);
-        entry.setAssignedGovernanceClassifications(usageList);
-    }
+    private GovernedAsset getGovernedAssetWithClassifications(EntityDetail entity) throws EntityProxyOnlyException, TypeErrorException, TypeDefNotKnownException, PropertyErrorException, EntityNotKnownException, FunctionNotSupportedException, PagingErrorException, UserNotAuthorizedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException {
+        GovernedAsset governedAsset = getGovernedAsset(entity);
 
-    private List<GovernanceClassification> getGovernanceClassifications(GovernedAsset entry, List<Classification> classifications) {
-        List<GovernanceClassification> governanceClassifications = new ArrayList<>();
-        for (Classification classification : classifications) {
-            if (containsGovernedClassification(entry, classification)) {
-                continue;
+        if (entity.getClassifications() != null) {
+            List<GovernanceClassification> governanceClassifications = getGovernanceClassifications(entity.getClassifications());
+            if (!governanceClassifications.isEmpty()) {
+                governedAsset.setAssignedGovernanceClassifications(governanceClassifications);
             }
-            GovernanceClassification governanceClassification = getGovernanceClassification(classification);
-            governanceClassifications.add(governanceClassification);
         }
-        return governanceClassifications;
+        return governedAsset;
     }
 
     private GovernanceClassification getGovernanceClassification(Classification classification) {
@@ -315,14 +425,6 @@ public class GovernedAssetHandler {
         return governanceClassification;
     }
 
-    private boolean containsGovernedClassification(GovernedAsset entry, Classification classification) {
-        if (entry.getAssignedGovernanceClassifications() == null || entry.getAssignedGovernanceClassifications().isEmpty()) {
-            return false;
-        }
-        final long count = entry.getAssignedGovernanceClassifications().stream().filter(c -> c.getName().equals(classification.getType().getTypeDefName())).count();
-        return count != 0;
-    }
-
     private Map<String, String> getInstanceProperties(Classification classification) {
         Map<String, String> attributes = new HashMap<>();
 
@@ -372,23 +474,6 @@ public class GovernedAssetHandler {
         }
     }
 
-    private String getTypeGuidFromTypeName(String typeName, String userId) {
-
-        try {
-            if (knownTypeDefs.containsKey(typeName)) {
-                return knownTypeDefs.get(typeName);
-            } else {
-                final String typeDefGuid = metadataCollection.getTypeDefByName(userId, typeName).getGUID();
-                knownTypeDefs.put(typeName, typeDefGuid);
-                return typeDefGuid;
-            }
-        } catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException | org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException | TypeDefNotKnownException | RepositoryErrorException e) {
-            log.error(e.getErrorMessage());
-        }
-
-        return null;
-    }
-
     private String getResourceValue(EntityDetail entityDetail, String propertyName) {
         InstanceProperties instanceProperties = entityDetail.getProperties();
 
@@ -2,12 +2,41 @@
 
 package org.odpi.openmetadata.accessservices.governanceengine.server.handlers;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.platform.suite.api.SuiteDisplayName;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.odpi.openmetadata.accessservices.governanceengine.api.ffdc.exceptions.InvalidParameterException;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.odpi.openmetadata.accessservices.governanceengine.server.util.Constants.CONFIDENTIALITY;
+import static org.odpi.openmetadata.accessservices.governanceengine.server.util.Constants.QUALIFIED_NAME;
+import static org.odpi.openmetadata.accessservices.governanceengine.server.util.Constants.RETENTION;
 
 @SuiteDisplayName("Governance Engine Server GovernanceEngineValidator")
 @ExtendWith(MockitoExtension.class)
@@ -15,11 +44,231 @@ import org.mockito.quality.Strictness;
 
 class GovernedAssetHandlerTest {
 
+    private static final String USER_ID = "testUser";
+    private static final String DATA_FILE = "DataFile";
+    private static final String CSV_FILE = "CSVFile";
+    private static final String PROCESS = "Process";
+
+    private ClassifiedEntitiesCollection metadataCollection;
+    private GovernedAssetHandler governedAssetHandler;
+
+    /**
+     * Metadata collection that returns its entities by classification and counts the searches.
+     */
+    private static class ClassifiedEntitiesCollection extends OMRSMetadataCollectionBase {
+        private List<EntityDetail> entities = new ArrayList<>();
+        private int searches = 0;
+
+        @SuppressWarnings("deprecation")
+        ClassifiedEntitiesCollection() {
+            super("TestMetadataCollection");
+        }
+
+        @Override
+        public List<EntityDetail> findEntitiesByClassification(String userId,
+                                                               String entityTypeGUID,
+                                                               String classificationName,
+                                                               InstanceProperties matchClassificationProperties,
+                                                               MatchCriteria matchCriteria,
+                                                               int fromEntityElement,
+                                                               List<InstanceStatus> limitResultsByStatus,
+                                                               Date asOfTime,
+                                                               String sequencingProperty,
+                                                               SequencingOrder sequencingOrder,
+                                                               int pageSize) {
+            searches++;
+            return entities.stream()
+                    .filter(e -> e.getClassifications() != null)
+                    .filter(e -> e.getClassifications().stream().anyMatch(c -> c.getName().equals(classificationName)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metadataCollection = new ClassifiedEntitiesCollection();
+        OMRSRepositoryConnector repositoryConnector = new OMRSRepositoryConnector() {
+            {
+                metadataCollection = GovernedAssetHandlerTest.this.metadataCollection;
+            }
+        };
+
+        governedAssetHandler = new GovernedAssetHandler(repositoryConnector);
+    }
+
     @Test
-    void getGovernedAssetComponents() {
+    void getGovernedAssetComponents() throws Exception {
+        metadataCollection.entities.add(getEntity("guid-3", DATA_FILE, 0, CONFIDENTIALITY));
+        metadataCollection.entities.add(getEntity("guid-1", CSV_FILE, 0, CONFIDENTIALITY, RETENTION));
+        metadataCollection.entities.add(getEntity("guid-2", PROCESS, 0, RETENTION));
+
+        List<GovernedAsset> assets = governedAssetHandler.getGovernedAssets(USER_ID,
+                Arrays.asList(CONFIDENTIALITY, RETENTION),
+                Arrays.asList(DATA_FILE, PROCESS));
+
+        assertEquals(Arrays.asList("guid-1", "guid-2", "guid-3"), getGuids(assets));
+        assertEquals(2, assets.get(0).getAssignedGovernanceClassifications().size());
+        assertEquals(2, metadataCollection.searches);
+
+        assets = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(RETENTION), Collections.singletonList(DATA_FILE));
+
+        assertEquals(Collections.singletonList("guid-1"), getGuids(assets));
     }
 
     @Test
-    void getGovernedAssetComponent() {
+    void getGovernedAssetComponentsPaged() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            metadataCollection.entities.add(getEntity("guid-" + i, DATA_FILE, 0, CONFIDENTIALITY));
+        }
+
+        List<GovernedAsset> firstPage = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(CONFIDENTIALITY), null, null, null, 2);
+        List<GovernedAsset> secondPage = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(CONFIDENTIALITY), null, null, "guid-1", 2);
+        List<GovernedAsset> lastPage = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(CONFIDENTIALITY), null, null, "guid-3", 2);
+
+        assertEquals(Arrays.asList("guid-0", "guid-1"), getGuids(firstPage));
+        assertEquals(Arrays.asList("guid-2", "guid-3"), getGuids(secondPage));
+        assertEquals(Collections.singletonList("guid-4"), getGuids(lastPage));
+        assertEquals(1, metadataCollection.searches);
+        assertThrows(InvalidParameterException.class,
+                () -> governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(CONFIDENTIALITY), null, null, null, -1));
+    }
+
+    @Test
+    void getGovernedAssetComponentsPagedWithoutCursor() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            metadataCollection.entities.add(getEntity("guid-" + i, DATA_FILE, 0, CONFIDENTIALITY));
+        }
+
+        List<GovernedAsset> firstPage = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(CONFIDENTIALITY), null, null, null, 2);
+
+        /*
+         * A different handler has no cursor for the query, so the searches are run again.
+         */
+        GovernedAssetHandler otherHandler = new GovernedAssetHandler(new OMRSRepositoryConnector() {
+            {
+                metadataCollection = GovernedAssetHandlerTest.this.metadataCollection;
+            }
+        });
+        List<GovernedAsset> secondPage = otherHandler.getGovernedAssets(USER_ID, Collections.singletonList(CONFIDENTIALITY), null, null, "guid-1", 2);
+
+        assertEquals(Arrays.asList("guid-0", "guid-1"), getGuids(firstPage));
+        assertEquals(Arrays.asList("guid-2", "guid-3"), getGuids(secondPage));
+        assertEquals(2, metadataCollection.searches);
+
+        /*
+         * The saved cursor is only used by the query that saved it.
+         */
+        List<GovernedAsset> otherQuery = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(CONFIDENTIALITY), Collections.singletonList(PROCESS), null, "guid-1", 2);
+
+        assertEquals(Collections.emptyList(), getGuids(otherQuery));
+        assertEquals(3, metadataCollection.searches);
+    }
+
+    @Test
+    void getGovernedAssetComponentsChangedSince() throws Exception {
+        EntityDetail reclassified = getEntity("guid-2", DATA_FILE, 1000, RETENTION);
+        reclassified.getClassifications().get(0).setUpdateTime(new Date(3000));
+
+        metadataCollection.entities.add(getEntity("guid-1", DATA_FILE, 1000, RETENTION));
+        metadataCollection.entities.add(reclassified);
+        metadataCollection.entities.add(getEntity("guid-3", DATA_FILE, 4000, RETENTION));
+
+        List<GovernedAsset> assets = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(RETENTION), null, "2000", null, 0);
+
+        assertEquals(Arrays.asList("guid-2", "guid-3"), getGuids(assets));
+
+        /*
+         * A delta read is add-only: an asset that loses its classification is not reported.
+         */
+        reclassified.setClassifications(new ArrayList<>());
+        reclassified.setUpdateTime(new Date(5000));
+        assets = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(RETENTION), null, "4500", null, 0);
+
+        assertEquals(Collections.emptyList(), getGuids(assets));
+        assertThrows(InvalidParameterException.class,
+                () -> governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(RETENTION), null, "yesterday", null, 0));
+    }
+
+    @Test
+    void getGovernedAssetComponentsSyncToken() throws Exception {
+        EntityDetail reclassified = getEntity("guid-2", DATA_FILE, 100000, RETENTION);
+        reclassified.getClassifications().get(0).setUpdateTime(new Date(250000));
+
+        metadataCollection.entities.add(getEntity("guid-1", DATA_FILE, 100000, RETENTION));
+        metadataCollection.entities.add(reclassified);
+        metadataCollection.entities.add(getEntity("guid-3", DATA_FILE, 200000, RETENTION));
+
+        /*
+         * The token is taken from the newest change that was read rather than the clock of the server, and the
+         * page served from the cursor returns the same token.
+         */
+        governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(RETENTION), null, null, null, 2);
+        String syncToken = governedAssetHandler.getSyncToken();
+
+        assertEquals(Long.toString(250000 - GovernedAssetHandler.SYNC_TOKEN_OVERLAP), syncToken);
+
+        governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(RETENTION), null, null, "guid-2", 2);
+
+        assertEquals(syncToken, governedAssetHandler.getSyncToken());
+
+        /*
+         * A change saved late, with a time before the newest change that was read, is returned by the next delta
+         * read, along with the changes inside the overlap.
+         */
+        metadataCollection.entities.add(getEntity("guid-4", DATA_FILE, 240000, RETENTION));
+        List<GovernedAsset> assets = governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(RETENTION), null, syncToken, null, 0);
+
+        assertEquals(Arrays.asList("guid-2", "guid-3", "guid-4"), getGuids(assets));
+        assertEquals(syncToken, governedAssetHandler.getSyncToken());
+
+        /*
+         * A read that finds no governed entities keeps the token it was passed.
+         */
+        governedAssetHandler.getGovernedAssets(USER_ID, Collections.singletonList(CONFIDENTIALITY), null, syncToken, null, 0);
+
+        assertEquals(syncToken, governedAssetHandler.getSyncToken());
+    }
+
+    @Test
+    void getGovernedAssetComponent() throws Exception {
+        assertNull(governedAssetHandler.getGovernedAsset(USER_ID, "unknown"));
+    }
+
+    private EntityDetail getEntity(String guid, String typeName, long updateTime, String... classificationNames) {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+        if (CSV_FILE.equals(typeName)) {
+            type.setTypeDefSuperTypes(Collections.singletonList(new TypeDefLink(null, DATA_FILE)));
+        }
+
+        List<Classification> classifications = new ArrayList<>();
+        for (String classificationName : classificationNames) {
+            InstanceType classificationType = new InstanceType();
+            classificationType.setTypeDefName(classificationName);
+
+            Classification classification = new Classification();
+            classification.setName(classificationName);
+            classification.setType(classificationType);
+            classifications.add(classification);
+        }
+
+        PrimitivePropertyValue qualifiedName = new PrimitivePropertyValue();
+        qualifiedName.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        qualifiedName.setPrimitiveValue(guid);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty(QUALIFIED_NAME, qualifiedName);
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(type);
+        entity.setProperties(properties);
+        entity.setUpdateTime(new Date(updateTime));
+        entity.setClassifications(classifications);
+        return entity;
+    }
+
+    private List<String> getGuids(List<GovernedAsset> assets) {
+        return assets.stream().map(GovernedAsset::getGuid).collect(Collectors.toList());
     }
 }
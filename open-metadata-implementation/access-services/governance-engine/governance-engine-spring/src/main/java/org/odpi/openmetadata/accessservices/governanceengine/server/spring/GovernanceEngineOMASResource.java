@@ -85,6 +85,10 @@ public class GovernanceEngineOMASResource {
      * @param userId         - String - userId of user making request.
      * @param classification - this may be the qualifiedName or displayName of the connection.
      * @param type
+     * @param syncToken      - only return the assets that have changed since the token was returned - null for all.
+     *                         A delta read does not report the assets that have lost their classifications.
+     * @param startAfterGuid - guid of the last asset on the previous page - null for the first page.
+     * @param pageSize       - maximum number of assets to return - 0 for all of them.
      * @return GovernedAssetComponentList or
      * InvalidParameterException - one of the parameters is null or invalid.
      * UnrecognizedConnectionNameException - there is no connection defined for this name.
@@ -96,8 +100,11 @@ public class GovernanceEngineOMASResource {
     GovernedAssetListAPIResponse getGovernedAssets(@PathVariable String serverName,
                                                    @PathVariable String userId,
                                                    @RequestParam(value = "classification", required = false) List<String> classification,
-                                                   @RequestParam(value = "type", required = false) List<String> type) {
-        return restAPI.getGovernedAssets(serverName, userId, classification, type);
+                                                   @RequestParam(value = "type", required = false) List<String> type,
+                                                   @RequestParam(value = "syncToken", required = false) String syncToken,
+                                                   @RequestParam(value = "startAfterGuid", required = false) String startAfterGuid,
+                                                   @RequestParam(value = "pageSize", required = false, defaultValue = "0") int pageSize) {
+        return restAPI.getGovernedAssets(serverName, userId, classification, type, syncToken, startAfterGuid, pageSize);
     }
 
     /**
@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.InstanceRequestCache;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
@@ -30,17 +31,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
- * ColumnContextEventBuilder loads the full context for a column from a relational table
+ * ColumnContextEventBuilder loads the full context for a column from a relational table.
+ * The instances retrieved while building the events for a request are cached for that request, so a table,
+ * schema or connection that is reached from many columns is only retrieved once.  The relationship type
+ * guids are looked up once for the server.
  */
 public class ColumnContextEventBuilder {
 
     private static final Logger log = LoggerFactory.getLogger(ColumnContextEventBuilder.class);
 
     private OMRSRepositoryConnector enterpriseConnector;
+    private final Map<String, String> relationshipTypeGuids = new ConcurrentHashMap<>();
 
     /**
      * @param enterpriseConnector - combined connector for all repositories
@@ -61,11 +71,35 @@ public class ColumnContextEventBuilder {
      * @throws EntityNotKnownException
      */
     public List<TableContextEvent> buildEvents(String guidColumn) throws Exception {
-        List<TableContextEvent> allEvents = new ArrayList<>();
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.ATTRIBUTE_FOR_SCHEMA).getGUID();
+        return buildEvents(Collections.singletonList(guidColumn));
+    }
+
+    /**
+     * Returns the list of contexts for the tables of the columns. The context of each table is built once,
+     * however many of its columns are in the list, so the columns of a table that has been imported or changed
+     * can be processed in a single pass.
+     *
+     * @param guidColumns of the relational column entities
+     * @return the list of full contexts for the tables of the columns
+     * @throws UserNotAuthorizedException
+     * @throws RepositoryErrorException
+     * @throws InvalidParameterException
+     * @throws EntityNotKnownException
+     */
+    public List<TableContextEvent> buildEvents(List<String> guidColumns) throws Exception {
+        InstanceRequestCache instanceCache = getInstanceCache();
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.ATTRIBUTE_FOR_SCHEMA);
+
+        Set<String> tableTypeGuids = new LinkedHashSet<>();
+        for (String guidColumn : guidColumns) {
+            for (Relationship relationship : instanceCache.getRelationshipsForEntity(guidColumn, relationshipTypeGuid)) {
+                tableTypeGuids.add(getOtherEntityGuid(guidColumn, relationship));
+            }
+        }
 
-        for (Relationship relationship : enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, guidColumn, relationshipTypeGuid, 0, null, null, null, null, 0)) {
-            allEvents.addAll(getTableTypeDetails(guidColumn, relationship));
+        List<TableContextEvent> allEvents = new ArrayList<>();
+        for (String tableTypeGuid : tableTypeGuids) {
+            allEvents.addAll(getTableTypeDetails(instanceCache, tableTypeGuid));
         }
 
         log.info("Context events: {}", allEvents);
@@ -75,25 +109,23 @@ public class ColumnContextEventBuilder {
     /**
      * Returns the list of column contexts populated with table type details
      *
-     * @param guidColumn               of the column entity
-     * @param relationshipToParentType is the link to the table type entity
+     * @param instanceCache instances retrieved for this request
+     * @param tableTypeGuid of the table type entity
      * @return the list of contexts with table type details populated
      * @throws InvalidParameterException
      * @throws RepositoryErrorException
      * @throws EntityNotKnownException
      * @throws UserNotAuthorizedException
      */
-    private List<TableContextEvent> getTableTypeDetails(String guidColumn, Relationship relationshipToParentType) throws Exception {
-        log.debug("Load table type details for entity with guid {}", guidColumn);
-        String tableTypeGuid = getOtherEntityGuid(guidColumn, relationshipToParentType);
-        EntityDetail tableTypeDetail = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, tableTypeGuid);
-        List<DatabaseColumn> allColumns = getAllColumnsOfTable(tableTypeGuid);
+    private List<TableContextEvent> getTableTypeDetails(InstanceRequestCache instanceCache, String tableTypeGuid) throws Exception {
+        log.debug("Load table type details for entity with guid {}", tableTypeGuid);
+        List<DatabaseColumn> allColumns = getAllColumnsOfTable(instanceCache, tableTypeGuid);
 
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.SCHEMA_ATTRIBUTE_TYPE).getGUID();
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.SCHEMA_ATTRIBUTE_TYPE);
         List<TableContextEvent> allEvents = new ArrayList<>();
 
-        for (Relationship parentTableRelationship : enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, tableTypeDetail.getGUID(), relationshipTypeGuid, 0, null, null, null, null, 0)) {
-            allEvents.addAll(getRelationalTableDetails(tableTypeGuid, parentTableRelationship, allColumns));
+        for (Relationship parentTableRelationship : instanceCache.getRelationshipsForEntity(tableTypeGuid, relationshipTypeGuid)) {
+            allEvents.addAll(getRelationalTableDetails(instanceCache, tableTypeGuid, parentTableRelationship, allColumns));
         }
         return allEvents;
     }
@@ -102,6 +134,7 @@ public class ColumnContextEventBuilder {
     /**
      * Returns the list of column contexts populated with table details
      *
+     * @param instanceCache instances retrieved for this request
      * @param guid         of the table type entity
      * @param relationship to the table entity
      * @param allColumns   linked to table type entity
@@ -111,16 +144,16 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private List<TableContextEvent> getRelationalTableDetails(String guid, Relationship relationship, List<DatabaseColumn> allColumns) throws Exception {
+    private List<TableContextEvent> getRelationalTableDetails(InstanceRequestCache instanceCache, String guid, Relationship relationship, List<DatabaseColumn> allColumns) throws Exception {
         log.debug("Load table details for entity with guid {}", guid);
         List<TableContextEvent> allEvents = new ArrayList<>();
         String tableGuid = getOtherEntityGuid(guid, relationship);
-        EntityDetail tableEntity = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, tableGuid);
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.ATTRIBUTE_FOR_SCHEMA).getGUID();
+        EntityDetail tableEntity = instanceCache.getEntityDetail(tableGuid);
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.ATTRIBUTE_FOR_SCHEMA);
         String tableName = EntityPropertiesUtils.getStringValueForProperty(tableEntity.getProperties(), Constants.ATTRIBUTE_NAME);
 
-        for (Relationship schemaTypeRelationship : enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, tableEntity.getGUID(), relationshipTypeGuid, 0, null, null, null, null, 0)) {
-            List<TableContextEvent> events = getDbSchemaTypeDetails(tableGuid, schemaTypeRelationship);
+        for (Relationship schemaTypeRelationship : instanceCache.getRelationshipsForEntity(tableEntity.getGUID(), relationshipTypeGuid)) {
+            List<TableContextEvent> events = getDbSchemaTypeDetails(instanceCache, tableGuid, schemaTypeRelationship);
             allEvents.addAll(events.stream().map(e -> {
                 e.getTableSource().setTableName(tableName);
                 e.setTableColumns(allColumns);
@@ -131,8 +164,10 @@ public class ColumnContextEventBuilder {
     }
 
     /**
-     * Returns the list of columns for the specified table type;
+     * Returns the list of columns for the specified table type. The columns, and then their types, are
+     * retrieved with one batch request each.
      *
+     * @param instanceCache instances retrieved for this request
      * @param tableTypeGuid for which the columns are loaded
      * @return the list of details of all columns of the table
      * @throws UserNotAuthorizedException
@@ -140,26 +175,35 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private List<DatabaseColumn> getAllColumnsOfTable(String tableTypeGuid) throws UserNotAuthorizedException, RepositoryErrorException, InvalidParameterException, EntityNotKnownException, TypeDefNotKnownException, PropertyErrorException, FunctionNotSupportedException, PagingErrorException, EntityProxyOnlyException, RelationshipNotKnownException, TypeErrorException {
+    private List<DatabaseColumn> getAllColumnsOfTable(InstanceRequestCache instanceCache, String tableTypeGuid) throws UserNotAuthorizedException, RepositoryErrorException, InvalidParameterException, EntityNotKnownException, TypeDefNotKnownException, PropertyErrorException, FunctionNotSupportedException, PagingErrorException, EntityProxyOnlyException, RelationshipNotKnownException, TypeErrorException {
         log.debug("Load table columns for entity with guid {}", tableTypeGuid);
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.ATTRIBUTE_FOR_SCHEMA).getGUID();
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.ATTRIBUTE_FOR_SCHEMA);
+        List<EntityDetail> columnEntities = instanceCache.getRelatedEntities(tableTypeGuid, relationshipTypeGuid);
+
+        String columnTypeRelationshipTypeGuid = getRelationshipTypeGuid(Constants.SCHEMA_ATTRIBUTE_TYPE);
+        List<String> columnTypeGuids = new ArrayList<>(columnEntities.size());
+        for (EntityDetail columnEntity : columnEntities) {
+            for (Relationship relationship : instanceCache.getRelationshipsForEntity(columnEntity.getGUID(), columnTypeRelationshipTypeGuid)) {
+                columnTypeGuids.add(getOtherEntityGuid(columnEntity.getGUID(), relationship));
+            }
+        }
+        instanceCache.prefetchEntities(columnTypeGuids);
 
         List<DatabaseColumn> allColumns = new ArrayList<>();
-        for (Relationship relationship : enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, tableTypeGuid, relationshipTypeGuid, 0, null, null, null, null, 0)) {
-            EntityDetail columnEntity = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, getOtherEntityGuid(tableTypeGuid, relationship));
+        for (EntityDetail columnEntity : columnEntities) {
             DatabaseColumn databaseColumn = new DatabaseColumn();
             databaseColumn.setName(EntityPropertiesUtils.getStringValueForProperty(columnEntity.getProperties(), Constants.ATTRIBUTE_NAME));
             databaseColumn.setPosition(EntityPropertiesUtils.getIntegerValueForProperty(columnEntity.getProperties(), Constants.ELEMENT_POSITION_NAME));
             databaseColumn.setGuid(columnEntity.getGUID());
-            databaseColumn.setBusinessTerm(getBusinessTermAssociated(columnEntity));
+            databaseColumn.setBusinessTerm(getBusinessTermAssociated(instanceCache, columnEntity));
             databaseColumn.setPrimaryKeyName(getPrimaryKeyClassification(columnEntity));
             if (databaseColumn.getPrimaryKeyName() != null && !databaseColumn.getPrimaryKeyName().isEmpty()) {
                 databaseColumn.setPrimaryKey(true);
             }
             databaseColumn.setNullable(EntityPropertiesUtils.getBooleanValueForProperty(columnEntity.getProperties(), Constants.IS_NULLABLE));
             databaseColumn.setUnique(EntityPropertiesUtils.getBooleanValueForProperty(columnEntity.getProperties(), Constants.IS_UNIQUE));
-            databaseColumn.setReferencedColumn(getReferencedColumn(columnEntity));
-            EntityDetail columnTypeUniverse = getColumnType(columnEntity);
+            databaseColumn.setReferencedColumn(getReferencedColumn(instanceCache, columnEntity));
+            EntityDetail columnTypeUniverse = getColumnType(instanceCache, columnEntity);
             databaseColumn.setType(EntityPropertiesUtils.getStringValueForProperty(columnTypeUniverse.getProperties(), Constants.DATA_TYPE));
             databaseColumn.setQualifiedName(EntityPropertiesUtils.getStringValueForProperty(columnEntity.getProperties(), Constants.QUALIFIED_NAME));
             allColumns.add(databaseColumn);
@@ -168,11 +212,11 @@ public class ColumnContextEventBuilder {
         return allColumns;
     }
 
-    private ForeignKey getReferencedColumn(EntityDetail columnEntity) throws RepositoryErrorException, InvalidParameterException, TypeDefNotKnownException, UserNotAuthorizedException, TypeErrorException, FunctionNotSupportedException, EntityNotKnownException, PagingErrorException, PropertyErrorException, EntityProxyOnlyException, RelationshipNotKnownException {
+    private ForeignKey getReferencedColumn(InstanceRequestCache instanceCache, EntityDetail columnEntity) throws RepositoryErrorException, InvalidParameterException, TypeDefNotKnownException, UserNotAuthorizedException, TypeErrorException, FunctionNotSupportedException, EntityNotKnownException, PagingErrorException, PropertyErrorException, EntityProxyOnlyException, RelationshipNotKnownException {
 
         log.debug("Load foreign keys for entity with guid {}", columnEntity.getGUID());
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.FOREIGN_KEY).getGUID();
-        List<Relationship> columnForeignKeys = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, columnEntity.getGUID(), relationshipTypeGuid, 0, null, null, null, null, 0);
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.FOREIGN_KEY);
+        List<Relationship> columnForeignKeys = instanceCache.getRelationshipsForEntity(columnEntity.getGUID(), relationshipTypeGuid);
         if (columnForeignKeys == null || columnForeignKeys.isEmpty()) {
             return null;
         }
@@ -181,12 +225,12 @@ public class ColumnContextEventBuilder {
 
         for(Relationship relationship : columnForeignKeys){
             if (relationship.getEntityTwoProxy().getGUID().equals(columnEntity.getGUID())) {
-                EntityDetail foreignKeyEntity = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, relationship.getEntityOneProxy().getGUID());
+                EntityDetail foreignKeyEntity = instanceCache.getEntityDetail(relationship.getEntityOneProxy().getGUID());
                 ForeignKey foreignKey = new ForeignKey();
                 foreignKey.setColumnGuid(foreignKeyEntity.getGUID());
                 foreignKey.setForeignKeyName(EntityPropertiesUtils.getStringValueForProperty(relationship.getProperties(), Constants.NAME));
                 foreignKey.setColumnName(EntityPropertiesUtils.getStringValueForProperty(foreignKeyEntity.getProperties(), Constants.NAME));
-                List<EntityDetail> tablesForColumn = getTablesForColumn(foreignKeyEntity.getGUID());
+                List<EntityDetail> tablesForColumn = getTablesForColumn(instanceCache, foreignKeyEntity.getGUID());
                 foreignKey.setTableName(EntityPropertiesUtils.getStringValueForProperty(tablesForColumn.get(0).getProperties(), Constants.NAME));//TODO should check for table from same database
                 foreignKeys.add(foreignKey);
             }
@@ -204,16 +248,20 @@ public class ColumnContextEventBuilder {
     }
 
     public List<EntityDetail> getTablesForColumn(String columnEntityGuid) throws InvalidParameterException, TypeDefNotKnownException, PropertyErrorException, EntityNotKnownException, FunctionNotSupportedException, PagingErrorException, EntityProxyOnlyException, UserNotAuthorizedException, TypeErrorException, RepositoryErrorException {
+        return getTablesForColumn(getInstanceCache(), columnEntityGuid);
+    }
+
+    private List<EntityDetail> getTablesForColumn(InstanceRequestCache instanceCache, String columnEntityGuid) throws InvalidParameterException, TypeDefNotKnownException, PropertyErrorException, EntityNotKnownException, FunctionNotSupportedException, PagingErrorException, EntityProxyOnlyException, UserNotAuthorizedException, TypeErrorException, RepositoryErrorException {
         log.debug("Load table for column with guid {}", columnEntityGuid);
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.ATTRIBUTE_FOR_SCHEMA).getGUID();
-        Relationship columnToTableType = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, columnEntityGuid, relationshipTypeGuid, 0, null, null, null, null, 0).get(0);
-        EntityDetail tableTypeEntity = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, getOtherEntityGuid(columnEntityGuid, columnToTableType));
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.ATTRIBUTE_FOR_SCHEMA);
+        Relationship columnToTableType = instanceCache.getRelationshipsForEntity(columnEntityGuid, relationshipTypeGuid).get(0);
+        EntityDetail tableTypeEntity = instanceCache.getEntityDetail(getOtherEntityGuid(columnEntityGuid, columnToTableType));
 
-        relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.SCHEMA_ATTRIBUTE_TYPE).getGUID();
-        List<Relationship> relationshipToTable = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, tableTypeEntity.getGUID(), relationshipTypeGuid, 0, null, null, null, null, 0);
+        relationshipTypeGuid = getRelationshipTypeGuid(Constants.SCHEMA_ATTRIBUTE_TYPE);
+        List<Relationship> relationshipToTable = instanceCache.getRelationshipsForEntity(tableTypeEntity.getGUID(), relationshipTypeGuid);
         List<EntityDetail> tableEntities = relationshipToTable.stream().map(r -> {
             try {
-                return enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, getOtherEntityGuid(tableTypeEntity.getGUID(), r));
+                return instanceCache.getEntityDetail(getOtherEntityGuid(tableTypeEntity.getGUID(), r));
             } catch (InvalidParameterException | RepositoryErrorException | EntityNotKnownException | UserNotAuthorizedException | EntityProxyOnlyException e) {
                 log.error(e.getMessage(), e);
                 return null;
@@ -234,6 +282,7 @@ public class ColumnContextEventBuilder {
     /**
      * Returns the column type details for a given column
      *
+     * @param instanceCache instances retrieved for this request
      * @param columnEntity for which the type is retrieved
      * @return the column type entity linked to column entity
      * @throws UserNotAuthorizedException
@@ -241,17 +290,18 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private EntityDetail getColumnType(EntityDetail columnEntity) throws UserNotAuthorizedException, RepositoryErrorException, InvalidParameterException, EntityNotKnownException, RelationshipNotKnownException, FunctionNotSupportedException, TypeDefNotKnownException, EntityProxyOnlyException, PagingErrorException, PropertyErrorException, TypeErrorException {
+    private EntityDetail getColumnType(InstanceRequestCache instanceCache, EntityDetail columnEntity) throws UserNotAuthorizedException, RepositoryErrorException, InvalidParameterException, EntityNotKnownException, RelationshipNotKnownException, FunctionNotSupportedException, TypeDefNotKnownException, EntityProxyOnlyException, PagingErrorException, PropertyErrorException, TypeErrorException {
         log.debug("Load column type for entity with guid {}", columnEntity.getGUID());
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.SCHEMA_ATTRIBUTE_TYPE).getGUID();
-        Relationship columnToColumnType = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, columnEntity.getGUID(), relationshipTypeGuid, 0, null, null, null, null, 0).get(0);
-        return enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, getOtherEntityGuid(columnEntity.getGUID(), columnToColumnType));
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.SCHEMA_ATTRIBUTE_TYPE);
+        Relationship columnToColumnType = instanceCache.getRelationshipsForEntity(columnEntity.getGUID(), relationshipTypeGuid).get(0);
+        return instanceCache.getEntityDetail(getOtherEntityGuid(columnEntity.getGUID(), columnToColumnType));
 
     }
 
     /**
      * Returns the business term associated with a column
      *
+     * @param instanceCache instances retrieved for this request
      * @param columnEntity for which business term is retrieved
      * @return the business term associated to the column
      * @throws UserNotAuthorizedException
@@ -259,16 +309,16 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private BusinessTerm getBusinessTermAssociated(EntityDetail columnEntity) throws UserNotAuthorizedException, RepositoryErrorException, InvalidParameterException, EntityNotKnownException, TypeDefNotKnownException, PropertyErrorException, FunctionNotSupportedException, PagingErrorException, EntityProxyOnlyException, TypeErrorException {
+    private BusinessTerm getBusinessTermAssociated(InstanceRequestCache instanceCache, EntityDetail columnEntity) throws UserNotAuthorizedException, RepositoryErrorException, InvalidParameterException, EntityNotKnownException, TypeDefNotKnownException, PropertyErrorException, FunctionNotSupportedException, PagingErrorException, EntityProxyOnlyException, TypeErrorException {
         log.debug("Load business term associated to column with guid {}", columnEntity.getGUID());
         BusinessTerm businessTerm = null;
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.SEMANTIC_ASSIGNMENT).getGUID();
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.SEMANTIC_ASSIGNMENT);
 
-        List<Relationship> btRelationships = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, columnEntity.getGUID(), relationshipTypeGuid, 0, null, null, null, null, 0);
+        List<Relationship> btRelationships = instanceCache.getRelationshipsForEntity(columnEntity.getGUID(), relationshipTypeGuid);
         if (btRelationships != null && !btRelationships.isEmpty()) {
             Relationship btRelationship = btRelationships.get(0);
             String btGuid = getOtherEntityGuid(columnEntity.getGUID(), btRelationship);
-            EntityDetail btDetail = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, btGuid);
+            EntityDetail btDetail = instanceCache.getEntityDetail(btGuid);
             businessTerm = buildBusinessTerm(btDetail);
         }
         return businessTerm;
@@ -277,6 +327,7 @@ public class ColumnContextEventBuilder {
     /**
      * Returns the lists of contexts populated with schema type details
      *
+     * @param instanceCache                  instances retrieved for this request
      * @param guid                           of the table for which the database schema type is retrieved
      * @param relationalDbSchemaRelationship is the relationship between table and database schema type
      * @return the list of contexts with DbSchemaType details populated
@@ -285,16 +336,16 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private List<TableContextEvent> getDbSchemaTypeDetails(String guid, Relationship relationalDbSchemaRelationship) throws Exception {
+    private List<TableContextEvent> getDbSchemaTypeDetails(InstanceRequestCache instanceCache, String guid, Relationship relationalDbSchemaRelationship) throws Exception {
         log.debug("Load db schema type for entity with guid {}", guid);
         List<TableContextEvent> allEvents = new ArrayList<>();
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.ASSET_SCHEMA_TYPE).getGUID();
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.ASSET_SCHEMA_TYPE);
         String dbSchemaTypeGuid = getOtherEntityGuid(guid, relationalDbSchemaRelationship);
 
-        List<Relationship> relationships = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, dbSchemaTypeGuid, relationshipTypeGuid, 0, null, null, null, null, 0);
+        List<Relationship> relationships = instanceCache.getRelationshipsForEntity(dbSchemaTypeGuid, relationshipTypeGuid);
         log.debug("Loaded AssetSchemaType relationships for {}", dbSchemaTypeGuid);
         for (Relationship relationship : relationships) {
-            List<TableContextEvent> events = getDeployedDatabaseSchemaDetails(dbSchemaTypeGuid, relationship);
+            List<TableContextEvent> events = getDeployedDatabaseSchemaDetails(instanceCache, dbSchemaTypeGuid, relationship);
             allEvents.addAll(events);
         }
         InstanceProperties dbSchemaTypeProperties = relationships.get(0).getEntityTwoProxy().getUniqueProperties();
@@ -305,6 +356,7 @@ public class ColumnContextEventBuilder {
     /**
      * Returns the lists of contexts populated with schema details
      *
+     * @param instanceCache                        instances retrieved for this request
      * @param guid                                 of the RelationalDbSchemaType entity
      * @param relationshipToDeployedDatabaseSchema between DeployedDatabaseSchema entity and RelationalDbSchemaType entity
      * @return the list of contexts with deployed database schema details populated
@@ -313,17 +365,17 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private List<TableContextEvent> getDeployedDatabaseSchemaDetails(String guid, Relationship relationshipToDeployedDatabaseSchema) throws Exception {
+    private List<TableContextEvent> getDeployedDatabaseSchemaDetails(InstanceRequestCache instanceCache, String guid, Relationship relationshipToDeployedDatabaseSchema) throws Exception {
         log.debug("Load deployed db schema for entity with guid {}", guid);
         List<TableContextEvent> allEvents = new ArrayList<>();
         String deployedDatabaseSchemaGuid = getOtherEntityGuid(guid, relationshipToDeployedDatabaseSchema);
-        EntityDetail deployedDatabaseSchemaEntity = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, deployedDatabaseSchemaGuid);
+        EntityDetail deployedDatabaseSchemaEntity = instanceCache.getEntityDetail(deployedDatabaseSchemaGuid);
         InstanceProperties deployedDatabaseSchemaEntityProperties = deployedDatabaseSchemaEntity.getProperties();
         String schemaName = EntityPropertiesUtils.getStringValueForProperty(deployedDatabaseSchemaEntityProperties, Constants.NAME);
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.DATA_CONTENT_FOR_DATASET).getGUID();
-        List<Relationship> dbRelationships = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, deployedDatabaseSchemaGuid, relationshipTypeGuid, 0, null, null, null, null, 0);
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.DATA_CONTENT_FOR_DATASET);
+        List<Relationship> dbRelationships = instanceCache.getRelationshipsForEntity(deployedDatabaseSchemaGuid, relationshipTypeGuid);
         for (Relationship relationship : dbRelationships) {
-            List<TableContextEvent> events = getDatabaseDetails(deployedDatabaseSchemaGuid, relationship);
+            List<TableContextEvent> events = getDatabaseDetails(instanceCache, deployedDatabaseSchemaGuid, relationship);
             allEvents.addAll(events.stream().map(e -> {
                 e.getTableSource().setSchemaName(schemaName);
                 return e;
@@ -336,6 +388,7 @@ public class ColumnContextEventBuilder {
     /**
      * Returns the lists of contexts populated with database details
      *
+     * @param instanceCache   instances retrieved for this request
      * @param guid            of the DeployedDatabaseSchema entity
      * @param dbRelationships between DeployedDatabaseSchema entity and Database entity
      * @return the list of contexts with database details populated
@@ -344,16 +397,16 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private List<TableContextEvent> getDatabaseDetails(String guid, Relationship dbRelationships) throws Exception {
+    private List<TableContextEvent> getDatabaseDetails(InstanceRequestCache instanceCache, String guid, Relationship dbRelationships) throws Exception {
         log.debug("Load database details for entity with guid {}", guid);
         List<TableContextEvent> allEvents = new ArrayList<>();
         String databaseGuid = getOtherEntityGuid(guid, dbRelationships);
 
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.CONNECTION_TO_ASSET).getGUID();
-        InstanceProperties databaseEntityProperties = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, databaseGuid).getProperties();
-        List<Relationship> relationships = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, databaseGuid, relationshipTypeGuid, 0, null, null, null, null, 0);
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.CONNECTION_TO_ASSET);
+        InstanceProperties databaseEntityProperties = instanceCache.getEntityDetail(databaseGuid).getProperties();
+        List<Relationship> relationships = instanceCache.getRelationshipsForEntity(databaseGuid, relationshipTypeGuid);
         Relationship relationship = relationships.get(0);
-        TableContextEvent event = getConnectionDetails(databaseGuid, relationship);
+        TableContextEvent event = getConnectionDetails(instanceCache, databaseGuid, relationship);
         event.getTableSource().setDatabaseName(EntityPropertiesUtils.getStringValueForProperty(databaseEntityProperties, Constants.NAME));
         allEvents.add(event);
 
@@ -364,6 +417,7 @@ public class ColumnContextEventBuilder {
     /**
      * Returns the lists of contexts populated with connection details
      *
+     * @param instanceCache instances retrieved for this request
      * @param guid         of the database entity
      * @param relationship between database entity and connection entity
      * @return the context with connection details populated
@@ -372,17 +426,17 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private TableContextEvent getConnectionDetails(String guid, Relationship relationship) throws Exception {
+    private TableContextEvent getConnectionDetails(InstanceRequestCache instanceCache, String guid, Relationship relationship) throws Exception {
         log.debug("Load connection details for entity with guid {}", guid);
         String connectionEntityGUID = getOtherEntityGuid(guid, relationship);
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.CONNECTION_TO_ENDPOINT).getGUID();
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.CONNECTION_TO_ENDPOINT);
 
-        Relationship relationshipToEndpoint = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, connectionEntityGUID, relationshipTypeGuid, 0, null, null, null, null, 0).get(0);
+        Relationship relationshipToEndpoint = instanceCache.getRelationshipsForEntity(connectionEntityGUID, relationshipTypeGuid).get(0);
         String endpointGuid = getOtherEntityGuid(connectionEntityGUID, relationshipToEndpoint);
 
 
-        TableContextEvent event = getEndpointDetails(endpointGuid);
-        EntityDetail connectorTypeEntity = getConnectorTypeProviderName(connectionEntityGUID);
+        TableContextEvent event = getEndpointDetails(instanceCache, endpointGuid);
+        EntityDetail connectorTypeEntity = getConnectorTypeProviderName(instanceCache, connectionEntityGUID);
         event.getTableSource().setConnectorProviderName(EntityPropertiesUtils.getStringValueForProperty(connectorTypeEntity.getProperties(), Constants.CONNECTOR_PROVIDER_CLASSNAME));
         return event;
     }
@@ -390,6 +444,7 @@ public class ColumnContextEventBuilder {
     /**
      * Returns the connector provider entity linked to connection
      *
+     * @param instanceCache        instances retrieved for this request
      * @param connectionEntityGuid for which to retrieve the connectorType entity
      * @return the connectorType entity linked to connectionEntity
      * @throws UserNotAuthorizedException
@@ -397,24 +452,25 @@ public class ColumnContextEventBuilder {
      * @throws InvalidParameterException
      * @throws EntityNotKnownException
      */
-    private EntityDetail getConnectorTypeProviderName(String connectionEntityGuid) throws RepositoryErrorException, UserNotAuthorizedException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException, TypeDefNotKnownException, TypeErrorException, FunctionNotSupportedException, PagingErrorException, PropertyErrorException {
-        String relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, Constants.CONNECTION_CONNECTOR_TYPE).getGUID();
-        Relationship relationshipToConnectorType = enterpriseConnector.getMetadataCollection().getRelationshipsForEntity(Constants.USER_ID, connectionEntityGuid, relationshipTypeGuid, 0, null, null, null, null, 0).get(0);
+    private EntityDetail getConnectorTypeProviderName(InstanceRequestCache instanceCache, String connectionEntityGuid) throws RepositoryErrorException, UserNotAuthorizedException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException, TypeDefNotKnownException, TypeErrorException, FunctionNotSupportedException, PagingErrorException, PropertyErrorException {
+        String relationshipTypeGuid = getRelationshipTypeGuid(Constants.CONNECTION_CONNECTOR_TYPE);
+        Relationship relationshipToConnectorType = instanceCache.getRelationshipsForEntity(connectionEntityGuid, relationshipTypeGuid).get(0);
         String connectorTypeGuid = getOtherEntityGuid(connectionEntityGuid, relationshipToConnectorType);
-        return enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, connectorTypeGuid);
+        return instanceCache.getEntityDetail(connectorTypeGuid);
 
     }
 
     /**
      * Returns the context populated with endpoint details
      *
+     * @param instanceCache - instances retrieved for this request
      * @param endpointGuid - guid for endpoint
      * @return the context with connection details populated
      */
-    private TableContextEvent getEndpointDetails(String endpointGuid) throws RepositoryErrorException, UserNotAuthorizedException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException {
+    private TableContextEvent getEndpointDetails(InstanceRequestCache instanceCache, String endpointGuid) throws RepositoryErrorException, UserNotAuthorizedException, EntityProxyOnlyException, InvalidParameterException, EntityNotKnownException {
 
         log.debug("Load endpoint details for entity with guid {}", endpointGuid);
-        EntityDetail endpointEntity = enterpriseConnector.getMetadataCollection().getEntityDetail(Constants.USER_ID, endpointGuid);
+        EntityDetail endpointEntity = instanceCache.getEntityDetail(endpointGuid);
         TableContextEvent tableContextEvent = new TableContextEvent();
         TableSource tableSource = new TableSource();
         tableContextEvent.setTableSource(tableSource);
@@ -426,6 +482,35 @@ public class ColumnContextEventBuilder {
         return tableContextEvent;
     }
 
+    /**
+     * Returns the guid of the relationship type, looking it up the first time it is needed
+     *
+     * @param relationshipTypeName name of the relationship type
+     * @return the guid of the relationship type
+     * @throws InvalidParameterException
+     * @throws RepositoryErrorException
+     * @throws TypeDefNotKnownException
+     * @throws UserNotAuthorizedException
+     */
+    private String getRelationshipTypeGuid(String relationshipTypeName) throws InvalidParameterException, RepositoryErrorException, TypeDefNotKnownException, UserNotAuthorizedException {
+        String relationshipTypeGuid = relationshipTypeGuids.get(relationshipTypeName);
+        if (relationshipTypeGuid == null) {
+            relationshipTypeGuid = enterpriseConnector.getMetadataCollection().getTypeDefByName(Constants.USER_ID, relationshipTypeName).getGUID();
+            relationshipTypeGuids.put(relationshipTypeName, relationshipTypeGuid);
+        }
+        return relationshipTypeGuid;
+    }
+
+    /**
+     * Returns a new cache for the instances retrieved while processing a request
+     *
+     * @return the instance cache
+     * @throws RepositoryErrorException
+     */
+    private InstanceRequestCache getInstanceCache() throws RepositoryErrorException {
+        return new InstanceRequestCache(enterpriseConnector.getMetadataCollection(), Constants.USER_ID, null, null);
+    }
+
     /**
      * Returns the other end of the relationship than the one provided
      *
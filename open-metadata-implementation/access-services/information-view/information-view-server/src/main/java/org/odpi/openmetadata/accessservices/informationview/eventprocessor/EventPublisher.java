@@ -28,7 +28,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.odpi.openmetadata.accessservices.informationview.utils.Constants.RELATIONAL_COLUMN;
 import static org.odpi.openmetadata.accessservices.informationview.utils.Constants.SEMANTIC_ASSIGNMENT;
@@ -218,50 +221,78 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
                                             Relationship relationship) {
 
        //It should handle only semantic assignments for relational columns
-       if( !(relationship.getType().getTypeDefName().equals(SEMANTIC_ASSIGNMENT) && relationship.getEntityOneProxy().getType().getTypeDefName().equals(RELATIONAL_COLUMN))){
+       if (!isColumnSemanticAssignment(relationship)) {
            log.info("Event is ignored as the relationship is not a semantic assignment for a column");
            return;
        }
 
-       try{
-           publishSemanticAssignment(relationship);
-       }
-       catch (Exception e) {
-
-           log.error("Exception building events", e);
-           InformationViewErrorCode auditCode = InformationViewErrorCode.PUBLISH_EVENT_EXCEPTION;
-
-           auditLog.logException("processNewRelationshipEvent",
-                   auditCode.getErrorMessageId(),
-                   OMRSAuditLogRecordSeverity.EXCEPTION,
-                   auditCode.getFormattedErrorMessage(SemanticAssignment.class.getName(), e.getMessage()),
-                   e.getMessage(),
-                   auditCode.getSystemAction(),
-                   auditCode.getUserAction(),
-                   e);
-       }
+       publishSemanticAssignment("processNewRelationshipEvent", relationship);
 
-        String guid = relationship.getEntityOneProxy().getGUID();
+       String guid = relationship.getEntityOneProxy().getGUID();
+       sendColumnContextEvents(buildColumnContextEvents("processNewRelationshipEvent", Collections.singletonList(guid)));
+    }
+
+    /**
+     * Returns true if the relationship assigns a business term to a relational column
+     *
+     * @param relationship to check
+     * @return true/false based on the type of the relationship and column entity
+     */
+    private boolean isColumnSemanticAssignment(Relationship relationship) {
+        return relationship.getType().getTypeDefName().equals(SEMANTIC_ASSIGNMENT) && relationship.getEntityOneProxy().getType().getTypeDefName().equals(RELATIONAL_COLUMN);
+    }
 
+    /**
+     * Publishes the semantic assignment event, logging any error to the audit log
+     *
+     * @param actionDescription - calling method
+     * @param relationship - semantic assignment between a column and a business term
+     */
+    private void publishSemanticAssignment(String actionDescription, Relationship relationship) {
+        try {
+            publishSemanticAssignment(relationship);
+        } catch (Exception e) {
+
+            log.error("Exception building events", e);
+            InformationViewErrorCode auditCode = InformationViewErrorCode.PUBLISH_EVENT_EXCEPTION;
+
+            auditLog.logException(actionDescription,
+                    auditCode.getErrorMessageId(),
+                    OMRSAuditLogRecordSeverity.EXCEPTION,
+                    auditCode.getFormattedErrorMessage(SemanticAssignment.class.getName(), e.getMessage()),
+                    e.getMessage(),
+                    auditCode.getSystemAction(),
+                    auditCode.getUserAction(),
+                    e);
+        }
+    }
+
+    /**
+     * Builds the table context events for the columns in a single pass, logging any error to the audit log
+     *
+     * @param actionDescription - calling method
+     * @param guids - of the column entities
+     * @return the list of table context events, empty if they could not be built
+     */
+    private List<TableContextEvent> buildColumnContextEvents(String actionDescription, List<String> guids) {
         List<TableContextEvent> events = new ArrayList<>();
         try {
-            events = columnContextEventBuilder.buildEvents(guid);
+            events = columnContextEventBuilder.buildEvents(guids);
         } catch (Exception e) {
 
             log.error("Exception building events", e);
             InformationViewErrorCode auditCode = InformationViewErrorCode.BUILD_COLUMN_CONTEXT_EXCEPTION;
 
-            auditLog.logException("processNewRelationshipEvent",
+            auditLog.logException(actionDescription,
                     auditCode.getErrorMessageId(),
                     OMRSAuditLogRecordSeverity.EXCEPTION,
-                    auditCode.getFormattedErrorMessage(guid, e.getMessage()),
+                    auditCode.getFormattedErrorMessage(String.join(", ", guids), e.getMessage()),
                     e.getMessage(),
                     auditCode.getSystemAction(),
                     auditCode.getUserAction(),
                     e);
         }
-
-        sendColumnContextEvents(events);
+        return events;
     }
 
     private void publishSemanticAssignment(Relationship relationship) throws Exception {
@@ -500,6 +531,20 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
                                           String         originatorOrganizationName,
                                           InstanceGraph  instances)
     {
+        if (instances == null || instances.getRelationships() == null) {
+            return;
+        }
 
+        Set<String> columnGuids = new LinkedHashSet<>();
+        for (Relationship relationship : instances.getRelationships()) {
+            if (isColumnSemanticAssignment(relationship)) {
+                publishSemanticAssignment("processInstanceBatchEvent", relationship);
+                columnGuids.add(relationship.getEntityOneProxy().getGUID());
+            }
+        }
+
+        if (!columnGuids.isEmpty()) {
+            sendColumnContextEvents(buildColumnContextEvents("processInstanceBatchEvent", new ArrayList<>(columnGuids)));
+        }
     }
 }
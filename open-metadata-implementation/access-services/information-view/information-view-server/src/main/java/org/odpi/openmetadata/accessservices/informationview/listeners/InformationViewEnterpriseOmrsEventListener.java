@@ -125,6 +125,15 @@ public class InformationViewEnterpriseOmrsEventListener implements OMRSTopicList
                                 instanceEvent.getEntity());
                         break;
 
+                    case BATCH_INSTANCES_EVENT:
+                        instanceEventProcessor.processInstanceBatchEvent("EnterpriseOMRSTopic",
+                                instanceEventOriginator.getMetadataCollectionId(),
+                                instanceEventOriginator.getServerName(),
+                                instanceEventOriginator.getServerType(),
+                                instanceEventOriginator.getOrganizationName(),
+                                instanceEvent.getInstanceBatch());
+                        break;
+
                 }
             } else {
                 log.debug("Ignored instance event - null type");
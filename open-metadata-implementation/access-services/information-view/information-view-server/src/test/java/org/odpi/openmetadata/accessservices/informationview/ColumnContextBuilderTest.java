@@ -16,12 +16,15 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.odpi.openmetadata.accessservices.informationview.TestDataHelper.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
@@ -129,4 +132,16 @@ public class ColumnContextBuilderTest {
 
 
     }
+
+    @Test
+    public void testColumnsOfSameTableBuiltOnce() throws Exception {
+        List<TableContextEvent> events = builder.buildEvents(Arrays.asList(GUID_COLUMN, GUID_COLUMN));
+        assertEquals(events.size(), 1);
+        assertEquals(events.get(0).getTableSource().getTableName(), TABLE_NAME);
+
+        builder.buildEvents(GUID_COLUMN);
+
+        verify(omrsMetadataCollection, times(1)).getTypeDefByName(Constants.USER_ID, Constants.ATTRIBUTE_FOR_SCHEMA);
+        verify(omrsMetadataCollection, times(2)).getEntityDetail(Constants.USER_ID, GUID_TABLE);
+    }
 }
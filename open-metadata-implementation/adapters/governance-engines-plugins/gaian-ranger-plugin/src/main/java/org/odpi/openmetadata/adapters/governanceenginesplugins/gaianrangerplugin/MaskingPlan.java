@@ -0,0 +1,49 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.governanceenginesplugins.gaianrangerplugin;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The masking plan holds the result of evaluating the Ranger data masking policies for the queried columns.
+ * It is built once for a user, table and set of columns and then applied to every batch of rows of the query.
+ */
+public class MaskingPlan {
+
+    private final boolean[] maskedColumns;
+    private final Boolean isNullMasking;
+    private final Properties properties;
+
+    /**
+     * @param columns            queried columns
+     * @param columnTransformers transformers returned by the data masking policies, in the order of the columns
+     * @param isNullMasking      whether masked values are replaced with null
+     * @param properties         masking properties used when the values are not replaced with null
+     */
+    public MaskingPlan(List<String> columns, List<String> columnTransformers, Boolean isNullMasking, Properties properties) {
+        this.maskedColumns = new boolean[columns.size()];
+        this.isNullMasking = isNullMasking;
+        this.properties = properties;
+
+        for (int i = 0; i < columns.size() && i < columnTransformers.size(); i++) {
+            maskedColumns[i] = !columnTransformers.get(i).equals(columns.get(i));
+        }
+    }
+
+    /**
+     * @param column index of the column in the queried columns
+     * @return true if the values of the column must be masked
+     */
+    public boolean isMasked(int column) {
+        return column < maskedColumns.length && maskedColumns[column];
+    }
+
+    public Boolean getNullMasking() {
+        return isNullMasking;
+    }
+
+    public Properties getProperties() {
+        return properties;
+    }
+}
@@ -30,10 +30,19 @@ import static org.odpi.openmetadata.adapters.governanceenginesplugins.gaianrange
 public class RangerPolicyResultFilter extends SQLResultFilterX {
 
     private static final Logger logger = new Logger("RangerPolicyResultFilter", 25);
+    private static final String CACHE_TIME_TO_LIVE_PROPERTY = "ranger.plugin.gaian.cache.ttl.seconds";
+    private static final long DEFAULT_CACHE_TIME_TO_LIVE_SECONDS = 60;
+    private static final int MAX_CACHE_ENTRIES = 10000;
+
+    private static final RestTemplate restTemplate = new RestTemplate();
+    private static final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final TimedCache<Set<String>> userGroupsCache = new TimedCache<>(MAX_CACHE_ENTRIES);
+    private static final TimedCache<MaskingPlan> maskingPlanCache = new TimedCache<>(MAX_CACHE_ENTRIES);
 
     private QueryContext queryContext = new QueryContext();
     private RangerGaianAuthorizer rangerGaianAuthorizer = new RangerGaianAuthorizer();
     private boolean authorizeResult = true;
+    private MaskingPlan maskingPlan;
 
     /**
      * Policy instantiation constructor - invoked for every new query.
@@ -51,7 +60,6 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
      * @return information about the user
      */
     private RangerUser getRangerUser(String url) {
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
@@ -63,9 +71,6 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
     }
 
     private static RangerUser mapResultToRangerUser(ResponseEntity<String> result) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
         try {
             return mapper.readValue(result.getBody(), RangerUser.class);
         } catch (IOException e) {
@@ -182,8 +187,6 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
         // results or exceptions.
         // **HACK** for now, skip over columns with NULL_MASK_TYPE data. PURELY for demo support pending a proper
         // fix
-        rangerGaianAuthorizer.applyRowFilterAndColumnMasking(queryContext);
-
         if (rows.length == 0) {
             return rows;
         }
@@ -193,11 +196,11 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
             return rows;
         }
 
-        Boolean isNullMasking = queryContext.getNullMasking();
-        Properties properties = null;
-        if (!isNullMasking) {
-            properties = loadProperties();
+        if (maskingPlan == null) {
+            maskingPlan = getMaskingPlan();
         }
+        Boolean isNullMasking = maskingPlan.getNullMasking();
+        Properties properties = maskingPlan.getProperties();
 
         int resultSetColumnIndexOffset = 0;
         int querySetColumnIndex = 0;
@@ -211,7 +214,7 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
                 continue; // resume with the next expected column
             }
 
-            if (!queryContext.getColumnTransformers().get(querySetColumnIndex).equals(queryContext.getColumns().get(querySetColumnIndex))) {
+            if (maskingPlan.isMasked(querySetColumnIndex)) {
                 // Now do the transformation for each row
                 for (DataValueDescriptor[] row : rows) {
                     if (row == null) {
@@ -239,6 +242,36 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
         return rows; // allow query to continue (i.e. accept this logical table)
     }
 
+    /**
+     * The data masking policies are evaluated once for the user, table and columns of the query, rather than for
+     * each batch of rows.  The result is shared with later queries for the same user, table and columns until
+     * it expires, so policy changes are picked up after the cache time to live.
+     *
+     * @return the masking plan for the query
+     */
+    private MaskingPlan getMaskingPlan() {
+        String key = queryContext.getUser() + "|" + (queryContext.getUserGroups() == null ? null : new TreeSet<>(queryContext.getUserGroups()))
+                + "|" + queryContext.getSchema() + "|" + queryContext.getTableName() + "|" + queryContext.getColumns();
+
+        MaskingPlan plan = maskingPlanCache.get(key);
+        if (plan != null) {
+            return plan;
+        }
+
+        queryContext.setColumnTransformers(new ArrayList<>());
+        rangerGaianAuthorizer.applyRowFilterAndColumnMasking(queryContext);
+
+        Boolean isNullMasking = queryContext.getNullMasking();
+        Properties properties = null;
+        if (!isNullMasking) {
+            properties = loadProperties();
+        }
+
+        plan = new MaskingPlan(queryContext.getColumns(), queryContext.getColumnTransformers(), isNullMasking, properties);
+        maskingPlanCache.put(key, plan, getCacheTimeToLive());
+        return plan;
+    }
+
     // allow query to continue (i.e. accept this logical table)
     public boolean setLogicalTable(String logicalTableName, ResultSetMetaData logicalTableResultSetMetaData) {
         logger.logDetail("Entered setLogicalTable(), logicalTable: " + logicalTableName + ", structure: " + logicalTableResultSetMetaData);
@@ -252,6 +285,7 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
             queryContext.setColumns(columns);
             queryContext.setResourceType(COLUMN_RESOURCE);
             queryContext.setColumnTransformers(new ArrayList<>());
+            maskingPlan = null;
 
             Set<String> users = getDefaultUserGroups();
             queryContext.setNullMasking(isNullMasking());
@@ -276,6 +310,7 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
             queryContext.setColumns(columns);
             queryContext.setNullMasking(isNullMasking());
             queryContext.setResourceType(COLUMN_RESOURCE);
+            maskingPlan = null;
             logger.logDetail("This is the setQueriedColumns " + queryContext.toString());
 
             rangerGaianAuthorizer.init();
@@ -334,9 +369,23 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
         return RangerConfiguration.getInstance().getProperties();
     }
 
+    private long getCacheTimeToLive() {
+        long timeToLive = DEFAULT_CACHE_TIME_TO_LIVE_SECONDS;
+
+        if (RangerConfiguration.getInstance() != null && RangerConfiguration.getInstance().get(CACHE_TIME_TO_LIVE_PROPERTY) != null) {
+            try {
+                timeToLive = Long.parseLong(RangerConfiguration.getInstance().get(CACHE_TIME_TO_LIVE_PROPERTY).trim());
+            } catch (NumberFormatException e) {
+                logger.logException("GAIAN_RANGER-Exeption-2", e.getMessage(), e);
+            }
+        }
+        return timeToLive * 1000;
+    }
+
     private void setUserDetailsForQueryContext(Object arg) {
         String gaianUser = arg.toString().toLowerCase();
         queryContext.setUser(gaianUser);
+        maskingPlan = null;
         logger.logInfo("Found user for query :" + gaianUser);
 
         Set<String> userGroups = getUserGroups(gaianUser);
@@ -394,12 +443,17 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
 
     /**
      * The list of the users is retrieved from Ranger Server in a synchronous way, without timeout.
-     * Take into consideration it may cause performance issues.
+     * The groups are cached so that Ranger is only called again for the user once the cache time to live has passed.
      *
      * @param userName name of the user
      * @return a collection of user's groups
      */
     private Set<String> getUserGroups(String userName) {
+        Set<String> cachedGroups = userGroupsCache.get(userName);
+        if (cachedGroups != null) {
+            return cachedGroups;
+        }
+
         String userDetailsURL = getRangerURL(userName, USER_DETAILS);
         if(userDetailsURL == null){
             return Collections.emptySet();
@@ -408,7 +462,11 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
         final RangerUser userDetails = getRangerUser(userDetailsURL);
         if (userDetails != null) {
             logger.logInfo(userDetails.toString());
-            return getUserGroupsByUserId(userDetails);
+            Set<String> groups = getUserGroupsByUserId(userDetails);
+            if (groups != null) {
+                userGroupsCache.put(userName, groups, getCacheTimeToLive());
+                return groups;
+            }
         }
 
         return Collections.emptySet();
@@ -417,7 +475,7 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
     private Set<String> getUserGroupsByUserId(RangerUser userDetails) {
         String userGroupsURL = getRangerURL(userDetails.getId(), USER_GROUPS);
         if(userGroupsURL == null){
-            return Collections.emptySet();
+            return null;
         }
 
         final RangerUser userGroups = getRangerUser(userGroupsURL);
@@ -427,7 +485,7 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
             return userGroups.getGroupNameList();
         }
 
-        return Collections.emptySet();
+        return null;
     }
 
     private String getRangerURL(String userId, String rangerSpecificURL) {
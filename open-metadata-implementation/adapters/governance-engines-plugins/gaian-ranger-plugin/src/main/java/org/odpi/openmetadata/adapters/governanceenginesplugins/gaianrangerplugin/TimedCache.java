@@ -0,0 +1,73 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.governanceenginesplugins.gaianrangerplugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of values that are only kept for a limited time.
+ * A new RangerPolicyResultFilter is created for every query so the values that are worth keeping between
+ * queries, such as the groups of a user, are held in caches shared by all of the filters.
+ *
+ * @param <V> type of the cached values
+ */
+public class TimedCache<V> {
+
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    /**
+     * @param maxEntries the number of entries above which the cache is emptied of old values
+     */
+    public TimedCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param key key of the value
+     * @return the value or null if there is no value or it has expired
+     */
+    public V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.expiryTime < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * @param key              key of the value
+     * @param value            value to cache
+     * @param timeToLiveMillis time to keep the value for - the value is not cached if this is not positive
+     */
+    public void put(String key, V value, long timeToLiveMillis) {
+        if (timeToLiveMillis <= 0) {
+            return;
+        }
+
+        if (entries.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiryTime < now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + timeToLiveMillis));
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiryTime;
+
+        private Entry(V value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
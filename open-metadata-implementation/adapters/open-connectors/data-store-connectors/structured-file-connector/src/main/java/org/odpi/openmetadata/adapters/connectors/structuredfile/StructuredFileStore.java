@@ -67,4 +67,18 @@ public interface StructuredFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileReadException;
+
+
+    /**
+     * Return a sequence of data records.  The first record is record 0.  If the first line of the file is the
+     * column names then record 0 is the line following the column names.
+     *
+     * @param startRecordNumber number of the first record to return
+     * @param recordCount maximum number of records to return
+     * @return list of records, each a list of the values from the columns.  Null if there are no records
+     *         at or after the start record number.
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    List<List<String>> readRecords(int  startRecordNumber,
+                                   int  recordCount) throws FileReadException;
 }
@@ -12,16 +12,26 @@ import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
-import java.util.Scanner;
 
 
 /**
  * StructuredFileStoreConnector works with structured files to retrieve simple tables of data.
+ * The first time the file is read, the connector builds an index of the position of each line in the file.
+ * Records are then read directly from their position in the file.  The index is rebuilt if the file's
+ * last update date or length changes.
  */
 public class StructuredFileStoreConnector extends ConnectorBase implements StructuredFileStore
 {
@@ -33,6 +43,14 @@ public class StructuredFileStoreConnector extends ConnectorBase implements Struc
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
 
+    /*
+     * Variables used in reading the file.
+     */
+    private static final Charset fileCharset    = StandardCharsets.UTF_8;
+    private static final int     readBufferSize = 64 * 1024;
+
+    private LineIndex      lineIndex         = null;
+
     /*
      * Variables used for logging and debug.
      */
@@ -133,8 +151,8 @@ public class StructuredFileStoreConnector extends ConnectorBase implements Struc
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned when it is first read, or after it changes,
+     * to build the index of its lines.
      *
      * @return count
      * @throws FileReadException unable to find, open or scan the file.
@@ -143,40 +161,11 @@ public class StructuredFileStoreConnector extends ConnectorBase implements Struc
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
-
-        File fileStore = validateFileStore(fileStoreName, methodName);
+        long    rowCount = getLineIndex(methodName).lineCount;
 
-        try
+        if ((rowCount > 0) && (columnNames == null))
         {
-            Scanner scanner  = new Scanner(fileStore);
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
-            scanner.close();
-
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
-        {
-            StructuredFileConnectorErrorCode errorCode    = StructuredFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
-            String                           errorMessage = errorCode.getErrorMessageId()
-                                                          + errorCode.getFormattedErrorMessage(fileStoreName,
-                                                                                               error.getMessage());
-
-            throw new FileReadException(errorCode.getHTTPErrorCode(),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        errorMessage,
-                                        errorCode.getSystemAction(),
-                                        errorCode.getUserAction(),
-                                        error,
-                                        fileStoreName);
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -231,6 +220,58 @@ public class StructuredFileStoreConnector extends ConnectorBase implements Struc
     }
 
 
+    /**
+     * Return a sequence of data records.  The first record is record 0.  If the first line of the file is the
+     * column names then record 0 is the line following the column names.  The records are read in a single
+     * pass through the file, starting from the position of the first requested record.
+     *
+     * @param startRecordNumber number of the first record to return
+     * @param recordCount maximum number of records to return
+     * @return list of records, each a list of the values from the columns.  Null if there are no records
+     *         at or after the start record number.
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    public List<List<String>> readRecords(int  startRecordNumber,
+                                          int  recordCount) throws FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        int       startRow = startRecordNumber;
+        LineIndex index    = getLineIndex(methodName);
+
+        if (columnNames == null)
+        {
+            startRow = startRow + 1;
+        }
+
+        if ((startRecordNumber < 0) || (recordCount <= 0) || (startRow >= index.lineCount))
+        {
+            return null;
+        }
+
+        int                endRow  = (int)Math.min((long)startRow + recordCount, index.lineCount);
+        List<List<String>> records = new ArrayList<>(endRow - startRow);
+
+        try (FileChannel    channel = FileChannel.open(index.file.toPath(), StandardOpenOption.READ))
+        {
+            channel.position(index.lineStarts[startRow]);
+
+            BufferedReader reader = new BufferedReader(Channels.newReader(channel, fileCharset.newDecoder(), readBufferSize));
+
+            for (int row = startRow; row < endRow; row++)
+            {
+                records.add(parseRecord(reader.readLine()));
+            }
+        }
+        catch (IOException  error)
+        {
+            throw getUnexpectedIOException(error, methodName);
+        }
+
+        return records;
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
@@ -242,28 +283,10 @@ public class StructuredFileStoreConnector extends ConnectorBase implements Struc
     private List<String>      readRow(int     recordLocation,
                                       String  methodName) throws FileReadException
     {
+        LineIndex index = getLineIndex(methodName);
 
-        File fileStore = validateFileStore(fileStoreName, methodName);
-
-        try
+        if ((recordLocation < 0) || (recordLocation >= index.lineCount))
         {
-            Scanner scanner        = new Scanner(fileStore);
-
-            int rowCounter = 0;
-            while (scanner.hasNext())
-            {
-                if (rowCounter == recordLocation)
-                {
-                    return parseRecord(scanner.nextLine());
-                }
-                else
-                {
-                    scanner.nextLine();
-                }
-                rowCounter ++;
-            }
-            scanner.close();
-
             StructuredFileConnectorErrorCode errorCode    = StructuredFileConnectorErrorCode.FILE_TOO_SHORT;
             String                           errorMessage = errorCode.getErrorMessageId()
                                                           + errorCode.getFormattedErrorMessage(fileStoreName,
@@ -276,24 +299,101 @@ public class StructuredFileStoreConnector extends ConnectorBase implements Struc
                                         errorCode.getSystemAction(),
                                         errorCode.getUserAction(),
                                         fileStoreName);
+        }
+
+        long lineStart = index.lineStarts[recordLocation];
+        long lineEnd   = index.fileLength;
 
+        if (recordLocation + 1 < index.lineStarts.length)
+        {
+            lineEnd = index.lineStarts[recordLocation + 1];
+        }
+
+        try (FileChannel    channel = FileChannel.open(index.file.toPath(), StandardOpenOption.READ))
+        {
+            ByteBuffer lineBuffer = ByteBuffer.allocate((int)(lineEnd - lineStart));
+
+            while (lineBuffer.hasRemaining())
+            {
+                if (channel.read(lineBuffer, lineStart + lineBuffer.position()) < 0)
+                {
+                    break;
+                }
+            }
+
+            /*
+             * Remove the line terminator.
+             */
+            int lineLength = lineBuffer.position();
+
+            while ((lineLength > 0) && ((lineBuffer.get(lineLength - 1) == '\n') || (lineBuffer.get(lineLength - 1) == '\r')))
+            {
+                lineLength--;
+            }
+
+            return parseRecord(new String(lineBuffer.array(), 0, lineLength, fileCharset));
         }
         catch (IOException  error)
         {
-            StructuredFileConnectorErrorCode errorCode    = StructuredFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
-            String                           errorMessage = errorCode.getErrorMessageId()
-                                                          + errorCode.getFormattedErrorMessage(fileStoreName,
-                                                                                               error.getMessage());
+            throw getUnexpectedIOException(error, methodName);
+        }
+    }
 
-            throw new FileReadException(errorCode.getHTTPErrorCode(),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        errorMessage,
-                                        errorCode.getSystemAction(),
-                                        errorCode.getUserAction(),
-                                        error,
-                                        fileStoreName);
+
+    /**
+     * Return the index of the lines in the file.  The index is built the first time it is needed and rebuilt
+     * if the file has changed since it was built.
+     *
+     * @param methodName name of calling method
+     * @return line index
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    private synchronized LineIndex getLineIndex(String  methodName) throws FileReadException
+    {
+        File fileStore = validateFileStore(fileStoreName, methodName);
+
+        if ((lineIndex == null) ||
+            (! lineIndex.file.equals(fileStore)) ||
+            (lineIndex.lastModified != fileStore.lastModified()) ||
+            (lineIndex.fileLength != fileStore.length()))
+        {
+            try
+            {
+                lineIndex = new LineIndex(fileStore);
+            }
+            catch (IOException  error)
+            {
+                throw getUnexpectedIOException(error, methodName);
+            }
         }
+
+        return lineIndex;
+    }
+
+
+    /**
+     * Build the exception for an unexpected error reading the file.
+     *
+     * @param error IO exception
+     * @param methodName name of calling method
+     * @return exception to throw
+     */
+    private FileReadException getUnexpectedIOException(IOException  error,
+                                                       String       methodName)
+    {
+        StructuredFileConnectorErrorCode errorCode    = StructuredFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
+        String                           errorMessage = errorCode.getErrorMessageId()
+                                                      + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                           error.getMessage());
+
+        return new FileReadException(errorCode.getHTTPErrorCode(),
+                                     this.getClass().getName(),
+                                     methodName,
+                                     errorMessage,
+                                     errorCode.getSystemAction(),
+                                     errorCode.getUserAction(),
+                                     error,
+                                     fileStoreName);
     }
 
 
@@ -482,4 +582,99 @@ public class StructuredFileStoreConnector extends ConnectorBase implements Struc
 
         return fileStore;
     }
+
+
+    /**
+     * LineIndex records the position in the file of the start of each line.  A line ends with a line feed,
+     * a carriage return or a carriage return followed by a line feed.  Blank lines at the end of the file are
+     * not counted.
+     */
+    private static class LineIndex
+    {
+        private File   file;
+        private long   lastModified;
+        private long   fileLength;
+        private long[] lineStarts;
+        private int    lineCount;
+
+
+        /**
+         * Scan the file to build the index.
+         *
+         * @param file file to index
+         * @throws IOException unable to read the file
+         */
+        LineIndex(File  file) throws IOException
+        {
+            this.file = file;
+            this.lastModified = file.lastModified();
+
+            long[]  starts           = new long[1024];
+            int     startCount       = 0;
+            int     nonBlankLines    = 0;
+            boolean lineIsBlank      = true;
+            boolean newLine          = true;
+            boolean afterReturn      = false;
+            long    position         = 0;
+
+            try (FileChannel    channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(readBufferSize);
+
+                while (channel.read(buffer) > 0)
+                {
+                    buffer.flip();
+
+                    while (buffer.hasRemaining())
+                    {
+                        byte character = buffer.get();
+
+                        if ((afterReturn) && (character == '\n'))
+                        {
+                            /*
+                             * Second half of a carriage return, line feed line terminator.
+                             */
+                            afterReturn = false;
+                            newLine = true;
+                            position++;
+                            continue;
+                        }
+
+                        afterReturn = false;
+
+                        if (newLine)
+                        {
+                            if (startCount == starts.length)
+                            {
+                                starts = Arrays.copyOf(starts, starts.length * 2);
+                            }
+
+                            starts[startCount++] = position;
+                            lineIsBlank = true;
+                            newLine = false;
+                        }
+
+                        if ((character == '\n') || (character == '\r'))
+                        {
+                            afterReturn = (character == '\r');
+                            newLine = true;
+                        }
+                        else if ((lineIsBlank) && (! Character.isWhitespace((char)character)))
+                        {
+                            lineIsBlank = false;
+                            nonBlankLines = startCount;
+                        }
+
+                        position++;
+                    }
+
+                    buffer.clear();
+                }
+            }
+
+            this.fileLength = position;
+            this.lineStarts = Arrays.copyOf(starts, startCount);
+            this.lineCount = nonBlankLines;
+        }
+    }
 }
@@ -9,6 +9,8 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.FileWriter;
 import java.util.*;
 
 import static org.testng.Assert.assertFalse;
@@ -336,6 +338,77 @@ public class StructuredFileStoreConnectorTest
         }
     }
 
+    @Test public void testReadRecords()
+    {
+        StructuredFileStoreConnector connector = new StructuredFileStoreConnector();
+
+        try
+        {
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(resourcesDirectory + complexColumnsWithColumnNamesFile));
+            connector.start();
+
+            int                recordCount = (int)connector.getRecordCount();
+            List<List<String>> records     = connector.readRecords(0, recordCount + 10);
+
+            assertTrue(records.size() == recordCount);
+
+            for (int i=0; i<recordCount; i++)
+            {
+                assertTrue(records.get(i).equals(connector.readRecord(i)));
+            }
+
+            records = connector.readRecords(recordCount - 2, 2);
+            assertTrue(records.size() == 2);
+            assertTrue(records.get(1).equals(connector.readRecord(recordCount - 1)));
+
+            assertTrue(connector.readRecords(recordCount, 10) == null);
+
+            connector.disconnect();
+        }
+        catch (Throwable  error)
+        {
+            assertTrue(false);
+        }
+    }
+
+
+    @Test public void testChangingFile()
+    {
+        StructuredFileStoreConnector connector = new StructuredFileStoreConnector();
+
+        try
+        {
+            File changingFile = new File(resourcesDirectory + "ChangingFile.csv");
+
+            try (FileWriter writer = new FileWriter(changingFile))
+            {
+                writer.write("RecId,Name\n1,First\n");
+            }
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(changingFile.getPath()));
+            connector.start();
+
+            assertTrue(connector.getRecordCount() == 1);
+
+            try (FileWriter writer = new FileWriter(changingFile, true))
+            {
+                writer.write("2,Second\r\n3,Third\n\n");
+            }
+
+            assertTrue(connector.getRecordCount() == 3);
+            assertTrue(connector.readRecord(1).equals(Arrays.asList("2", "Second")));
+            assertTrue(connector.readRecord(2).equals(Arrays.asList("3", "Third")));
+
+            connector.disconnect();
+            changingFile.delete();
+        }
+        catch (Throwable  error)
+        {
+            assertTrue(false);
+        }
+    }
+
+
     @Test public void testLifecycle()
     {
         StructuredFileStoreConnector connector = new StructuredFileStoreConnector();
@@ -5,19 +5,16 @@ package org.odpi.openmetadata.adapters.eventbus.topic.inmemory;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 
-import java.util.ArrayList;
 import java.util.List;
 
 
 /**
  * InMemoryOpenMetadataTopicConnector provides a concrete implementation of the OpenMetadataTopicConnector that
- * uses an in-memory list as the event/messaging infrastructure.  This connector is used internally
+ * uses an in-memory queue as the event/messaging infrastructure.  This connector is used internally
  * in the OMRS to pass events received on the OMRS Topic to the OMAS Topic Listeners.
  */
 public class InMemoryOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 {
-    private volatile List<String> inMemoryOMRSTopic = new ArrayList<>();
-
     /**
      * Constructor
      */
@@ -26,51 +23,26 @@ public class InMemoryOpenMetadataTopicConnector extends OpenMetadataTopicConnect
         super();
     }
 
-    /**
-     * Supports putting events to the in memory OMRS Topic
-     *
-     * @param newEvent  event to publish
-     */
-    private synchronized void putEvent(String  newEvent)
-    {
-        inMemoryOMRSTopic.add(newEvent);
-    }
-
-
-    /**
-     * Returns all of the events found on the in memory OMRS Topic.
-     *
-     * @return list of received events.
-     */
-    private synchronized List<String> getEvents()
-    {
-        List<String>   receivedEvents = inMemoryOMRSTopic;
-        inMemoryOMRSTopic = new ArrayList<>();
-
-        return receivedEvents;
-    }
-
 
     /**
-     * Sends the supplied event to the topic.
+     * Sends the supplied event to the topic.  The event is passed straight to the listener thread.
      *
      * @param event  OMRSEvent object containing the event properties.
      */
     public void sendEvent(String event)
     {
-        this.putEvent(event);
-
+        super.deliverEvent(event);
     }
 
 
     /**
-     * Look to see if there is one of more new events to process.
+     * Events are delivered as they are sent so there are never any events waiting to be checked for.
      *
-     * @return a list of received events or null
+     * @return null
      */
     protected List<String> checkForEvents()
     {
-        return this.getEvents();
+        return null;
     }
 
 
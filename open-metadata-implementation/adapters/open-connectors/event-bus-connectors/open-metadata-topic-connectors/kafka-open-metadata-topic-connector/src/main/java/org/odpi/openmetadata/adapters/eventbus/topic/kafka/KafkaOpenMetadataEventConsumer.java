@@ -3,7 +3,12 @@
 package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
@@ -12,7 +17,6 @@ import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
-import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +25,20 @@ import org.slf4j.LoggerFactory;
 /**
  * KafkaOpenMetadataEventConsumer is used to process events from kafka topic and is part of native
  * Apache Kafka event/messaging infrastructure.
+ * <p>
+ * Received events are passed to a set of dispatch lanes, each with its own thread.  Events with the same
+ * record key (the identifier of the server that sent them) always go to the same lane, so they are processed
+ * in the order they were sent, while events from different servers are processed in parallel.  The number of
+ * events that have been received but not yet processed is bounded: when the limit is reached, the consumer
+ * pauses its partitions and keeps polling, so it stays in the consumer group without receiving more events,
+ * until the lanes catch up or the consumer is stopped.
+ * </p>
+ * <p>
+ * The offset committed for each partition is the offset of the earliest event from that partition that has not
+ * finished processing, so an event is only acknowledged once all of the listeners have processed it.  If an event
+ * can not be passed to its dispatch lane, the consumer is repositioned at that event (and at the first
+ * undispatched event of each of the other partitions in the batch) so that they are received again.
+ * </p>
  */
 public class KafkaOpenMetadataEventConsumer implements Runnable
 {
@@ -30,16 +48,27 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
 
     private static final long recoverySleepTimeSec = 10L;
     private static final long defaultPollTimeout   = 1000;
+    private static final long shutdownTimeoutSec   = 30L;
 
-    private              KafkaConsumer<String, String>   consumer;
+    private              Consumer<String, String>        consumer;
     private              String                          topicToSubscribe;
     private              String                          localServerId;
 
     private              KafkaOpenMetadataTopicConnector connector;
 
-    private Map<TopicPartition, OffsetAndMetadata> currentOffsets = new HashMap<>();
+    private              List<ExecutorService>           dispatchLanes = new ArrayList<>();
+    private              Semaphore                       inFlightEvents;
+    private              int                             maxInFlightEvents;
+    private              long                            shutdownTimeout = shutdownTimeoutSec * 1000L;
 
-    private Boolean running = true;
+    private Map<TopicPartition, TreeSet<Long>>     pendingOffsets  = new HashMap<>();
+    private Map<TopicPartition, Long>              receivedOffsets = new HashMap<>();
+    private Map<TopicPartition, OffsetAndMetadata> currentOffsets  = new HashMap<>();
+
+    private Set<TopicPartition> revokedPartitions = new HashSet<>();
+    private boolean             pausedForLanes    = false;
+
+    private volatile boolean running = true;
 
     /**
      * Constructor for the event consumer.
@@ -47,21 +76,26 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
      * @param topicName name of the topic to listen on.
      * @param localServerId identifier to enable receiver to identify that an event came from this server.
      * @param consumerProperties properties for the consumer.
+     * @param dispatchThreads number of threads used to process the received events.
+     * @param maxInFlightEvents maximum number of events that have been received but not yet processed.
      * @param connector connector holding the inbound listeners.
      * @param auditLog  audit log for this component.
      */
     public KafkaOpenMetadataEventConsumer(String                          topicName,
                                           String                          localServerId,
                                           Properties                      consumerProperties,
+                                          int                             dispatchThreads,
+                                          int                             maxInFlightEvents,
                                           KafkaOpenMetadataTopicConnector connector,
                                           OMRSAuditLog                    auditLog)
     {
-        this.auditLog = auditLog;
-        this.consumer = new KafkaConsumer<>(consumerProperties);
-        this.topicToSubscribe = topicName;
-        this.consumer.subscribe(Collections.singletonList(topicToSubscribe), new HandleRebalance());
-        this.connector = connector;
-        this.localServerId = localServerId;
+        this(topicName,
+             localServerId,
+             new KafkaConsumer<>(consumerProperties),
+             dispatchThreads,
+             maxInFlightEvents,
+             connector,
+             auditLog);
 
         final String           actionDescription = "initialize";
         KafkaOpenMetadataTopicConnectorAuditCode auditCode;
@@ -77,12 +111,61 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     }
 
 
+    /**
+     * Constructor for the event consumer that is passed the Kafka consumer to use.
+     *
+     * @param topicName name of the topic to listen on.
+     * @param localServerId identifier to enable receiver to identify that an event came from this server.
+     * @param consumer Kafka consumer
+     * @param dispatchThreads number of threads used to process the received events.
+     * @param maxInFlightEvents maximum number of events that have been received but not yet processed.
+     * @param connector connector holding the inbound listeners.
+     * @param auditLog  audit log for this component.
+     */
+    KafkaOpenMetadataEventConsumer(String                          topicName,
+                                   String                          localServerId,
+                                   Consumer<String, String>        consumer,
+                                   int                             dispatchThreads,
+                                   int                             maxInFlightEvents,
+                                   KafkaOpenMetadataTopicConnector connector,
+                                   OMRSAuditLog                    auditLog)
+    {
+        this.auditLog = auditLog;
+        this.consumer = consumer;
+        this.topicToSubscribe = topicName;
+        this.consumer.subscribe(Collections.singletonList(topicToSubscribe), new HandleRebalance());
+        this.connector = connector;
+        this.localServerId = localServerId;
+        this.maxInFlightEvents = Math.max(1, maxInFlightEvents);
+        this.inFlightEvents = new Semaphore(this.maxInFlightEvents);
+
+        for (int laneNumber = 0; laneNumber < Math.max(1, dispatchThreads); laneNumber++)
+        {
+            final String laneThreadName = "Kafka-Dispatcher-" + topicName + "-" + laneNumber;
+
+            dispatchLanes.add(Executors.newSingleThreadExecutor((runnable) -> new Thread(runnable, laneThreadName)));
+        }
+    }
+
+
+    /**
+     * Set up the maximum time to wait for the dispatch lanes to finish their events when partitions are
+     * revoked or the consumer shuts down.
+     *
+     * @param shutdownTimeout milliseconds
+     */
+    void setShutdownTimeout(long   shutdownTimeout)
+    {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+
     /**
      * The server is shutting down.
      */
     public void stop()
     {
-        running = false;
+        stopRunning();
         if (consumer != null)
         {
             consumer.wakeup();
@@ -106,47 +189,49 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 ConsumerRecords<String, String> records = consumer.poll(defaultPollTimeout);
 
                 log.debug("Found records: " + records.count());
-                for (ConsumerRecord<String, String> record : records)
+
+                /*
+                 * The records returned by the poll are from the partitions assigned after any rebalance in the poll.
+                 */
+                revokedPartitions.clear();
+
+                Iterator<ConsumerRecord<String, String>> recordIterator = records.iterator();
+
+                while (recordIterator.hasNext())
                 {
-                    String json = record.value();
-                    log.debug("Received message: " + json);
+                    ConsumerRecord<String, String> record    = recordIterator.next();
+                    TopicPartition                 partition = new TopicPartition(record.topic(), record.partition());
 
-                    if (! localServerId.equals(record.key()))
+                    if (revokedPartitions.contains(partition))
+                    {
+                        log.debug("Ignoring message from revoked partition " + partition + " at offset " + record.offset());
+                    }
+                    else if (! localServerId.equals(record.key()))
                     {
                         try
                         {
-                            connector.distributeToListeners(json);
+                            this.dispatchEvent(record, partition);
                         }
-                        catch (Exception error)
+                        catch (InterruptedException | RuntimeException error)
                         {
-                            log.error(String.format("Error distributing inbound event: %s", error.getMessage()), error);
-
-                            if (auditLog != null)
-                            {
-                                auditCode = KafkaOpenMetadataTopicConnectorAuditCode.EXCEPTION_DISTRIBUTING_EVENT;
-                                auditLog.logRecord(actionDescription,
-                                                   auditCode.getLogMessageId(),
-                                                   auditCode.getSeverity(),
-                                                   auditCode.getFormattedLogMessage(topicToSubscribe,
-                                                                                    error.getClass().getName(), json,
-                                                                                    error.getMessage()),
-                                                   null,
-                                                   auditCode.getSystemAction(),
-                                                   auditCode.getUserAction());
-                            }
+                            this.rewindUndispatchedEvents(record, recordIterator);
+
+                            throw error;
                         }
                     }
                     else
                     {
                         log.debug("Ignoring message with key: " + record.key() + " and value " + record.value());
-                    }
 
-                    /*
-                     * Acknowledge receipt of message.
-                     */
-                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
-                    currentOffsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                        this.eventReceived(partition, record.offset());
+                        this.eventProcessed(partition, record.offset());
+                    }
                 }
+
+                /*
+                 * Acknowledge receipt of the messages that have been processed.
+                 */
+                this.commitProcessedOffsets();
             }
             catch (WakeupException e)
             {
@@ -170,30 +255,363 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 }
                 recoverAfterError();
             }
+        }
+
+        this.stopDispatchLanes();
+
+        if (consumer != null)
+        {
+            try
+            {
+                this.commitProcessedOffsets();
+            }
             finally
             {
-                try
+                consumer.close();
+            }
+            consumer = null;
+        }
+    }
+
+
+    /**
+     * Pass the received event to its dispatch lane.  This waits if the maximum number of events are
+     * already waiting to be processed.  The event is dropped if its partition is revoked while waiting.
+     *
+     * @param record received event
+     * @param partition partition that the event was received from
+     * @throws InterruptedException the consumer thread was interrupted while waiting
+     * @throws WakeupException the consumer was stopped while waiting
+     */
+    private void dispatchEvent(ConsumerRecord<String, String> record,
+                               TopicPartition                 partition) throws InterruptedException
+    {
+        String          key  = record.key();
+        ExecutorService lane = dispatchLanes.get(0);
+
+        if (key != null)
+        {
+            lane = dispatchLanes.get((key.hashCode() & Integer.MAX_VALUE) % dispatchLanes.size());
+        }
+
+        this.waitForDispatchCapacity();
+
+        if (revokedPartitions.contains(partition))
+        {
+            log.debug("Ignoring message from revoked partition " + partition + " at offset " + record.offset());
+            inFlightEvents.release();
+
+            return;
+        }
+
+        /*
+         * The event is recorded as pending before it is passed to the lane since the lane may finish
+         * processing it straight away.
+         */
+        this.eventReceived(partition, record.offset());
+
+        try
+        {
+            lane.execute(() -> this.processEvent(record.value(), partition, record.offset()));
+        }
+        catch (RuntimeException error)
+        {
+            this.eventNotDispatched(partition, record.offset());
+            inFlightEvents.release();
+
+            throw error;
+        }
+    }
+
+
+    /**
+     * Wait until there is room for another event in the dispatch lanes.  While the lanes are full, the assigned
+     * partitions are paused and the consumer keeps polling, so that it stays in the consumer group without
+     * receiving more events.  This must be called on the consumer thread.
+     *
+     * @throws InterruptedException the consumer thread was interrupted while waiting
+     * @throws WakeupException the consumer was stopped while waiting
+     */
+    private void waitForDispatchCapacity() throws InterruptedException
+    {
+        if (inFlightEvents.tryAcquire())
+        {
+            return;
+        }
+
+        log.debug("Dispatch lanes are full; pausing partitions for topic " + topicToSubscribe);
+
+        pausedForLanes = true;
+        consumer.pause(consumer.assignment());
+
+        try
+        {
+            while (! inFlightEvents.tryAcquire(defaultPollTimeout, TimeUnit.MILLISECONDS))
+            {
+                if (! isRunning())
                 {
-                    Thread.sleep(1000);
+                    throw new WakeupException();
                 }
-                catch (InterruptedException e)
+
+                /*
+                 * Paused partitions do not return events, but any that are returned are received again later.
+                 */
+                Iterator<ConsumerRecord<String, String>> recordIterator = consumer.poll(0).iterator();
+
+                if (recordIterator.hasNext())
                 {
-                    log.error(String.format("Interruption error: %s", e.getMessage()), e);
+                    this.rewindUndispatchedEvents(recordIterator.next(), recordIterator);
                 }
             }
         }
+        finally
+        {
+            pausedForLanes = false;
+            consumer.resume(consumer.assignment());
+        }
+    }
 
-        if (consumer != null)
+
+    /**
+     * Reposition the consumer so that the event that could not be dispatched, and the events after it in the
+     * polled batch, are received again.  Partitions that have been revoked are left to their new consumer.
+     * This must be called on the consumer thread.
+     *
+     * @param failedRecord event that could not be dispatched
+     * @param remainingRecords events in the batch after the failed event
+     */
+    private void rewindUndispatchedEvents(ConsumerRecord<String, String>             failedRecord,
+                                          Iterator<ConsumerRecord<String, String>>   remainingRecords)
+    {
+        Map<TopicPartition, Long> seekOffsets = new HashMap<>();
+
+        seekOffsets.put(new TopicPartition(failedRecord.topic(), failedRecord.partition()), failedRecord.offset());
+
+        while (remainingRecords.hasNext())
         {
-            try
+            ConsumerRecord<String, String> record = remainingRecords.next();
+
+            seekOffsets.putIfAbsent(new TopicPartition(record.topic(), record.partition()), record.offset());
+        }
+
+        seekOffsets.keySet().removeAll(revokedPartitions);
+
+        for (Map.Entry<TopicPartition, Long> seekOffset : seekOffsets.entrySet())
+        {
+            log.debug("Repositioning partition " + seekOffset.getKey() + " at undispatched offset " + seekOffset.getValue());
+
+            consumer.seek(seekOffset.getKey(), seekOffset.getValue());
+        }
+    }
+
+
+    /**
+     * Pass the event to the connector's listeners.  This runs on the event's dispatch lane.
+     *
+     * @param json event to distribute
+     * @param partition partition that the event was received from
+     * @param offset offset of the event within the partition
+     */
+    private void processEvent(String         json,
+                              TopicPartition partition,
+                              long           offset)
+    {
+        final String           actionDescription = "processEvent";
+        KafkaOpenMetadataTopicConnectorAuditCode auditCode;
+
+        log.debug("Received message: " + json);
+
+        try
+        {
+            connector.distributeToListeners(json);
+        }
+        catch (Exception error)
+        {
+            log.error(String.format("Error distributing inbound event: %s", error.getMessage()), error);
+
+            if (auditLog != null)
             {
-                consumer.commitSync(currentOffsets);
+                auditCode = KafkaOpenMetadataTopicConnectorAuditCode.EXCEPTION_DISTRIBUTING_EVENT;
+                auditLog.logRecord(actionDescription,
+                                   auditCode.getLogMessageId(),
+                                   auditCode.getSeverity(),
+                                   auditCode.getFormattedLogMessage(topicToSubscribe,
+                                                                    error.getClass().getName(), json,
+                                                                    error.getMessage()),
+                                   null,
+                                   auditCode.getSystemAction(),
+                                   auditCode.getUserAction());
             }
-            finally
+        }
+        finally
+        {
+            this.eventProcessed(partition, offset);
+            inFlightEvents.release();
+        }
+    }
+
+
+    /**
+     * Record that an event has been received and is waiting to be processed.
+     *
+     * @param partition partition that the event was received from
+     * @param offset offset of the event within the partition
+     */
+    private synchronized void eventReceived(TopicPartition partition,
+                                            long           offset)
+    {
+        pendingOffsets.computeIfAbsent(partition, (newPartition) -> new TreeSet<>()).add(offset);
+        receivedOffsets.put(partition, offset);
+    }
+
+
+    /**
+     * Remove an event that could not be passed to its dispatch lane.  It will be received again, so the
+     * offset committed for the partition must not move past it.
+     *
+     * @param partition partition that the event was received from
+     * @param offset offset of the event within the partition
+     */
+    private synchronized void eventNotDispatched(TopicPartition partition,
+                                                 long           offset)
+    {
+        TreeSet<Long> pendingPartitionOffsets = pendingOffsets.get(partition);
+
+        if (pendingPartitionOffsets != null)
+        {
+            pendingPartitionOffsets.remove(offset);
+        }
+
+        receivedOffsets.put(partition, offset - 1);
+    }
+
+
+    /**
+     * Record that an event has been processed.  The offset that can be committed for the partition moves
+     * up to the earliest event that is still waiting to be processed.
+     *
+     * @param partition partition that the event was received from
+     * @param offset offset of the event within the partition
+     */
+    private synchronized void eventProcessed(TopicPartition partition,
+                                             long           offset)
+    {
+        TreeSet<Long> pendingPartitionOffsets = pendingOffsets.get(partition);
+
+        if ((pendingPartitionOffsets != null) && (pendingPartitionOffsets.remove(offset)))
+        {
+            long nextOffset;
+
+            if (pendingPartitionOffsets.isEmpty())
             {
-                consumer.close();
+                nextOffset = receivedOffsets.get(partition) + 1;
             }
-            consumer = null;
+            else
+            {
+                nextOffset = pendingPartitionOffsets.first();
+            }
+
+            currentOffsets.put(partition, new OffsetAndMetadata(nextOffset));
+        }
+    }
+
+
+    /**
+     * Return the offsets that have moved on since they were last committed.
+     *
+     * @return map of partition to offset; empty if there is nothing new to commit
+     */
+    private synchronized Map<TopicPartition, OffsetAndMetadata> getOffsetsToCommit()
+    {
+        Map<TopicPartition, OffsetAndMetadata> offsetsToCommit = new HashMap<>(currentOffsets);
+
+        currentOffsets.clear();
+
+        return offsetsToCommit;
+    }
+
+
+    /**
+     * Forget about the events from partitions that are no longer assigned to this consumer.
+     *
+     * @param partitions revoked partitions
+     */
+    private synchronized void removePartitions(Collection<TopicPartition> partitions)
+    {
+        for (TopicPartition partition : partitions)
+        {
+            pendingOffsets.remove(partition);
+            receivedOffsets.remove(partition);
+            currentOffsets.remove(partition);
+        }
+    }
+
+
+    /**
+     * Commit the offsets of the events that have been processed.  This must be called on the consumer thread.
+     */
+    private void commitProcessedOffsets()
+    {
+        Map<TopicPartition, OffsetAndMetadata> offsetsToCommit = this.getOffsetsToCommit();
+
+        if (! offsetsToCommit.isEmpty())
+        {
+            consumer.commitSync(offsetsToCommit);
+        }
+    }
+
+
+    /**
+     * Wait for the events that have been received to be processed.  The wait is limited by the shutdown
+     * timeout since a listener may be stuck or the dispatch lanes may already have been stopped.
+     *
+     * @return whether all of the events were processed
+     */
+    private boolean waitForInFlightEvents()
+    {
+        try
+        {
+            if (inFlightEvents.tryAcquire(maxInFlightEvents, shutdownTimeout, TimeUnit.MILLISECONDS))
+            {
+                inFlightEvents.release(maxInFlightEvents);
+
+                return true;
+            }
+        }
+        catch (InterruptedException error)
+        {
+            log.debug("Interrupted while waiting for in-flight events", error);
+
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Let the dispatch lanes finish the events they have been passed and then stop their threads.
+     */
+    private void stopDispatchLanes()
+    {
+        for (ExecutorService lane : dispatchLanes)
+        {
+            lane.shutdown();
+        }
+
+        try
+        {
+            for (ExecutorService lane : dispatchLanes)
+            {
+                if (! lane.awaitTermination(shutdownTimeout, TimeUnit.MILLISECONDS))
+                {
+                    log.info("Dispatch lane did not finish processing events for topic " + topicToSubscribe);
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            log.debug("Interrupted while waiting for dispatch lanes", e);
         }
     }
 
@@ -235,7 +653,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
      *
      * @return boolean
      */
-    private synchronized  boolean isRunning()
+    private boolean isRunning()
     {
         return running;
     }
@@ -244,7 +662,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     /**
      * Flip the switch to stop the thread.
      */
-    private synchronized void stopRunning()
+    private void stopRunning()
     {
         running = false;
     }
@@ -254,12 +672,40 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     {
         public void onPartitionsAssigned(Collection<TopicPartition> partitions)
         {
+            /*
+             * Partitions assigned while the dispatch lanes are full stay paused until they catch up.
+             */
+            if (pausedForLanes)
+            {
+                consumer.pause(partitions);
+            }
         }
 
         public void onPartitionsRevoked(Collection<TopicPartition> partitions)
         {
-            log.info("Lost partitions in rebalance. Committing current offsets:" + currentOffsets);
-            consumer.commitSync(currentOffsets);
+            partitionsRevoked(partitions);
         }
     }
+
+
+    /**
+     * Finish processing the events already received so their offsets can be committed before the partitions
+     * move to another consumer.  Only the offsets of the events that have finished processing are committed.
+     * Any events from these partitions that are still to be dispatched are dropped, since the new consumer
+     * receives them from the committed offset.  This is called on the consumer thread.
+     *
+     * @param partitions revoked partitions
+     */
+    void partitionsRevoked(Collection<TopicPartition> partitions)
+    {
+        if (! waitForInFlightEvents())
+        {
+            log.info("Events for topic " + topicToSubscribe + " were still being processed when partitions were revoked");
+        }
+
+        log.info("Lost partitions in rebalance. Committing current offsets:" + currentOffsets);
+        commitProcessedOffsets();
+        removePartitions(partitions);
+        revokedPartitions.addAll(partitions);
+    }
 }
@@ -6,6 +6,7 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.slf4j.Logger;
@@ -24,7 +25,7 @@ import java.util.concurrent.ExecutionException;
  */
 public class KafkaOpenMetadataEventProducer implements Runnable
 {
-    private volatile List<String> sendBuffer = new ArrayList<>();
+    private volatile List<byte[]> sendBuffer = new ArrayList<>();
 
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
 
@@ -40,7 +41,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
     private String                          localServerId;
     private Properties                      producerProperties;
-    private Producer<String, String>        producer;
+    private Producer<String, byte[]>        producer;
     private KafkaOpenMetadataTopicConnector connector;
 
     private long    messageSendCount = 0;
@@ -66,7 +67,8 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         this.topicName = topicName;
         this.localServerId = localServerId;
         this.connector = connector;
-        this.producerProperties = producerProperties;
+        this.producerProperties = new Properties();
+        this.producerProperties.putAll(producerProperties);
         this.listenerThreadName = defaultThreadName + topicName;
 
 
@@ -77,10 +79,15 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         auditLog.logRecord(actionDescription,
                            auditCode.getLogMessageId(),
                            auditCode.getSeverity(),
-                           auditCode.getFormattedLogMessage(topicName, producerProperties.toString()),
+                           auditCode.getFormattedLogMessage(topicName, this.producerProperties.toString()),
                            null,
                            auditCode.getSystemAction(),
                            auditCode.getUserAction());
+
+        /*
+         * The events are passed to the producer as UTF-8 encoded bytes.
+         */
+        this.producerProperties.put("value.serializer", ByteArraySerializer.class.getName());
     }
 
 
@@ -88,10 +95,10 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     /**
      * Sends the supplied event to the topic.  It retries if Kafka is not responding.
      *
-     * @param event object containing the event properties.
+     * @param event UTF-8 encoded event.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
-    private void publishEvent(String event) throws ConnectorCheckedException
+    private void publishEvent(byte[] event) throws ConnectorCheckedException
     {
         final String methodName = "publishEvent";
 
@@ -102,8 +109,8 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         {
             try
             {
-                log.debug("Sending message {0}" + event);
-                ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
+                log.debug("Sending message of " + event.length + " bytes");
+                ProducerRecord<String, byte[]> record = new ProducerRecord<>(topicName, localServerId, event);
                 producer.send(record).get();
                 eventSent = true;
                 messageSendCount++;
@@ -113,7 +120,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                 /*
                  * This may be a simple timeout or something else more
                  */
-                log.debug("Kafka had trouble sending event: " + event + "exception message is " + error.getMessage());
+                log.debug("Kafka had trouble sending event of " + event.length + " bytes: exception message is " + error.getMessage());
                 if (eventRetryCount == 10)
                 {
                     eventRetryCount = 0;
@@ -196,14 +203,14 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         {
             try
             {
-                String bufferedEvent = this.getEvent();
+                byte[] bufferedEvent = this.getEvent();
 
                 /*
-                 * If there are no events waiting then sleep
+                 * If there are no events waiting then wait for one to be sent
                  */
                 if (bufferedEvent == null)
                 {
-                    Thread.sleep(sleepTime);
+                    this.waitForEvent();
                 }
                 else
                 {
@@ -247,9 +254,24 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      *
      * @param newEvent  event to publish
      */
-    private synchronized void putEvent(String  newEvent)
+    private synchronized void putEvent(byte[]  newEvent)
     {
         sendBuffer.add(newEvent);
+        notifyAll();
+    }
+
+
+    /**
+     * Wait until an event is put in the send buffer or sleepTime has passed.
+     *
+     * @throws InterruptedException the thread was interrupted while waiting
+     */
+    private synchronized void waitForEvent() throws InterruptedException
+    {
+        if (sendBuffer.isEmpty())
+        {
+            wait(sleepTime);
+        }
     }
 
 
@@ -267,7 +289,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      *
      * @return list of received events.
      */
-    private synchronized String getEvent()
+    private synchronized byte[] getEvent()
     {
         if (sendBuffer.isEmpty())
         {
@@ -281,9 +303,9 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     /**
      * Sends the supplied event to the topic.
      *
-     * @param event  OMRSEvent object containing the event properties.
+     * @param event  UTF-8 encoded event.
      */
-    public void sendEvent(String event)
+    public void sendEvent(byte[] event)
     {
         this.putEvent(event);
     }
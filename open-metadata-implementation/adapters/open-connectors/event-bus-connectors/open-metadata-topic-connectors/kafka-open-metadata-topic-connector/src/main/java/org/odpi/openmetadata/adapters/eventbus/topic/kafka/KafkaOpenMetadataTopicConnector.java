@@ -10,6 +10,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 
@@ -29,7 +30,8 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     private String       topicName          = null;
     private String       serverId           = null;
-    private List<String> incomingEventsList = Collections.synchronizedList(new ArrayList<>());
+    private int          dispatchThreads    = 1;
+    private int          maxInFlightEvents  = 1000;
 
 
     /**
@@ -49,11 +51,10 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         producerProperties.put("linger.ms", 0);
         producerProperties.put("buffer.memory", 33554432);
         producerProperties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 
         consumerProperties.put("bootstrap.servers", "localhost:9092");
-        consumerProperties.put("enable.auto.commit", "true");
-        consumerProperties.put("auto.commit.interval.ms", "1000");
+        consumerProperties.put("enable.auto.commit", "false");
         consumerProperties.put("session.timeout.ms", "30000");
         consumerProperties.put("max.partition.fetch.bytes",	10485760);
         consumerProperties.put("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
@@ -89,6 +90,13 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
                 serverId = (String) additionalProperties.getProperty(KafkaOpenMetadataTopicProvider.serverIdPropertyName);
                 consumerProperties.put("group.id", serverId);
 
+                dispatchThreads = this.getIntProperty(additionalProperties,
+                                                      KafkaOpenMetadataTopicProvider.dispatchThreadsPropertyName,
+                                                      dispatchThreads);
+                maxInFlightEvents = this.getIntProperty(additionalProperties,
+                                                        KafkaOpenMetadataTopicProvider.maxInFlightEventsPropertyName,
+                                                        maxInFlightEvents);
+
                 if (auditLog != null)
                 {
                     auditCode = KafkaOpenMetadataTopicConnectorAuditCode.SERVICE_INITIALIZING;
@@ -185,6 +193,40 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     }
 
 
+    /**
+     * Return the integer value of an additional property.  The value may be supplied as a number or a string.
+     *
+     * @param additionalProperties additional properties from the connection.
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a valid integer
+     * @return property value
+     */
+    private int getIntProperty(AdditionalProperties additionalProperties,
+                               String               propertyName,
+                               int                  defaultValue)
+    {
+        Object propertyValue = additionalProperties.getProperty(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number) propertyValue).intValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Integer.parseInt(propertyValue.toString());
+            }
+            catch (NumberFormatException error)
+            {
+                log.debug("Ignoring invalid value for " + propertyName + ": " + propertyValue);
+            }
+        }
+
+        return defaultValue;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      * It creates two threads, one for sending (producer) and the other for receiving
@@ -200,7 +242,13 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
         this.initializeTopic();
 
-        consumer = new KafkaOpenMetadataEventConsumer(topicName, serverId, consumerProperties, this, auditLog);
+        consumer = new KafkaOpenMetadataEventConsumer(topicName,
+                                                      serverId,
+                                                      consumerProperties,
+                                                      dispatchThreads,
+                                                      maxInFlightEvents,
+                                                      this,
+                                                      auditLog);
         consumerThread = new Thread(consumer, threadHeader + "Consumer-" + topicName);
         consumerThread.start();
 
@@ -220,49 +268,53 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
      */
     public void sendEvent(String event) throws ConnectorCheckedException
     {
-        if (producer != null)
+        if ((producer != null) && (event != null))
         {
-            producer.sendEvent(event);
+            producer.sendEvent(event.getBytes(StandardCharsets.UTF_8));
         }
     }
 
 
-
-
     /**
-     * Look to see if there is one of more new events to process.
+     * Sends the supplied event to the topic.  The bytes are sent to Kafka as they are, without
+     * being decoded into a String first.
      *
-     * @return a list of received events or null
+     * @param event bytes containing the UTF-8 encoded event.
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
-    protected List<String> checkForEvents()
+    @Override
+    public void sendEvent(byte[] event) throws ConnectorCheckedException
     {
-        List<String> newEvents = null;
+        if ((producer != null) && (event != null))
+        {
+            producer.sendEvent(event);
+        }
+    }
 
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
-        // (superclass) so it should not block.
 
-        if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
-        {
-            log.debug("checking for events {0}" + incomingEventsList);
-            newEvents = new ArrayList<>(incomingEventsList);
 
-            // empty incomingEventsList otherwise same events will be sent again
-            incomingEventsList.removeAll(newEvents);
-        }
 
-        return newEvents;
+    /**
+     * Inbound events are passed directly to the listeners by the consumer's dispatch threads
+     * so there are never any events waiting to be picked up by the listener thread.
+     *
+     * @return null
+     */
+    protected List<String> checkForEvents()
+    {
+        return null;
     }
 
 
     /**
-     * Distribute events to other listeners.
+     * Distribute an event to the listeners.  This returns once all of the listeners have processed the event.
      *
      * @param event object containing the event properties.
      */
     void distributeToListeners(String event)
     {
         log.debug("distribute event to listeners" + event);
-        incomingEventsList.add(event);
+        super.distributeEvent(event);
     }
 
 
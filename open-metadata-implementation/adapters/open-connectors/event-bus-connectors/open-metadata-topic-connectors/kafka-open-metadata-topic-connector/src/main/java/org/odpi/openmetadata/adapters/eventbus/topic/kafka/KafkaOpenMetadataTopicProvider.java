@@ -10,7 +10,9 @@ import java.util.List;
 
 /**
  * KafkaOpenMetadataTopicProvider provides implementation of the connector provider
- * for the KafkaOpenMetadataTopicConnector.
+ * for the KafkaOpenMetadataTopicConnector.  As well as the producer and consumer properties, the connection
+ * may set the number of threads that process inbound events (dispatch.threads) and the maximum number of
+ * inbound events that may be waiting to be processed (dispatch.max.in.flight.events).
  */
 public class KafkaOpenMetadataTopicProvider extends OpenMetadataTopicProvider
 {
@@ -22,6 +24,9 @@ public class KafkaOpenMetadataTopicProvider extends OpenMetadataTopicProvider
     public static final String  consumerPropertyName = "consumer";
     public static final String  serverIdPropertyName = "local.server.id";
 
+    public static final String  dispatchThreadsPropertyName   = "dispatch.threads";
+    public static final String  maxInFlightEventsPropertyName = "dispatch.max.in.flight.events";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
@@ -44,6 +49,8 @@ public class KafkaOpenMetadataTopicProvider extends OpenMetadataTopicProvider
         recognizedPropertyNames.add(producerPropertyName);
         recognizedPropertyNames.add(consumerPropertyName);
         recognizedPropertyNames.add(serverIdPropertyName);
+        recognizedPropertyNames.add(dispatchThreadsPropertyName);
+        recognizedPropertyNames.add(maxInFlightEventsPropertyName);
 
         connectorType.setRecognizedAdditionalProperties(recognizedPropertyNames);
 
@@ -0,0 +1,398 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test the dispatch of events to the lanes and the tracking of the offsets to commit by the
+ * KafkaOpenMetadataEventConsumer, using Kafka's MockConsumer in place of a Kafka server.
+ */
+public class TestKafkaOpenMetadataEventConsumer
+{
+    private static final String         topicName     = "TestTopic";
+    private static final String         localServerId = "LocalServer";
+    private static final TopicPartition partition     = new TopicPartition(topicName, 0);
+    private static final long           waitTime      = 10000;
+
+
+    @Test
+    void testCommitAfterProcessing() throws Exception
+    {
+        MockConsumer<String, String>   mockConsumer = getMockConsumer();
+        TestConnector                  connector    = new TestConnector(null);
+        KafkaOpenMetadataEventConsumer consumer     = getConsumer(mockConsumer, 2, 10, connector);
+        Thread                         thread       = startConsumer(consumer);
+
+        addRecords(mockConsumer, "ServerA", "ServerB", localServerId, "ServerA", "ServerB", "ServerA");
+
+        waitFor(() -> connector.receivedEvents.size() == 5);
+        waitFor(() -> Long.valueOf(6).equals(getCommittedOffset(mockConsumer)));
+
+        /*
+         * The events from the local server are not distributed and the events from each server are
+         * distributed in order.
+         */
+        assertEquals(getEventsFrom(connector, "ServerA"), Arrays.asList("ServerA:0", "ServerA:3", "ServerA:5"));
+        assertEquals(getEventsFrom(connector, "ServerB"), Arrays.asList("ServerB:1", "ServerB:4"));
+
+        stopConsumer(consumer, thread);
+    }
+
+
+    @Test
+    void testCommitWaitsForEarliestEvent() throws Exception
+    {
+        MockConsumer<String, String>   mockConsumer = getMockConsumer();
+        CountDownLatch                 release      = new CountDownLatch(1);
+        TestConnector                  connector    = new TestConnector(Collections.singletonMap("ServerA:0", release));
+        KafkaOpenMetadataEventConsumer consumer     = getConsumer(mockConsumer, 2, 10, connector);
+        Thread                         thread       = startConsumer(consumer);
+
+        addRecords(mockConsumer, "ServerA", "ServerB", "ServerB");
+
+        /*
+         * The later events are processed on the other lane, but the offset can not move past the
+         * event that is still being processed.
+         */
+        waitFor(() -> connector.receivedEvents.size() == 3);
+
+        Long committedOffset = getCommittedOffset(mockConsumer);
+
+        assertTrue((committedOffset == null) || (committedOffset == 0), "Committed offset " + committedOffset);
+
+        release.countDown();
+
+        waitFor(() -> Long.valueOf(3).equals(getCommittedOffset(mockConsumer)));
+
+        stopConsumer(consumer, thread);
+    }
+
+
+    @Test
+    void testDispatchFailureRewinds() throws Exception
+    {
+        MockConsumer<String, String>   mockConsumer = getMockConsumer();
+        CountDownLatch                 release      = new CountDownLatch(1);
+        TestConnector                  connector    = new TestConnector(Collections.singletonMap("ServerA:0", release));
+        KafkaOpenMetadataEventConsumer consumer     = getConsumer(mockConsumer, 1, 1, connector);
+        Thread                         thread       = startConsumer(consumer);
+
+        addRecords(mockConsumer, "ServerA", "ServerA", "ServerA");
+
+        /*
+         * Only one event may be in flight, so the consumer thread waits to dispatch the second event.
+         * Interrupting it means the second and third events are not dispatched.
+         */
+        waitFor(() -> isWaiting(thread));
+        thread.interrupt();
+
+        waitFor(() -> Long.valueOf(1).equals(getPosition(mockConsumer)));
+
+        release.countDown();
+
+        waitFor(() -> Long.valueOf(1).equals(getCommittedOffset(mockConsumer)));
+
+        /*
+         * The consumer has been repositioned at the second event, and once the events are received again
+         * they are processed and committed.
+         */
+        mockConsumer.schedulePollTask(() ->
+        {
+            mockConsumer.addRecord(new ConsumerRecord<>(topicName, 0, 1, "ServerA", "ServerA:1"));
+            mockConsumer.addRecord(new ConsumerRecord<>(topicName, 0, 2, "ServerA", "ServerA:2"));
+        });
+
+        waitFor(() -> Long.valueOf(3).equals(getCommittedOffset(mockConsumer)));
+        assertEquals(connector.receivedEvents, Arrays.asList("ServerA:0", "ServerA:1", "ServerA:2"));
+
+        stopConsumer(consumer, thread);
+    }
+
+
+    @Test
+    void testPauseWhileLanesFull() throws Exception
+    {
+        MockConsumer<String, String>   mockConsumer = getMockConsumer();
+        CountDownLatch                 release      = new CountDownLatch(1);
+        TestConnector                  connector    = new TestConnector(Collections.singletonMap("ServerA:0", release));
+        KafkaOpenMetadataEventConsumer consumer     = getConsumer(mockConsumer, 1, 1, connector);
+        Thread                         thread       = startConsumer(consumer);
+
+        addRecords(mockConsumer, "ServerA", "ServerA", "ServerA");
+
+        /*
+         * The consumer keeps polling with the partition paused while it waits to dispatch the second event.
+         */
+        waitFor(() -> isWaiting(thread));
+        assertEquals(readOnConsumerThread(mockConsumer, mockConsumer::paused), Collections.singleton(partition));
+
+        release.countDown();
+
+        waitFor(() -> Long.valueOf(3).equals(getCommittedOffset(mockConsumer)));
+        assertEquals(readOnConsumerThread(mockConsumer, mockConsumer::paused), Collections.emptySet());
+        assertEquals(connector.receivedEvents, Arrays.asList("ServerA:0", "ServerA:1", "ServerA:2"));
+
+        stopConsumer(consumer, thread);
+    }
+
+
+    @Test
+    void testStopWhileLanesFull() throws Exception
+    {
+        MockConsumer<String, String>   mockConsumer = getMockConsumer();
+        CountDownLatch                 release      = new CountDownLatch(1);
+        TestConnector                  connector    = new TestConnector(Collections.singletonMap("ServerA:0", release));
+        KafkaOpenMetadataEventConsumer consumer     = getConsumer(mockConsumer, 1, 1, connector);
+        Thread                         thread       = startConsumer(consumer);
+
+        consumer.setShutdownTimeout(100);
+        addRecords(mockConsumer, "ServerA", "ServerA", "ServerA");
+
+        /*
+         * Stopping the consumer ends its wait to dispatch the second event even though the listener is still
+         * processing the first event.
+         */
+        waitFor(() -> isWaiting(thread));
+        stopConsumer(consumer, thread);
+
+        release.countDown();
+    }
+
+
+    @Test
+    void testRevokeWithStuckListener() throws Exception
+    {
+        MockConsumer<String, String>   mockConsumer = getMockConsumer();
+        CountDownLatch                 release      = new CountDownLatch(1);
+        TestConnector                  connector    = new TestConnector(Collections.singletonMap("ServerA:1", release));
+        KafkaOpenMetadataEventConsumer consumer     = getConsumer(mockConsumer, 1, 10, connector);
+        Thread                         thread       = startConsumer(consumer);
+        CountDownLatch                 revoked      = new CountDownLatch(1);
+
+        consumer.setShutdownTimeout(100);
+        addRecords(mockConsumer, "ServerA", "ServerA");
+        waitFor(() -> connector.receivedEvents.size() == 2);
+
+        /*
+         * The revoke waits for a limited time and commits the event that has been processed.
+         */
+        mockConsumer.schedulePollTask(() ->
+        {
+            consumer.partitionsRevoked(Collections.singletonList(partition));
+            revoked.countDown();
+        });
+
+        assertTrue(revoked.await(waitTime, TimeUnit.MILLISECONDS));
+        assertEquals(getCommittedOffset(mockConsumer), Long.valueOf(1));
+
+        release.countDown();
+        stopConsumer(consumer, thread);
+    }
+
+
+    private MockConsumer<String, String> getMockConsumer()
+    {
+        return new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    }
+
+
+    private KafkaOpenMetadataEventConsumer getConsumer(MockConsumer<String, String> mockConsumer,
+                                                       int                          dispatchThreads,
+                                                       int                          maxInFlightEvents,
+                                                       TestConnector                connector)
+    {
+        KafkaOpenMetadataEventConsumer consumer = new KafkaOpenMetadataEventConsumer(topicName,
+                                                                                     localServerId,
+                                                                                     mockConsumer,
+                                                                                     dispatchThreads,
+                                                                                     maxInFlightEvents,
+                                                                                     connector,
+                                                                                     null)
+        {
+            @Override
+            protected void recoverAfterError()
+            {
+            }
+        };
+
+        mockConsumer.rebalance(Collections.singletonList(partition));
+        mockConsumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+
+        return consumer;
+    }
+
+
+    private Thread startConsumer(KafkaOpenMetadataEventConsumer consumer)
+    {
+        Thread thread = new Thread(consumer, "TestKafkaConsumer");
+
+        thread.setDaemon(true);
+        thread.start();
+
+        return thread;
+    }
+
+
+    private void stopConsumer(KafkaOpenMetadataEventConsumer consumer,
+                              Thread                         thread) throws InterruptedException
+    {
+        consumer.stop();
+        thread.join(waitTime);
+
+        assertTrue(! thread.isAlive());
+    }
+
+
+    /**
+     * Add records to the partition, with the keys supplied.  The value of each record is its key and offset.
+     *
+     * @param mockConsumer consumer
+     * @param keys record keys
+     */
+    private void addRecords(MockConsumer<String, String> mockConsumer,
+                            String...                    keys)
+    {
+        mockConsumer.schedulePollTask(() ->
+        {
+            for (int offset = 0; offset < keys.length; offset++)
+            {
+                mockConsumer.addRecord(new ConsumerRecord<>(topicName, 0, offset, keys[offset], keys[offset] + ":" + offset));
+            }
+        });
+    }
+
+
+    /**
+     * Return the offset committed for the partition.  MockConsumer is not thread-safe, so it is read on the
+     * consumer thread.
+     *
+     * @param mockConsumer consumer
+     * @return offset or null
+     */
+    private Long getCommittedOffset(MockConsumer<String, String> mockConsumer)
+    {
+        return readOnConsumerThread(mockConsumer, () ->
+        {
+            OffsetAndMetadata committed = mockConsumer.committed(partition);
+
+            return (committed == null) ? null : committed.offset();
+        });
+    }
+
+
+    private Long getPosition(MockConsumer<String, String> mockConsumer)
+    {
+        return readOnConsumerThread(mockConsumer, () -> mockConsumer.position(partition));
+    }
+
+
+    private <T> T readOnConsumerThread(MockConsumer<String, String>   mockConsumer,
+                                       java.util.function.Supplier<T> reader)
+    {
+        AtomicReference<T> result = new AtomicReference<>();
+        CountDownLatch     read   = new CountDownLatch(1);
+
+        mockConsumer.schedulePollTask(() ->
+        {
+            result.set(reader.get());
+            read.countDown();
+        });
+
+        try
+        {
+            read.await(waitTime, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        return result.get();
+    }
+
+
+    private List<String> getEventsFrom(TestConnector connector,
+                                       String        serverName)
+    {
+        List<String> events = new ArrayList<>();
+
+        for (String event : connector.receivedEvents)
+        {
+            if (event.startsWith(serverName + ":"))
+            {
+                events.add(event);
+            }
+        }
+
+        return events;
+    }
+
+
+    private boolean isWaiting(Thread thread)
+    {
+        return (thread.getState() == Thread.State.WAITING) || (thread.getState() == Thread.State.TIMED_WAITING);
+    }
+
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException
+    {
+        long endTime = System.currentTimeMillis() + waitTime;
+
+        while (! condition.getAsBoolean())
+        {
+            assertTrue(System.currentTimeMillis() < endTime, "Timed out waiting for condition");
+            Thread.sleep(10);
+        }
+    }
+
+
+    /**
+     * Connector that records the events it is asked to distribute.  Events may be held until a latch is released.
+     */
+    private static class TestConnector extends KafkaOpenMetadataTopicConnector
+    {
+        private List<String>                receivedEvents = new CopyOnWriteArrayList<>();
+        private Map<String, CountDownLatch> blockedEvents;
+
+        TestConnector(Map<String, CountDownLatch> blockedEvents)
+        {
+            this.blockedEvents = (blockedEvents == null) ? Collections.emptyMap() : blockedEvents;
+        }
+
+        @Override
+        void distributeToListeners(String event)
+        {
+            receivedEvents.add(event);
+
+            CountDownLatch latch = blockedEvents.get(event);
+
+            if (latch != null)
+            {
+                try
+                {
+                    latch.await();
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -18,10 +18,15 @@
    import org.slf4j.Logger;
    import org.slf4j.LoggerFactory;
 
+   import java.util.concurrent.Executors;
+   import java.util.concurrent.ScheduledExecutorService;
+   import java.util.concurrent.TimeUnit;
+
    public class RangerConnector {
 
        private static final Logger log = LoggerFactory.getLogger(RangerConnector.class);
        private OMRSAuditLog auditLog;
+       private ScheduledExecutorService syncScheduler;
        OpenMetadataTopicConnector inTopic;
 
        public void initialize(SecuritySyncConfig securitySyncConfig, OMRSAuditLog auditLog) {
@@ -39,9 +44,37 @@
            startTopic(inTopic);
 
            governanceEventProcessor.processExistingGovernedAssetsFromRepository();
+           scheduleSync(governanceEventProcessor, securitySyncConfig.getTagServiceName());
            logAudit(RangerConnectorAuditCode.SERVICE_INITIALIZED, actionDescription);
        }
 
+       /**
+        * Synchronize the governed assets again after each full sync interval, so the tags of the assets that are no
+        * longer governed are removed from Ranger while the connector is running.
+        *
+        * @param governanceEventProcessor processor that synchronizes the governed assets
+        * @param tagServiceName name of the Ranger tag service that is synchronized
+        */
+       private void scheduleSync(GovernanceEventProcessor governanceEventProcessor, String tagServiceName) {
+           long fullSyncInterval = governanceEventProcessor.getFullSyncInterval();
+           if (fullSyncInterval <= 0) {
+               return;
+           }
+
+           syncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+               Thread thread = new Thread(runnable, "RangerConnectorSync-" + tagServiceName);
+               thread.setDaemon(true);
+               return thread;
+           });
+           syncScheduler.scheduleWithFixedDelay(() -> {
+               try {
+                   governanceEventProcessor.processExistingGovernedAssetsFromRepository();
+               } catch (RuntimeException e) {
+                   log.error("Error synchronizing the governed assets: " + e.getMessage(), e);
+               }
+           }, fullSyncInterval, fullSyncInterval, TimeUnit.MILLISECONDS);
+       }
+
        /**
         * Returns the connector created from topic connection properties
         *
@@ -85,10 +118,14 @@
 
 
        /**
-        * Disconnect the InTopic Connector
+        * Stop the scheduled synchronization and disconnect the InTopic Connector
         */
        public void shutdown() {
 
+           if (syncScheduler != null) {
+               syncScheduler.shutdownNow();
+           }
+
            try {
                inTopic.disconnect();
            } catch (ConnectorCheckedException e) {
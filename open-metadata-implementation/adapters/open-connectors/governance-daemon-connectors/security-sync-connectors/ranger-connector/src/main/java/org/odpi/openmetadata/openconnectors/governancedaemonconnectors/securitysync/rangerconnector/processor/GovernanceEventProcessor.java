@@ -19,12 +19,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.*;
 
@@ -33,69 +34,115 @@ public class GovernanceEventProcessor {
     private static final Logger log = LoggerFactory.getLogger(GovernanceEventProcessor.class);
     private OMRSAuditLog auditLog;
     private SecuritySyncConfig securitySyncConfig;
+    private RestTemplate restTemplate;
+    private SyncCheckpoint syncCheckpoint;
 
     public GovernanceEventProcessor(SecuritySyncConfig securitySyncConfig, OMRSAuditLog auditLog) {
+        this(securitySyncConfig, auditLog, new RestTemplate(),
+                new SyncCheckpoint(securitySyncConfig.getSyncCheckpointDirectory(), securitySyncConfig.getTagServiceName()));
+    }
+
+    /**
+     * Create a processor that sends its requests through the supplied client, for example to point it at a
+     * mock Ranger server.  The client is shared by all of the requests so the connections are reused.
+     *
+     * @param securitySyncConfig - configuration of the security sync
+     * @param auditLog           - audit log
+     * @param restTemplate       - client for the Ranger and Governance Engine OMAS requests
+     * @param syncCheckpoint     - checkpoint of the last synchronization of the governed assets
+     */
+    public GovernanceEventProcessor(SecuritySyncConfig securitySyncConfig, OMRSAuditLog auditLog, RestTemplate restTemplate, SyncCheckpoint syncCheckpoint) {
         this.auditLog = auditLog;
         this.securitySyncConfig = securitySyncConfig;
-    }
-
+        this.restTemplate = restTemplate;
+        this.syncCheckpoint = syncCheckpoint;
+    }
+
+    /**
+     * Return the time between the full synchronizations of the governed assets.
+     *
+     * @return time in milliseconds - 0 if there is no periodic full synchronization
+     */
+    public long getFullSyncInterval() {
+        Integer fullSyncInterval = securitySyncConfig.getFullSyncInterval();
+        if (fullSyncInterval == null) {
+            fullSyncInterval = DEFAULT_FULL_SYNC_INTERVAL;
+        }
+        return Math.max(0, fullSyncInterval) * 60L * 60L * 1000L;
+    }
+
+    /**
+     * Synchronize the governed assets with the tags in Ranger.  Only the assets that have changed since the last
+     * synchronization that completed are read, a page at a time, and only the assets whose tag is not already
+     * mapped in Ranger are sent, as one import request per page.
+     * <p>
+     * The mappings in Ranger to a different tag than the one the asset now carries are removed.  A delta read from
+     * the Governance Engine OMAS does not report the assets that have lost their classification, so the mappings of
+     * the assets that are no longer governed are only removed by a full read, once every page has been read.  All
+     * of the assets are read when Ranger holds no mappings, when there is no checkpoint, and when the full sync
+     * interval has passed since the last full synchronization that completed.
+     */
     public void processExistingGovernedAssetsFromRepository() {
         logProcessing("processExistingGovernedAssetsFromRepository", RangerConnectorAuditCode.CLASSIFIED_GOVERNED_ASSET_INITIAL_LOAD);
-        List<GovernedAsset> governedAssets = getGovernedAssets().getGovernedAssetList();
-
-        Map<RangerTag, Set<RangerServiceResource>> tagResourcesMap = new HashMap<>();
-        Map<String, RangerTag> rangerTagMap = new HashMap<>();
-        Map<Long, RangerTag> tags = new HashMap<>();
-        Long resourceIndex = 0L;
-        Long tagIndex = 0L;
-
 
-        for (GovernedAsset governedAsset : governedAssets) {
+        Map<String, Map<String, List<ResourceTagMapper>>> rangerMappingsByResource = getTagsMappedToResourcesInRanger();
+        String syncToken = rangerMappingsByResource.isEmpty() || isFullSyncDue() ? null : syncCheckpoint.getSyncToken();
+        String nextSyncToken = null;
+        String startAfterGuid = null;
+        boolean readAll = false;
+        boolean synchronizedAll = true;
+        Set<String> governedAssetGuids = new HashSet<>();
+
+        while (true) {
+            GovernedAssetListAPIResponse response = getGovernedAssets(syncToken, startAfterGuid);
+            if (response == null || response.getGovernedAssetList() == null) {
+                break;
+            }
+            if (nextSyncToken == null) {
+                nextSyncToken = response.getSyncToken();
+            }
 
-            if (governedAsset.getAssignedGovernanceClassifications().isEmpty()) {
-                continue;
+            List<GovernedAsset> governedAssets = response.getGovernedAssetList();
+            for (GovernedAsset governedAsset : governedAssets) {
+                governedAssetGuids.add(governedAsset.getGuid());
             }
 
-            RangerTag rangerTag = getRangerTag(governedAsset, rangerTagMap, tags, tagIndex++);
+            if (!deleteMappingsBetweenTagsAndResources(getReplacedMappings(governedAssets, rangerMappingsByResource))) {
+                synchronizedAll = false;
+            }
 
-            List<RangerServiceResource> rangerServiceResources = getRangerServiceResources(resourceIndex++, governedAsset);
-            if (tagResourcesMap.containsKey(rangerTag)) {
-                for (Map.Entry<RangerTag, Set<RangerServiceResource>> rangerTagListEntry : tagResourcesMap.entrySet()) {
-                    if (rangerTagListEntry.getKey().equals(rangerTag)) {
-                        rangerTagListEntry.getValue().addAll(rangerServiceResources);
-                        break;
-                    }
-                }
-            } else {
-                tagResourcesMap.put(rangerTag, rangerServiceResources.stream().collect(Collectors.toSet()));
+            RangerResource rangerResource = getChangedResources(governedAssets, rangerMappingsByResource);
+            if (!rangerResource.getServiceResources().isEmpty() && !mapResourcesToTagsInRangerServer(rangerResource)) {
+                synchronizedAll = false;
             }
 
-            List<Long> rangerTagId = getRangerTagId(rangerTag, tags);
-            if (rangerTagId.isEmpty()) {
-                return;
+            if (governedAssets.size() < GOVERNED_ASSETS_PAGE_SIZE || response.getSyncToken() == null) {
+                readAll = true;
+                break;
             }
+            startAfterGuid = governedAssets.get(governedAssets.size() - 1).getGuid();
         }
 
-
-        Map<Long, List<Long>> resourceToTagIds = new HashMap<>();
-        List<RangerServiceResource> resources = mapRangerServicesResources(tagResourcesMap);
-        for (RangerServiceResource resource : resources) {
-
-            for (Map.Entry<RangerTag, Set<RangerServiceResource>> rangerTagSetEntry : tagResourcesMap.entrySet()) {
-
-                if (rangerTagSetEntry.getValue().contains((resource))) {
-                    RangerTag rangerTagForResource = rangerTagSetEntry.getKey();
-                    for (Map.Entry<Long, RangerTag> rangerTagId : tags.entrySet()) {
-                        if (rangerTagId.getValue().equals(rangerTagForResource)) {
-                            resourceToTagIds.put(resource.getId(), Collections.singletonList(rangerTagId.getKey()));
-                        }
-                    }
+        if (readAll && syncToken == null) {
+            List<ResourceTagMapper> staleMappings = new ArrayList<>();
+            rangerMappingsByResource.forEach((resourceGuid, mappingsByTag) -> {
+                if (!governedAssetGuids.contains(resourceGuid)) {
+                    mappingsByTag.values().forEach(staleMappings::addAll);
                 }
+            });
+            if (!deleteMappingsBetweenTagsAndResources(staleMappings)) {
+                synchronizedAll = false;
             }
         }
 
-        RangerResource rangerResource = buildRangerResource(resources, tags, resourceToTagIds);
-        mapResourcesToTagsInRangerServer(rangerResource);
+        if (readAll && synchronizedAll && nextSyncToken != null) {
+            syncCheckpoint.saveSyncToken(nextSyncToken, syncToken == null);
+        }
+    }
+
+    private boolean isFullSyncDue() {
+        long fullSyncInterval = getFullSyncInterval();
+        return fullSyncInterval > 0 && System.currentTimeMillis() - syncCheckpoint.getLastFullSyncTime() >= fullSyncInterval;
     }
 
     public void processClassifiedGovernedAssetEvent(GovernedAsset governedAsset) {
@@ -144,19 +191,101 @@ public class GovernanceEventProcessor {
         createMappingBetweenTagAndResource(newTagGuid, resource.getGuid());
     }
 
-    private RangerTag getRangerTag(GovernedAsset governedAsset, Map<String, RangerTag> rangerTagMap, Map<Long, RangerTag> tags, Long tagIndex) {
-        GovernanceClassification classification = governedAsset.getAssignedGovernanceClassifications().get(0);
-        String tagName = classification.getAttributes().get(LEVEL);
+    private List<ResourceTagMapper> getReplacedMappings(List<GovernedAsset> governedAssets, Map<String, Map<String, List<ResourceTagMapper>>> rangerMappingsByResource) {
+        List<ResourceTagMapper> replacedMappings = new ArrayList<>();
+
+        for (GovernedAsset governedAsset : governedAssets) {
+            Map<String, List<ResourceTagMapper>> mappingsByTag = rangerMappingsByResource.get(governedAsset.getGuid());
+            if (mappingsByTag == null) {
+                continue;
+            }
+
+            String tagGuid = getTagGuid(governedAsset);
+            mappingsByTag.forEach((mappedTagGuid, mappings) -> {
+                if (!mappedTagGuid.equals(tagGuid)) {
+                    replacedMappings.addAll(mappings);
+                }
+            });
+        }
+        return replacedMappings;
+    }
+
+    private RangerResource getChangedResources(List<GovernedAsset> governedAssets, Map<String, Map<String, List<ResourceTagMapper>>> rangerMappingsByResource) {
+        Map<String, Long> tagIds = new HashMap<>();
+        Map<Long, RangerTag> tags = new HashMap<>();
+        List<RangerServiceResource> resources = new ArrayList<>();
+        Map<Long, List<Long>> resourceToTagIds = new HashMap<>();
+
+        for (GovernedAsset governedAsset : governedAssets) {
+            String tagGuid = getTagGuid(governedAsset);
+            if (tagGuid == null || governedAsset.getContexts() == null || governedAsset.getContexts().isEmpty()) {
+                continue;
+            }
+
+            Map<String, List<ResourceTagMapper>> rangerTags = rangerMappingsByResource.get(governedAsset.getGuid());
+            if (rangerTags != null && rangerTags.containsKey(tagGuid)) {
+                continue;
+            }
+
+            Long tagId = tagIds.get(tagGuid);
+            if (tagId == null) {
+                tagId = (long) tagIds.size();
+                tagIds.put(tagGuid, tagId);
+                tags.put(tagId, buildTag(governedAsset.getAssignedGovernanceClassifications().get(0)));
+            }
 
-        if (rangerTagMap.containsKey(tagName)) {
-            return rangerTagMap.get(tagName);
+            for (RangerServiceResource resource : getRangerServiceResources((long) resources.size(), governedAsset)) {
+                resources.add(resource);
+                resourceToTagIds.put(resource.getId(), Collections.singletonList(tagId));
+            }
         }
-        RangerTag tag = buildTag(classification);
-        rangerTagMap.put(tagName, tag);
-        tags.put(tagIndex, tag);
-        return tag;
+
+        return buildRangerResource(resources, tags, resourceToTagIds);
     }
 
+    private String getTagGuid(GovernedAsset governedAsset) {
+        if (governedAsset.getAssignedGovernanceClassifications() == null || governedAsset.getAssignedGovernanceClassifications().isEmpty()) {
+            return null;
+        }
+
+        GovernanceClassification classification = governedAsset.getAssignedGovernanceClassifications().get(0);
+        if (classification.getAttributes() == null) {
+            return null;
+        }
+        return classification.getAttributes().get(LEVEL);
+    }
+
+    /**
+     * Return the mappings in Ranger between the resources and the tags created by this connector, by the guid of
+     * the resource and the guid of the tag.
+     *
+     * @return mappings by resource guid and tag guid
+     */
+    private Map<String, Map<String, List<ResourceTagMapper>>> getTagsMappedToResourcesInRanger() {
+        Map<Long, String> tagGuids = new HashMap<>();
+        for (RangerTag tag : getAllTags()) {
+            if (CONFIDENTIALITY.equals(tag.getType())) {
+                tagGuids.put(tag.getId(), tag.getGuid());
+            }
+        }
+
+        Map<Long, String> resourceGuids = new HashMap<>();
+        for (RangerServiceResource resource : getAllResources()) {
+            resourceGuids.put(resource.getId(), resource.getGuid());
+        }
+
+        Map<String, Map<String, List<ResourceTagMapper>>> mappingsByResource = new HashMap<>();
+        for (ResourceTagMapper resourceTagMapper : getMappedResources()) {
+            String resourceGuid = resourceGuids.get(resourceTagMapper.getResourceId());
+            String tagGuid = tagGuids.get(resourceTagMapper.getTagId());
+            if (resourceGuid != null && tagGuid != null) {
+                mappingsByResource.computeIfAbsent(resourceGuid, guid -> new HashMap<>())
+                        .computeIfAbsent(tagGuid, guid -> new ArrayList<>())
+                        .add(resourceTagMapper);
+            }
+        }
+        return mappingsByResource;
+    }
 
     private RangerResource processGovernedAsset(GovernedAsset governedAsset) {
         Map<Long, RangerTag> tags = buildTags(governedAsset.getAssignedGovernanceClassifications());
@@ -191,7 +320,6 @@ public class GovernanceEventProcessor {
     private void createNewTag(RangerTag rangerTag) {
         Gson gson = new Gson();
         String body = gson.toJson(rangerTag);
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(body, getHttpHeaders());
 
         try {
@@ -294,17 +422,18 @@ public class GovernanceEventProcessor {
         return serviceResource;
     }
 
-    private void mapResourcesToTagsInRangerServer(RangerResource resource) {
+    private boolean mapResourcesToTagsInRangerServer(RangerResource resource) {
         String body = getBody(resource);
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(body, getHttpHeaders());
 
         try {
             String url = getRangerURL(SERVICE_TAGS_IMPORT_SERVICE_TAGS);
             restTemplate.exchange(url, HttpMethod.PUT, entity, String.class);
-        } catch (HttpStatusCodeException exception) {
+            return true;
+        } catch (RestClientException exception) {
             log.error(exception.getMessage());
         }
+        return false;
     }
 
 
@@ -325,7 +454,6 @@ public class GovernanceEventProcessor {
         String rangerBaseURL = securitySyncConfig.getSecurityServerURL();
         String resourceURL = MessageFormat.format(SERVICE_TAGS_RESOURCE_BY_GUID, rangerBaseURL, resourceGuid);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
@@ -352,26 +480,36 @@ public class GovernanceEventProcessor {
         return any.orElse(null);
     }
 
-    private void deleteMappingBetweenTagAndResource(ResourceTagMapper resourceTagMapper) {
+    private boolean deleteMappingsBetweenTagsAndResources(List<ResourceTagMapper> resourceTagMappers) {
+        boolean deletedAll = true;
+        for (ResourceTagMapper resourceTagMapper : resourceTagMappers) {
+            if (!deleteMappingBetweenTagAndResource(resourceTagMapper)) {
+                deletedAll = false;
+            }
+        }
+        return deletedAll;
+    }
+
+    private boolean deleteMappingBetweenTagAndResource(ResourceTagMapper resourceTagMapper) {
         String rangerBaseURL = securitySyncConfig.getSecurityServerURL();
-        String deleteAssociationURL = MessageFormat.format("{0}/service/tags/tagresourcemap/{1}", rangerBaseURL, resourceTagMapper.getGuid());
+        String deleteAssociationURL = MessageFormat.format(SERVICE_TAGS_TAG_RESOURCE_MAP_BY_GUID, rangerBaseURL, resourceTagMapper.getGuid());
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpHeaders headers = getHttpHeaders();
         HttpEntity<String> entity = new HttpEntity<>(headers);
 
         try {
-            restTemplate.delete(deleteAssociationURL, HttpMethod.DELETE, entity);
-        } catch (HttpStatusCodeException exception) {
+            restTemplate.exchange(deleteAssociationURL, HttpMethod.DELETE, entity, String.class);
+            return true;
+        } catch (RestClientException exception) {
             log.error(exception.getMessage());
         }
+        return false;
     }
 
     private ResourceTagMapper createMappingBetweenTagAndResource(String tagGuid, String resourceGuid) {
         String rangerBaseURL = securitySyncConfig.getSecurityServerURL();
         String createAssociation = MessageFormat.format("{0}/service/tags/tagresourcemaps?tag-guid={1}&resource-guid={2}", rangerBaseURL, tagGuid, resourceGuid);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
         try {
             ResponseEntity<String> result = restTemplate.exchange(createAssociation, HttpMethod.POST, entity, String.class);
@@ -408,13 +546,14 @@ public class GovernanceEventProcessor {
     private List<RangerTag> getAllTags() {
         String allMappedResources = getRangerURL(SERVICE_ALL_TAGS);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
             ResponseEntity<List<RangerTag>> response = restTemplate.exchange(allMappedResources, HttpMethod.GET, entity, new ParameterizedTypeReference<List<RangerTag>>(){});
-            return response.getBody();
-        } catch (HttpStatusCodeException exception) {
+            if (response.getBody() != null) {
+                return response.getBody();
+            }
+        } catch (RestClientException exception) {
             log.error(exception.getMessage());
         }
         return Collections.emptyList();
@@ -423,29 +562,52 @@ public class GovernanceEventProcessor {
     private List<ResourceTagMapper> getMappedResources() {
         String allMappedResources = getRangerURL(SERVICE_TAGS_TAG_RESOURCE_MAPS);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
             ResponseEntity<List<ResourceTagMapper>> response = restTemplate.exchange(allMappedResources, HttpMethod.GET, entity, new ParameterizedTypeReference<List<ResourceTagMapper>>(){});
-            return response.getBody();
-        } catch (HttpStatusCodeException exception) {
+            if (response.getBody() != null) {
+                return response.getBody();
+            }
+        } catch (RestClientException exception) {
             log.error(exception.getMessage());
         }
         return Collections.emptyList();
     }
 
-    private GovernedAssetListAPIResponse getGovernedAssets() {
-        String governanceEngineURL = getGovernanceEngineURL(GOVERNED_ASSETS);
+    private List<RangerServiceResource> getAllResources() {
+        String allResources = getRangerURL(SERVICE_TAGS_RESOURCES);
+
+        HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
+
+        try {
+            ResponseEntity<List<RangerServiceResource>> response = restTemplate.exchange(allResources, HttpMethod.GET, entity, new ParameterizedTypeReference<List<RangerServiceResource>>(){});
+            if (response.getBody() != null) {
+                return response.getBody();
+            }
+        } catch (RestClientException exception) {
+            log.error(exception.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    private GovernedAssetListAPIResponse getGovernedAssets(String syncToken, String startAfterGuid) {
+        UriComponentsBuilder governanceEngineURL = UriComponentsBuilder.fromHttpUrl(getGovernanceEngineURL(GOVERNED_ASSETS))
+                .queryParam("pageSize", GOVERNED_ASSETS_PAGE_SIZE);
+        if (syncToken != null) {
+            governanceEngineURL.queryParam("syncToken", syncToken);
+        }
+        if (startAfterGuid != null) {
+            governanceEngineURL.queryParam("startAfterGuid", startAfterGuid);
+        }
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getBasicHTTPHeaders());
 
         try {
 
-            ResponseEntity<String> result = restTemplate.exchange(governanceEngineURL, HttpMethod.GET, entity, String.class);
+            ResponseEntity<String> result = restTemplate.exchange(governanceEngineURL.toUriString(), HttpMethod.GET, entity, String.class);
             return (GovernedAssetListAPIResponse) mapToObject(result, GovernedAssetListAPIResponse.class);
-        } catch (HttpStatusCodeException exception) {
+        } catch (RestClientException exception) {
             log.error(exception.getMessage());
         }
         return null;
@@ -455,28 +617,4 @@ public class GovernanceEventProcessor {
         String geBaseURL = securitySyncConfig.getGovernanceEngineServerURL();
         return MessageFormat.format(endpoint, geBaseURL, CONFIDENTIALITY);
     }
-
-    private List<RangerServiceResource> mapRangerServicesResources(Map<RangerTag, Set<RangerServiceResource>> tagResourcesMap) {
-        List<RangerServiceResource> resources = new ArrayList<>();
-
-        for (RangerTag key : tagResourcesMap.keySet()) {
-            resources.addAll(tagResourcesMap.get(key));
-        }
-
-        return resources;
-    }
-
-    private List<Long> getRangerTagId(RangerTag rangerTag, Map<Long, RangerTag> tags) {
-        if (!tags.containsValue(rangerTag)) {
-            return Collections.emptyList();
-        }
-        for (Map.Entry<Long, RangerTag> longRangerTagEntry : tags.entrySet()) {
-
-            if (longRangerTagEntry.getValue().equals(rangerTag)) {
-                return Collections.singletonList(longRangerTagEntry.getKey());
-            }
-        }
-
-        return Collections.emptyList();
-    }
-}
+}
\ No newline at end of file
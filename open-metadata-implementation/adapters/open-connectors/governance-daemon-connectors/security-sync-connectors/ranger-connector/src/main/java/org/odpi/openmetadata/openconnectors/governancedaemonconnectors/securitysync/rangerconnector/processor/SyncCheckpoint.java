@@ -0,0 +1,137 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.processor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * SyncCheckpoint remembers the sync token returned by the Governance Engine OMAS at the start of the last
+ * synchronization that completed, and when the last full synchronization completed.  It is kept in a file so that
+ * a restarted connector only sends the governed assets that have changed since then.
+ */
+public class SyncCheckpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncCheckpoint.class);
+    private static final String SYNC_TOKEN = "syncToken";
+    private static final String LAST_FULL_SYNC_TIME = "lastFullSyncTime";
+
+    private Path checkpointFile;
+
+    /**
+     * Create a checkpoint for the tag service in the checkpoint directory.
+     *
+     * @param checkpointDirectory - directory holding the checkpoint - null for the working directory
+     * @param tagServiceName      - name of the Ranger tag service that is synchronized
+     */
+    public SyncCheckpoint(String checkpointDirectory, String tagServiceName) {
+        this(Paths.get(checkpointDirectory == null ? "" : checkpointDirectory, "ranger.connector." + tagServiceName + ".checkpoint"));
+    }
+
+    /**
+     * Create a checkpoint in the supplied file.
+     *
+     * @param checkpointFile - file holding the checkpoint
+     */
+    public SyncCheckpoint(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Return the sync token of the last synchronization that completed.
+     *
+     * @return sync token or null if the assets have never been synchronized
+     */
+    public String getSyncToken() {
+        return loadCheckpoint().getProperty(SYNC_TOKEN);
+    }
+
+    /**
+     * Return the time of the last full synchronization that completed.
+     *
+     * @return time in milliseconds or 0 if the assets have never been synchronized in full
+     */
+    public long getLastFullSyncTime() {
+        String lastFullSyncTime = loadCheckpoint().getProperty(LAST_FULL_SYNC_TIME);
+        try {
+            return lastFullSyncTime == null ? 0 : Long.parseLong(lastFullSyncTime);
+        } catch (NumberFormatException e) {
+            log.error("Invalid last full sync time {} in the checkpoint {}", lastFullSyncTime, checkpointFile);
+            return 0;
+        }
+    }
+
+    /**
+     * Save the sync token of a synchronization of the changed assets that has completed.
+     *
+     * @param syncToken - sync token returned by the Governance Engine OMAS
+     */
+    public void saveSyncToken(String syncToken) {
+        saveSyncToken(syncToken, false);
+    }
+
+    /**
+     * Save the sync token of a synchronization that has completed, and for a full synchronization the time it
+     * completed.  The file is replaced in one step so a failure part way through leaves the previous checkpoint
+     * in place.
+     *
+     * @param syncToken - sync token returned by the Governance Engine OMAS
+     * @param fullSync  - whether all of the governed assets were synchronized
+     */
+    public void saveSyncToken(String syncToken, boolean fullSync) {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty(SYNC_TOKEN, syncToken);
+        if (fullSync) {
+            checkpoint.setProperty(LAST_FULL_SYNC_TIME, Long.toString(System.currentTimeMillis()));
+        } else {
+            String lastFullSyncTime = loadCheckpoint().getProperty(LAST_FULL_SYNC_TIME);
+            if (lastFullSyncTime != null) {
+                checkpoint.setProperty(LAST_FULL_SYNC_TIME, lastFullSyncTime);
+            }
+        }
+
+        Path tempFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            Path checkpointDirectory = checkpointFile.toAbsolutePath().getParent();
+            if (checkpointDirectory != null) {
+                Files.createDirectories(checkpointDirectory);
+            }
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                checkpoint.store(outputStream, null);
+            }
+            try {
+                Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                log.debug("Atomic move not supported for the checkpoint {}", checkpointFile);
+                Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.error("Unable to save the checkpoint {}: {}", checkpointFile, e.getMessage());
+        }
+    }
+
+    private Properties loadCheckpoint() {
+        Properties checkpoint = new Properties();
+        if (!Files.exists(checkpointFile)) {
+            return checkpoint;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(checkpointFile)) {
+            checkpoint.load(inputStream);
+        } catch (IOException e) {
+            log.error("Unable to read the checkpoint {}: {}", checkpointFile, e.getMessage());
+            return new Properties();
+        }
+        return checkpoint;
+    }
+}
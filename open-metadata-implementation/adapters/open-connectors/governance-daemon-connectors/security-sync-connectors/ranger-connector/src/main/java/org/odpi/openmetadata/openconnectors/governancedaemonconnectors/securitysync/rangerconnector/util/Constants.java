@@ -18,5 +18,9 @@ public class Constants {
     public static final String SERVICE_TAGS_RESOURCE_BY_GUID = "{0}/service/tags/resource/guid/{1}";
     public static final String SERVICE_ALL_TAGS = "{0}/service/tags/tags";
     public static final String SERVICE_TAGS_TAG_RESOURCE_MAPS = "{0}/service/tags/tagresourcemaps";
-    public static final String GOVERNED_ASSETS = "{0}/assets?classification={0}";
+    public static final String SERVICE_TAGS_TAG_RESOURCE_MAP_BY_GUID = "{0}/service/tags/tagresourcemap/guid/{1}";
+    public static final String SERVICE_TAGS_RESOURCES = "{0}/service/tags/resources";
+    public static final String GOVERNED_ASSETS = "{0}/assets?classification={1}";
+    public static final int GOVERNED_ASSETS_PAGE_SIZE = 500;
+    public static final int DEFAULT_FULL_SYNC_INTERVAL = 24;
 }
\ No newline at end of file
@@ -0,0 +1,343 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.Context;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernanceClassification;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAssetListAPIResponse;
+import org.odpi.openmetadata.adminservices.configuration.properties.SecuritySyncConfig;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.RangerServiceResource;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.RangerTag;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.ResourceTagMapper;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.RequestMatcher;
+import org.springframework.web.client.RestTemplate;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.CONFIDENTIALITY;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.GOVERNED_ASSETS_PAGE_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.LEVEL;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test the synchronization of the governed assets with Ranger by the GovernanceEventProcessor, using a mock
+ * server in place of Ranger and the Governance Engine OMAS.
+ */
+public class TestGovernanceEventProcessor
+{
+    private static final String rangerURL           = "http://ranger:6080";
+    private static final String governanceEngineURL = "http://egeria:8080/open-metadata/access-services/governance-engine/users/test";
+    private static final String assetsURL           = governanceEngineURL + "/assets?classification=" + CONFIDENTIALITY + "&pageSize=" + GOVERNED_ASSETS_PAGE_SIZE;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockRestServiceServer    server;
+    private Path                     checkpoint;
+    private SyncCheckpoint           syncCheckpoint;
+    private GovernanceEventProcessor processor;
+
+
+    @BeforeMethod
+    void setUp() throws Exception
+    {
+        SecuritySyncConfig securitySyncConfig = new SecuritySyncConfig();
+        securitySyncConfig.setSecurityServerURL(rangerURL);
+        securitySyncConfig.setGovernanceEngineServerURL(governanceEngineURL);
+        securitySyncConfig.setSecurityServerAuthorization("Basic test");
+        securitySyncConfig.setTagServiceName("testTags");
+
+        RestTemplate restTemplate = new RestTemplate();
+
+        checkpoint = Files.createTempDirectory("ranger-connector").resolve("checkpoint");
+
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        syncCheckpoint = new SyncCheckpoint(checkpoint);
+        processor = new GovernanceEventProcessor(securitySyncConfig, new TestAuditLog(), restTemplate, syncCheckpoint);
+    }
+
+
+    @Test
+    void testSkipMappedAssets() throws Exception
+    {
+        syncCheckpoint.saveSyncToken("1000", true);
+
+        expectRangerMappings(Collections.singletonList(getTag(1L, "secret")),
+                             Collections.singletonList(getResource(10L, "asset-1")),
+                             Collections.singletonList(getMapping(100L, "map-1", 1L, 10L)));
+
+        /*
+         * Ranger already holds mappings, so only the assets that have changed since the checkpoint are read, and
+         * the asset whose tag is already mapped is not sent.
+         */
+        expectAssets(assetsURL + "&syncToken=1000", "2000", getAsset("asset-1", "secret"), getAsset("asset-2", "secret"));
+        server.expect(request(HttpMethod.PUT, rangerURL + "/service/tags/importservicetags"))
+              .andExpect(bodyContains("asset-2"))
+              .andExpect(bodyExcludes("asset-1"))
+              .andRespond(withSuccess());
+
+        processor.processExistingGovernedAssetsFromRepository();
+
+        server.verify();
+        assertEquals(syncCheckpoint.getSyncToken(), "2000");
+    }
+
+
+    @Test
+    void testPagesAndStaleMappings() throws Exception
+    {
+        List<GovernedAsset> firstPage = new ArrayList<>();
+        for (int i = 0; i < GOVERNED_ASSETS_PAGE_SIZE; i++)
+        {
+            firstPage.add(getAsset(String.format("asset-%03d", i), "secret"));
+        }
+
+        /*
+         * asset-001 has been reclassified from public to secret and asset-999 is no longer governed.
+         */
+        expectRangerMappings(getList(getTag(1L, "public"), getTag(2L, "secret")),
+                             getList(getResource(10L, "asset-001"), getResource(11L, "asset-999")),
+                             getList(getMapping(100L, "map-1", 1L, 10L), getMapping(101L, "map-2", 2L, 11L)));
+
+        expectAssets(assetsURL, "2000", firstPage.toArray(new GovernedAsset[0]));
+        server.expect(request(HttpMethod.DELETE, rangerURL + "/service/tags/tagresourcemap/guid/map-1"))
+              .andRespond(withSuccess());
+        server.expect(request(HttpMethod.PUT, rangerURL + "/service/tags/importservicetags"))
+              .andExpect(bodyContains("asset-001"))
+              .andRespond(withSuccess());
+
+        String lastGuid = firstPage.get(GOVERNED_ASSETS_PAGE_SIZE - 1).getGuid();
+        expectAssets(assetsURL + "&startAfterGuid=" + lastGuid, "2001", getAsset("asset-500", "secret"));
+        server.expect(request(HttpMethod.PUT, rangerURL + "/service/tags/importservicetags"))
+              .andExpect(bodyContains("asset-500"))
+              .andRespond(withSuccess());
+
+        /*
+         * The mappings of the assets that were not returned by the full read are removed at the end.
+         */
+        server.expect(request(HttpMethod.DELETE, rangerURL + "/service/tags/tagresourcemap/guid/map-2"))
+              .andRespond(withSuccess());
+
+        processor.processExistingGovernedAssetsFromRepository();
+
+        server.verify();
+        assertEquals(syncCheckpoint.getSyncToken(), "2000");
+    }
+
+
+    @Test
+    void testFullSyncAfterInterval() throws Exception
+    {
+        Files.write(checkpoint, Arrays.asList("syncToken=1000", "lastFullSyncTime=1"));
+
+        expectRangerMappings(Collections.singletonList(getTag(1L, "secret")),
+                             Collections.singletonList(getResource(10L, "asset-999")),
+                             Collections.singletonList(getMapping(100L, "map-1", 1L, 10L)));
+
+        /*
+         * The last full synchronization was longer ago than the full sync interval, so all of the assets are read
+         * and the mapping of the asset that is no longer governed is removed.
+         */
+        expectAssets(assetsURL, "2000", getAsset("asset-1", "secret"));
+        server.expect(request(HttpMethod.PUT, rangerURL + "/service/tags/importservicetags"))
+              .andExpect(bodyContains("asset-1"))
+              .andRespond(withSuccess());
+        server.expect(request(HttpMethod.DELETE, rangerURL + "/service/tags/tagresourcemap/guid/map-1"))
+              .andRespond(withSuccess());
+
+        long startTime = System.currentTimeMillis();
+
+        processor.processExistingGovernedAssetsFromRepository();
+
+        server.verify();
+        assertEquals(syncCheckpoint.getSyncToken(), "2000");
+        assertTrue(syncCheckpoint.getLastFullSyncTime() >= startTime);
+    }
+
+
+    @Test
+    void testCheckpointOnlySavedOnSuccess() throws Exception
+    {
+        expectRangerMappings(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        expectAssets(assetsURL, "2000", getAsset("asset-1", "secret"));
+        server.expect(request(HttpMethod.PUT, rangerURL + "/service/tags/importservicetags"))
+              .andRespond(withServerError());
+
+        processor.processExistingGovernedAssetsFromRepository();
+
+        server.verify();
+        assertNull(syncCheckpoint.getSyncToken());
+    }
+
+
+    @Test
+    void testStaleMappingsKeptOnFailedRead() throws Exception
+    {
+        expectRangerMappings(Collections.singletonList(getTag(1L, "secret")),
+                             Collections.singletonList(getResource(10L, "asset-1")),
+                             Collections.singletonList(getMapping(100L, "map-1", 1L, 10L)));
+
+        /*
+         * Without a checkpoint the assets are read in full, but as the read fails no mapping is removed.
+         */
+        server.expect(request(HttpMethod.GET, assetsURL))
+              .andRespond(withServerError());
+
+        processor.processExistingGovernedAssetsFromRepository();
+
+        server.verify();
+        assertNull(syncCheckpoint.getSyncToken());
+    }
+
+
+    private void expectRangerMappings(List<RangerTag>             tags,
+                                      List<RangerServiceResource> resources,
+                                      List<ResourceTagMapper>     mappings) throws Exception
+    {
+        expectGet(rangerURL + "/service/tags/tags", objectMapper.writeValueAsString(tags));
+        expectGet(rangerURL + "/service/tags/resources", objectMapper.writeValueAsString(resources));
+        expectGet(rangerURL + "/service/tags/tagresourcemaps", objectMapper.writeValueAsString(mappings));
+    }
+
+
+    private void expectAssets(String url, String syncToken, GovernedAsset... assets) throws Exception
+    {
+        GovernedAssetListAPIResponse response = new GovernedAssetListAPIResponse();
+        List<GovernedAsset>          assetList = new ArrayList<>();
+
+        Collections.addAll(assetList, assets);
+        response.setGovernedAssetList(assetList);
+        response.setSyncToken(syncToken);
+
+        expectGet(url, objectMapper.writeValueAsString(response));
+    }
+
+
+    private void expectGet(String url, String body)
+    {
+        server.expect(request(HttpMethod.GET, url))
+              .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+    }
+
+
+    private RequestMatcher request(HttpMethod method, String url)
+    {
+        return (request) ->
+        {
+            assertEquals(request.getMethod(), method);
+            assertEquals(request.getURI().toString(), url);
+        };
+    }
+
+
+    private RequestMatcher bodyContains(String text)
+    {
+        return (request) -> assertTrue(((MockClientHttpRequest) request).getBodyAsString().contains(text), text);
+    }
+
+
+    private RequestMatcher bodyExcludes(String text)
+    {
+        return (request) -> assertFalse(((MockClientHttpRequest) request).getBodyAsString().contains(text), text);
+    }
+
+
+    private GovernedAsset getAsset(String guid, String level)
+    {
+        GovernanceClassification classification = new GovernanceClassification();
+        classification.setName(CONFIDENTIALITY);
+        classification.setAttributes(Collections.singletonMap(LEVEL, level));
+
+        Context context = new Context();
+        context.setTable("table");
+        context.setColumn(guid);
+
+        GovernedAsset asset = new GovernedAsset();
+        asset.setGuid(guid);
+        asset.setContexts(Collections.singletonList(context));
+        asset.setAssignedGovernanceClassifications(Collections.singletonList(classification));
+        return asset;
+    }
+
+
+    private RangerTag getTag(Long id, String guid)
+    {
+        RangerTag tag = new RangerTag();
+        tag.setId(id);
+        tag.setGuid(guid);
+        tag.setType(CONFIDENTIALITY);
+        return tag;
+    }
+
+
+    private RangerServiceResource getResource(Long id, String guid)
+    {
+        RangerServiceResource resource = new RangerServiceResource();
+        resource.setId(id);
+        resource.setGuid(guid);
+        return resource;
+    }
+
+
+    private ResourceTagMapper getMapping(Long id, String guid, Long tagId, Long resourceId)
+    {
+        ResourceTagMapper mapping = new ResourceTagMapper();
+        mapping.setId(id);
+        mapping.setGuid(guid);
+        mapping.setTagId(tagId);
+        mapping.setResourceId(resourceId);
+        return mapping;
+    }
+
+
+    @SafeVarargs
+    private final <T> List<T> getList(T... elements)
+    {
+        List<T> list = new ArrayList<>();
+        Collections.addAll(list, elements);
+        return list;
+    }
+
+
+    /**
+     * Audit log that discards its records.
+     */
+    private static class TestAuditLog extends OMRSAuditLog
+    {
+        TestAuditLog()
+        {
+            super(null, 0, "TestAuditLog", "Test audit log", null);
+        }
+
+
+        @Override
+        public void logRecord(String                     actionDescription,
+                              String                     logMessageId,
+                              OMRSAuditLogRecordSeverity severity,
+                              String                     logMessage,
+                              String                     additionalInformation,
+                              String                     systemAction,
+                              String                     userAction)
+        {
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.processor;
+
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that the SyncCheckpoint is kept in the configured directory and remembers the time of the last full
+ * synchronization.
+ */
+public class TestSyncCheckpoint
+{
+    private static final String tagServiceName = "testTags";
+
+
+    @Test
+    void testCheckpointDirectory() throws Exception
+    {
+        Path           directory      = Files.createTempDirectory("ranger-connector").resolve("checkpoints");
+        Path           checkpointFile = directory.resolve("ranger.connector." + tagServiceName + ".checkpoint");
+        SyncCheckpoint checkpoint     = new SyncCheckpoint(directory.toString(), tagServiceName);
+
+        assertNull(checkpoint.getSyncToken());
+        assertEquals(checkpoint.getLastFullSyncTime(), 0);
+
+        /*
+         * The directory is created when the checkpoint is first saved.
+         */
+        checkpoint.saveSyncToken("1000", true);
+
+        long lastFullSyncTime = checkpoint.getLastFullSyncTime();
+
+        assertTrue(Files.exists(checkpointFile));
+        assertFalse(Files.exists(directory.resolve(checkpointFile.getFileName() + ".tmp")));
+        assertTrue(lastFullSyncTime > 0);
+
+        /*
+         * Saving the token of a synchronization of the changed assets keeps the time of the last full one.
+         */
+        checkpoint.saveSyncToken("2000");
+
+        assertEquals(new SyncCheckpoint(directory.toString(), tagServiceName).getSyncToken(), "2000");
+        assertEquals(checkpoint.getLastFullSyncTime(), lastFullSyncTime);
+    }
+}
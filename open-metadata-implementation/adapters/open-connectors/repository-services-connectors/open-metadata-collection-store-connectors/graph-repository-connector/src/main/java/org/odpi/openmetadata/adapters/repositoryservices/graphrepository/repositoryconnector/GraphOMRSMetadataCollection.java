@@ -2,20 +2,25 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
-import org.odpi.openmetadata.repositoryservices.ffdc.exception.NotImplementedRuntimeException;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector.InMemoryOMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
 
 /**
- * The GraphOMRSMetadataCollection provides a local open metadata repository that uses a graph store as its
- * persistence layer.
+ * The GraphOMRSMetadataCollection provides a local open metadata repository that is the in memory repository
+ * made durable by a persistence journal.  The entities (vertices) and relationships (edges) are held in the maps
+ * of the in memory repository, which index them by GUID, type, classification and property value and keep the
+ * relationships of each entity in adjacency lists for the neighbourhood and linking traversals.  Every change is
+ * written to the GraphRepositoryJournal on local disk before it is made, and the journal is replayed when the
+ * repository restarts.  All of the instances and indexes stay on the Java heap, so the size of the repository is
+ * limited by the heap in the same way as the in memory repository.
  */
-public class GraphOMRSMetadataCollection extends OMRSMetadataCollectionBase
+public class GraphOMRSMetadataCollection extends InMemoryOMRSMetadataCollection
 {
-
     /**
      * Constructor ensures the metadata collection is linked to its connector and knows its metadata collection Id.
+     * The content of the repository is loaded from its journal.
      *
      * @param parentConnector - connector that this metadata collection supports.  The connector has the information
      *                        to call the metadata repository.
@@ -23,12 +28,15 @@ public class GraphOMRSMetadataCollection extends OMRSMetadataCollectionBase
      * @param repositoryHelper - class used to build type definitions and instances.
      * @param repositoryValidator - class used to validate type definitions and instances.
      * @param metadataCollectionId - unique Identifier of the metadata collection Id.
+     * @param journal - persistence journal that keeps the content of the repository on disk.
+     * @throws OMRSRuntimeException the content of the journal can not be loaded.
      */
     public GraphOMRSMetadataCollection(GraphOMRSRepositoryConnector parentConnector,
                                        String                       repositoryName,
                                        OMRSRepositoryHelper         repositoryHelper,
                                        OMRSRepositoryValidator      repositoryValidator,
-                                       String                       metadataCollectionId)
+                                       String                       metadataCollectionId,
+                                       GraphRepositoryJournal       journal) throws OMRSRuntimeException
     {
         /*
          * The metadata collection Id is the unique Id for the metadata collection.  It is managed by the super class.
@@ -36,15 +44,10 @@ public class GraphOMRSMetadataCollection extends OMRSMetadataCollectionBase
         super(parentConnector, repositoryName, repositoryHelper, repositoryValidator, metadataCollectionId);
 
         /*
-         * Save parentConnector since this has the connection information and access to the metadata about the
-         * metadata cluster.
+         * Rebuild the repository from the journal before recording any new changes in it.
          */
-        this.parentConnector = parentConnector;
+        journal.open(this::applyStoreChange, this::getStoreSnapshot);
 
-        /*
-         * This is a temporary implementation to allow the structural implementation of the connectors to
-         * be committed before the metadata collection implementation is complete.
-         */
-        throw new NotImplementedRuntimeException("GraphOMRSMetadataCollection", "constructor", "DG-18");
+        super.setStoreJournal(journal);
     }
-}
\ No newline at end of file
+}
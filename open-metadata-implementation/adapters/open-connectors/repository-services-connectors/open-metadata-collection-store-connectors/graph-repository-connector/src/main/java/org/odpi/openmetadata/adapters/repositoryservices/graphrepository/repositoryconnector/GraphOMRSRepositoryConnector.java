@@ -2,14 +2,29 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
- * The GraphOMRSRepositoryConnector is a connector to a local open metadata repository that uses a graph store
- * for its persistence.
+ * The GraphOMRSRepositoryConnector is a connector to a local open metadata repository that holds its instances
+ * in memory and makes them durable with a persistence journal on local disk.  The directory of the journal is the
+ * address of the connection's endpoint.
  */
 public class GraphOMRSRepositoryConnector extends OMRSRepositoryConnector
 {
+    /*
+     * This is the prefix of the name of the journal directory that is used if there is no address in the connection.
+     */
+    private static final String defaultStoreDirectoryPrefix = "omrs-graph-store-";
+
+    private GraphRepositoryJournal journal = null;
+
+
     /**
      * Default constructor used by the OCF Connector Provider.
      */
@@ -32,6 +47,48 @@ public class GraphOMRSRepositoryConnector extends OMRSRepositoryConnector
 
         if (metadataCollectionId != null)
         {
+            Path    storeDirectory   = Paths.get(defaultStoreDirectoryPrefix + metadataCollectionId);
+            boolean syncWrites       = false;
+            long    snapshotInterval = GraphOMRSRepositoryConnectorProvider.defaultSnapshotInterval;
+
+            if (connectionProperties != null)
+            {
+                EndpointProperties endpoint = connectionProperties.getEndpoint();
+
+                if ((endpoint != null) && (endpoint.getAddress() != null))
+                {
+                    storeDirectory = Paths.get(endpoint.getAddress());
+                }
+
+                AdditionalProperties additionalProperties = connectionProperties.getAdditionalProperties();
+
+                if (additionalProperties != null)
+                {
+                    Object syncWritesProperty = additionalProperties.getProperty(GraphOMRSRepositoryConnectorProvider.syncWritesPropertyName);
+
+                    if (syncWritesProperty != null)
+                    {
+                        syncWrites = Boolean.parseBoolean(syncWritesProperty.toString().trim());
+                    }
+
+                    Object snapshotIntervalProperty = additionalProperties.getProperty(GraphOMRSRepositoryConnectorProvider.snapshotIntervalPropertyName);
+
+                    if (snapshotIntervalProperty != null)
+                    {
+                        try
+                        {
+                            snapshotInterval = Long.parseLong(snapshotIntervalProperty.toString().trim());
+                        }
+                        catch (NumberFormatException error)
+                        {
+                            snapshotInterval = GraphOMRSRepositoryConnectorProvider.defaultSnapshotInterval;
+                        }
+                    }
+                }
+            }
+
+            journal = new GraphRepositoryJournal(super.serverName, storeDirectory, syncWrites, snapshotInterval);
+
             /*
              * Initialize the metadata collection only once the connector is properly set up.
              */
@@ -39,7 +96,24 @@ public class GraphOMRSRepositoryConnector extends OMRSRepositoryConnector
                                                                        super.serverName,
                                                                        repositoryHelper,
                                                                        repositoryValidator,
-                                                                       metadataCollectionId);
+                                                                       metadataCollectionId,
+                                                                       journal);
+        }
+    }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.  This closes the journal.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    public void disconnect() throws ConnectorCheckedException
+    {
+        super.disconnect();
+
+        if (journal != null)
+        {
+            journal.close();
         }
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,9 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnectorProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * In the Open Connector Framework (OCF), a ConnectorProvider is a factory for a specific type of connector.
  * The GraphOMRSRepositoryConnectorProvider is the connector provider for the GraphOMRSRepositoryConnector.
@@ -15,12 +18,21 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
  * The GraphOMRSRepositoryConnectorProvider must initialize ConnectorProviderBase with the Java class
  * name of the OMRS Connector implementation (by calling super.setConnectorClassName(className)).
  * Then the connector provider will work.
+ *
+ * The directory of the persistence journal is the address of the connection's endpoint.  The connection's additional
+ * properties can set syncWrites to true to force each change to the disk before it is made, and snapshotInterval
+ * to the number of changes that are written to the journal before it is compacted into a snapshot.
  */
 public class GraphOMRSRepositoryConnectorProvider extends OMRSRepositoryConnectorProviderBase
 {
     static final String  connectorTypeGUID = "9c6b3198-ccef-4644-af13-2789646f4233";
     static final String  connectorTypeName = "OMRS Graph Repository Connector";
-    static final String  connectorTypeDescription = "OMRS Repository Connector that uses graph repository store.";
+    static final String  connectorTypeDescription = "OMRS Repository Connector that keeps the in memory repository in a persistence journal.";
+
+    public static final String  syncWritesPropertyName       = "syncWrites";
+    public static final String  snapshotIntervalPropertyName = "snapshotInterval";
+
+    static final long           defaultSnapshotInterval      = 100000;
 
 
     /**
@@ -41,6 +53,12 @@ public class GraphOMRSRepositoryConnectorProvider extends OMRSRepositoryConnecto
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String>  recognizedPropertyNames = new ArrayList<>();
+        recognizedPropertyNames.add(syncWritesPropertyName);
+        recognizedPropertyNames.add(snapshotIntervalPropertyName);
+
+        connectorType.setRecognizedAdditionalProperties(recognizedPropertyNames);
+
         super.connectorTypeBean = connectorType;
     }
 }
\ No newline at end of file
@@ -0,0 +1,570 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector.InMemoryStoreChange;
+import org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector.InMemoryStoreJournal;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * GraphRepositoryJournal is the persistence journal of the graph repository, which holds its instances in the
+ * in-memory repository's store on the Java heap.  The journal only makes that store durable - it is not a disk
+ * resident store and is never read while the repository is running.  It is made up of a snapshot file and a
+ * journal file in a directory on local disk, each holding one JSON encoded change per line.  Every change to the
+ * repository is appended to the journal before it is made, so the repository is rebuilt when it restarts by
+ * replaying the snapshot followed by the journal.  Once the journal holds a configurable number of changes, a
+ * snapshot of the whole repository is written in the background and the journal is started again.
+ *
+ * While a snapshot is being written, the journal it replaces is kept as the previous journal file.  It is
+ * only removed once the new snapshot has been moved into place, so a failure part way through a snapshot leaves
+ * a store that replays correctly.
+ *
+ * Each change in the journal carries a sequence number, and the snapshot starts with the sequence number of the
+ * last change it includes.  When the store is replayed, the journal changes that are already in the snapshot are
+ * skipped.  This means a failure after a snapshot has been moved into place, but before the journals it replaces
+ * are removed, does not apply those changes a second time.
+ */
+public class GraphRepositoryJournal implements InMemoryStoreJournal
+{
+    private static final Logger log = LoggerFactory.getLogger(GraphRepositoryJournal.class);
+
+    private static final String snapshotFileName        = "snapshot";
+    private static final String journalFileName         = "journal";
+    private static final String previousJournalFileName = "journal.previous";
+    private static final String temporaryFileSuffix     = ".tmp";
+
+    private final String        repositoryName;
+    private final Path          storeDirectory;
+    private final Path          snapshotFile;
+    private final Path          journalFile;
+    private final Path          previousJournalFile;
+    private final boolean       syncWrites;
+    private final long          snapshotInterval;
+    private final ObjectMapper  objectMapper = new ObjectMapper();
+
+    private Function<Runnable, List<InMemoryStoreChange>> snapshotSource   = null;
+    private FileChannel                                   journalChannel   = null;
+    private long                                          journalLength    = 0;
+    private long                                          journalChanges   = 0;
+    private long                                          lastSequence     = 0;
+    private long                                          snapshotSequence = 0;
+    private boolean                                       snapshotActive = false;
+
+
+    /**
+     * Constructor supplies the location and policies of the store.
+     *
+     * @param repositoryName name of the repository - used for messages
+     * @param storeDirectory directory holding the store's files - it is created if it does not exist
+     * @param syncWrites should each change be forced to the disk before it is made - otherwise the changes made
+     *                   just before a failure of the operating system may be lost
+     * @param snapshotInterval number of changes recorded in the journal before a snapshot is taken - zero means
+     *                         snapshots are only taken when the store is opened
+     */
+    public GraphRepositoryJournal(String    repositoryName,
+                                Path      storeDirectory,
+                                boolean   syncWrites,
+                                long      snapshotInterval)
+    {
+        this.repositoryName = repositoryName;
+        this.storeDirectory = storeDirectory;
+        this.snapshotFile = storeDirectory.resolve(snapshotFileName);
+        this.journalFile = storeDirectory.resolve(journalFileName);
+        this.previousJournalFile = storeDirectory.resolve(previousJournalFileName);
+        this.syncWrites = syncWrites;
+        this.snapshotInterval = Math.max(snapshotInterval, 0);
+    }
+
+
+    /**
+     * Replay the content of the store and open its journal.  If the store's journals hold changes, a new
+     * snapshot is written before the journal is opened so that each restart begins with a compact store.
+     *
+     * @param replay action that makes each recorded change in the repository
+     * @param snapshotSource function that returns the changes that rebuild the repository - the runnable passed
+     *                       to it is called at the point of the snapshot
+     * @throws OMRSRuntimeException the store can not be read or written
+     */
+    public synchronized void open(Consumer<InMemoryStoreChange>                  replay,
+                                  Function<Runnable, List<InMemoryStoreChange>>  snapshotSource) throws OMRSRuntimeException
+    {
+        final String methodName = "open";
+
+        this.snapshotSource = snapshotSource;
+
+        long journalRecords;
+
+        try
+        {
+            Files.createDirectories(storeDirectory);
+
+            lastSequence = 0;
+            this.readChanges(snapshotFile, -1, replay);
+
+            /*
+             * The journals may still hold changes that are in the snapshot if the server stopped before they
+             * were removed.
+             */
+            snapshotSequence = lastSequence;
+
+            journalRecords = this.readChanges(previousJournalFile, snapshotSequence, replay);
+            journalRecords = journalRecords + this.readChanges(journalFile, snapshotSequence, replay);
+        }
+        catch (IOException | RuntimeException error)
+        {
+            OMRSErrorCode errorCode = OMRSErrorCode.GRAPH_REPOSITORY_JOURNAL_UNREADABLE;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(repositoryName,
+                                                                            storeDirectory.toString(),
+                                                                            error.getMessage());
+
+            throw new OMRSRuntimeException(errorCode.getHTTPErrorCode(),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           errorMessage,
+                                           errorCode.getSystemAction(),
+                                           errorCode.getUserAction(),
+                                           error);
+        }
+
+        log.debug("Graph repository " + repositoryName + " read " + journalRecords + " journal changes");
+
+        try
+        {
+            if (journalRecords > 0)
+            {
+                this.writeSnapshot(snapshotSource.apply(null), lastSequence);
+
+                Files.deleteIfExists(previousJournalFile);
+                Files.deleteIfExists(journalFile);
+            }
+
+            this.openJournal();
+        }
+        catch (IOException error)
+        {
+            throw this.getWriteError(methodName, error);
+        }
+    }
+
+
+    /**
+     * Append a change to the journal.  The change is not made to the repository if it can not be recorded.
+     *
+     * @param change description of the change
+     * @throws OMRSRuntimeException the change can not be written to the journal
+     */
+    public synchronized void recordChange(InMemoryStoreChange   change) throws OMRSRuntimeException
+    {
+        final String methodName = "recordChange";
+
+        if (journalChannel == null)
+        {
+            throw this.getWriteError(methodName, new IOException("The store is not open"));
+        }
+
+        try
+        {
+            StoreRecord storeRecord = new StoreRecord(lastSequence + 1, change);
+            byte[]      record      = (objectMapper.writeValueAsString(storeRecord) + "\n").getBytes(StandardCharsets.UTF_8);
+
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+
+            while (buffer.hasRemaining())
+            {
+                journalChannel.write(buffer);
+            }
+
+            if (syncWrites)
+            {
+                journalChannel.force(false);
+            }
+
+            journalLength = journalLength + record.length;
+            lastSequence = storeRecord.getSequence();
+        }
+        catch (IOException error)
+        {
+            /*
+             * Remove any part of the change that was written so that the journal can still be replayed.
+             */
+            try
+            {
+                journalChannel.truncate(journalLength);
+            }
+            catch (IOException truncateError)
+            {
+                log.error("Unable to remove a partial change from the journal of graph repository " + repositoryName,
+                          truncateError);
+            }
+
+            throw this.getWriteError(methodName, error);
+        }
+
+        journalChanges++;
+
+        if ((snapshotInterval > 0) && (journalChanges >= snapshotInterval) && (! snapshotActive))
+        {
+            snapshotActive = true;
+
+            Thread snapshotThread = new Thread(this::takeSnapshot, "GraphRepositorySnapshot:" + repositoryName);
+
+            snapshotThread.setDaemon(true);
+            snapshotThread.start();
+        }
+    }
+
+
+    /**
+     * Close the journal.  Changes can not be made to the repository once the store is closed.
+     */
+    public synchronized void close()
+    {
+        if (journalChannel != null)
+        {
+            try
+            {
+                journalChannel.force(true);
+                journalChannel.close();
+            }
+            catch (IOException error)
+            {
+                log.error("Unable to close the journal of graph repository " + repositoryName, error);
+            }
+
+            journalChannel = null;
+        }
+    }
+
+
+    /**
+     * Write a snapshot of the repository and remove the journal it replaces.  This runs on its own thread.
+     * The journal is switched at the point of the snapshot, while no changes are being made to the repository.
+     */
+    private void takeSnapshot()
+    {
+        try
+        {
+            List<InMemoryStoreChange> snapshot = snapshotSource.apply(this::switchJournal);
+
+            synchronized (this)
+            {
+                if (journalChannel == null)
+                {
+                    return;
+                }
+            }
+
+            long sequence;
+
+            synchronized (this)
+            {
+                sequence = snapshotSequence;
+            }
+
+            this.writeSnapshot(snapshot, sequence);
+
+            Files.deleteIfExists(previousJournalFile);
+        }
+        catch (IOException | RuntimeException error)
+        {
+            log.error("Unable to write a snapshot of graph repository " + repositoryName, error);
+        }
+        finally
+        {
+            synchronized (this)
+            {
+                snapshotActive = false;
+            }
+        }
+    }
+
+
+    /**
+     * Move the current journal to the previous journal file and start a new journal.  If a previous journal
+     * is left from a snapshot that failed, the current journal is added to the end of it.  The sequence number
+     * of the last change in the journal is the last change in the snapshot.
+     */
+    private synchronized void switchJournal()
+    {
+        if (journalChannel == null)
+        {
+            return;
+        }
+
+        try
+        {
+            journalChannel.force(false);
+            journalChannel.close();
+            journalChannel = null;
+            snapshotSequence = lastSequence;
+
+            if (Files.exists(previousJournalFile))
+            {
+                try (OutputStream previousJournal = Files.newOutputStream(previousJournalFile, StandardOpenOption.APPEND))
+                {
+                    Files.copy(journalFile, previousJournal);
+                }
+
+                Files.delete(journalFile);
+            }
+            else
+            {
+                Files.move(journalFile, previousJournalFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            this.openJournal();
+        }
+        catch (IOException error)
+        {
+            throw this.getWriteError("switchJournal", error);
+        }
+    }
+
+
+    /**
+     * Open the journal for appending changes.
+     *
+     * @throws IOException the journal can not be opened
+     */
+    private void openJournal() throws IOException
+    {
+        journalChannel = FileChannel.open(journalFile,
+                                          StandardOpenOption.CREATE,
+                                          StandardOpenOption.WRITE,
+                                          StandardOpenOption.APPEND);
+        journalLength = journalChannel.size();
+        journalChanges = 0;
+    }
+
+
+    /**
+     * Write the changes that rebuild the repository to a temporary file and then move it over the snapshot
+     * in one step.  The first record holds the sequence number of the last journal change in the snapshot
+     * and no change.  The changes are written with the same sequence number.
+     *
+     * @param snapshot list of changes
+     * @param sequence sequence number of the last journal change included in the snapshot
+     * @throws IOException the snapshot can not be written
+     */
+    private void writeSnapshot(List<InMemoryStoreChange>   snapshot,
+                               long                        sequence) throws IOException
+    {
+        Path temporaryFile = storeDirectory.resolve(snapshotFileName + temporaryFileSuffix);
+
+        try (FileOutputStream outputStream = new FileOutputStream(temporaryFile.toFile());
+             Writer           writer       = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)))
+        {
+            writer.write(objectMapper.writeValueAsString(new StoreRecord(sequence, null)));
+            writer.write('\n');
+
+            for (InMemoryStoreChange change : snapshot)
+            {
+                writer.write(objectMapper.writeValueAsString(new StoreRecord(sequence, change)));
+                writer.write('\n');
+            }
+
+            writer.flush();
+            outputStream.getFD().sync();
+        }
+
+        Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+
+    /**
+     * Replay the changes in one of the store's files that come after a sequence number.  Only complete lines
+     * are replayed.  A final line without a line end is a change that was being written when the server stopped,
+     * and so was never made.  It is removed from the file.  The highest sequence number read is saved as the
+     * last sequence number of the store.
+     *
+     * @param file snapshot or journal
+     * @param afterSequence sequence number of the last change that has already been replayed
+     * @param replay action that makes each change in the repository
+     * @return number of records read, including those that are skipped
+     * @throws IOException the file can not be read or holds a change that can not be parsed
+     */
+    private long readChanges(Path                           file,
+                             long                           afterSequence,
+                             Consumer<InMemoryStoreChange>  replay) throws IOException
+    {
+        if (! Files.exists(file))
+        {
+            return 0;
+        }
+
+        long                  records     = 0;
+        long                  validLength = 0;
+        long                  length      = 0;
+        ByteArrayOutputStream line        = new ByteArrayOutputStream();
+
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file)))
+        {
+            int nextByte;
+
+            while ((nextByte = inputStream.read()) != -1)
+            {
+                length++;
+
+                if (nextByte == '\n')
+                {
+                    if (line.size() > 0)
+                    {
+                        StoreRecord storeRecord = objectMapper.readValue(line.toByteArray(), StoreRecord.class);
+
+                        if ((storeRecord.getChange() != null) && (storeRecord.getSequence() > afterSequence))
+                        {
+                            replay.accept(storeRecord.getChange());
+                        }
+
+                        lastSequence = Math.max(lastSequence, storeRecord.getSequence());
+                        records++;
+                    }
+
+                    line.reset();
+                    validLength = length;
+                }
+                else
+                {
+                    line.write(nextByte);
+                }
+            }
+        }
+
+        if (validLength < length)
+        {
+            log.warn("Removing an incomplete change from the end of " + file + " in graph repository " + repositoryName);
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+            {
+                channel.truncate(validLength);
+            }
+        }
+
+        return records;
+    }
+
+
+    /**
+     * Build the exception for a failure to write to the store.
+     *
+     * @param methodName calling method
+     * @param error cause of the failure
+     * @return exception to throw
+     */
+    private OMRSRuntimeException getWriteError(String      methodName,
+                                               Exception   error)
+    {
+        OMRSErrorCode errorCode = OMRSErrorCode.GRAPH_REPOSITORY_JOURNAL_WRITE_FAILED;
+        String        errorMessage = errorCode.getErrorMessageId()
+                                   + errorCode.getFormattedErrorMessage(repositoryName,
+                                                                        storeDirectory.toString(),
+                                                                        error.getMessage());
+
+        return new OMRSRuntimeException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        error);
+    }
+
+
+    /**
+     * StoreRecord is a line in the snapshot or journal.  It holds a change and its sequence number.
+     */
+    @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown=true)
+    static class StoreRecord
+    {
+        private long                 sequence = 0;
+        private InMemoryStoreChange  change   = null;
+
+
+        /**
+         * Default constructor
+         */
+        public StoreRecord()
+        {
+        }
+
+
+        /**
+         * Constructor for a record.
+         *
+         * @param sequence sequence number
+         * @param change change to make (null for the first record of a snapshot)
+         */
+        StoreRecord(long                  sequence,
+                    InMemoryStoreChange   change)
+        {
+            this.sequence = sequence;
+            this.change = change;
+        }
+
+
+        /**
+         * Return the sequence number of the change.
+         *
+         * @return long
+         */
+        public long getSequence()
+        {
+            return sequence;
+        }
+
+
+        /**
+         * Set up the sequence number of the change.
+         *
+         * @param sequence long
+         */
+        public void setSequence(long sequence)
+        {
+            this.sequence = sequence;
+        }
+
+
+        /**
+         * Return the change.
+         *
+         * @return change or null
+         */
+        public InMemoryStoreChange getChange()
+        {
+            return change;
+        }
+
+
+        /**
+         * Set up the change.
+         *
+         * @param change change
+         */
+        public void setChange(InMemoryStoreChange change)
+        {
+            this.change = change;
+        }
+    }
+}
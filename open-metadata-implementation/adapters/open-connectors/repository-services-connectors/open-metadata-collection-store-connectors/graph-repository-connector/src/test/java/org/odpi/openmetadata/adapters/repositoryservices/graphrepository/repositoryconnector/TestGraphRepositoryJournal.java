@@ -0,0 +1,258 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector.InMemoryStoreChange;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test the replay of the GraphRepositoryJournal's snapshot and journals, including a journal left by a server that
+ * stopped part way through writing a change or a snapshot.  The repository is represented by the list of the
+ * unique identifiers of the changes made to it.
+ */
+public class TestGraphRepositoryJournal
+{
+    private static final long waitTime = 10000;
+
+    private Path storeDirectory;
+
+
+    @BeforeMethod
+    public void setup() throws Exception
+    {
+        storeDirectory = Files.createTempDirectory("graph-repository-journal");
+    }
+
+
+    @Test
+    void testReplayAfterRestart()
+    {
+        TestRepository repository = new TestRepository(0);
+
+        repository.makeChanges("1", "2", "3");
+        repository.close();
+
+        assertEquals(new TestRepository(0).changes, Arrays.asList("1", "2", "3"));
+    }
+
+
+    @Test
+    void testStopAfterSnapshotOnOpen() throws Exception
+    {
+        TestRepository repository = new TestRepository(0);
+
+        repository.makeChanges("1", "2", "3");
+        repository.close();
+
+        Path savedJournal = Files.copy(storeDirectory.resolve("journal"), storeDirectory.resolve("journal.saved"));
+
+        /*
+         * Opening the store writes a snapshot of the journal.  Putting the journal back is the same as the server
+         * stopping before the journal was removed.  Its changes are in the snapshot, so they are not made again.
+         */
+        new TestRepository(0).close();
+        Files.move(savedJournal, storeDirectory.resolve("journal"), StandardCopyOption.REPLACE_EXISTING);
+
+        repository = new TestRepository(0);
+
+        assertEquals(repository.changes, Arrays.asList("1", "2", "3"));
+
+        /*
+         * New changes follow the ones in the snapshot.
+         */
+        repository.makeChanges("4");
+        repository.close();
+
+        assertEquals(new TestRepository(0).changes, Arrays.asList("1", "2", "3", "4"));
+    }
+
+
+    @Test
+    void testStopAfterBackgroundSnapshot() throws Exception
+    {
+        TestRepository repository = new TestRepository(3);
+
+        repository.makeChanges("1", "2", "3");
+        waitFor(() -> ! Files.exists(storeDirectory.resolve("journal.previous")) &&
+                      Files.exists(storeDirectory.resolve("snapshot")));
+
+        repository.makeChanges("4");
+        repository.close();
+
+        /*
+         * Put back the previous journal, as if the server stopped after moving the snapshot into place but before
+         * removing the journal it replaced.
+         */
+        Files.write(storeDirectory.resolve("journal.previous"), this.getJournalRecords(1, "1", "2", "3"));
+
+        assertEquals(new TestRepository(0).changes, Arrays.asList("1", "2", "3", "4"));
+    }
+
+
+    @Test
+    void testSnapshotSwitch() throws Exception
+    {
+        TestRepository repository = new TestRepository(2);
+
+        repository.makeChanges("1", "2");
+        waitFor(() -> ! Files.exists(storeDirectory.resolve("journal.previous")) &&
+                      Files.exists(storeDirectory.resolve("snapshot")));
+
+        /*
+         * The journal only holds the changes made since the snapshot.
+         */
+        assertEquals(Files.size(storeDirectory.resolve("journal")), 0);
+
+        repository.makeChanges("3");
+        repository.close();
+
+        assertEquals(Files.readAllLines(storeDirectory.resolve("journal")).size(), 1);
+        assertEquals(new TestRepository(0).changes, Arrays.asList("1", "2", "3"));
+    }
+
+
+    @Test
+    void testTruncatedJournalTail() throws Exception
+    {
+        TestRepository repository = new TestRepository(0);
+
+        repository.makeChanges("1", "2");
+        repository.close();
+
+        /*
+         * The server stopped while writing the third change.
+         */
+        Files.write(storeDirectory.resolve("journal"),
+                    "{\"sequence\":3,\"change\":{\"oper".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+
+        repository = new TestRepository(0);
+
+        assertEquals(repository.changes, Arrays.asList("1", "2"));
+
+        repository.makeChanges("3");
+        repository.close();
+
+        assertEquals(new TestRepository(0).changes, Arrays.asList("1", "2", "3"));
+    }
+
+
+    @Test
+    void testPartialSnapshotIgnored() throws Exception
+    {
+        TestRepository repository = new TestRepository(0);
+
+        repository.makeChanges("1", "2");
+        repository.close();
+
+        /*
+         * A snapshot that was being written when the server stopped is left in its temporary file.
+         */
+        Files.write(storeDirectory.resolve("snapshot.tmp"), this.getJournalRecords(1, "1"));
+
+        assertEquals(new TestRepository(0).changes, Arrays.asList("1", "2"));
+        assertFalse(Files.exists(storeDirectory.resolve("journal.previous")));
+    }
+
+
+    /**
+     * Return the lines of a journal holding changes with consecutive sequence numbers.
+     *
+     * @param firstSequence sequence number of the first change
+     * @param guids unique identifiers of the changes
+     * @return lines
+     */
+    private List<String> getJournalRecords(long        firstSequence,
+                                           String...   guids)
+    {
+        List<String> records  = new ArrayList<>();
+        long         sequence = firstSequence;
+
+        for (String guid : guids)
+        {
+            records.add("{\"sequence\":" + sequence + ",\"change\":{\"operation\":\"REMOVE_ENTITY\",\"guid\":\"" + guid + "\"}}");
+            sequence++;
+        }
+
+        return records;
+    }
+
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException
+    {
+        long endTime = System.currentTimeMillis() + waitTime;
+
+        while (! condition.getAsBoolean())
+        {
+            assertTrue(System.currentTimeMillis() < endTime, "Timed out waiting for condition");
+            Thread.sleep(10);
+        }
+    }
+
+
+    /**
+     * Repository that records the changes made to it in a list and uses the store in the same way as the
+     * graph metadata collection.
+     */
+    private class TestRepository
+    {
+        private final List<String>         changes = new ArrayList<>();
+        private final GraphRepositoryJournal store;
+
+
+        TestRepository(long snapshotInterval)
+        {
+            store = new GraphRepositoryJournal("TestRepository", storeDirectory, true, snapshotInterval);
+            store.open(change -> changes.add(change.getGUID()), this::getSnapshot);
+        }
+
+
+        synchronized void makeChanges(String...   guids)
+        {
+            for (String guid : guids)
+            {
+                store.recordChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.REMOVE_ENTITY, guid));
+                changes.add(guid);
+            }
+        }
+
+
+        synchronized List<InMemoryStoreChange> getSnapshot(Runnable   snapshotPoint)
+        {
+            List<InMemoryStoreChange> snapshot = new ArrayList<>();
+
+            for (String guid : changes)
+            {
+                snapshot.add(new InMemoryStoreChange(InMemoryStoreChange.Operation.REMOVE_ENTITY, guid));
+            }
+
+            if (snapshotPoint != null)
+            {
+                snapshotPoint.run();
+            }
+
+            return snapshot;
+        }
+
+
+        void close()
+        {
+            store.close();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.SearchCriteriaMatcher;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 import org.slf4j.Logger;
@@ -355,18 +356,19 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
          * Perform operation
          */
         List<TypeDef> typeDefs = new ArrayList<>();
+        SearchCriteriaMatcher typeDefNameMatcher = SearchCriteriaMatcher.getMatcher(searchCriteria);
         for (TypeDef candidate : entityMappingStore.getTypeDefs()) {
-            if (candidate.getName().matches(searchCriteria)) {
+            if (typeDefNameMatcher.matches(candidate.getName())) {
                 typeDefs.add(candidate);
             }
         }
         for (TypeDef candidate : relationshipMappingStore.getTypeDefs()) {
-            if (candidate.getName().matches(searchCriteria)) {
+            if (typeDefNameMatcher.matches(candidate.getName())) {
                 typeDefs.add(candidate);
             }
         }
         for (TypeDef candidate : classificationMappingStore.getTypeDefs()) {
-            if (candidate.getName().matches(searchCriteria)) {
+            if (typeDefNameMatcher.matches(candidate.getName())) {
                 typeDefs.add(candidate);
             }
         }
@@ -13,14 +13,15 @@ import java.util.*;
 /**
  * In memory entity neighbourhood processing to return the entities and relationships that radiate out from the supplied entity GUID.
  * The results are scoped both the instance type guids, classifications, status and the level.
+ * The relationships of each entity are located through an InMemoryRelationshipAdjacency so only the part of the graph
+ * that is within reach of the root entity is visited.
  */
 public class InMemoryEntityNeighbourhood
 {
     private OMRSRepositoryValidator repositoryValidator = null;
     private OMRSRepositoryHelper repositoryHelper = null;
     private String repositoryName = null;
-    private Map<String, EntityDetail> entityStore = null;
-    private Map<String, Relationship> relationshipStore = null;
+    private InMemoryRelationshipAdjacency adjacency = null;
     private String rootEntityGUID = null;
     private List<String> entityTypeGUIDs = null;
     private List<String> relationshipTypeGUIDs = null;
@@ -28,9 +29,7 @@ public class InMemoryEntityNeighbourhood
     private List<String> limitResultsByClassification = null;
     private int level = 0;
     private Set<String> graphEntities = new HashSet<>();
-    private Set<String> graphRelationships = new HashSet<>();
-    private Map<String, Set<String>> entityToRelationships = new HashMap<String, Set<String>>();
-    private Map<String, Set<String>> relationshipToEntities = new HashMap<String, Set<String>>();
+    private Map<String, Relationship> graphRelationships = new LinkedHashMap<>();
 
     /**
      * Constructor
@@ -51,12 +50,34 @@ public class InMemoryEntityNeighbourhood
      * @param level                        the number of the relationships out from the starting entity that the query will traverse to
      */
     public InMemoryEntityNeighbourhood(OMRSRepositoryHelper repositoryHelper, String repositoryName, OMRSRepositoryValidator repositoryValidator, Map<String, EntityDetail> entityStore, Map<String, Relationship> relationshipStore, String rootEntityGUID, List<String> entityTypeGUIDs, List<String> relationshipTypeGUIDs, List<InstanceStatus> limitResultsByStatus, List<String> limitResultsByClassification, int level)
+    {
+        this(repositoryHelper, repositoryName, repositoryValidator, new InMemoryRelationshipAdjacency(entityStore, relationshipStore), rootEntityGUID, entityTypeGUIDs, relationshipTypeGUIDs, limitResultsByStatus, limitResultsByClassification, level);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param repositoryHelper             repository helper
+     * @param repositoryName               name of the repository
+     * @param repositoryValidator          repository validator
+     * @param adjacency                    entities and the relationships connected to each of them
+     * @param rootEntityGUID               the starting point of the query.
+     * @param entityTypeGUIDs              list of entity types to include in the query results.  Null means include
+     *                                     all entities found, irrespective of their type.
+     * @param relationshipTypeGUIDs        list of relationship types to include in the query results.  Null means include
+     *                                     all entities found, irrespective of their type.
+     * @param limitResultsByStatus         By default, relationships in all statuses are returned.  However, it is possible
+     *                                     to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                                     status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param level                        the number of the relationships out from the starting entity that the query will traverse to
+     */
+    InMemoryEntityNeighbourhood(OMRSRepositoryHelper repositoryHelper, String repositoryName, OMRSRepositoryValidator repositoryValidator, InMemoryRelationshipAdjacency adjacency, String rootEntityGUID, List<String> entityTypeGUIDs, List<String> relationshipTypeGUIDs, List<InstanceStatus> limitResultsByStatus, List<String> limitResultsByClassification, int level)
     {
         this.repositoryHelper = repositoryHelper;
         this.repositoryName = repositoryName;
         this.repositoryValidator = repositoryValidator;
-        this.entityStore = entityStore;
-        this.relationshipStore = relationshipStore;
+        this.adjacency = adjacency;
         this.rootEntityGUID = rootEntityGUID;
         this.entityTypeGUIDs = entityTypeGUIDs;
         this.relationshipTypeGUIDs = relationshipTypeGUIDs;
@@ -70,58 +91,6 @@ public class InMemoryEntityNeighbourhood
             level = 100;
         }
         this.level = level;
-        initializeMaps();
-    }
-
-    /**
-     * Initialize maps that help us traverse between entities and relationships using their guids
-     */
-    private void initializeMaps()
-    {
-        for (Relationship relationship : relationshipStore.values())
-        {
-            String relationshipGuid = relationship.getGUID();
-            String relationshipEnd1Guid = getEnd1EntityGUID(relationship);
-            String relationshipEnd2Guid = getEnd2EntityGUID(relationship);
-            Set<String> endsGuids = new HashSet<>();
-            endsGuids.add(relationshipEnd1Guid);
-            endsGuids.add(relationshipEnd2Guid);
-            relationshipToEntities.put(relationshipGuid, endsGuids);
-            Set<String> relationshipGuids = null;
-
-            /*
-             * process end1
-             */
-            if (entityToRelationships.containsKey(relationshipEnd1Guid))
-            {
-                relationshipGuids = entityToRelationships.get(relationshipEnd1Guid);
-                if (relationshipGuids == null)
-                {
-                    relationshipGuids = new HashSet<>();
-                }
-            } else
-            {
-                relationshipGuids = new HashSet<>();
-            }
-            relationshipGuids.add(relationshipGuid);
-            entityToRelationships.put(relationshipEnd1Guid, relationshipGuids);
-            /*
-             * process end2
-             */
-            if (entityToRelationships.containsKey(relationshipEnd2Guid))
-            {
-                relationshipGuids = entityToRelationships.get(relationshipEnd2Guid);
-                if (relationshipGuids == null)
-                {
-                    relationshipGuids = new HashSet<>();
-                }
-            } else
-            {
-                relationshipGuids = new HashSet<>();
-            }
-            relationshipGuids.add(relationshipGuid);
-            entityToRelationships.put(relationshipEnd2Guid, relationshipGuids);
-        }
     }
 
     /**
@@ -141,10 +110,10 @@ public class InMemoryEntityNeighbourhood
         }
         if (relationship != null)
         {
-            String relationshipEnd1Guid = getEnd1EntityGUID(relationship);
-            String relationshipEnd2Guid = getEnd2EntityGUID(relationship);
-            EntityDetail entity1 = entityStore.get(relationshipEnd1Guid);
-            EntityDetail entity2 = entityStore.get(relationshipEnd2Guid);
+            String relationshipEnd1Guid = InMemoryRelationshipAdjacency.getEnd1EntityGUID(relationship);
+            String relationshipEnd2Guid = InMemoryRelationshipAdjacency.getEnd2EntityGUID(relationship);
+            EntityDetail entity1 = adjacency.getEntity(relationshipEnd1Guid);
+            EntityDetail entity2 = adjacency.getEntity(relationshipEnd2Guid);
             if (relationshipTypeGUIDs != null)
             {
                 for (String relationshipTypeGUID : relationshipTypeGUIDs)
@@ -278,19 +247,16 @@ public class InMemoryEntityNeighbourhood
          * add the root entity so the returned graph is consistent.
          */
         List relationshipList = new ArrayList();
-        EntityDetail rootEntity = (entityStore.get(rootEntityGUID));
+        EntityDetail rootEntity = (adjacency.getEntity(rootEntityGUID));
         entityList.add(rootEntity);
         for (String entityGuid : this.graphEntities)
         {
             if (!entityGuid.equals(rootEntityGUID))
             {
-                entityList.add(this.entityStore.get(entityGuid));
+                entityList.add(adjacency.getEntity(entityGuid));
             }
         }
-        for (String relationshipGuid : this.graphRelationships)
-        {
-            relationshipList.add(this.relationshipStore.get(relationshipGuid));
-        }
+        relationshipList.addAll(this.graphRelationships.values());
         return new InstanceGraph(entityList, relationshipList);
     }
 
@@ -306,12 +272,12 @@ public class InMemoryEntityNeighbourhood
         Set<String> nextEntitySet = new HashSet<>();
         for (String entityGuid : entities)
         {
-            Set<String> relationships = this.entityToRelationships.get(entityGuid);
+            List<Relationship> relationships = adjacency.getRelationships(entityGuid, relationshipTypeGUIDs);
             if (relationships != null)
             {
-                for (String relationshipGuid : relationships)
+                for (Relationship relationship : relationships)
                 {
-                    Relationship relationship = this.relationshipStore.get(relationshipGuid);
+                    String relationshipGuid = relationship.getGUID();
                     /*
                      * Check to see if we have already visited this relationship
                      */
@@ -323,9 +289,9 @@ public class InMemoryEntityNeighbourhood
                              * valid relationship and entities
                              */
                             graphEntities.add(entityGuid);
-                            final String end1Guid = getEnd1EntityGUID(relationship);
-                            final String end2Guid = getEnd2EntityGUID(relationship);
-                            graphRelationships.add(relationshipGuid);
+                            final String end1Guid = InMemoryRelationshipAdjacency.getEnd1EntityGUID(relationship);
+                            final String end2Guid = InMemoryRelationshipAdjacency.getEnd2EntityGUID(relationship);
+                            graphRelationships.put(relationshipGuid, relationship);
                             /*
                              * add the entities - one end will already be there so will be replaced.
                              */
@@ -359,50 +325,4 @@ public class InMemoryEntityNeighbourhood
             createGraph(nextEntitySet, visitedEntities, visitedRelationships, nextLevel);
         }
     }
-
-    /**
-     * Return the guid of an entity linked to end 1 of the relationship.
-     *
-     * @param relationship relationship to parse
-     * @return String unique identifier
-     */
-    private String getEnd1EntityGUID(Relationship relationship)
-    {
-        if (relationship != null)
-        {
-            EntityProxy entityProxy = relationship.getEntityOneProxy();
-
-            if (entityProxy != null)
-            {
-                if (entityProxy.getGUID() != null)
-                {
-                    return entityProxy.getGUID();
-                }
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Return the guid of an entity linked to end 2 of the relationship.
-     *
-     * @param relationship relationship to parse
-     * @return String unique identifier
-     */
-    private String getEnd2EntityGUID(Relationship relationship)
-    {
-        if (relationship != null)
-        {
-            EntityProxy entityProxy = relationship.getEntityTwoProxy();
-
-            if (entityProxy != null)
-            {
-                if (entityProxy.getGUID() != null)
-                {
-                    return entityProxy.getGUID();
-                }
-            }
-        }
-        return null;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,526 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * InMemoryInstanceHistory maintains the previous versions of the instances (entities or relationships) for the
+ * InMemoryOMRSMetadataStore.  The versions for each instance are held in their own chain, ordered by the time that
+ * each version was created.  This means the version of an instance that was current at a particular time
+ * can be located with a binary search of its chain rather than by working through the history of the whole
+ * repository.
+ *
+ * The size of the history is controlled by a retention policy.  This limits the number of previous versions
+ * kept for each instance and/or removes versions that were superseded longer ago than the retention period.
+ * The policy is applied to an instance's chain each time a version is added to it, and to all chains periodically.
+ *
+ * @param <T> type of instance
+ */
+class InMemoryInstanceHistory<T extends InstanceHeader>
+{
+    private static final long   compactionInterval = 1000;
+
+    private final Map<String, VersionChain<T>> versionChains   = new ConcurrentHashMap<>();
+    private final AtomicLong                   versionsAdded   = new AtomicLong(0);
+
+    private volatile int    maxVersionsPerInstance = 0;
+    private volatile long   retentionPeriod        = 0;
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryInstanceHistory()
+    {
+    }
+
+
+    /**
+     * Set up the retention policy for the history.
+     *
+     * @param maxVersionsPerInstance maximum number of previous versions to keep for each instance - zero means
+     *                               no limit.
+     * @param retentionPeriod number of milliseconds to keep a previous version after it was superseded - zero
+     *                        means no limit.
+     */
+    void setRetentionPolicy(int   maxVersionsPerInstance,
+                            long  retentionPeriod)
+    {
+        this.maxVersionsPerInstance = Math.max(maxVersionsPerInstance, 0);
+        this.retentionPeriod = Math.max(retentionPeriod, 0);
+    }
+
+
+    /**
+     * Add a previous version of an instance to the history.
+     *
+     * @param version previous version of an instance
+     */
+    void addVersion(T    version)
+    {
+        if ((version != null) && (version.getGUID() != null))
+        {
+            final long now = System.currentTimeMillis();
+
+            versionChains.compute(version.getGUID(), (guid, chain) ->
+            {
+                VersionChain<T> updatedChain = (chain == null) ? new VersionChain<>() : chain;
+
+                synchronized (updatedChain)
+                {
+                    updatedChain.add(version, now);
+                    this.compactChain(updatedChain, now);
+
+                    return updatedChain.isEmpty() ? null : updatedChain;
+                }
+            });
+
+            if (versionsAdded.incrementAndGet() % compactionInterval == 0)
+            {
+                this.compact();
+            }
+        }
+    }
+
+
+    /**
+     * Remove and return the most recent previous version of an instance.  This is used to restore the
+     * previous version when an update is undone.
+     *
+     * @param guid unique identifier of the instance
+     * @return previous version or null if there is no history for this instance
+     */
+    T removeLatestVersion(String   guid)
+    {
+        if (guid != null)
+        {
+            final List<T> removedVersion = new ArrayList<>(1);
+
+            versionChains.computeIfPresent(guid, (chainGUID, chain) ->
+            {
+                synchronized (chain)
+                {
+                    removedVersion.add(chain.removeLatest());
+
+                    return chain.isEmpty() ? null : chain;
+                }
+            });
+
+            if (! removedVersion.isEmpty())
+            {
+                return removedVersion.get(0);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the version of an instance that was current at the requested time.
+     *
+     * @param guid unique identifier of the instance
+     * @param currentVersion current version of the instance from the active store (or null if it has been removed)
+     * @param asOfTime time of interest
+     * @return version of the instance current at the time or null if it did not exist then
+     */
+    T getVersionAsOf(String   guid,
+                     T        currentVersion,
+                     Date     asOfTime)
+    {
+        if (isVersionCreatedBy(currentVersion, asOfTime))
+        {
+            return currentVersion;
+        }
+
+        if (guid != null)
+        {
+            VersionChain<T> chain = versionChains.get(guid);
+
+            if (chain != null)
+            {
+                synchronized (chain)
+                {
+                    return chain.getVersionAsOf(asOfTime);
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Build a map of all of the instances as they were at the requested time.
+     *
+     * @param currentStore store of the current versions of the instances
+     * @param asOfTime time of interest
+     * @return map of instance GUID to the version of the instance that was current at the time
+     */
+    Map<String, T> getInstancesAsOf(Map<String, T>  currentStore,
+                                    Date            asOfTime)
+    {
+        Map<String, T>  results = new HashMap<>();
+
+        for (T currentVersion : currentStore.values())
+        {
+            T version = this.getVersionAsOf(currentVersion.getGUID(), currentVersion, asOfTime);
+
+            if (version != null)
+            {
+                results.put(version.getGUID(), version);
+            }
+        }
+
+        /*
+         * Add the instances that are no longer in the active store.
+         */
+        for (String guid : versionChains.keySet())
+        {
+            if (! currentStore.containsKey(guid))
+            {
+                T version = this.getVersionAsOf(guid, null, asOfTime);
+
+                if (version != null)
+                {
+                    results.put(guid, version);
+                }
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Apply the retention policy to every instance's history.
+     */
+    void compact()
+    {
+        if ((maxVersionsPerInstance > 0) || (retentionPeriod > 0))
+        {
+            final long now = System.currentTimeMillis();
+
+            for (String guid : versionChains.keySet())
+            {
+                versionChains.computeIfPresent(guid, (chainGUID, chain) ->
+                {
+                    synchronized (chain)
+                    {
+                        this.compactChain(chain, now);
+
+                        return chain.isEmpty() ? null : chain;
+                    }
+                });
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of previous versions held in the history.
+     *
+     * @return count of versions
+     */
+    int getVersionCount()
+    {
+        int count = 0;
+
+        for (VersionChain<T> chain : versionChains.values())
+        {
+            synchronized (chain)
+            {
+                count = count + chain.size();
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Pass each of the previous versions held in the history to the action.  The versions of each instance are
+     * passed oldest first.
+     *
+     * @param action action to run for each version
+     */
+    void forEachVersion(Consumer<T>   action)
+    {
+        for (VersionChain<T> chain : versionChains.values())
+        {
+            synchronized (chain)
+            {
+                for (T version : chain.versions)
+                {
+                    action.accept(version);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Apply the retention policy to a single chain.  The caller must hold the chain's lock and remove the chain
+     * from the map if it is now empty.
+     *
+     * @param chain chain of previous versions
+     * @param now current time in milliseconds
+     */
+    private void compactChain(VersionChain<T>  chain,
+                              long             now)
+    {
+        if (maxVersionsPerInstance > 0)
+        {
+            chain.removeOldestBeyond(maxVersionsPerInstance);
+        }
+
+        if (retentionPeriod > 0)
+        {
+            chain.removeSupersededBefore(now - retentionPeriod);
+        }
+    }
+
+
+    /**
+     * Return the time that a version of an instance became current.  This is its update time or, if it has
+     * never been updated, its create time.
+     *
+     * @param version version of an instance
+     * @return time or null if the instance has no timestamps
+     */
+    private static Date getVersionTime(InstanceHeader   version)
+    {
+        if (version.getUpdateTime() != null)
+        {
+            return version.getUpdateTime();
+        }
+
+        return version.getCreateTime();
+    }
+
+
+    /**
+     * Return whether the version of an instance had been created by the requested time.
+     *
+     * @param version version of an instance (may be null)
+     * @param asOfTime time of interest
+     * @return boolean result
+     */
+    private static boolean isVersionCreatedBy(InstanceHeader   version,
+                                              Date             asOfTime)
+    {
+        if (version != null)
+        {
+            Date versionTime = getVersionTime(version);
+
+            return (versionTime != null) && (! versionTime.after(asOfTime));
+        }
+
+        return false;
+    }
+
+
+    /**
+     * VersionChain is the list of previous versions of a single instance, ordered by the time they became current.
+     * Versions without a timestamp are kept (so they can be restored) but are never returned by time queries.
+     * They are ordered by the time they were superseded so that the chain stays in time order.
+     * The order that the versions were added is also recorded since a version may have an earlier timestamp
+     * than the versions already in the chain (for example, reference copies from a server whose clock is behind).
+     *
+     * @param <T> type of instance
+     */
+    private static class VersionChain<T extends InstanceHeader>
+    {
+        private final List<T>    versions        = new ArrayList<>(2);
+        private final List<Long> supersededTimes = new ArrayList<>(2);
+        private final List<Long> addedSequence   = new ArrayList<>(2);
+        private long             nextSequence    = 0;
+
+
+        /**
+         * Add a version in time order.  Versions with the same time are kept in the order they were added.
+         *
+         * @param version version to add
+         * @param supersededTime time in milliseconds that the version was replaced in the active store
+         */
+        void add(T     version,
+                 long  supersededTime)
+        {
+            long orderTime = getOrderTime(version, supersededTime);
+            int  position  = versions.size();
+
+            while ((position > 0) && (this.getOrderTime(position - 1) > orderTime))
+            {
+                position--;
+            }
+
+            versions.add(position, version);
+            supersededTimes.add(position, supersededTime);
+            addedSequence.add(position, nextSequence++);
+        }
+
+
+        /**
+         * Remove and return the most recently added version.  This is not necessarily the version with the
+         * latest timestamp.
+         *
+         * @return version or null if the chain is empty
+         */
+        T removeLatest()
+        {
+            if (versions.isEmpty())
+            {
+                return null;
+            }
+
+            int latest = versions.size() - 1;
+
+            for (int i = latest - 1; i >= 0; i--)
+            {
+                if (addedSequence.get(i) > addedSequence.get(latest))
+                {
+                    latest = i;
+                }
+            }
+
+            supersededTimes.remove(latest);
+            addedSequence.remove(latest);
+            return versions.remove(latest);
+        }
+
+
+        /**
+         * Return the latest version that became current at or before the requested time.
+         *
+         * @param asOfTime time of interest
+         * @return version or null
+         */
+        T getVersionAsOf(Date   asOfTime)
+        {
+            int low  = 0;
+            int high = versions.size() - 1;
+
+            /*
+             * Find the last version in the chain that became current by the requested time, and then step back
+             * over any versions without a timestamp.
+             */
+            while (low <= high)
+            {
+                int middle = (low + high) >>> 1;
+
+                if (this.getOrderTime(middle) <= asOfTime.getTime())
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle - 1;
+                }
+            }
+
+            for (int i = high; i >= 0; i--)
+            {
+                if (getVersionTime(versions.get(i)) != null)
+                {
+                    return versions.get(i);
+                }
+            }
+
+            return null;
+        }
+
+
+        /**
+         * Return the time used to order a version in the chain.
+         *
+         * @param position position of the version in the chain
+         * @return time in milliseconds
+         */
+        private long getOrderTime(int   position)
+        {
+            return getOrderTime(versions.get(position), supersededTimes.get(position));
+        }
+
+
+        /**
+         * Return the time used to order a version in the chain.  This is the time the version became current
+         * or, if the version has no timestamp, the time it was superseded.
+         *
+         * @param version version of the instance
+         * @param supersededTime time in milliseconds that the version was replaced in the active store
+         * @return time in milliseconds
+         */
+        private static long getOrderTime(InstanceHeader   version,
+                                         long             supersededTime)
+        {
+            Date versionTime = getVersionTime(version);
+
+            return (versionTime == null) ? supersededTime : versionTime.getTime();
+        }
+
+
+        /**
+         * Remove the oldest versions so that no more than the requested number remain.
+         *
+         * @param maxVersions maximum number of versions to keep
+         */
+        void removeOldestBeyond(int   maxVersions)
+        {
+            int excessVersions = versions.size() - maxVersions;
+
+            if (excessVersions > 0)
+            {
+                versions.subList(0, excessVersions).clear();
+                supersededTimes.subList(0, excessVersions).clear();
+                addedSequence.subList(0, excessVersions).clear();
+            }
+        }
+
+
+        /**
+         * Remove the versions that were replaced in the active store before the requested time.
+         *
+         * @param cutOffTime versions superseded before this time (in milliseconds) are removed
+         */
+        void removeSupersededBefore(long   cutOffTime)
+        {
+            for (int i = versions.size() - 1; i >= 0; i--)
+            {
+                if (supersededTimes.get(i) < cutOffTime)
+                {
+                    versions.remove(i);
+                    supersededTimes.remove(i);
+                    addedSequence.remove(i);
+                }
+            }
+        }
+
+
+        /**
+         * Return the number of versions in the chain.
+         *
+         * @return count
+         */
+        int size()
+        {
+            return versions.size();
+        }
+
+
+        /**
+         * Return whether there are any versions in the chain.
+         *
+         * @return boolean
+         */
+        boolean isEmpty()
+        {
+            return versions.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * InMemoryInstanceIndex is a secondary index for the InMemoryOMRSMetadataStore.  It maps a key (such as a type GUID,
+ * classification name or property value) to the set of instance GUIDs that have this key.  The index is safe to
+ * read while it is being updated.  Maintaining consistency between the index and the primary store is the
+ * responsibility of the metadata store.
+ */
+class InMemoryInstanceIndex
+{
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryInstanceIndex()
+    {
+    }
+
+
+    /**
+     * Record that the instance identified by the guid has the supplied key.
+     *
+     * @param key index key - null keys are ignored
+     * @param guid unique identifier of the instance
+     */
+    void add(String   key,
+             String   guid)
+    {
+        if ((key != null) && (guid != null))
+        {
+            /*
+             * The guid is added while the map holds the key's entry so that a concurrent remove can not
+             * discard the postings in between.
+             */
+            postings.compute(key, (existingKey, guids) ->
+            {
+                Set<String> keyGUIDs = (guids == null) ? ConcurrentHashMap.newKeySet() : guids;
+
+                keyGUIDs.add(guid);
+                return keyGUIDs;
+            });
+        }
+    }
+
+
+    /**
+     * Remove the association between the key and the instance identified by the guid.  Empty postings are removed
+     * to keep the index in proportion to the stored instances.
+     *
+     * @param key index key - null keys are ignored
+     * @param guid unique identifier of the instance
+     */
+    void remove(String   key,
+                String   guid)
+    {
+        if ((key != null) && (guid != null))
+        {
+            postings.computeIfPresent(key, (existingKey, guids) ->
+            {
+                guids.remove(guid);
+                return guids.isEmpty() ? null : guids;
+            });
+        }
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances that have the supplied key.
+     *
+     * @param key index key
+     * @return unmodifiable view of the guids - empty if none
+     */
+    Set<String> get(String   key)
+    {
+        if (key != null)
+        {
+            Set<String> guids = postings.get(key);
+
+            if (guids != null)
+            {
+                return Collections.unmodifiableSet(guids);
+            }
+        }
+
+        return Collections.emptySet();
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances that have at least one key accepted by the key filter.
+     * Each key in the index is tested, so the cost is in proportion to the number of distinct keys rather than
+     * the number of instances.
+     *
+     * @param keyFilter test for the keys of interest
+     * @return set of guids - empty if none
+     */
+    Set<String> getForMatchingKeys(Predicate<String>   keyFilter)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (Map.Entry<String, Set<String>> posting : postings.entrySet())
+        {
+            if (keyFilter.test(posting.getKey()))
+            {
+                guids.addAll(posting.getValue());
+            }
+        }
+
+        return guids;
+    }
+}
@@ -7,8 +7,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.SearchCriteriaMatcher;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
@@ -16,10 +18,24 @@ import java.util.*;
 
 /**
  * The InMemoryOMRSMetadataCollection represents a metadata repository that supports an in-memory repository.
- * Requests to this metadata collection work with the hashmaps used to manage metadata types and instances.
+ * Requests to this metadata collection work with the maps and indexes used to manage metadata types and instances.
  */
 public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
 {
+    /*
+     * Names of the instance header values that can be supplied as match properties.
+     */
+    private static final List<String> headerPropertyNames = Arrays.asList("metadataCollectionId",
+                                                                          "metadataCollectionName",
+                                                                          "typeName",
+                                                                          "typeGUID",
+                                                                          "createdBy",
+                                                                          "updatedBy",
+                                                                          "createTime",
+                                                                          "updateTime",
+                                                                          "effectiveFrom",
+                                                                          "effectiveTo");
+
     private InMemoryOMRSMetadataStore         repositoryStore = new InMemoryOMRSMetadataStore();
 
 
@@ -33,11 +49,11 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
      * @param repositoryValidator class used to validate type definitions and instances.
      * @param metadataCollectionId unique Identifier of the metadata collection Id.
      */
-    InMemoryOMRSMetadataCollection(InMemoryOMRSRepositoryConnector parentConnector,
-                                   String                          repositoryName,
-                                   OMRSRepositoryHelper            repositoryHelper,
-                                   OMRSRepositoryValidator         repositoryValidator,
-                                   String                          metadataCollectionId)
+    protected InMemoryOMRSMetadataCollection(OMRSRepositoryConnector         parentConnector,
+                                             String                          repositoryName,
+                                             OMRSRepositoryHelper            repositoryHelper,
+                                             OMRSRepositoryValidator         repositoryValidator,
+                                             String                          metadataCollectionId)
     {
         /*
          * The metadata collection Id is the unique identifier for the metadata collection.  It is managed by the super class.
@@ -51,6 +67,70 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Set up the retention policy for the history of previous versions of entities and relationships that is
+     * used to support undo and historical (asOfTime) queries.
+     *
+     * @param maxHistoryVersions maximum number of previous versions kept for each instance - zero means no limit
+     * @param historyRetentionPeriod number of milliseconds that a previous version is kept after it is
+     *                               superseded - zero means no limit
+     */
+    void setHistoryRetentionPolicy(int    maxHistoryVersions,
+                                   long   historyRetentionPeriod)
+    {
+        repositoryStore.setHistoryRetentionPolicy(maxHistoryVersions, historyRetentionPeriod);
+    }
+
+
+    /**
+     * Turn the full text index of the string and enum property values used by the find...ByPropertyValue
+     * searches on or off.
+     *
+     * @param tokenIndexEnabled boolean flag
+     */
+    void setTokenIndexEnabled(boolean   tokenIndexEnabled)
+    {
+        repositoryStore.setTokenIndexEnabled(tokenIndexEnabled);
+    }
+
+
+    /**
+     * Set up the journal that is passed each change to the types and instances before it is made.  This is used
+     * by repositories that extend the in memory repository to keep a durable copy of its content.
+     *
+     * @param storeJournal journal or null to stop recording changes
+     */
+    protected void setStoreJournal(InMemoryStoreJournal   storeJournal)
+    {
+        repositoryStore.setStoreJournal(storeJournal);
+    }
+
+
+    /**
+     * Make a change that was recorded by the store journal.  This is used to rebuild the repository's content
+     * when it restarts, before the journal is set up.
+     *
+     * @param change recorded change
+     */
+    protected void applyStoreChange(InMemoryStoreChange   change)
+    {
+        repositoryStore.replayChange(change);
+    }
+
+
+    /**
+     * Return the changes that rebuild the current content of the repository.  These are used to compact the
+     * store journal.
+     *
+     * @param snapshotPoint action run at the point of the snapshot, before any further changes are made
+     * @return list of changes
+     */
+    protected List<InMemoryStoreChange> getStoreSnapshot(Runnable   snapshotPoint)
+    {
+        return repositoryStore.getSnapshot(snapshotPoint);
+    }
+
+
     /**
      * Returns all of the TypeDefs for a specific category.
      *
@@ -318,13 +398,14 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
         /*
          * Perform operation
          */
-        List<TypeDef>          matchedTypeDefs   = new ArrayList<>();
+        List<TypeDef>          matchedTypeDefs    = new ArrayList<>();
+        SearchCriteriaMatcher  typeDefNameMatcher = SearchCriteriaMatcher.getMatcher(searchCriteria);
 
         for (TypeDef  typeDef : repositoryStore.getTypeDefs())
         {
             if (typeDef != null)
             {
-                if (typeDef.getName().matches(searchCriteria))
+                if (typeDefNameMatcher.matches(typeDef.getName()))
                 {
                     matchedTypeDefs.add(typeDef);
                 }
@@ -1369,7 +1450,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.getEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -1468,9 +1549,22 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        /*
+         * The current relationships for the entity are located through the store's index of relationship ends.
+         * Historical queries need to work through the time-warped store.
+         */
+        Collection<Relationship>    candidateRelationships;
+
+        if (asOfTime == null)
+        {
+            candidateRelationships = repositoryStore.getRelationshipsForEntity(entityGUID);
+        }
+        else
+        {
+            candidateRelationships = repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
 
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : candidateRelationships)
         {
             if (storedRelationship != null)
             {
@@ -1576,13 +1670,25 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * Current entities are located through the store's indexes and then verified against the full
+         * search criteria.  Historical queries iterate through all of the entities in the time-warped store.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        List<EntityDetail>        foundEntities = new ArrayList<>();
+        Collection<EntityDetail>  candidateEntities;
+
+        if (asOfTime == null)
+        {
+            candidateEntities = repositoryStore.getEntityCandidates(entityTypeGUID,
+                                                                    this.getLiteralMatchProperties(matchProperties,
+                                                                                                   matchCriteria),
+                                                                    limitResultsByClassification);
+        }
+        else
+        {
+            candidateEntities = repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
@@ -1676,16 +1782,26 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * Current entities are located through the store's classification index and then verified against the full
+         * search criteria.  Historical queries iterate through all of the entities in the time-warped store.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
         List<EntityDetail>          foundEntities = new ArrayList<>();
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        Collection<EntityDetail>    candidateEntities;
+
+        if (asOfTime == null)
+        {
+            candidateEntities = repositoryStore.getEntityCandidates(entityTypeGUID, null, classificationList);
+        }
+        else
+        {
+            candidateEntities = repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
@@ -1798,12 +1914,22 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * Current entities are preselected by type and by the words in the search criteria using the store's
+         * indexes.  Each candidate's property values are tested against the search criteria.
          */
-        List<EntityDetail>   foundEntities = new ArrayList<>();
+        List<EntityDetail>        foundEntities = new ArrayList<>();
+        Collection<EntityDetail>  candidateEntities;
+
+        if (asOfTime == null)
+        {
+            candidateEntities = repositoryStore.getEntitySearchCandidates(entityTypeGUID, searchCriteria);
+        }
+        else
+        {
+            candidateEntities = repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
 
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
@@ -1923,7 +2049,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.getRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -2006,13 +2132,24 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * Current relationships are located through the store's indexes and then verified against the full
+         * search criteria.  Historical queries iterate through all of the relationships in the time-warped store.
          */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        List<Relationship>        foundRelationships = new ArrayList<>();
+        Collection<Relationship>  candidateRelationships;
+
+        if (asOfTime == null)
+        {
+            candidateRelationships = repositoryStore.getRelationshipCandidates(relationshipTypeGUID,
+                                                                               this.getLiteralMatchProperties(matchProperties,
+                                                                                                              matchCriteria));
+        }
+        else
+        {
+            candidateRelationships = repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
@@ -2103,12 +2240,22 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored relationships.
+         * Current relationships are preselected by type and by the words in the search criteria using the store's
+         * indexes.  Each candidate's property values are tested against the search criteria.
          */
-        List<Relationship>  foundRelationships = new ArrayList<>();
+        List<Relationship>        foundRelationships = new ArrayList<>();
+        Collection<Relationship>  candidateRelationships;
 
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+        if (asOfTime == null)
+        {
+            candidateRelationships = repositoryStore.getRelationshipSearchCandidates(relationshipTypeGUID, searchCriteria);
+        }
+        else
+        {
+            candidateRelationships = repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
@@ -2218,17 +2365,10 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
             }
         }
 
-        /*
-         * Time warp the stores
-         */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
         InMemoryEntityNeighbourhood inMemoryEntityNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper,
                                                                                                   repositoryName,
                                                                                                   repositoryValidator,
-                                                                                                  entityStore,
-                                                                                                  relationshipStore,
+                                                                                                  this.getRelationshipAdjacency(asOfTime),
                                                                                                   entityGUID,
                                                                                                   entityTypeGUIDs,
                                                                                                   relationshipTypeGUIDs,
@@ -2241,6 +2381,429 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return all of the relationships and intermediate entities that connect the startEntity with the endEntity.
+     * The in memory repository returns the entities and relationships that lie on the shortest paths between the
+     * two entities.  These are located with a breadth first search out from each of the entities that only
+     * visits the entities that are no further from the start than the end entity is.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param startEntityGUID The entity that is used to anchor the query.
+     * @param endEntityGUID the other entity that defines the scope of the query.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means return the
+     *                 present values.
+     * @return InstanceGraph the sub-graph that represents the returned linked entities and their relationships;
+     * null means the entities are not linked.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the entity identified by either the startEntityGUID or the endEntityGUID
+     *                                   is not found in the metadata collection.
+     * @throws PropertyErrorException there is a problem with one of the other parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  InstanceGraph getLinkingEntities(String                    userId,
+                                             String                    startEntityGUID,
+                                             String                    endEntityGUID,
+                                             List<InstanceStatus>      limitResultsByStatus,
+                                             Date                      asOfTime) throws InvalidParameterException,
+                                                                                        RepositoryErrorException,
+                                                                                        EntityNotKnownException,
+                                                                                        PropertyErrorException,
+                                                                                        UserNotAuthorizedException
+    {
+        final String methodName = "getLinkingEntities";
+
+        /*
+         * Validate parameters
+         */
+        super.getLinkingEntitiesParameterValidation(userId,
+                                                    startEntityGUID,
+                                                    endEntityGUID,
+                                                    limitResultsByStatus,
+                                                    asOfTime);
+
+        /*
+         * Perform operation
+         */
+        InMemoryRelationshipAdjacency adjacency = this.getRelationshipAdjacency(asOfTime);
+
+        this.validateTraversalEntity(userId, startEntityGUID, adjacency, asOfTime, methodName);
+        this.validateTraversalEntity(userId, endEntityGUID, adjacency, asOfTime, methodName);
+
+        Map<String, Integer> startDistances = this.getEntityDistances(adjacency,
+                                                                      startEntityGUID,
+                                                                      endEntityGUID,
+                                                                      Integer.MAX_VALUE,
+                                                                      limitResultsByStatus);
+        Integer              linkLength     = startDistances.get(endEntityGUID);
+
+        if (linkLength == null)
+        {
+            return null;
+        }
+
+        Map<String, Integer> endDistances = this.getEntityDistances(adjacency,
+                                                                    endEntityGUID,
+                                                                    startEntityGUID,
+                                                                    linkLength,
+                                                                    limitResultsByStatus);
+
+        /*
+         * An entity is on a shortest path if its distances from the two ends add up to the length of the link,
+         * and a relationship is on a shortest path if it steps from one such entity one closer to the end entity.
+         */
+        List<EntityDetail>         linkingEntities      = new ArrayList<>();
+        Map<String, Relationship>  linkingRelationships = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Integer> startDistance : startDistances.entrySet())
+        {
+            String  entityGUID  = startDistance.getKey();
+            Integer endDistance = endDistances.get(entityGUID);
+
+            if ((endDistance != null) && (startDistance.getValue() + endDistance == linkLength))
+            {
+                EntityDetail entity = adjacency.getEntity(entityGUID);
+
+                if (entity != null)
+                {
+                    linkingEntities.add(entity);
+                }
+
+                for (Relationship relationship : this.getTraversableRelationships(adjacency,
+                                                                                  entityGUID,
+                                                                                  limitResultsByStatus))
+                {
+                    Integer nextEndDistance = endDistances.get(this.getOtherEndGUID(entityGUID, relationship));
+
+                    if ((nextEndDistance != null) && (nextEndDistance == endDistance - 1))
+                    {
+                        linkingRelationships.put(relationship.getGUID(), relationship);
+                    }
+                }
+            }
+        }
+
+        return new InstanceGraph(linkingEntities, new ArrayList<>(linkingRelationships.values()));
+    }
+
+
+    /**
+     * Return the list of entities that are of the types listed in entityTypeGUIDs and are connected, either directly or
+     * indirectly to the entity identified by startEntityGUID.  The connected entities are located by a breadth first
+     * search from the start entity that retrieves the relationships of each entity it reaches from the
+     * store's adjacency index.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param startEntityGUID unique identifier of the starting entity.
+     * @param entityTypeGUIDs list of guids for types to search for.  Null means any type.
+     * @param fromEntityElement starting element for results list.  Used in paging.  Zero means first element.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means return the
+     *                 present values.
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return list of entities either directly or indirectly connected to the start entity; null means no
+     * related entities.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws TypeErrorException one of the type guids passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the entity identified by the startEntityGUID
+     *                                   is not found in the metadata collection.
+     * @throws PropertyErrorException the sequencing property specified is not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  List<EntityDetail> getRelatedEntities(String                    userId,
+                                                  String                    startEntityGUID,
+                                                  List<String>              entityTypeGUIDs,
+                                                  int                       fromEntityElement,
+                                                  List<InstanceStatus>      limitResultsByStatus,
+                                                  List<String>              limitResultsByClassification,
+                                                  Date                      asOfTime,
+                                                  String                    sequencingProperty,
+                                                  SequencingOrder           sequencingOrder,
+                                                  int                       pageSize) throws InvalidParameterException,
+                                                                                             TypeErrorException,
+                                                                                             RepositoryErrorException,
+                                                                                             EntityNotKnownException,
+                                                                                             PropertyErrorException,
+                                                                                             PagingErrorException,
+                                                                                             UserNotAuthorizedException
+    {
+        final String methodName = "getRelatedEntities";
+
+        /*
+         * Validate parameters
+         */
+        super.getRelatedEntitiesParameterValidation(userId,
+                                                    startEntityGUID,
+                                                    entityTypeGUIDs,
+                                                    fromEntityElement,
+                                                    limitResultsByStatus,
+                                                    limitResultsByClassification,
+                                                    asOfTime,
+                                                    sequencingProperty,
+                                                    sequencingOrder,
+                                                    pageSize);
+
+        /*
+         * Perform operation
+         */
+        InMemoryRelationshipAdjacency adjacency = this.getRelationshipAdjacency(asOfTime);
+
+        this.validateTraversalEntity(userId, startEntityGUID, adjacency, asOfTime, methodName);
+
+        List<EntityDetail>  relatedEntities    = new ArrayList<>();
+        Set<String>         visitedEntityGUIDs = new HashSet<>();
+        Deque<String>       entityGUIDsToVisit = new ArrayDeque<>();
+
+        visitedEntityGUIDs.add(startEntityGUID);
+        entityGUIDsToVisit.add(startEntityGUID);
+
+        while (! entityGUIDsToVisit.isEmpty())
+        {
+            String entityGUID = entityGUIDsToVisit.poll();
+
+            for (Relationship relationship : this.getTraversableRelationships(adjacency, entityGUID, limitResultsByStatus))
+            {
+                String relatedEntityGUID = this.getOtherEndGUID(entityGUID, relationship);
+
+                if (visitedEntityGUIDs.add(relatedEntityGUID))
+                {
+                    entityGUIDsToVisit.add(relatedEntityGUID);
+
+                    EntityDetail relatedEntity = adjacency.getEntity(relatedEntityGUID);
+
+                    if ((relatedEntity != null) &&
+                        (this.verifyEntityIsOfType(entityTypeGUIDs, relatedEntity)) &&
+                        (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relatedEntity)) &&
+                        (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, relatedEntity)))
+                    {
+                        relatedEntities.add(relatedEntity);
+                    }
+                }
+            }
+        }
+
+        if (relatedEntities.isEmpty())
+        {
+            return null;
+        }
+
+        return repositoryHelper.formatEntityResults(relatedEntities,
+                                                    fromEntityElement,
+                                                    sequencingProperty,
+                                                    sequencingOrder,
+                                                    pageSize);
+    }
+
+
+    /**
+     * Return the relationships of each entity for the graph traversals.  Current queries use the adjacency
+     * index maintained by the store.  Historical queries build the adjacency lists from the time-warped stores.
+     *
+     * @param asOfTime time of interest (or null means now)
+     * @return adjacency lists
+     */
+    private InMemoryRelationshipAdjacency getRelationshipAdjacency(Date   asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return new InMemoryRelationshipAdjacency(repositoryStore);
+        }
+
+        return new InMemoryRelationshipAdjacency(repositoryStore.timeWarpEntityStore(asOfTime),
+                                                 repositoryStore.timeWarpRelationshipStore(asOfTime));
+    }
+
+
+    /**
+     * Validate that an entity that a graph traversal starts or ends at is known and not deleted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID unique identifier of the entity
+     * @param adjacency adjacency lists for the traversal
+     * @param asOfTime time of interest (or null means now)
+     * @param methodName calling method
+     * @throws InvalidParameterException the guid is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository.
+     * @throws EntityNotKnownException the entity is not known in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private void validateTraversalEntity(String                          userId,
+                                         String                          entityGUID,
+                                         InMemoryRelationshipAdjacency   adjacency,
+                                         Date                            asOfTime,
+                                         String                          methodName) throws InvalidParameterException,
+                                                                                            RepositoryErrorException,
+                                                                                            EntityNotKnownException,
+                                                                                            UserNotAuthorizedException
+    {
+        if (asOfTime == null)
+        {
+            this.getEntitySummary(userId, entityGUID);
+        }
+        else
+        {
+            EntitySummary entity = adjacency.getEntity(entityGUID);
+
+            repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
+            repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+        }
+    }
+
+
+    /**
+     * Return the distance (in relationships) of each entity from an entity.  The search stops expanding once it
+     * has reached the target entity, or the maximum distance.
+     *
+     * @param adjacency adjacency lists for the traversal
+     * @param fromEntityGUID unique identifier of the entity to measure from
+     * @param toEntityGUID unique identifier of the target entity
+     * @param maxDistance maximum distance to search to
+     * @param limitResultsByStatus statuses of the relationships to traverse - null means all
+     * @return map of entity GUID to distance
+     */
+    private Map<String, Integer> getEntityDistances(InMemoryRelationshipAdjacency   adjacency,
+                                                    String                          fromEntityGUID,
+                                                    String                          toEntityGUID,
+                                                    int                             maxDistance,
+                                                    List<InstanceStatus>            limitResultsByStatus)
+    {
+        Map<String, Integer> distances          = new HashMap<>();
+        Deque<String>        entityGUIDsToVisit = new ArrayDeque<>();
+        int                  distanceLimit      = maxDistance;
+
+        distances.put(fromEntityGUID, 0);
+        entityGUIDsToVisit.add(fromEntityGUID);
+
+        while (! entityGUIDsToVisit.isEmpty())
+        {
+            String entityGUID = entityGUIDsToVisit.poll();
+            int    distance   = distances.get(entityGUID);
+
+            if (entityGUID.equals(toEntityGUID))
+            {
+                distanceLimit = distance;
+            }
+
+            if (distance >= distanceLimit)
+            {
+                continue;
+            }
+
+            for (Relationship relationship : this.getTraversableRelationships(adjacency, entityGUID, limitResultsByStatus))
+            {
+                String linkedEntityGUID = this.getOtherEndGUID(entityGUID, relationship);
+
+                if (! distances.containsKey(linkedEntityGUID))
+                {
+                    distances.put(linkedEntityGUID, distance + 1);
+                    entityGUIDsToVisit.add(linkedEntityGUID);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+
+    /**
+     * Return the relationships of an entity that a graph traversal can follow.  Deleted relationships,
+     * relationships with the wrong status and relationships to deleted entities are skipped.
+     *
+     * @param adjacency adjacency lists for the traversal
+     * @param entityGUID unique identifier of the entity
+     * @param limitResultsByStatus statuses of the relationships to traverse - null means all
+     * @return list of relationships
+     */
+    private List<Relationship> getTraversableRelationships(InMemoryRelationshipAdjacency   adjacency,
+                                                           String                          entityGUID,
+                                                           List<InstanceStatus>            limitResultsByStatus)
+    {
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (Relationship relationship : adjacency.getRelationships(entityGUID, null))
+        {
+            if ((relationship.getStatus() != InstanceStatus.DELETED) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)))
+            {
+                String       otherEndGUID = this.getOtherEndGUID(entityGUID, relationship);
+                EntityDetail otherEnd     = adjacency.getEntity(otherEndGUID);
+
+                if ((otherEndGUID != null) &&
+                    ((otherEnd == null) || (otherEnd.getStatus() != InstanceStatus.DELETED)))
+                {
+                    relationships.add(relationship);
+                }
+            }
+        }
+
+        return relationships;
+    }
+
+
+    /**
+     * Return the guid of the entity at the other end of a relationship.
+     *
+     * @param entityGUID unique identifier of the entity at one end
+     * @param relationship relationship
+     * @return unique identifier of the entity at the other end
+     */
+    private String getOtherEndGUID(String         entityGUID,
+                                   Relationship   relationship)
+    {
+        String end1GUID = InMemoryRelationshipAdjacency.getEnd1EntityGUID(relationship);
+
+        if (entityGUID.equals(end1GUID))
+        {
+            return InMemoryRelationshipAdjacency.getEnd2EntityGUID(relationship);
+        }
+
+        return end1GUID;
+    }
+
+
+    /**
+     * Return whether an entity is of one of the requested types.
+     *
+     * @param entityTypeGUIDs unique identifiers of the types - null means any type
+     * @param entity entity to test
+     * @return boolean result
+     */
+    private boolean verifyEntityIsOfType(List<String>   entityTypeGUIDs,
+                                         EntityDetail   entity)
+    {
+        if (entityTypeGUIDs == null)
+        {
+            return true;
+        }
+
+        for (String entityTypeGUID : entityTypeGUIDs)
+        {
+            if (repositoryValidator.verifyInstanceType(entityTypeGUID, entity))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
     /* ======================================================
      * Group 4: Maintaining entity and relationship instances
      */
@@ -4305,6 +4868,57 @@ public class InMemoryOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                            errorCode.getUserAction());
     }
 
+    /**
+     * Return the match properties that can be used to look up candidate instances in the store's property indexes.
+     * This is only possible when all of the match properties must match, since then every result must have the
+     * indexed value.  Properties that may also match the instance header, and values that contain regular
+     * expression wild cards, are left for the validator to check.
+     *
+     * @param matchProperties properties to match
+     * @param matchCriteria rule on how the match should occur
+     * @return map of property name to literal value; null if the indexes can not be used
+     */
+    private Map<String, String> getLiteralMatchProperties(InstanceProperties   matchProperties,
+                                                          MatchCriteria        matchCriteria)
+    {
+        if ((matchProperties == null) || (matchCriteria != MatchCriteria.ALL))
+        {
+            return null;
+        }
+
+        Map<String, InstancePropertyValue> matchPropertyMap = matchProperties.getInstanceProperties();
+
+        if (matchPropertyMap == null)
+        {
+            return null;
+        }
+
+        Map<String, String>  literalMatchProperties = new HashMap<>();
+
+        for (Map.Entry<String, InstancePropertyValue> matchProperty : matchPropertyMap.entrySet())
+        {
+            String  propertyName = matchProperty.getKey();
+
+            if ((propertyName != null) && (! headerPropertyNames.contains(propertyName)))
+            {
+                String literalValue = InMemoryOMRSMetadataStore.getLiteralPropertyValue(matchProperty.getValue());
+
+                if (literalValue != null)
+                {
+                    literalMatchProperties.put(propertyName, literalValue);
+                }
+            }
+        }
+
+        if (literalMatchProperties.isEmpty())
+        {
+            return null;
+        }
+
+        return literalMatchProperties;
+    }
+
+
     /**
      * Validate that type's identifier is not null.
      *
@@ -3,27 +3,78 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.SearchCriteriaMatcher;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ *
+ * The current versions of the instances are held in concurrent maps so that reads do not need to lock.
+ * Alongside them, the store maintains secondary indexes of the current instances by type GUID,
+ * classification name, property value and (for relationships) the GUIDs of the entities at each end.
+ * The relationship ends are also indexed by entity GUID and relationship type GUID together, which gives
+ * the adjacency lists used to walk the graph of instances without scanning the relationship store.
+ * There is also an optional full text index of the words in the string and enum property values that is used
+ * to locate the candidates for the searches made with a word, word prefix, word suffix or part of a word.
+ * These indexes allow the metadata collection to locate the candidate instances for a query without
+ * iterating through the whole repository.  Updates to an instance and its index entries are serialized
+ * using a lock selected from a fixed set of locks by the instance's GUID.
+ *
+ * A repository that keeps a durable copy of the store can supply an InMemoryStoreJournal.  Each change is then
+ * passed to the journal before it is made, and the store can supply a snapshot of its content from which the
+ * journal can be compacted.
  */
 class InMemoryOMRSMetadataStore
 {
-    private String                                 repositoryName           = null;
-    private volatile Map<String, TypeDef>          typeDefStore             = new HashMap<>();
-    private volatile Map<String, AttributeTypeDef> attributeTypeDefStore    = new HashMap<>();
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    private static final int    instanceLockCount = 64;
+    private static final String regexMetaCharacters = "\\.[]{}()*+?^$|";
+
+    private String                                      repositoryName           = null;
+    private volatile Map<String, TypeDef>               typeDefStore             = new ConcurrentHashMap<>();
+    private volatile Map<String, AttributeTypeDef>      attributeTypeDefStore    = new ConcurrentHashMap<>();
+    private volatile Map<String, EntityDetail>          entityStore              = new ConcurrentHashMap<>();
+    private volatile Map<String, EntityProxy>           entityProxyStore         = new ConcurrentHashMap<>();
+    private final InMemoryInstanceHistory<EntityDetail> entityHistoryStore       = new InMemoryInstanceHistory<>();
+    private volatile Map<String, Relationship>          relationshipStore        = new ConcurrentHashMap<>();
+    private final InMemoryInstanceHistory<Relationship> relationshipHistoryStore = new InMemoryInstanceHistory<>();
+
+    /*
+     * Secondary indexes over the current versions of the instances.
+     */
+    private final InMemoryInstanceIndex              entityTypeIndex                = new InMemoryInstanceIndex();
+    private final InMemoryInstanceIndex              entityClassificationIndex      = new InMemoryInstanceIndex();
+    private final Map<String, InMemoryInstanceIndex> entityPropertyIndexes          = new ConcurrentHashMap<>();
+    private final InMemoryInstanceIndex              relationshipTypeIndex          = new InMemoryInstanceIndex();
+    private final InMemoryInstanceIndex              relationshipEndIndex           = new InMemoryInstanceIndex();
+    private final InMemoryInstanceIndex              relationshipAdjacencyIndex     = new InMemoryInstanceIndex();
+    private final Map<String, InMemoryInstanceIndex> relationshipPropertyIndexes    = new ConcurrentHashMap<>();
+    private final InMemoryInstanceIndex              entityTokenIndex               = new InMemoryInstanceIndex();
+    private final InMemoryInstanceIndex              relationshipTokenIndex         = new InMemoryInstanceIndex();
+    private volatile boolean                         tokenIndexEnabled              = true;
+
+    /*
+     * The keys that each instance is currently indexed under.  These are captured when the instance is indexed
+     * so that the index entries can be removed correctly even if the stored object is subsequently changed.
+     */
+    private final Map<String, IndexKeys>             indexedEntities                = new ConcurrentHashMap<>();
+    private final Map<String, IndexKeys>             indexedRelationships           = new ConcurrentHashMap<>();
+
+    private final Object[]                           instanceLocks                  = new Object[instanceLockCount];
+
+    /*
+     * Optional journal of the changes to the store.  Changes hold the read lock of the change lock and
+     * snapshots of the store hold the write lock.
+     */
+    private volatile InMemoryStoreJournal            storeJournal                   = null;
+    private final ReadWriteLock                      changeLock                     = new ReentrantReadWriteLock();
 
 
     /**
@@ -31,6 +82,10 @@ class InMemoryOMRSMetadataStore
      */
     InMemoryOMRSMetadataStore()
     {
+        for (int i = 0; i < instanceLockCount; i++)
+        {
+            instanceLocks[i] = new Object();
+        }
     }
 
 
@@ -45,12 +100,39 @@ class InMemoryOMRSMetadataStore
     }
 
 
+    /**
+     * Set up the retention policy for the previous versions of entities and relationships.
+     *
+     * @param maxHistoryVersions maximum number of previous versions kept for each instance - zero means no limit
+     * @param historyRetentionPeriod number of milliseconds that a previous version is kept after it is
+     *                               superseded - zero means no limit
+     */
+    void  setHistoryRetentionPolicy(int    maxHistoryVersions,
+                                    long   historyRetentionPeriod)
+    {
+        entityHistoryStore.setRetentionPolicy(maxHistoryVersions, historyRetentionPeriod);
+        relationshipHistoryStore.setRetentionPolicy(maxHistoryVersions, historyRetentionPeriod);
+    }
+
+
+    /**
+     * Turn the full text index of the string and enum property values on or off.  The index is on by default.
+     * This must be set before any instances are added to the store.
+     *
+     * @param tokenIndexEnabled boolean flag
+     */
+    void  setTokenIndexEnabled(boolean   tokenIndexEnabled)
+    {
+        this.tokenIndexEnabled = tokenIndexEnabled;
+    }
+
+
     /**
      * Return a list of all of the defined AttributeTypeDefs.
      *
      * @return list of attribute type definitions
      */
-    protected synchronized List<AttributeTypeDef> getAttributeTypeDefs()
+    protected List<AttributeTypeDef> getAttributeTypeDefs()
     {
         return new ArrayList<>(attributeTypeDefStore.values());
     }
@@ -62,7 +144,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the AttributeTypeDef
      * @return attribute type definition
      */
-    protected synchronized AttributeTypeDef   getAttributeTypeDef(String  guid)
+    protected AttributeTypeDef   getAttributeTypeDef(String  guid)
     {
         return attributeTypeDefStore.get(guid);
     }
@@ -73,9 +155,10 @@ class InMemoryOMRSMetadataStore
      *
      * @param attributeTypeDef - type to add
      */
-    synchronized void  putAttributeTypeDef(AttributeTypeDef   attributeTypeDef)
+    void  putAttributeTypeDef(AttributeTypeDef   attributeTypeDef)
     {
-        attributeTypeDefStore.put(attributeTypeDef.getGUID(), attributeTypeDef);
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.PUT_ATTRIBUTE_TYPE_DEF, attributeTypeDef),
+                   () -> attributeTypeDefStore.put(attributeTypeDef.getGUID(), attributeTypeDef));
     }
 
 
@@ -84,7 +167,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of type definitions
      */
-    protected synchronized List<TypeDef>  getTypeDefs()
+    protected List<TypeDef>  getTypeDefs()
     {
         return new ArrayList<>(typeDefStore.values());
     }
@@ -96,7 +179,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for type definition
      * @return type definition
      */
-    protected synchronized TypeDef   getTypeDef(String guid)
+    protected TypeDef   getTypeDef(String guid)
     {
         return typeDefStore.get(guid);
     }
@@ -107,9 +190,10 @@ class InMemoryOMRSMetadataStore
      *
      * @param typeDef - type definition
      */
-    synchronized void  putTypeDef(TypeDef   typeDef)
+    void  putTypeDef(TypeDef   typeDef)
     {
-        typeDefStore.put(typeDef.getGUID(), typeDef);
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.PUT_TYPE_DEF, typeDef),
+                   () -> typeDefStore.put(typeDef.getGUID(), typeDef));
     }
 
 
@@ -118,7 +202,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of EntityDetail objects
      */
-    synchronized List<EntityDetail>   getEntities()
+    List<EntityDetail>   getEntities()
     {
         return new ArrayList<>(entityStore.values());
     }
@@ -130,7 +214,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    EntityDetail  getEntity(String   guid)
     {
         return entityStore.get(guid);
     }
@@ -142,93 +226,132 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    EntityProxy  getEntityProxy(String   guid)
     {
         return entityProxyStore.get(guid);
     }
 
 
     /**
-     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the current versions of the entities that could match a query with the supplied restrictions.
+     * The smallest of the applicable index entries is used to select the candidates.  The caller must still
+     * verify each candidate against the full query since the index lookups are only used to narrow the search.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return entity store for the requested time
+     * @param entityTypeGUID unique identifier of the entity type - null means any type
+     * @param literalPropertyValues map of property name to literal (non-regex) string form of the value that
+     *                              each returned entity must have - null means no property restriction
+     * @param classificationNames list of classification names, at least one of which must be present on each
+     *                            returned entity - null means no classification restriction
+     * @return list of candidate entities
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    List<EntityDetail>  getEntityCandidates(String                entityTypeGUID,
+                                            Map<String, String>   literalPropertyValues,
+                                            List<String>          classificationNames)
     {
-        if (asOfTime == null)
+        Collection<String>  candidateGUIDs = null;
+
+        if (entityTypeGUID != null)
         {
-            return entityStore;
+            candidateGUIDs = entityTypeIndex.get(entityTypeGUID);
         }
 
-        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
+        candidateGUIDs = this.narrowByPropertyValues(candidateGUIDs, entityPropertyIndexes, literalPropertyValues);
+        candidateGUIDs = this.narrowByAnyKey(candidateGUIDs, entityClassificationIndex, classificationNames);
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (EntityDetail  entity : entityStore.values())
+        return this.getCurrentEntities(candidateGUIDs);
+    }
+
+
+    /**
+     * Return the current versions of the entities that could have a string or enum property value that matches
+     * the search criteria.  The full text index is used when the search criteria is a word, or the start, end
+     * or part of a word.  The caller must still verify each candidate against the search criteria.
+     *
+     * @param entityTypeGUID unique identifier of the entity type - null means any type
+     * @param searchCriteria regular expression used to match the property values
+     * @return list of candidate entities
+     */
+    List<EntityDetail>  getEntitySearchCandidates(String   entityTypeGUID,
+                                                  String   searchCriteria)
+    {
+        Collection<String>  candidateGUIDs = null;
+
+        if (entityTypeGUID != null)
+        {
+            candidateGUIDs = entityTypeIndex.get(entityTypeGUID);
+        }
+
+        candidateGUIDs = this.narrowByToken(candidateGUIDs, entityTokenIndex, searchCriteria);
+
+        return this.getCurrentEntities(candidateGUIDs);
+    }
+
+
+    /**
+     * Return the current versions of the entities identified by the guids.
+     *
+     * @param guids unique identifiers of the entities - null means all entities
+     * @return list of entities
+     */
+    private List<EntityDetail>  getCurrentEntities(Collection<String>   guids)
+    {
+        if (guids == null)
         {
+            return this.getEntities();
+        }
+
+        List<EntityDetail>  entities = new ArrayList<>(guids.size());
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = entityStore.get(guid);
+
             if (entity != null)
             {
-                if (entity.getUpdateTime() != null)
-                {
-                    String entityGUID = entity.getGUID();
-
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
-                {
-                    if (! entity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
-                    }
-                }
+                entities.add(entity);
             }
         }
 
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
+        return entities;
+    }
+
+
+    /**
+     * Return the version of the entity identified by the guid that was current at the time supplied in the
+     * asOfTime parameter.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time of interest (or null means now)
+     * @return entity object or null if the entity did not exist at that time
+     */
+    EntityDetail  getEntity(String   guid,
+                            Date     asOfTime)
+    {
+        if (asOfTime == null)
         {
-            if (oldEntity != null)
-            {
-                String entityGUID = oldEntity.getGUID();
+            return entityStore.get(guid);
+        }
 
-                if (oldEntity.getUpdateTime() != null)
-                {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
+        return entityHistoryStore.getVersionAsOf(guid, entityStore.get(guid), asOfTime);
+    }
 
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
-                    }
-                }
-            }
+
+    /**
+     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
+     * parameter.  Each entity's version is located from its own version chain so the cost is in proportion
+     * to the number of entities rather than the number of updates that have been made to them.
+     *
+     * @param asOfTime - time for the store (or null means now)
+     * @return entity store for the requested time
+     */
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return entityStore;
         }
 
-        return timeWarpedEntityStore;
+        return entityHistoryStore.getInstancesAsOf(entityStore, asOfTime);
     }
 
 
@@ -237,7 +360,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of relationships
      */
-    synchronized List<Relationship>   getRelationships()
+    List<Relationship>   getRelationships()
     {
         return new ArrayList<>(relationshipStore.values());
     }
@@ -249,309 +372,484 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
         return relationshipStore.get(guid);
     }
 
+
     /**
-     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the current versions of the relationships that are connected to the entity identified by the guid.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return relationship store for the requested time
+     * @param entityGUID unique identifier of the entity at either end of the relationships
+     * @return list of relationships (may be empty)
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    List<Relationship>  getRelationshipsForEntity(String   entityGUID)
     {
-        if (asOfTime == null)
-        {
-            return relationshipStore;
-        }
-
-        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
+        Set<String>         relationshipGUIDs = relationshipEndIndex.get(entityGUID);
+        List<Relationship>  relationships     = new ArrayList<>(relationshipGUIDs.size());
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (Relationship  relationship : relationshipStore.values())
+        for (String guid : relationshipGUIDs)
         {
-            if (relationship != null)
-            {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
-
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
-                {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
-                }
-            }
-        }
+            Relationship relationship = relationshipStore.get(guid);
 
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
-        {
-            if (oldRelationship != null)
+            if (relationship != null)
             {
-                String relationshipGUID = oldRelationship.getGUID();
-
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
-                {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
-                }
+                relationships.add(relationship);
             }
         }
 
-        return timeWarpedRelationshipStore;
+        return relationships;
     }
 
+
     /**
-     * Create a new entity in the entity store.
+     * Return the current versions of the relationships of the requested types that are connected to the entity
+     * identified by the guid.  The relationships are located through the adjacency index so only the
+     * relationships of the requested types are retrieved.
      *
-     * @param entity - new version of the entity
-     * @return entity with potentially updated GUID
+     * @param entityGUID unique identifier of the entity at either end of the relationships
+     * @param relationshipTypeGUIDs unique identifiers of the relationship types - null means any type
+     * @return list of relationships (may be empty)
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail    entity)
+    List<Relationship>  getRelationshipsForEntity(String               entityGUID,
+                                                  Collection<String>   relationshipTypeGUIDs)
     {
-        /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
-         */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
+        if (relationshipTypeGUIDs == null)
+        {
+            return this.getRelationshipsForEntity(entityGUID);
+        }
 
-        while (existingEntity != null)
+        List<Relationship>  relationships = new ArrayList<>();
+
+        for (String relationshipTypeGUID : new HashSet<>(relationshipTypeGUIDs))
         {
-            entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
+            for (String guid : relationshipAdjacencyIndex.get(getAdjacencyKey(entityGUID, relationshipTypeGUID)))
+            {
+                Relationship relationship = relationshipStore.get(guid);
+
+                if (relationship != null)
+                {
+                    relationships.add(relationship);
+                }
+            }
         }
 
-        return entity;
+        return relationships;
     }
 
 
     /**
-     * Create a new relationship in the relationship store.
+     * Return the current versions of the relationships that could match a query with the supplied restrictions.
+     * The caller must still verify each candidate against the full query.
      *
-     * @param relationship - new version of the relationship
-     * @return relationship with potentially updated GUID
+     * @param relationshipTypeGUID unique identifier of the relationship type - null means any type
+     * @param literalPropertyValues map of property name to literal (non-regex) string form of the value that
+     *                              each returned relationship must have - null means no property restriction
+     * @return list of candidate relationships
      */
-    synchronized Relationship createRelationshipInStore(Relationship    relationship)
+    List<Relationship>  getRelationshipCandidates(String                relationshipTypeGUID,
+                                                  Map<String, String>   literalPropertyValues)
     {
-        /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
-         */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+        Collection<String>  candidateGUIDs = null;
 
-        while (existingRelationship != null)
+        if (relationshipTypeGUID != null)
         {
-            relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            candidateGUIDs = relationshipTypeIndex.get(relationshipTypeGUID);
         }
 
-        return relationship;
-    }
-
+        candidateGUIDs = this.narrowByPropertyValues(candidateGUIDs, relationshipPropertyIndexes, literalPropertyValues);
 
-    /**
-     * Save an entity proxy to the entity store.
-     *
-     * @param entityProxy - entity proxy object to add
-     */
-    synchronized void addEntityProxyToStore(EntityProxy    entityProxy)
-    {
-        entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+        return this.getCurrentRelationships(candidateGUIDs);
     }
 
 
     /**
-     * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
-     * The history is maintained with the latest changes first in the list.
+     * Return the current versions of the relationships that could have a string or enum property value that
+     * matches the search criteria.  The caller must still verify each candidate against the search criteria.
      *
-     * @param entity - new version of the entity
+     * @param relationshipTypeGUID unique identifier of the relationship type - null means any type
+     * @param searchCriteria regular expression used to match the property values
+     * @return list of candidate relationships
      */
-    synchronized void updateEntityInStore(EntityDetail    entity)
+    List<Relationship>  getRelationshipSearchCandidates(String   relationshipTypeGUID,
+                                                        String   searchCriteria)
     {
-        EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
+        Collection<String>  candidateGUIDs = null;
 
-        if (oldEntity != null)
+        if (relationshipTypeGUID != null)
         {
-            entityHistoryStore.add(0, oldEntity);
+            candidateGUIDs = relationshipTypeIndex.get(relationshipTypeGUID);
         }
-    }
 
+        candidateGUIDs = this.narrowByToken(candidateGUIDs, relationshipTokenIndex, searchCriteria);
 
-    /**
-     * Update an entity proxy in the proxy store.
-     *
-     * @param entityProxy - entity proxy object to add
-     */
-    synchronized void updateEntityProxyInStore(EntityProxy    entityProxy)
-    {
-        entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+        return this.getCurrentRelationships(candidateGUIDs);
     }
 
 
     /**
-     * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * Return the current versions of the relationships identified by the guids.
      *
-     * @param relationship - new version of the relationship
+     * @param guids unique identifiers of the relationships - null means all relationships
+     * @return list of relationships
      */
-    synchronized void updateRelationshipInStore(Relationship    relationship)
+    private List<Relationship>  getCurrentRelationships(Collection<String>   guids)
     {
-        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+        if (guids == null)
+        {
+            return this.getRelationships();
+        }
 
-        if (oldRelationship != null)
+        List<Relationship>  relationships = new ArrayList<>(guids.size());
+
+        for (String guid : guids)
         {
-            relationshipHistoryStore.add(0, oldRelationship);
+            Relationship relationship = relationshipStore.get(guid);
+
+            if (relationship != null)
+            {
+                relationships.add(relationship);
+            }
         }
+
+        return relationships;
     }
 
 
     /**
-     * Save a reference copy of an entity to the active store.  Reference copies are not maintained in the
-     * history store.
+     * Return the version of the relationship identified by the guid that was current at the time supplied in the
+     * asOfTime parameter.
      *
-     * @param entity - object to save
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time of interest (or null means now)
+     * @return relationship object or null if the relationship did not exist at that time
      */
-    synchronized void saveReferenceEntityToStore(EntityDetail    entity)
+    Relationship  getRelationship(String   guid,
+                                  Date     asOfTime)
     {
-        entityStore.put(entity.getGUID(), entity);
+        if (asOfTime == null)
+        {
+            return relationshipStore.get(guid);
+        }
+
+        return relationshipHistoryStore.getVersionAsOf(guid, relationshipStore.get(guid), asOfTime);
     }
 
 
     /**
-     * Save a reference copy of a relationship to the active store.  Reference copies are not maintained in the
-     * history store.
+     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
+     * parameter.  Each relationship's version is located from its own version chain.
      *
-     * @param relationship - object to save
+     * @param asOfTime - time for the store (or null means now)
+     * @return relationship store for the requested time
      */
-    synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        if (asOfTime == null)
+        {
+            return relationshipStore;
+        }
+
+        return relationshipHistoryStore.getInstancesAsOf(relationshipStore, asOfTime);
     }
 
 
     /**
-     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
-     * appears in the history.
+     * Create a new entity in the entity store.
      *
-     * @param guid - unique identifier for the required element
-     * @return - previous version of this relationship - or null if not found
+     * @param entity - new version of the entity
+     * @return entity with potentially updated GUID
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    EntityDetail createEntityInStore(EntityDetail    entity)
     {
-        if (guid != null)
+        /*
+         * There is a small chance the randomly generated GUID will clash with an existing entity.
+         * If this happens a new GUID is generated for the entity and the process repeats.
+         */
+        while (true)
         {
-            Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
-
-            long versionNumber = 0;
-
-            if (currentVersionOfRelationship != null)
-            {
-                versionNumber = currentVersionOfRelationship.getVersion() + 1;
-            }
+            String guid = entity.getGUID();
 
-            int  elementPosition = 0;
+            changeLock.readLock().lock();
 
-            for (Relationship relationship : relationshipHistoryStore)
+            try
             {
-                if (relationship != null)
+                synchronized (getInstanceLock(guid))
                 {
-                    if (guid.equals(relationship.getGUID()))
+                    if (! entityStore.containsKey(guid))
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        relationship.setVersion(versionNumber);
-                        relationshipHistoryStore.remove(elementPosition);
-                        relationshipStore.put(guid, relationship);
-                        return relationship;
+                        recordChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.CREATE_ENTITY, entity));
+
+                        entityStore.put(guid, entity);
+                        indexEntity(entity);
+                        return entity;
                     }
                 }
-
-                elementPosition ++;
             }
-        }
+            finally
+            {
+                changeLock.readLock().unlock();
+            }
 
-        return null;
+            entity.setGUID(UUID.randomUUID().toString());
+        }
     }
 
 
     /**
-     * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
-     * This is the first instance of this element that appears in the history.
+     * Create a new relationship in the relationship store.
      *
-     * @param guid - unique identifier for the required element
-     * @return - previous version of this Entity - or null if not found
+     * @param relationship - new version of the relationship
+     * @return relationship with potentially updated GUID
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    Relationship createRelationshipInStore(Relationship    relationship)
     {
-        if (guid != null)
+        /*
+         * There is a small chance the randomly generated GUID will clash with an existing relationship.
+         * If this happens a new GUID is generated for the relationship and the process repeats.
+         */
+        while (true)
         {
-            EntityDetail  currentVersionOfEntity = entityStore.get(guid);
+            String guid = relationship.getGUID();
 
-            long versionNumber = 0;
+            changeLock.readLock().lock();
 
-            if (currentVersionOfEntity != null)
+            try
             {
-                versionNumber = currentVersionOfEntity.getVersion() + 1;
-            }
+                synchronized (getInstanceLock(guid))
+                {
+                    if (! relationshipStore.containsKey(guid))
+                    {
+                        recordChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.CREATE_RELATIONSHIP, relationship));
+
+                        relationshipStore.put(guid, relationship);
+                        indexRelationship(relationship);
+                        return relationship;
+                    }
+                }
+            }
+            finally
+            {
+                changeLock.readLock().unlock();
+            }
+
+            relationship.setGUID(UUID.randomUUID().toString());
+        }
+    }
+
+
+    /**
+     * Save an entity proxy to the entity store.
+     *
+     * @param entityProxy - entity proxy object to add
+     */
+    void addEntityProxyToStore(EntityProxy    entityProxy)
+    {
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.SAVE_ENTITY_PROXY, entityProxy),
+                   () -> entityProxyStore.put(entityProxy.getGUID(), entityProxy));
+    }
+
+
+    /**
+     * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
+     * The previous version is added to the instance's version chain in the history store.
+     *
+     * @param entity - new version of the entity
+     */
+    void updateEntityInStore(EntityDetail    entity)
+    {
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.UPDATE_ENTITY, entity), () ->
+        {
+            EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
+
+            indexEntity(entity);
+
+            if (oldEntity != null)
+            {
+                entityHistoryStore.addVersion(oldEntity);
+            }
+        });
+    }
+
+
+    /**
+     * Update an entity proxy in the proxy store.
+     *
+     * @param entityProxy - entity proxy object to add
+     */
+    void updateEntityProxyInStore(EntityProxy    entityProxy)
+    {
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.SAVE_ENTITY_PROXY, entityProxy),
+                   () -> entityProxyStore.put(entityProxy.getGUID(), entityProxy));
+    }
+
+
+    /**
+     * Maintain a history of relationships as they are stored into the relationship store to ensure old version
+     * can be restored.  The previous version is added to the relationship's version chain in the history store.
+     *
+     * @param relationship - new version of the relationship
+     */
+    void updateRelationshipInStore(Relationship    relationship)
+    {
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.UPDATE_RELATIONSHIP, relationship), () ->
+        {
+            Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+
+            indexRelationship(relationship);
+
+            if (oldRelationship != null)
+            {
+                relationshipHistoryStore.addVersion(oldRelationship);
+            }
+        });
+    }
+
+
+    /**
+     * Save a reference copy of an entity to the active store.  Reference copies are not maintained in the
+     * history store.
+     *
+     * @param entity - object to save
+     */
+    void saveReferenceEntityToStore(EntityDetail    entity)
+    {
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.SAVE_REFERENCE_ENTITY, entity), () ->
+        {
+            entityStore.put(entity.getGUID(), entity);
+            indexEntity(entity);
+        });
+    }
+
+
+    /**
+     * Save a reference copy of a relationship to the active store.  Reference copies are not maintained in the
+     * history store.
+     *
+     * @param relationship - object to save
+     */
+    void saveReferenceRelationshipToStore(Relationship    relationship)
+    {
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.SAVE_REFERENCE_RELATIONSHIP, relationship), () ->
+        {
+            relationshipStore.put(relationship.getGUID(), relationship);
+            indexRelationship(relationship);
+        });
+    }
+
+
+    /**
+     * Retrieve the previous version of a Relationship from the history store and restore it in the relationship store.
+     * This is the most recent version of this element in the history.
+     *
+     * @param guid - unique identifier for the required element
+     * @return - previous version of this relationship - or null if not found
+     */
+    Relationship retrievePreviousVersionOfRelationship(String   guid)
+    {
+        if (guid != null)
+        {
+            changeLock.readLock().lock();
+
+            try
+            {
+                synchronized (getInstanceLock(guid))
+                {
+                    Relationship  previousVersion = relationshipHistoryStore.removeLatestVersion(guid);
+
+                    if (previousVersion != null)
+                    {
+                        Relationship  relationship                 = new Relationship(previousVersion);
+                        Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
+
+                        if (currentVersionOfRelationship != null)
+                        {
+                            relationship.setVersion(currentVersionOfRelationship.getVersion() + 1);
+                        }
+                        else
+                        {
+                            relationship.setVersion(relationship.getVersion() + 1);
+                        }
+
+                        try
+                        {
+                            recordChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.RESTORE_RELATIONSHIP, relationship));
+                        }
+                        catch (RuntimeException error)
+                        {
+                            relationshipHistoryStore.addVersion(previousVersion);
+                            throw error;
+                        }
+
+                        relationshipStore.put(guid, relationship);
+                        indexRelationship(relationship);
+                        return relationship;
+                    }
+                }
+            }
+            finally
+            {
+                changeLock.readLock().unlock();
+            }
+        }
+
+        return null;
+    }
+
 
-            int  elementPosition = 0;
+    /**
+     * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
+     * This is the most recent version of this element in the history.
+     *
+     * @param guid - unique identifier for the required element
+     * @return - previous version of this Entity - or null if not found
+     */
+    EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    {
+        if (guid != null)
+        {
+            changeLock.readLock().lock();
 
-            for (EntityDetail entity : entityHistoryStore)
+            try
             {
-                if (entity != null)
+                synchronized (getInstanceLock(guid))
                 {
-                    if (guid.equals(entity.getGUID()))
+                    EntityDetail  previousVersion = entityHistoryStore.removeLatestVersion(guid);
+
+                    if (previousVersion != null)
                     {
-                        if (versionNumber == 0)
+                        EntityDetail  entity                 = new EntityDetail(previousVersion);
+                        EntityDetail  currentVersionOfEntity = entityStore.get(guid);
+
+                        if (currentVersionOfEntity != null)
+                        {
+                            entity.setVersion(currentVersionOfEntity.getVersion() + 1);
+                        }
+                        else
+                        {
+                            entity.setVersion(entity.getVersion() + 1);
+                        }
+
+                        try
+                        {
+                            recordChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.RESTORE_ENTITY, entity));
+                        }
+                        catch (RuntimeException error)
                         {
-                            versionNumber = entity.getVersion() + 1;
+                            entityHistoryStore.addVersion(previousVersion);
+                            throw error;
                         }
-                        entity.setVersion(versionNumber);
-                        entityHistoryStore.remove(elementPosition);
+
                         entityStore.put(guid, entity);
+                        indexEntity(entity);
                         return entity;
                     }
                 }
-
-                elementPosition ++;
+            }
+            finally
+            {
+                changeLock.readLock().unlock();
             }
         }
 
@@ -564,10 +862,15 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - entity to remove
      */
-    synchronized void removeEntityFromStore(EntityDetail     entity)
+    void removeEntityFromStore(EntityDetail     entity)
     {
-        entityStore.remove(entity.getGUID());
-        entityHistoryStore.add(0, entity);
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.REMOVE_ENTITY, entity), () ->
+        {
+            entityStore.remove(entity.getGUID());
+            unindexEntity(entity.getGUID());
+
+            entityHistoryStore.addVersion(entity);
+        });
     }
 
 
@@ -576,14 +879,19 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - entity to remove
      */
-    synchronized void removeReferenceEntityFromStore(String     guid)
+    void removeReferenceEntityFromStore(String     guid)
     {
-        EntityDetail entity = entityStore.remove(guid);
-
-        if (entity != null)
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.REMOVE_REFERENCE_ENTITY, guid), () ->
         {
-            entityHistoryStore.add(0, entity);
-        }
+            EntityDetail entity = entityStore.remove(guid);
+
+            unindexEntity(guid);
+
+            if (entity != null)
+            {
+                entityHistoryStore.addVersion(entity);
+            }
+        });
     }
 
 
@@ -592,9 +900,10 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - entity proxy to remove
      */
-    synchronized void removeEntityProxyFromStore(String     guid)
+    void removeEntityProxyFromStore(String     guid)
     {
-        entityProxyStore.remove(guid);
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.REMOVE_ENTITY_PROXY, guid),
+                   () -> entityProxyStore.remove(guid));
     }
 
 
@@ -603,10 +912,15 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - relationship to remove
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    void removeRelationshipFromStore(Relationship     relationship)
     {
-        relationshipStore.remove(relationship.getGUID());
-        relationshipHistoryStore.add(0, relationship);
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.REMOVE_RELATIONSHIP, relationship), () ->
+        {
+            relationshipStore.remove(relationship.getGUID());
+            unindexRelationship(relationship.getGUID());
+
+            relationshipHistoryStore.addVersion(relationship);
+        });
     }
 
 
@@ -615,14 +929,882 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - relationship to remove
      */
-    synchronized void removeReferenceRelationshipFromStore(String     guid)
+    void removeReferenceRelationshipFromStore(String     guid)
+    {
+        makeChange(new InMemoryStoreChange(InMemoryStoreChange.Operation.REMOVE_REFERENCE_RELATIONSHIP, guid), () ->
+        {
+            Relationship  relationship = relationshipStore.remove(guid);
+
+            unindexRelationship(guid);
+
+            if (relationship != null)
+            {
+                relationshipHistoryStore.addVersion(relationship);
+            }
+        });
+    }
+
+
+    /*
+     * ==========================
+     * Journal support
+     */
+
+    /**
+     * Set up the journal that records each change before it is made to the store.  The journal is set up once
+     * any previously recorded changes have been replayed.
+     *
+     * @param storeJournal journal or null to stop recording changes
+     */
+    void setStoreJournal(InMemoryStoreJournal   storeJournal)
+    {
+        this.storeJournal = storeJournal;
+    }
+
+
+    /**
+     * Make a change that has previously been recorded by the store's journal.  This is used to rebuild the store
+     * from its journal (and snapshots) when the repository restarts, and so the changes are not recorded again.
+     *
+     * @param change recorded change
+     */
+    void replayChange(InMemoryStoreChange   change)
+    {
+        if ((change == null) || (change.getOperation() == null))
+        {
+            return;
+        }
+
+        switch (change.getOperation())
+        {
+            case PUT_ATTRIBUTE_TYPE_DEF:
+                attributeTypeDefStore.put(change.getAttributeTypeDef().getGUID(), change.getAttributeTypeDef());
+                break;
+
+            case PUT_TYPE_DEF:
+                typeDefStore.put(change.getTypeDef().getGUID(), change.getTypeDef());
+                break;
+
+            case CREATE_ENTITY:
+            case SAVE_REFERENCE_ENTITY:
+                entityStore.put(change.getEntity().getGUID(), change.getEntity());
+                indexEntity(change.getEntity());
+                break;
+
+            case UPDATE_ENTITY:
+                EntityDetail oldEntity = entityStore.put(change.getEntity().getGUID(), change.getEntity());
+
+                indexEntity(change.getEntity());
+
+                if (oldEntity != null)
+                {
+                    entityHistoryStore.addVersion(oldEntity);
+                }
+                break;
+
+            case RESTORE_ENTITY:
+                entityHistoryStore.removeLatestVersion(change.getGUID());
+                entityStore.put(change.getEntity().getGUID(), change.getEntity());
+                indexEntity(change.getEntity());
+                break;
+
+            case REMOVE_ENTITY:
+                entityStore.remove(change.getGUID());
+                unindexEntity(change.getGUID());
+                entityHistoryStore.addVersion(change.getEntity());
+                break;
+
+            case REMOVE_REFERENCE_ENTITY:
+                EntityDetail removedEntity = entityStore.remove(change.getGUID());
+
+                unindexEntity(change.getGUID());
+
+                if (removedEntity != null)
+                {
+                    entityHistoryStore.addVersion(removedEntity);
+                }
+                break;
+
+            case ADD_ENTITY_VERSION:
+                entityHistoryStore.addVersion(change.getEntity());
+                break;
+
+            case SAVE_ENTITY_PROXY:
+                entityProxyStore.put(change.getEntityProxy().getGUID(), change.getEntityProxy());
+                break;
+
+            case REMOVE_ENTITY_PROXY:
+                entityProxyStore.remove(change.getGUID());
+                break;
+
+            case CREATE_RELATIONSHIP:
+            case SAVE_REFERENCE_RELATIONSHIP:
+                relationshipStore.put(change.getRelationship().getGUID(), change.getRelationship());
+                indexRelationship(change.getRelationship());
+                break;
+
+            case UPDATE_RELATIONSHIP:
+                Relationship oldRelationship = relationshipStore.put(change.getRelationship().getGUID(),
+                                                                     change.getRelationship());
+
+                indexRelationship(change.getRelationship());
+
+                if (oldRelationship != null)
+                {
+                    relationshipHistoryStore.addVersion(oldRelationship);
+                }
+                break;
+
+            case RESTORE_RELATIONSHIP:
+                relationshipHistoryStore.removeLatestVersion(change.getGUID());
+                relationshipStore.put(change.getRelationship().getGUID(), change.getRelationship());
+                indexRelationship(change.getRelationship());
+                break;
+
+            case REMOVE_RELATIONSHIP:
+                relationshipStore.remove(change.getGUID());
+                unindexRelationship(change.getGUID());
+                relationshipHistoryStore.addVersion(change.getRelationship());
+                break;
+
+            case REMOVE_REFERENCE_RELATIONSHIP:
+                Relationship removedRelationship = relationshipStore.remove(change.getGUID());
+
+                unindexRelationship(change.getGUID());
+
+                if (removedRelationship != null)
+                {
+                    relationshipHistoryStore.addVersion(removedRelationship);
+                }
+                break;
+
+            case ADD_RELATIONSHIP_VERSION:
+                relationshipHistoryStore.addVersion(change.getRelationship());
+                break;
+        }
+    }
+
+
+    /**
+     * Return the changes that rebuild the current content of the store, that is, its type definitions, the
+     * previous versions of its instances and its current instances.  No changes are made to the store while the
+     * list is assembled.  The snapshot point action is called before changes are allowed again, which gives
+     * the journal the point at which the records it holds are superseded by the snapshot.
+     *
+     * @param snapshotPoint action to run at the point of the snapshot (may be null)
+     * @return list of changes
+     */
+    List<InMemoryStoreChange> getSnapshot(Runnable   snapshotPoint)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
+        List<InMemoryStoreChange> snapshot = new ArrayList<>();
+
+        changeLock.writeLock().lock();
+
+        try
+        {
+            for (AttributeTypeDef attributeTypeDef : attributeTypeDefStore.values())
+            {
+                snapshot.add(new InMemoryStoreChange(InMemoryStoreChange.Operation.PUT_ATTRIBUTE_TYPE_DEF, attributeTypeDef));
+            }
+
+            for (TypeDef typeDef : typeDefStore.values())
+            {
+                snapshot.add(new InMemoryStoreChange(InMemoryStoreChange.Operation.PUT_TYPE_DEF, typeDef));
+            }
+
+            entityHistoryStore.forEachVersion(
+                    entity -> snapshot.add(new InMemoryStoreChange(InMemoryStoreChange.Operation.ADD_ENTITY_VERSION, entity)));
+
+            relationshipHistoryStore.forEachVersion(
+                    relationship -> snapshot.add(new InMemoryStoreChange(InMemoryStoreChange.Operation.ADD_RELATIONSHIP_VERSION, relationship)));
+
+            for (EntityDetail entity : entityStore.values())
+            {
+                snapshot.add(new InMemoryStoreChange(InMemoryStoreChange.Operation.SAVE_REFERENCE_ENTITY, entity));
+            }
+
+            for (EntityProxy entityProxy : entityProxyStore.values())
+            {
+                snapshot.add(new InMemoryStoreChange(InMemoryStoreChange.Operation.SAVE_ENTITY_PROXY, entityProxy));
+            }
 
-        if (relationship != null)
+            for (Relationship relationship : relationshipStore.values())
+            {
+                snapshot.add(new InMemoryStoreChange(InMemoryStoreChange.Operation.SAVE_REFERENCE_RELATIONSHIP, relationship));
+            }
+
+            if (snapshotPoint != null)
+            {
+                snapshotPoint.run();
+            }
+        }
+        finally
         {
-            relationshipHistoryStore.add(0, relationship);
+            changeLock.writeLock().unlock();
         }
+
+        return snapshot;
     }
 
+
+    /**
+     * Record a change in the journal and then make it.  The change lock is held so that the change is either
+     * wholly before or wholly after a snapshot, and the instance lock keeps the recorded changes to an element
+     * in the order that they are made.  If the journal fails the change is not made.
+     *
+     * @param change description of the change
+     * @param update action that makes the change
+     */
+    private void makeChange(InMemoryStoreChange   change,
+                            Runnable              update)
+    {
+        changeLock.readLock().lock();
+
+        try
+        {
+            synchronized (getInstanceLock(change.getGUID()))
+            {
+                recordChange(change);
+                update.run();
+            }
+        }
+        finally
+        {
+            changeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Pass a change to the journal, if there is one.  The caller must hold the change lock.
+     *
+     * @param change description of the change
+     */
+    private void recordChange(InMemoryStoreChange   change)
+    {
+        InMemoryStoreJournal journal = storeJournal;
+
+        if (journal != null)
+        {
+            journal.recordChange(change);
+        }
+    }
+
+
+    /**
+     * Return the string form of a property value if it is a literal search value, that is, a primitive or enum
+     * value whose string form contains no regular expression meta-characters.  Matching a literal value with
+     * a regular expression is the same as testing for equality, and so it can be located through the property
+     * indexes.
+     *
+     * @param propertyValue value to test
+     * @return string form of the value or null if the value can not be used with the index
+     */
+    static String getLiteralPropertyValue(InstancePropertyValue   propertyValue)
+    {
+        String   stringValue = getIndexablePropertyValue(propertyValue);
+
+        if (stringValue != null)
+        {
+            for (int i = 0; i < stringValue.length(); i++)
+            {
+                if (regexMetaCharacters.indexOf(stringValue.charAt(i)) != -1)
+                {
+                    return null;
+                }
+            }
+        }
+
+        return stringValue;
+    }
+
+
+    /*
+     * ==========================
+     * Index maintenance
+     */
+
+    /**
+     * Return the lock used to serialize updates to the instance identified by the guid.
+     *
+     * @param guid unique identifier of the instance
+     * @return lock object
+     */
+    private Object getInstanceLock(String   guid)
+    {
+        int hash = (guid == null) ? 0 : guid.hashCode();
+
+        return instanceLocks[(hash & 0x7fffffff) % instanceLockCount];
+    }
+
+
+    /**
+     * Add the index entries for the current version of an entity, replacing any entries for its previous version.
+     * The caller must hold the instance lock for the entity.
+     *
+     * @param entity current version of the entity
+     */
+    private void indexEntity(EntityDetail   entity)
+    {
+        String    guid    = entity.getGUID();
+        IndexKeys oldKeys = indexedEntities.get(guid);
+        IndexKeys newKeys = new IndexKeys(entity.getType(), entity.getProperties(), tokenIndexEnabled);
+
+        List<Classification> classifications = entity.getClassifications();
+
+        if (classifications != null)
+        {
+            for (Classification classification : classifications)
+            {
+                if ((classification != null) && (classification.getName() != null))
+                {
+                    newKeys.otherKeys.add(classification.getName());
+                }
+            }
+        }
+
+        if (oldKeys != null)
+        {
+            removeIndexKeys(guid, oldKeys, entityTypeIndex, entityClassificationIndex, entityPropertyIndexes, entityTokenIndex);
+        }
+
+        addIndexKeys(guid, newKeys, entityTypeIndex, entityClassificationIndex, entityPropertyIndexes, entityTokenIndex);
+        indexedEntities.put(guid, newKeys);
+    }
+
+
+    /**
+     * Remove the index entries for an entity that is no longer in the active store.
+     * The caller must hold the instance lock for the entity.
+     *
+     * @param guid unique identifier of the entity
+     */
+    private void unindexEntity(String   guid)
+    {
+        IndexKeys oldKeys = indexedEntities.remove(guid);
+
+        if (oldKeys != null)
+        {
+            removeIndexKeys(guid, oldKeys, entityTypeIndex, entityClassificationIndex, entityPropertyIndexes, entityTokenIndex);
+        }
+    }
+
+
+    /**
+     * Add the index entries for the current version of a relationship, replacing any entries for its previous
+     * version.  The caller must hold the instance lock for the relationship.
+     *
+     * @param relationship current version of the relationship
+     */
+    private void indexRelationship(Relationship   relationship)
+    {
+        String    guid    = relationship.getGUID();
+        IndexKeys oldKeys = indexedRelationships.get(guid);
+        IndexKeys newKeys = new IndexKeys(relationship.getType(), relationship.getProperties(), tokenIndexEnabled);
+
+        if ((relationship.getEntityOneProxy() != null) && (relationship.getEntityOneProxy().getGUID() != null))
+        {
+            newKeys.otherKeys.add(relationship.getEntityOneProxy().getGUID());
+        }
+
+        if ((relationship.getEntityTwoProxy() != null) && (relationship.getEntityTwoProxy().getGUID() != null))
+        {
+            newKeys.otherKeys.add(relationship.getEntityTwoProxy().getGUID());
+        }
+
+        for (String entityGUID : newKeys.otherKeys)
+        {
+            newKeys.adjacencyKeys.add(getAdjacencyKey(entityGUID, newKeys.typeGUID));
+        }
+
+        if (oldKeys != null)
+        {
+            removeIndexKeys(guid,
+                            oldKeys,
+                            relationshipTypeIndex,
+                            relationshipEndIndex,
+                            relationshipPropertyIndexes,
+                            relationshipTokenIndex);
+
+            for (String adjacencyKey : oldKeys.adjacencyKeys)
+            {
+                relationshipAdjacencyIndex.remove(adjacencyKey, guid);
+            }
+        }
+
+        addIndexKeys(guid,
+                     newKeys,
+                     relationshipTypeIndex,
+                     relationshipEndIndex,
+                     relationshipPropertyIndexes,
+                     relationshipTokenIndex);
+
+        for (String adjacencyKey : newKeys.adjacencyKeys)
+        {
+            relationshipAdjacencyIndex.add(adjacencyKey, guid);
+        }
+
+        indexedRelationships.put(guid, newKeys);
+    }
+
+
+    /**
+     * Remove the index entries for a relationship that is no longer in the active store.
+     * The caller must hold the instance lock for the relationship.
+     *
+     * @param guid unique identifier of the relationship
+     */
+    private void unindexRelationship(String   guid)
+    {
+        IndexKeys oldKeys = indexedRelationships.remove(guid);
+
+        if (oldKeys != null)
+        {
+            removeIndexKeys(guid,
+                            oldKeys,
+                            relationshipTypeIndex,
+                            relationshipEndIndex,
+                            relationshipPropertyIndexes,
+                            relationshipTokenIndex);
+
+            for (String adjacencyKey : oldKeys.adjacencyKeys)
+            {
+                relationshipAdjacencyIndex.remove(adjacencyKey, guid);
+            }
+        }
+    }
+
+
+    /**
+     * Return the key of the adjacency index for the relationships of a type that are connected to an entity.
+     *
+     * @param entityGUID unique identifier of the entity at one end of the relationships
+     * @param relationshipTypeGUID unique identifier of the relationship type
+     * @return index key
+     */
+    private static String getAdjacencyKey(String   entityGUID,
+                                          String   relationshipTypeGUID)
+    {
+        return entityGUID + " " + relationshipTypeGUID;
+    }
+
+
+    /**
+     * Add an instance to the indexes under each of its keys.
+     *
+     * @param guid unique identifier of the instance
+     * @param keys keys for the instance
+     * @param typeIndex index by type GUID
+     * @param otherIndex index by classification name or end entity GUID
+     * @param propertyIndexes indexes by property value - one per property name
+     * @param tokenIndex index by the words in the string and enum property values
+     */
+    private void addIndexKeys(String                              guid,
+                              IndexKeys                           keys,
+                              InMemoryInstanceIndex               typeIndex,
+                              InMemoryInstanceIndex               otherIndex,
+                              Map<String, InMemoryInstanceIndex>  propertyIndexes,
+                              InMemoryInstanceIndex               tokenIndex)
+    {
+        typeIndex.add(keys.typeGUID, guid);
+
+        for (String token : keys.tokens)
+        {
+            tokenIndex.add(token, guid);
+        }
+
+        for (String otherKey : keys.otherKeys)
+        {
+            otherIndex.add(otherKey, guid);
+        }
+
+        for (Map.Entry<String, String> propertyValue : keys.propertyValues.entrySet())
+        {
+            propertyIndexes.computeIfAbsent(propertyValue.getKey(),
+                                            propertyName -> new InMemoryInstanceIndex()).add(propertyValue.getValue(), guid);
+        }
+    }
+
+
+    /**
+     * Remove an instance from the indexes under each of the supplied keys.
+     *
+     * @param guid unique identifier of the instance
+     * @param keys keys that the instance was indexed under
+     * @param typeIndex index by type GUID
+     * @param otherIndex index by classification name or end entity GUID
+     * @param propertyIndexes indexes by property value - one per property name
+     * @param tokenIndex index by the words in the string and enum property values
+     */
+    private void removeIndexKeys(String                              guid,
+                                 IndexKeys                           keys,
+                                 InMemoryInstanceIndex               typeIndex,
+                                 InMemoryInstanceIndex               otherIndex,
+                                 Map<String, InMemoryInstanceIndex>  propertyIndexes,
+                                 InMemoryInstanceIndex               tokenIndex)
+    {
+        typeIndex.remove(keys.typeGUID, guid);
+
+        for (String token : keys.tokens)
+        {
+            tokenIndex.remove(token, guid);
+        }
+
+        for (String otherKey : keys.otherKeys)
+        {
+            otherIndex.remove(otherKey, guid);
+        }
+
+        for (Map.Entry<String, String> propertyValue : keys.propertyValues.entrySet())
+        {
+            InMemoryInstanceIndex propertyIndex = propertyIndexes.get(propertyValue.getKey());
+
+            if (propertyIndex != null)
+            {
+                propertyIndex.remove(propertyValue.getValue(), guid);
+            }
+        }
+    }
+
+
+    /**
+     * Narrow the candidate GUIDs using the property value indexes.
+     *
+     * @param candidateGUIDs current candidates - null means all instances
+     * @param propertyIndexes indexes by property value
+     * @param literalPropertyValues property values that must be present
+     * @return smallest of the candidate sets
+     */
+    private Collection<String> narrowByPropertyValues(Collection<String>                  candidateGUIDs,
+                                                      Map<String, InMemoryInstanceIndex>  propertyIndexes,
+                                                      Map<String, String>                 literalPropertyValues)
+    {
+        Collection<String>  result = candidateGUIDs;
+
+        if (literalPropertyValues != null)
+        {
+            for (Map.Entry<String, String> literalPropertyValue : literalPropertyValues.entrySet())
+            {
+                InMemoryInstanceIndex propertyIndex = propertyIndexes.get(literalPropertyValue.getKey());
+                Set<String>           matchingGUIDs;
+
+                if (propertyIndex == null)
+                {
+                    matchingGUIDs = Collections.emptySet();
+                }
+                else
+                {
+                    matchingGUIDs = propertyIndex.get(literalPropertyValue.getValue());
+                }
+
+                if ((result == null) || (matchingGUIDs.size() < result.size()))
+                {
+                    result = matchingGUIDs;
+                }
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Narrow the candidate GUIDs using the full text index.  The index can only be used if the search criteria
+     * is a literal made up of word characters that is matched exactly, or as the start, end or part of the value.
+     * The literal must then be the whole, start, end or part of one of the words in the value respectively.
+     *
+     * @param candidateGUIDs current candidates - null means all instances
+     * @param tokenIndex index by the words in the string and enum property values
+     * @param searchCriteria regular expression used to match the property values
+     * @return smallest of the candidate sets
+     */
+    private Collection<String> narrowByToken(Collection<String>      candidateGUIDs,
+                                             InMemoryInstanceIndex   tokenIndex,
+                                             String                  searchCriteria)
+    {
+        if ((! tokenIndexEnabled) || (searchCriteria == null))
+        {
+            return candidateGUIDs;
+        }
+
+        SearchCriteriaMatcher matcher = SearchCriteriaMatcher.getMatcher(searchCriteria);
+        String                literal = matcher.getLiteral();
+
+        if ((literal == null) || (literal.isEmpty()))
+        {
+            return candidateGUIDs;
+        }
+
+        for (int i = 0; i < literal.length(); i++)
+        {
+            if (! isTokenCharacter(literal.charAt(i)))
+            {
+                return candidateGUIDs;
+            }
+        }
+
+        Set<String>  matchingGUIDs;
+
+        switch (matcher.getMatchType())
+        {
+            case EXACT:
+                matchingGUIDs = tokenIndex.get(literal);
+                break;
+
+            case PREFIX:
+                matchingGUIDs = tokenIndex.getForMatchingKeys(token -> token.startsWith(literal));
+                break;
+
+            case SUFFIX:
+                matchingGUIDs = tokenIndex.getForMatchingKeys(token -> token.endsWith(literal));
+                break;
+
+            case CONTAINS:
+                matchingGUIDs = tokenIndex.getForMatchingKeys(token -> token.contains(literal));
+                break;
+
+            default:
+                return candidateGUIDs;
+        }
+
+        if ((candidateGUIDs == null) || (matchingGUIDs.size() < candidateGUIDs.size()))
+        {
+            return matchingGUIDs;
+        }
+
+        return candidateGUIDs;
+    }
+
+
+    /**
+     * Narrow the candidate GUIDs to those that have at least one of the supplied keys.
+     *
+     * @param candidateGUIDs current candidates - null means all instances
+     * @param index index to use
+     * @param keys list of keys - null means no restriction
+     * @return smallest of the candidate sets
+     */
+    private Collection<String> narrowByAnyKey(Collection<String>      candidateGUIDs,
+                                              InMemoryInstanceIndex   index,
+                                              List<String>            keys)
+    {
+        if (keys == null)
+        {
+            return candidateGUIDs;
+        }
+
+        Set<String>  matchingGUIDs = new HashSet<>();
+
+        for (String key : keys)
+        {
+            matchingGUIDs.addAll(index.get(key));
+        }
+
+        if ((candidateGUIDs == null) || (matchingGUIDs.size() < candidateGUIDs.size()))
+        {
+            return matchingGUIDs;
+        }
+
+        return candidateGUIDs;
+    }
+
+
+    /**
+     * Return the string form of a primitive or enum property value.  This is the same string form used by the
+     * repository validator when it matches property values.
+     *
+     * @param propertyValue value to convert
+     * @return string value or null if the value is not primitive or enum
+     */
+    private static String getIndexablePropertyValue(InstancePropertyValue   propertyValue)
+    {
+        if (propertyValue != null)
+        {
+            if (propertyValue.getInstancePropertyCategory() == InstancePropertyCategory.PRIMITIVE)
+            {
+                Object primitiveValue = ((PrimitivePropertyValue)propertyValue).getPrimitiveValue();
+
+                if (primitiveValue != null)
+                {
+                    return primitiveValue.toString();
+                }
+            }
+            else if (propertyValue.getInstancePropertyCategory() == InstancePropertyCategory.ENUM)
+            {
+                return ((EnumPropertyValue)propertyValue).getSymbolicName();
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return whether a character is part of a word in the full text index.
+     *
+     * @param character character to test
+     * @return boolean result
+     */
+    private static boolean isTokenCharacter(char   character)
+    {
+        return Character.isLetterOrDigit(character);
+    }
+
+
+    /**
+     * Add the words from the string and enum values in the properties to the set of tokens.  Nested struct,
+     * array and map values are included since the search criteria is also tested against them.
+     *
+     * @param properties properties to process
+     * @param tokens set of tokens to add to
+     */
+    private static void addPropertyTokens(InstanceProperties   properties,
+                                          Set<String>          tokens)
+    {
+        if (properties == null)
+        {
+            return;
+        }
+
+        Map<String, InstancePropertyValue> propertyMap = properties.getInstanceProperties();
+
+        if (propertyMap == null)
+        {
+            return;
+        }
+
+        for (InstancePropertyValue propertyValue : propertyMap.values())
+        {
+            if (propertyValue == null)
+            {
+                continue;
+            }
+
+            switch (propertyValue.getInstancePropertyCategory())
+            {
+                case PRIMITIVE:
+                    PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)propertyValue;
+
+                    if ((primitivePropertyValue.getPrimitiveDefCategory() == PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING) &&
+                        (primitivePropertyValue.getPrimitiveValue() != null))
+                    {
+                        addTokens(primitivePropertyValue.getPrimitiveValue().toString(), tokens);
+                    }
+                    break;
+
+                case ENUM:
+                    addTokens(((EnumPropertyValue)propertyValue).getSymbolicName(), tokens);
+                    break;
+
+                case STRUCT:
+                    addPropertyTokens(((StructPropertyValue)propertyValue).getAttributes(), tokens);
+                    break;
+
+                case ARRAY:
+                    addPropertyTokens(((ArrayPropertyValue)propertyValue).getArrayValues(), tokens);
+                    break;
+
+                case MAP:
+                    addPropertyTokens(((MapPropertyValue)propertyValue).getMapValues(), tokens);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * Split a string value into words and add them to the set of tokens.  A word is a sequence of letters
+     * and digits.  The case of the words is preserved since the search criteria is case sensitive.
+     *
+     * @param value string value
+     * @param tokens set of tokens to add to
+     */
+    private static void addTokens(String        value,
+                                  Set<String>   tokens)
+    {
+        if (value == null)
+        {
+            return;
+        }
+
+        int tokenStart = -1;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (isTokenCharacter(value.charAt(i)))
+            {
+                if (tokenStart == -1)
+                {
+                    tokenStart = i;
+                }
+            }
+            else if (tokenStart != -1)
+            {
+                tokens.add(value.substring(tokenStart, i));
+                tokenStart = -1;
+            }
+        }
+
+        if (tokenStart != -1)
+        {
+            tokens.add(value.substring(tokenStart));
+        }
+    }
+
+
+    /**
+     * IndexKeys captures the keys that an instance is indexed under.
+     */
+    private static class IndexKeys
+    {
+        String               typeGUID       = null;
+        List<String>         otherKeys      = new ArrayList<>();
+        List<String>         adjacencyKeys  = new ArrayList<>();
+        Map<String, String>  propertyValues = new HashMap<>();
+        Set<String>          tokens         = new HashSet<>();
+
+
+        /**
+         * Extract the type, property value and (optionally) word keys from an instance.
+         *
+         * @param instanceType type of the instance
+         * @param properties properties of the instance
+         * @param includeTokens whether to extract the words for the full text index
+         */
+        IndexKeys(InstanceType         instanceType,
+                  InstanceProperties   properties,
+                  boolean              includeTokens)
+        {
+            if (includeTokens)
+            {
+                addPropertyTokens(properties, tokens);
+            }
+
+            if (instanceType != null)
+            {
+                typeGUID = instanceType.getTypeDefGUID();
+            }
+
+            if (properties != null)
+            {
+                Map<String, InstancePropertyValue> propertyMap = properties.getInstanceProperties();
+
+                if (propertyMap != null)
+                {
+                    for (Map.Entry<String, InstancePropertyValue> property : propertyMap.entrySet())
+                    {
+                        String value = getIndexablePropertyValue(property.getValue());
+
+                        if ((property.getKey() != null) && (value != null))
+                        {
+                            propertyValues.put(property.getKey(), value);
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
 /**
@@ -37,11 +38,67 @@ public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
             /*
              * Initialize the metadata collection only once the connector is properly set up.
              */
-            super.metadataCollection = new InMemoryOMRSMetadataCollection(this,
-                                                                          super.serverName,
-                                                                          repositoryHelper,
-                                                                          repositoryValidator,
-                                                                          metadataCollectionId);
+            InMemoryOMRSMetadataCollection inMemoryMetadataCollection = new InMemoryOMRSMetadataCollection(this,
+                                                                                                           super.serverName,
+                                                                                                           repositoryHelper,
+                                                                                                           repositoryValidator,
+                                                                                                           metadataCollectionId);
+
+            if (connectionProperties != null)
+            {
+                AdditionalProperties additionalProperties = connectionProperties.getAdditionalProperties();
+
+                if (additionalProperties != null)
+                {
+                    inMemoryMetadataCollection.setHistoryRetentionPolicy(
+                            (int)getLongProperty(additionalProperties,
+                                                 InMemoryOMRSRepositoryConnectorProvider.maxHistoryVersionsPropertyName),
+                            getLongProperty(additionalProperties,
+                                            InMemoryOMRSRepositoryConnectorProvider.historyRetentionPeriodPropertyName));
+
+                    Object fullTextIndex = additionalProperties.getProperty(InMemoryOMRSRepositoryConnectorProvider.fullTextIndexPropertyName);
+
+                    if (fullTextIndex != null)
+                    {
+                        inMemoryMetadataCollection.setTokenIndexEnabled(Boolean.parseBoolean(fullTextIndex.toString().trim()));
+                    }
+                }
+            }
+
+            super.metadataCollection = inMemoryMetadataCollection;
+        }
+    }
+
+
+    /**
+     * Extract a numeric value from the connection's additional properties.  Values may be supplied as numbers or
+     * as strings.  Missing or invalid values are treated as zero, which means no limit.
+     *
+     * @param additionalProperties additional properties from the connection
+     * @param propertyName name of the property
+     * @return value
+     */
+    private long getLongProperty(AdditionalProperties   additionalProperties,
+                                 String                 propertyName)
+    {
+        Object propertyValue = additionalProperties.getProperty(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).longValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Long.parseLong(propertyValue.toString().trim());
+            }
+            catch (NumberFormatException error)
+            {
+                return 0;
+            }
         }
+
+        return 0;
     }
 }
\ No newline at end of file
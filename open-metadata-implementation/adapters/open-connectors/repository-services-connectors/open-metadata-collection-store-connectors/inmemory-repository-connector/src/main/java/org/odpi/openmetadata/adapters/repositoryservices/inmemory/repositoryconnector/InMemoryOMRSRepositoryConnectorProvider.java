@@ -6,6 +6,9 @@ package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositorycon
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnectorProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * In the Open Connector Framework (OCF), a ConnectorProvider is a factory for a specific type of connector.
  * The InMemoryOMRSRepositoryConnectorProvider is the connector provider for the InMemoryOMRSRepositoryConnector.
@@ -15,6 +18,11 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
  * The InMemoryOMRSRepositoryConnectorProvider must initialize ConnectorProviderBase with the Java class
  * name of the OMRS Connector implementation (by calling super.setConnectorClassName(className)).
  * Then the connector provider will work.
+ *
+ * The size of the in-memory history of previous instance versions can be controlled through the connection's
+ * additional properties: maxHistoryVersions limits the number of previous versions kept for each instance and
+ * historyRetentionPeriod is the number of milliseconds that a previous version is kept once it is superseded.
+ * The full text index used by the searches on property values can be turned off by setting fullTextIndex to false.
  */
 public class InMemoryOMRSRepositoryConnectorProvider extends OMRSRepositoryConnectorProviderBase
 {
@@ -22,6 +30,10 @@ public class InMemoryOMRSRepositoryConnectorProvider extends OMRSRepositoryConne
     static final String  connectorTypeName = "OMRS In Memory Repository Connector";
     static final String  connectorTypeDescription = "OMRS Repository Connector that uses an in-memory store.";
 
+    public static final String  maxHistoryVersionsPropertyName     = "maxHistoryVersions";
+    public static final String  historyRetentionPeriodPropertyName = "historyRetentionPeriod";
+    public static final String  fullTextIndexPropertyName          = "fullTextIndex";
+
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -41,6 +53,13 @@ public class InMemoryOMRSRepositoryConnectorProvider extends OMRSRepositoryConne
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String>  recognizedPropertyNames = new ArrayList<>();
+        recognizedPropertyNames.add(maxHistoryVersionsPropertyName);
+        recognizedPropertyNames.add(historyRetentionPeriodPropertyName);
+        recognizedPropertyNames.add(fullTextIndexPropertyName);
+
+        connectorType.setRecognizedAdditionalProperties(recognizedPropertyNames);
+
         super.connectorTypeBean = connectorType;
     }
 }
\ No newline at end of file
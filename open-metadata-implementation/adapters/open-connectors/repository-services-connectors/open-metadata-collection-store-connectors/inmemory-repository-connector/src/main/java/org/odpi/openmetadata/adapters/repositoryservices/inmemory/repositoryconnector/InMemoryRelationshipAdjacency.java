@@ -0,0 +1,167 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.*;
+
+/**
+ * InMemoryRelationshipAdjacency gives the graph traversals of the in memory repository (such as the entity
+ * neighbourhood) the relationships connected to each entity.  For queries on the current instances it is a view
+ * over the adjacency index maintained by the metadata store, so a traversal only retrieves the relationships of
+ * the entities it visits.  For historical queries, the adjacency lists are built once from the time-warped
+ * relationship store since the store's indexes only cover the current instances.
+ */
+class InMemoryRelationshipAdjacency
+{
+    private InMemoryOMRSMetadataStore          metadataStore       = null;
+    private Map<String, EntityDetail>          entityStore         = null;
+    private Map<String, List<Relationship>>    entityRelationships = null;
+
+
+    /**
+     * Create an adjacency view over the current instances in the metadata store.
+     *
+     * @param metadataStore store of the repository
+     */
+    InMemoryRelationshipAdjacency(InMemoryOMRSMetadataStore   metadataStore)
+    {
+        this.metadataStore = metadataStore;
+        this.entityStore = metadataStore.timeWarpEntityStore(null);
+    }
+
+
+    /**
+     * Create the adjacency lists for a snapshot of the entities and relationships, such as the stores returned
+     * for a historical query.
+     *
+     * @param entityStore entity store
+     * @param relationshipStore relationship store
+     */
+    InMemoryRelationshipAdjacency(Map<String, EntityDetail>   entityStore,
+                                  Map<String, Relationship>   relationshipStore)
+    {
+        this.entityStore = entityStore;
+        this.entityRelationships = new HashMap<>();
+
+        for (Relationship relationship : relationshipStore.values())
+        {
+            String end1GUID = getEnd1EntityGUID(relationship);
+            String end2GUID = getEnd2EntityGUID(relationship);
+
+            if (end1GUID != null)
+            {
+                entityRelationships.computeIfAbsent(end1GUID, guid -> new ArrayList<>()).add(relationship);
+            }
+
+            if ((end2GUID != null) && (! end2GUID.equals(end1GUID)))
+            {
+                entityRelationships.computeIfAbsent(end2GUID, guid -> new ArrayList<>()).add(relationship);
+            }
+        }
+    }
+
+
+    /**
+     * Return the entity identified by the guid.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @return entity or null if it is not known (or is only a proxy)
+     */
+    EntityDetail getEntity(String   entityGUID)
+    {
+        if (entityGUID == null)
+        {
+            return null;
+        }
+
+        return entityStore.get(entityGUID);
+    }
+
+
+    /**
+     * Return the relationships of the requested types that are connected to the entity identified by the guid.
+     *
+     * @param entityGUID unique identifier of the entity at either end of the relationships
+     * @param relationshipTypeGUIDs unique identifiers of the relationship types - null means any type
+     * @return list of relationships (may be empty)
+     */
+    List<Relationship> getRelationships(String         entityGUID,
+                                        List<String>   relationshipTypeGUIDs)
+    {
+        if (metadataStore != null)
+        {
+            return metadataStore.getRelationshipsForEntity(entityGUID, relationshipTypeGUIDs);
+        }
+
+        List<Relationship> relationships = entityRelationships.get(entityGUID);
+
+        if (relationships == null)
+        {
+            return new ArrayList<>();
+        }
+
+        if (relationshipTypeGUIDs == null)
+        {
+            return relationships;
+        }
+
+        List<Relationship> typedRelationships = new ArrayList<>();
+
+        for (Relationship relationship : relationships)
+        {
+            if ((relationship.getType() != null) &&
+                (relationshipTypeGUIDs.contains(relationship.getType().getTypeDefGUID())))
+            {
+                typedRelationships.add(relationship);
+            }
+        }
+
+        return typedRelationships;
+    }
+
+
+    /**
+     * Return the guid of an entity linked to end 1 of the relationship.
+     *
+     * @param relationship relationship to parse
+     * @return String unique identifier
+     */
+    static String getEnd1EntityGUID(Relationship relationship)
+    {
+        if (relationship != null)
+        {
+            EntityProxy entityProxy = relationship.getEntityOneProxy();
+
+            if (entityProxy != null)
+            {
+                return entityProxy.getGUID();
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Return the guid of an entity linked to end 2 of the relationship.
+     *
+     * @param relationship relationship to parse
+     * @return String unique identifier
+     */
+    static String getEnd2EntityGUID(Relationship relationship)
+    {
+        if (relationship != null)
+        {
+            EntityProxy entityProxy = relationship.getEntityTwoProxy();
+
+            if (entityProxy != null)
+            {
+                return entityProxy.getGUID();
+            }
+        }
+        return null;
+    }
+}
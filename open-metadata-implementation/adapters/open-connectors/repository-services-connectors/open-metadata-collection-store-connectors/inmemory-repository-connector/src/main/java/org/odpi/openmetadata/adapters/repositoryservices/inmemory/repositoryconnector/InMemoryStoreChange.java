@@ -0,0 +1,321 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * InMemoryStoreChange describes a single change to the in memory metadata store.  The changes are passed to the
+ * store's InMemoryStoreJournal (if any) before they are made, and are written by the journal so that they can be
+ * replayed to rebuild the store when the repository restarts.  A change carries the operation, the unique
+ * identifier of the element that is changed and, for operations that store an element, the element itself.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class InMemoryStoreChange
+{
+    /**
+     * Operation describes the change that is made to the store.
+     */
+    public enum Operation
+    {
+        PUT_ATTRIBUTE_TYPE_DEF,
+        PUT_TYPE_DEF,
+        CREATE_ENTITY,
+        UPDATE_ENTITY,
+        SAVE_REFERENCE_ENTITY,
+        RESTORE_ENTITY,
+        REMOVE_ENTITY,
+        REMOVE_REFERENCE_ENTITY,
+        ADD_ENTITY_VERSION,
+        SAVE_ENTITY_PROXY,
+        REMOVE_ENTITY_PROXY,
+        CREATE_RELATIONSHIP,
+        UPDATE_RELATIONSHIP,
+        SAVE_REFERENCE_RELATIONSHIP,
+        RESTORE_RELATIONSHIP,
+        REMOVE_RELATIONSHIP,
+        REMOVE_REFERENCE_RELATIONSHIP,
+        ADD_RELATIONSHIP_VERSION
+    }
+
+    private Operation         operation        = null;
+    private String            guid             = null;
+    private AttributeTypeDef  attributeTypeDef = null;
+    private TypeDef           typeDef          = null;
+    private EntityDetail      entity           = null;
+    private EntityProxy       entityProxy      = null;
+    private Relationship      relationship     = null;
+
+
+    /**
+     * Default constructor
+     */
+    public InMemoryStoreChange()
+    {
+    }
+
+
+    /**
+     * Constructor for a change that only needs the unique identifier of the element, such as a removal.
+     *
+     * @param operation change to make
+     * @param guid unique identifier of the element
+     */
+    public InMemoryStoreChange(Operation   operation,
+                               String      guid)
+    {
+        this.operation = operation;
+        this.guid = guid;
+    }
+
+
+    /**
+     * Constructor for a change to an attribute type definition.
+     *
+     * @param operation change to make
+     * @param attributeTypeDef attribute type definition
+     */
+    public InMemoryStoreChange(Operation          operation,
+                               AttributeTypeDef   attributeTypeDef)
+    {
+        this(operation, attributeTypeDef.getGUID());
+        this.attributeTypeDef = attributeTypeDef;
+    }
+
+
+    /**
+     * Constructor for a change to a type definition.
+     *
+     * @param operation change to make
+     * @param typeDef type definition
+     */
+    public InMemoryStoreChange(Operation   operation,
+                               TypeDef     typeDef)
+    {
+        this(operation, typeDef.getGUID());
+        this.typeDef = typeDef;
+    }
+
+
+    /**
+     * Constructor for a change to an entity.
+     *
+     * @param operation change to make
+     * @param entity entity to store
+     */
+    public InMemoryStoreChange(Operation      operation,
+                               EntityDetail   entity)
+    {
+        this(operation, entity.getGUID());
+        this.entity = entity;
+    }
+
+
+    /**
+     * Constructor for a change to an entity proxy.
+     *
+     * @param operation change to make
+     * @param entityProxy entity proxy to store
+     */
+    public InMemoryStoreChange(Operation     operation,
+                               EntityProxy   entityProxy)
+    {
+        this(operation, entityProxy.getGUID());
+        this.entityProxy = entityProxy;
+    }
+
+
+    /**
+     * Constructor for a change to a relationship.
+     *
+     * @param operation change to make
+     * @param relationship relationship to store
+     */
+    public InMemoryStoreChange(Operation      operation,
+                               Relationship   relationship)
+    {
+        this(operation, relationship.getGUID());
+        this.relationship = relationship;
+    }
+
+
+    /**
+     * Return the change to make.
+     *
+     * @return operation enum
+     */
+    public Operation getOperation()
+    {
+        return operation;
+    }
+
+
+    /**
+     * Set up the change to make.
+     *
+     * @param operation enum
+     */
+    public void setOperation(Operation operation)
+    {
+        this.operation = operation;
+    }
+
+
+    /**
+     * Return the unique identifier of the element that is changed.
+     *
+     * @return String guid
+     */
+    public String getGUID()
+    {
+        return guid;
+    }
+
+
+    /**
+     * Set up the unique identifier of the element that is changed.
+     *
+     * @param guid String guid
+     */
+    public void setGUID(String guid)
+    {
+        this.guid = guid;
+    }
+
+
+    /**
+     * Return the attribute type definition to store.
+     *
+     * @return attribute type definition or null
+     */
+    public AttributeTypeDef getAttributeTypeDef()
+    {
+        return attributeTypeDef;
+    }
+
+
+    /**
+     * Set up the attribute type definition to store.
+     *
+     * @param attributeTypeDef attribute type definition
+     */
+    public void setAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+    {
+        this.attributeTypeDef = attributeTypeDef;
+    }
+
+
+    /**
+     * Return the type definition to store.
+     *
+     * @return type definition or null
+     */
+    public TypeDef getTypeDef()
+    {
+        return typeDef;
+    }
+
+
+    /**
+     * Set up the type definition to store.
+     *
+     * @param typeDef type definition
+     */
+    public void setTypeDef(TypeDef typeDef)
+    {
+        this.typeDef = typeDef;
+    }
+
+
+    /**
+     * Return the entity to store.
+     *
+     * @return entity or null
+     */
+    public EntityDetail getEntity()
+    {
+        return entity;
+    }
+
+
+    /**
+     * Set up the entity to store.
+     *
+     * @param entity entity
+     */
+    public void setEntity(EntityDetail entity)
+    {
+        this.entity = entity;
+    }
+
+
+    /**
+     * Return the entity proxy to store.
+     *
+     * @return entity proxy or null
+     */
+    public EntityProxy getEntityProxy()
+    {
+        return entityProxy;
+    }
+
+
+    /**
+     * Set up the entity proxy to store.
+     *
+     * @param entityProxy entity proxy
+     */
+    public void setEntityProxy(EntityProxy entityProxy)
+    {
+        this.entityProxy = entityProxy;
+    }
+
+
+    /**
+     * Return the relationship to store.
+     *
+     * @return relationship or null
+     */
+    public Relationship getRelationship()
+    {
+        return relationship;
+    }
+
+
+    /**
+     * Set up the relationship to store.
+     *
+     * @param relationship relationship
+     */
+    public void setRelationship(Relationship relationship)
+    {
+        this.relationship = relationship;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "InMemoryStoreChange{" +
+                "operation=" + operation +
+                ", GUID='" + guid + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,20 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+/**
+ * InMemoryStoreJournal is implemented by repository connectors that keep a durable copy of the content of the
+ * in memory metadata store.  The store passes each change to the journal before it applies the change to its
+ * maps and indexes.  If the journal is unable to record the change it throws a runtime exception, and the
+ * store is left unchanged.  Replaying the recorded changes through
+ * {@link InMemoryOMRSMetadataCollection#applyStoreChange(InMemoryStoreChange)} rebuilds the store.
+ */
+public interface InMemoryStoreJournal
+{
+    /**
+     * Record a change to the metadata store.  The change has not yet been made to the store.
+     *
+     * @param change description of the change
+     */
+    void recordChange(InMemoryStoreChange   change);
+}
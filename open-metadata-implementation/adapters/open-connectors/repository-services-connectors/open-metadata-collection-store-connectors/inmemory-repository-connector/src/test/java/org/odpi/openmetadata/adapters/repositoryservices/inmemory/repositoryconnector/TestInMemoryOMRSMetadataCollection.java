@@ -0,0 +1,426 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test the graph traversals of the InMemoryOMRSMetadataCollection: getLinkingEntities and getRelatedEntities.
+ * The instances are loaded as reference copies so that their create times can be set for the historical queries.
+ * <p>
+ * The graph is:
+ * <pre>
+ *     A - B - D        two shortest paths from A to D, plus a longer path through E and F
+ *     A - C - D
+ *     A - E - F - D
+ *     A - X - G        X is deleted
+ *     A - G            the relationship is deleted
+ *     H                not linked to anything
+ * </pre>
+ * The relationships B-D and C-D are created later than the others.
+ */
+public class TestInMemoryOMRSMetadataCollection
+{
+    private static final String userId           = "testUser";
+    private static final String tableTypeGUID    = "table-type";
+    private static final String columnTypeGUID   = "column-type";
+    private static final Date   earlyTime        = new Date(1000);
+    private static final Date   middleTime       = new Date(1500);
+    private static final Date   lateTime         = new Date(2000);
+
+    @Mock
+    private OMRSRepositoryValidator repositoryValidator;
+    @Mock
+    private OMRSRepositoryHelper    repositoryHelper;
+
+    private InMemoryOMRSMetadataCollection metadataCollection;
+
+
+    @BeforeMethod
+    public void setup() throws Exception
+    {
+        MockitoAnnotations.initMocks(this);
+
+        when(repositoryValidator.verifyInstanceHasRightStatus(any(), any())).thenAnswer((invocation) ->
+        {
+            List<InstanceStatus> statuses = invocation.getArgument(0);
+            InstanceHeader       instance = invocation.getArgument(1);
+
+            return (statuses == null) || (statuses.contains(instance.getStatus()));
+        });
+        when(repositoryValidator.verifyEntityIsClassified(any(), any())).thenReturn(true);
+        when(repositoryValidator.verifyInstanceType(anyString(), any())).thenAnswer((invocation) ->
+        {
+            String         typeGUID = invocation.getArgument(0);
+            InstanceHeader instance = invocation.getArgument(1);
+
+            return typeGUID.equals(instance.getType().getTypeDefGUID());
+        });
+        doThrow(new EntityNotKnownException(404, "TestInMemoryOMRSMetadataCollection", "validateEntityFromStore",
+                                            "Entity not known", "", ""))
+                .when(repositoryValidator).validateEntityFromStore(any(), anyString(), (EntitySummary) isNull(), anyString());
+
+        /*
+         * The results are sequenced by guid so that the pages are predictable.
+         */
+        when(repositoryHelper.formatEntityResults(any(), anyInt(), any(), any(), anyInt())).thenAnswer((invocation) ->
+        {
+            List<EntityDetail> results     = new ArrayList<>(invocation.getArgument(0));
+            int                fromElement = invocation.getArgument(1);
+            int                pageSize    = invocation.getArgument(4);
+
+            results.sort(Comparator.comparing(EntityDetail::getGUID));
+
+            int endElement = (pageSize == 0) ? results.size() : Math.min(fromElement + pageSize, results.size());
+
+            return (fromElement >= results.size()) ? null : new ArrayList<>(results.subList(fromElement, endElement));
+        });
+
+        InMemoryOMRSRepositoryConnector parentConnector = new InMemoryOMRSRepositoryConnector();
+        parentConnector.start();
+
+        metadataCollection = new InMemoryOMRSMetadataCollection(parentConnector,
+                                                                "TestRepository",
+                                                                repositoryHelper,
+                                                                repositoryValidator,
+                                                                "TestMetadataCollection");
+
+        addEntity("A", tableTypeGUID, InstanceStatus.ACTIVE);
+        addEntity("B", columnTypeGUID, InstanceStatus.ACTIVE);
+        addEntity("C", columnTypeGUID, InstanceStatus.ACTIVE);
+        addEntity("D", tableTypeGUID, InstanceStatus.ACTIVE);
+        addEntity("E", columnTypeGUID, InstanceStatus.ACTIVE);
+        addEntity("F", columnTypeGUID, InstanceStatus.ACTIVE);
+        addEntity("G", tableTypeGUID, InstanceStatus.ACTIVE);
+        addEntity("H", tableTypeGUID, InstanceStatus.ACTIVE);
+        addEntity("X", columnTypeGUID, InstanceStatus.DELETED);
+
+        addRelationship("A-B", "A", "B", InstanceStatus.ACTIVE, earlyTime);
+        addRelationship("B-D", "B", "D", InstanceStatus.ACTIVE, lateTime);
+        addRelationship("A-C", "A", "C", InstanceStatus.ACTIVE, earlyTime);
+        addRelationship("C-D", "C", "D", InstanceStatus.ACTIVE, lateTime);
+        addRelationship("A-E", "A", "E", InstanceStatus.ACTIVE, earlyTime);
+        addRelationship("E-F", "E", "F", InstanceStatus.ACTIVE, earlyTime);
+        addRelationship("F-D", "F", "D", InstanceStatus.ACTIVE, earlyTime);
+        addRelationship("A-X", "A", "X", InstanceStatus.ACTIVE, earlyTime);
+        addRelationship("X-G", "X", "G", InstanceStatus.ACTIVE, earlyTime);
+        addRelationship("A-G", "A", "G", InstanceStatus.DELETED, earlyTime);
+    }
+
+
+    @Test
+    void testLinkingEntitiesOnShortestPaths() throws Exception
+    {
+        InstanceGraph graph = metadataCollection.getLinkingEntities(userId, "A", "D", null, null);
+
+        /*
+         * Both of the shortest paths are returned, but not the longer path through E and F.
+         */
+        assertEquals(getEntityGUIDs(graph.getEntities()), getSet("A", "B", "C", "D"));
+        assertEquals(getRelationshipGUIDs(graph.getRelationships()), getSet("A-B", "B-D", "A-C", "C-D"));
+    }
+
+
+    @Test
+    void testLinkingEntitiesAdjacent() throws Exception
+    {
+        InstanceGraph graph = metadataCollection.getLinkingEntities(userId, "E", "F", null, null);
+
+        assertEquals(getEntityGUIDs(graph.getEntities()), getSet("E", "F"));
+        assertEquals(getRelationshipGUIDs(graph.getRelationships()), getSet("E-F"));
+    }
+
+
+    @Test
+    void testLinkingEntitiesNotLinked() throws Exception
+    {
+        assertNull(metadataCollection.getLinkingEntities(userId, "A", "H", null, null));
+
+        /*
+         * G is only reachable through a deleted relationship or a deleted entity.
+         */
+        assertNull(metadataCollection.getLinkingEntities(userId, "A", "G", null, null));
+    }
+
+
+    @Test
+    void testLinkingEntitiesByStatus() throws Exception
+    {
+        updateRelationshipStatus("B-D", "B", "D", InstanceStatus.PROPOSED);
+
+        InstanceGraph graph = metadataCollection.getLinkingEntities(userId,
+                                                                    "A",
+                                                                    "D",
+                                                                    Collections.singletonList(InstanceStatus.ACTIVE),
+                                                                    null);
+
+        assertEquals(getEntityGUIDs(graph.getEntities()), getSet("A", "C", "D"));
+        assertEquals(getRelationshipGUIDs(graph.getRelationships()), getSet("A-C", "C-D"));
+    }
+
+
+    @Test
+    void testLinkingEntitiesAsOfTime() throws Exception
+    {
+        /*
+         * Before B-D and C-D were created, the only path from A to D is through E and F.
+         */
+        InstanceGraph graph = metadataCollection.getLinkingEntities(userId, "A", "D", null, middleTime);
+
+        assertEquals(getEntityGUIDs(graph.getEntities()), getSet("A", "E", "F", "D"));
+        assertEquals(getRelationshipGUIDs(graph.getRelationships()), getSet("A-E", "E-F", "F-D"));
+    }
+
+
+    @Test(expectedExceptions = EntityNotKnownException.class)
+    void testLinkingEntitiesUnknownEntity() throws Exception
+    {
+        metadataCollection.getLinkingEntities(userId, "A", "unknown", null, null);
+    }
+
+
+    @Test
+    void testRelatedEntities() throws Exception
+    {
+        List<EntityDetail> relatedEntities = getRelatedEntities("A", null, 0, null, 0);
+
+        /*
+         * The start entity is not returned, nor are X, which is deleted, or G, which is only reachable through X
+         * or a deleted relationship.
+         */
+        assertEquals(getEntityGUIDs(relatedEntities), getSet("B", "C", "D", "E", "F"));
+        assertEquals(getRelatedEntities("A", Collections.singletonList(tableTypeGUID), 0, null, 0).size(), 1);
+    }
+
+
+    @Test
+    void testRelatedEntitiesNotLinked() throws Exception
+    {
+        assertNull(getRelatedEntities("H", null, 0, null, 0));
+        assertNull(getRelatedEntities("A", Collections.singletonList("unknown-type"), 0, null, 0));
+    }
+
+
+    @Test
+    void testRelatedEntitiesPaging() throws Exception
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (int fromElement = 0; fromElement < 5; fromElement = fromElement + 2)
+        {
+            List<EntityDetail> page = getRelatedEntities("A", null, fromElement, null, 2);
+
+            assertTrue(page.size() <= 2);
+            for (EntityDetail entity : page)
+            {
+                guids.add(entity.getGUID());
+            }
+        }
+
+        assertEquals(guids, Arrays.asList("B", "C", "D", "E", "F"));
+        assertNull(getRelatedEntities("A", null, 6, null, 2));
+    }
+
+
+    @Test
+    void testRelatedEntitiesAfterDelete() throws Exception
+    {
+        updateRelationshipStatus("A-E", "A", "E", InstanceStatus.DELETED);
+
+        /*
+         * E and F are still reachable through D.
+         */
+        assertEquals(getEntityGUIDs(getRelatedEntities("A", null, 0, null, 0)), getSet("B", "C", "D", "E", "F"));
+
+        updateRelationshipStatus("F-D", "F", "D", InstanceStatus.DELETED);
+
+        assertEquals(getEntityGUIDs(getRelatedEntities("A", null, 0, null, 0)), getSet("B", "C", "D"));
+    }
+
+
+    @Test
+    void testRelatedEntitiesAsOfTime() throws Exception
+    {
+        assertEquals(getEntityGUIDs(getRelatedEntities("B", null, 0, middleTime, 0)), getSet("A", "C", "D", "E", "F"));
+
+        /*
+         * Before anything was created, B is not known.
+         */
+        try
+        {
+            getRelatedEntities("B", null, 0, new Date(500), 0);
+            fail("Expected EntityNotKnownException");
+        }
+        catch (EntityNotKnownException error)
+        {
+            // expected
+        }
+    }
+
+
+    @Test(expectedExceptions = EntityNotKnownException.class)
+    void testRelatedEntitiesUnknownEntity() throws Exception
+    {
+        getRelatedEntities("unknown", null, 0, null, 0);
+    }
+
+
+    private List<EntityDetail> getRelatedEntities(String         startEntityGUID,
+                                                  List<String>   entityTypeGUIDs,
+                                                  int            fromEntityElement,
+                                                  Date           asOfTime,
+                                                  int            pageSize) throws Exception
+    {
+        return metadataCollection.getRelatedEntities(userId,
+                                                     startEntityGUID,
+                                                     entityTypeGUIDs,
+                                                     fromEntityElement,
+                                                     null,
+                                                     null,
+                                                     asOfTime,
+                                                     null,
+                                                     null,
+                                                     pageSize);
+    }
+
+
+    private void addEntity(String         guid,
+                           String         typeGUID,
+                           InstanceStatus status) throws Exception
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getType(typeGUID));
+        entity.setStatus(status);
+        entity.setCreateTime(earlyTime);
+        entity.setVersion(1L);
+
+        metadataCollection.saveEntityReferenceCopy(userId, entity);
+    }
+
+
+    private void addRelationship(String         guid,
+                                 String         end1GUID,
+                                 String         end2GUID,
+                                 InstanceStatus status,
+                                 Date           createTime) throws Exception
+    {
+        metadataCollection.saveRelationshipReferenceCopy(userId, getRelationship(guid, end1GUID, end2GUID, status, createTime));
+    }
+
+
+    /**
+     * Replace a relationship with a newer version that has a different status.
+     *
+     * @param guid unique identifier of the relationship
+     * @param end1GUID entity at end 1
+     * @param end2GUID entity at end 2
+     * @param status new status
+     * @throws Exception the relationship can not be saved
+     */
+    private void updateRelationshipStatus(String         guid,
+                                          String         end1GUID,
+                                          String         end2GUID,
+                                          InstanceStatus status) throws Exception
+    {
+        Relationship relationship = getRelationship(guid, end1GUID, end2GUID, status, earlyTime);
+
+        relationship.setUpdateTime(lateTime);
+        relationship.setVersion(2L);
+
+        metadataCollection.saveRelationshipReferenceCopy(userId, relationship);
+    }
+
+
+    private Relationship getRelationship(String         guid,
+                                         String         end1GUID,
+                                         String         end2GUID,
+                                         InstanceStatus status,
+                                         Date           createTime)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setType(getType("link-type"));
+        relationship.setStatus(status);
+        relationship.setCreateTime(createTime);
+        relationship.setVersion(1L);
+        relationship.setEntityOneProxy(getEntityProxy(end1GUID));
+        relationship.setEntityTwoProxy(getEntityProxy(end2GUID));
+
+        return relationship;
+    }
+
+
+    private EntityProxy getEntityProxy(String   guid)
+    {
+        EntityProxy entityProxy = new EntityProxy();
+
+        entityProxy.setGUID(guid);
+
+        return entityProxy;
+    }
+
+
+    private InstanceType getType(String   typeGUID)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeGUID);
+
+        return type;
+    }
+
+
+    private Set<String> getEntityGUIDs(List<EntityDetail>   entities)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    private Set<String> getRelationshipGUIDs(List<Relationship>   relationships)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (Relationship relationship : relationships)
+        {
+            guids.add(relationship.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    private Set<String> getSet(String...   guids)
+    {
+        return new HashSet<>(Arrays.asList(guids));
+    }
+}
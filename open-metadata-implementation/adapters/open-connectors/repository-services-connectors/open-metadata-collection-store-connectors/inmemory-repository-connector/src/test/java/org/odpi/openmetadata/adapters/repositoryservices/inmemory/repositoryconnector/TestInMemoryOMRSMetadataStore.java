@@ -0,0 +1,497 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test the secondary indexes maintained by the InMemoryOMRSMetadataStore.
+ */
+public class TestInMemoryOMRSMetadataStore
+{
+    private static final String tableTypeGUID  = "table-type";
+    private static final String columnTypeGUID = "column-type";
+    private static final String linkTypeGUID   = "link-type";
+
+
+    @Test
+    void testEntityIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity("1", tableTypeGUID, "customers", "Confidentiality"));
+        store.createEntityInStore(getEntity("2", tableTypeGUID, "orders", null));
+        store.createEntityInStore(getEntity("3", columnTypeGUID, "customers", "Confidentiality"));
+
+        assertEquals(getGUIDs(store.getEntityCandidates(tableTypeGUID, null, null)), guids("1", "2"));
+        assertEquals(getGUIDs(store.getEntityCandidates(null, null, null)), guids("1", "2", "3"));
+        assertEquals(getGUIDs(store.getEntityCandidates(null, null, Collections.singletonList("Confidentiality"))),
+                     guids("1", "3"));
+        assertEquals(getGUIDs(store.getEntityCandidates(null, Collections.singletonMap("name", "customers"), null)),
+                     guids("1", "3"));
+        assertTrue(store.getEntityCandidates(null, Collections.singletonMap("name", "unknown"), null).isEmpty());
+
+        /*
+         * Changing the type and properties of an entity moves it in the indexes.
+         */
+        store.updateEntityInStore(getEntity("2", columnTypeGUID, "customers", null));
+
+        assertEquals(getGUIDs(store.getEntityCandidates(tableTypeGUID, null, null)), guids("1"));
+        assertEquals(getGUIDs(store.getEntityCandidates(columnTypeGUID, null, null)), guids("2", "3"));
+        assertEquals(getGUIDs(store.getEntityCandidates(null, Collections.singletonMap("name", "customers"), null)),
+                     guids("1", "2", "3"));
+
+        /*
+         * Restoring the previous version puts it back.
+         */
+        store.retrievePreviousVersionOfEntity("2");
+
+        assertEquals(getGUIDs(store.getEntityCandidates(tableTypeGUID, null, null)), guids("1", "2"));
+        assertEquals(getGUIDs(store.getEntityCandidates(null, Collections.singletonMap("name", "orders"), null)),
+                     guids("2"));
+
+        store.removeEntityFromStore(store.getEntity("1"));
+
+        assertEquals(getGUIDs(store.getEntityCandidates(tableTypeGUID, null, null)), guids("2"));
+        assertEquals(getGUIDs(store.getEntityCandidates(null, null, Collections.singletonList("Confidentiality"))),
+                     guids("3"));
+    }
+
+
+    @Test
+    void testRelationshipIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createRelationshipInStore(getRelationship("r1", "1", "2"));
+        store.createRelationshipInStore(getRelationship("r2", "2", "3"));
+
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("1")), guids("r1"));
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2")), guids("r1", "r2"));
+        assertEquals(getGUIDs(store.getRelationshipCandidates(linkTypeGUID, null)), guids("r1", "r2"));
+        assertTrue(store.getRelationshipsForEntity("4").isEmpty());
+
+        store.removeReferenceRelationshipFromStore("r1");
+
+        assertTrue(store.getRelationshipsForEntity("1").isEmpty());
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2")), guids("r2"));
+        assertNull(store.getRelationship("r1"));
+    }
+
+
+    @Test
+    void testRelationshipAdjacencyIndex()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+        Relationship              owner = getRelationship("r3", "2", "3");
+
+        owner.setType(getType(tableTypeGUID));
+
+        store.createRelationshipInStore(getRelationship("r1", "1", "2"));
+        store.createRelationshipInStore(getRelationship("r2", "2", "3"));
+        store.createRelationshipInStore(owner);
+
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2", null)), guids("r1", "r2", "r3"));
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2", Collections.singletonList(linkTypeGUID))),
+                     guids("r1", "r2"));
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("3", Arrays.asList(linkTypeGUID, tableTypeGUID))),
+                     guids("r2", "r3"));
+        assertTrue(store.getRelationshipsForEntity("1", Collections.singletonList(tableTypeGUID)).isEmpty());
+
+        /*
+         * Changing the type of a relationship moves it in the adjacency index.
+         */
+        store.updateRelationshipInStore(getRelationship("r3", "2", "3"));
+
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("3", Collections.singletonList(linkTypeGUID))),
+                     guids("r2", "r3"));
+        assertTrue(store.getRelationshipsForEntity("3", Collections.singletonList(tableTypeGUID)).isEmpty());
+
+        store.removeRelationshipFromStore(store.getRelationship("r2"));
+
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2", Collections.singletonList(linkTypeGUID))),
+                     guids("r1", "r3"));
+    }
+
+
+    @Test
+    void testTimeWarp()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail version1 = getEntity("1", tableTypeGUID, "customers", null);
+        version1.setCreateTime(new Date(1000));
+        store.createEntityInStore(version1);
+
+        EntityDetail version2 = getEntity("1", tableTypeGUID, "clients", null);
+        version2.setCreateTime(new Date(1000));
+        version2.setUpdateTime(new Date(2000));
+        store.updateEntityInStore(version2);
+
+        EntityDetail version3 = getEntity("1", tableTypeGUID, "accounts", null);
+        version3.setCreateTime(new Date(1000));
+        version3.setUpdateTime(new Date(3000));
+        store.updateEntityInStore(version3);
+
+        assertNull(store.getEntity("1", new Date(500)));
+        assertEquals(store.getEntity("1", new Date(1500)), version1);
+        assertEquals(store.getEntity("1", new Date(2000)), version2);
+        assertEquals(store.getEntity("1", new Date(2999)), version2);
+        assertEquals(store.getEntity("1", new Date(5000)), version3);
+        assertEquals(store.getEntity("1", null), version3);
+
+        assertEquals(store.timeWarpEntityStore(new Date(2500)).get("1"), version2);
+        assertTrue(store.timeWarpEntityStore(new Date(500)).isEmpty());
+
+        /*
+         * Entities removed from the active store are still visible at earlier times.
+         */
+        store.removeEntityFromStore(version3);
+
+        assertNull(store.getEntity("1"));
+        assertEquals(store.getEntity("1", new Date(1500)), version1);
+        assertEquals(store.timeWarpEntityStore(new Date(5000)).get("1"), version3);
+    }
+
+
+    @Test
+    void testHistoryRetention()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.setHistoryRetentionPolicy(2, 0);
+
+        for (int i = 1; i <= 5; i++)
+        {
+            EntityDetail version = getEntity("1", tableTypeGUID, "name" + i, null);
+            version.setCreateTime(new Date(1000));
+            version.setUpdateTime(new Date(i * 1000));
+            store.updateEntityInStore(version);
+        }
+
+        assertNull(store.getEntity("1", new Date(2500)));
+        assertEquals(store.getEntity("1", new Date(3500)).getProperties().getPropertyValue("name"),
+                     getStringValue("name3"));
+
+        /*
+         * Only the retained versions can be restored.
+         */
+        assertEquals(store.retrievePreviousVersionOfEntity("1").getProperties().getPropertyValue("name"),
+                     getStringValue("name4"));
+        assertEquals(store.retrievePreviousVersionOfEntity("1").getProperties().getPropertyValue("name"),
+                     getStringValue("name3"));
+        assertNull(store.retrievePreviousVersionOfEntity("1"));
+    }
+
+
+    @Test
+    void testTimeWarpWithUntimedVersion()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail version1 = getEntity("1", tableTypeGUID, "customers", null);
+        version1.setUpdateTime(new Date(3000));
+        store.createEntityInStore(version1);
+
+        /*
+         * A version without a timestamp, followed by a version with an earlier timestamp than the first.
+         */
+        store.updateEntityInStore(getEntity("1", tableTypeGUID, "clients", null));
+
+        EntityDetail version3 = getEntity("1", tableTypeGUID, "accounts", null);
+        version3.setUpdateTime(new Date(2000));
+        store.updateEntityInStore(version3);
+
+        EntityDetail version4 = getEntity("1", tableTypeGUID, "orders", null);
+        version4.setUpdateTime(new Date(4000));
+        store.updateEntityInStore(version4);
+
+        assertNull(store.getEntity("1", new Date(1500)));
+        assertEquals(store.getEntity("1", new Date(2500)), version3);
+        assertEquals(store.getEntity("1", new Date(3500)), version1);
+        assertEquals(store.getEntity("1", new Date(4500)), version4);
+    }
+
+
+    @Test
+    void testUndoWithOutOfOrderTimestamps()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail version1 = getEntity("1", tableTypeGUID, "customers", null);
+        version1.setCreateTime(new Date(1000));
+        version1.setUpdateTime(new Date(5000));
+        store.createEntityInStore(version1);
+
+        /*
+         * The later versions have earlier timestamps - for example reference copies from a server whose
+         * clock is behind.
+         */
+        EntityDetail version2 = getEntity("1", tableTypeGUID, "clients", null);
+        version2.setCreateTime(new Date(1000));
+        version2.setUpdateTime(new Date(2000));
+        store.updateEntityInStore(version2);
+
+        EntityDetail version3 = getEntity("1", tableTypeGUID, "accounts", null);
+        version3.setCreateTime(new Date(1000));
+        version3.setUpdateTime(new Date(3000));
+        store.updateEntityInStore(version3);
+
+        /*
+         * Undo restores the versions in the reverse of the order they were stored, whatever their timestamps.
+         */
+        assertEquals(store.retrievePreviousVersionOfEntity("1").getProperties().getPropertyValue("name"),
+                     getStringValue("clients"));
+        assertEquals(store.retrievePreviousVersionOfEntity("1").getProperties().getPropertyValue("name"),
+                     getStringValue("customers"));
+        assertNull(store.retrievePreviousVersionOfEntity("1"));
+    }
+
+
+    @Test
+    void testLiteralPropertyValues()
+    {
+        assertEquals(InMemoryOMRSMetadataStore.getLiteralPropertyValue(getStringValue("customers")), "customers");
+        assertNull(InMemoryOMRSMetadataStore.getLiteralPropertyValue(getStringValue("cust.*")));
+        assertNull(InMemoryOMRSMetadataStore.getLiteralPropertyValue(null));
+    }
+
+
+    @Test
+    void testTokenIndex()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity("1", tableTypeGUID, "customer accounts", null));
+        store.createEntityInStore(getEntity("2", tableTypeGUID, "supplier-accounts", null));
+        store.createEntityInStore(getEntity("3", columnTypeGUID, "customerName", null));
+
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(null, "accounts")), guids("1", "2"));
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(null, "customer.*")), guids("1", "3"));
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(null, ".*Name")), guids("3"));
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(null, ".*ount.*")), guids("1", "2"));
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(columnTypeGUID, ".*ount.*")), guids("3"));
+        assertTrue(store.getEntitySearchCandidates(null, "unknown").isEmpty());
+
+        /*
+         * Search criteria that are not made up of word characters are answered with all of the instances.
+         */
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(null, "supplier-accounts")), guids("1", "2", "3"));
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(null, "cust[a-z]*")), guids("1", "2", "3"));
+
+        /*
+         * Updates and removals are reflected in the index.
+         */
+        store.updateEntityInStore(getEntity("1", tableTypeGUID, "clients", null));
+        store.removeEntityFromStore(store.getEntity("2"));
+
+        assertTrue(store.getEntitySearchCandidates(null, ".*accounts.*").isEmpty());
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(null, "clients")), guids("1"));
+
+        store.setTokenIndexEnabled(false);
+        assertEquals(getGUIDs(store.getEntitySearchCandidates(null, "clients")), guids("1", "3"));
+    }
+
+
+    @Test
+    void testStoreJournal()
+    {
+        InMemoryOMRSMetadataStore store   = new InMemoryOMRSMetadataStore();
+        List<InMemoryStoreChange> journal = new ArrayList<>();
+
+        store.setStoreJournal(journal::add);
+
+        store.createEntityInStore(getEntity("1", tableTypeGUID, "customers", "Confidentiality"));
+        store.createEntityInStore(getEntity("2", tableTypeGUID, "orders", null));
+        store.updateEntityInStore(getEntity("2", columnTypeGUID, "accounts", null));
+        store.createRelationshipInStore(getRelationship("r1", "1", "2"));
+        store.updateEntityInStore(getEntity("1", tableTypeGUID, "clients", null));
+        store.retrievePreviousVersionOfEntity("1");
+        store.removeRelationshipFromStore(store.getRelationship("r1"));
+
+        /*
+         * Replaying the journal rebuilds the instances, their indexes and their history.
+         */
+        InMemoryOMRSMetadataStore replayedStore = new InMemoryOMRSMetadataStore();
+
+        journal.forEach(replayedStore::replayChange);
+
+        assertEquals(getGUIDs(replayedStore.getEntityCandidates(tableTypeGUID, null, null)), guids("1"));
+        assertEquals(getGUIDs(replayedStore.getEntityCandidates(null, Collections.singletonMap("name", "customers"), null)),
+                     guids("1"));
+        assertEquals(replayedStore.getEntity("1").getVersion(), store.getEntity("1").getVersion());
+        assertTrue(replayedStore.getRelationshipsForEntity("1").isEmpty());
+        assertEquals(replayedStore.retrievePreviousVersionOfEntity("2").getType().getTypeDefGUID(), tableTypeGUID);
+
+        /*
+         * A snapshot rebuilds the same content.
+         */
+        InMemoryOMRSMetadataStore snapshotStore = new InMemoryOMRSMetadataStore();
+
+        store.getSnapshot(journal::clear).forEach(snapshotStore::replayChange);
+
+        assertTrue(journal.isEmpty());
+        assertEquals(getGUIDs(snapshotStore.getEntities()), guids("1", "2"));
+        assertEquals(getGUIDs(snapshotStore.getEntityCandidates(columnTypeGUID, null, null)), guids("2"));
+        assertEquals(snapshotStore.retrievePreviousVersionOfEntity("2").getType().getTypeDefGUID(), tableTypeGUID);
+
+        /*
+         * A change that can not be recorded is not made.
+         */
+        store.setStoreJournal(change -> { throw new IllegalStateException("journal unavailable"); });
+
+        try
+        {
+            store.updateEntityInStore(getEntity("1", columnTypeGUID, "customers", null));
+            fail("The journal error was not returned");
+        }
+        catch (IllegalStateException error)
+        {
+            assertEquals(error.getMessage(), "journal unavailable");
+        }
+
+        assertEquals(getGUIDs(store.getEntityCandidates(tableTypeGUID, null, null)), guids("1"));
+    }
+
+
+    @Test
+    void testConcurrentIndexUpdates() throws Exception
+    {
+        InMemoryInstanceIndex index      = new InMemoryInstanceIndex();
+        AtomicInteger         lostGUIDs  = new AtomicInteger(0);
+        List<Thread>          threads    = new ArrayList<>();
+
+        /*
+         * Each thread adds and removes its own guid under a shared key, so the key's postings are repeatedly
+         * emptied and removed by one thread while another is adding to them.
+         */
+        for (int thread = 0; thread < 4; thread++)
+        {
+            final String guid = Integer.toString(thread);
+
+            threads.add(new Thread(() ->
+            {
+                for (int i = 0; i < 100000; i++)
+                {
+                    index.add(tableTypeGUID, guid);
+
+                    if (! index.get(tableTypeGUID).contains(guid))
+                    {
+                        lostGUIDs.incrementAndGet();
+                    }
+
+                    index.remove(tableTypeGUID, guid);
+                }
+            }));
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEquals(lostGUIDs.get(), 0);
+        assertTrue(index.get(tableTypeGUID).isEmpty());
+    }
+
+
+    private EntityDetail getEntity(String guid,
+                                   String typeGUID,
+                                   String name,
+                                   String classificationName)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getType(typeGUID));
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty("name", getStringValue(name));
+        entity.setProperties(properties);
+
+        if (classificationName != null)
+        {
+            Classification classification = new Classification();
+            classification.setName(classificationName);
+            entity.setClassifications(Collections.singletonList(classification));
+        }
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid,
+                                         String entityOneGUID,
+                                         String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setType(getType(linkTypeGUID));
+
+        EntityProxy entityOneProxy = new EntityProxy();
+        entityOneProxy.setGUID(entityOneGUID);
+        relationship.setEntityOneProxy(entityOneProxy);
+
+        EntityProxy entityTwoProxy = new EntityProxy();
+        entityTwoProxy.setGUID(entityTwoGUID);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+
+        return relationship;
+    }
+
+
+    private InstanceType getType(String typeGUID)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeGUID);
+
+        return type;
+    }
+
+
+    private PrimitivePropertyValue getStringValue(String value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue(value);
+
+        return propertyValue;
+    }
+
+
+    private Set<String> getGUIDs(List<? extends InstanceHeader> instances)
+    {
+        Set<String> results = new HashSet<>();
+
+        for (InstanceHeader instance : instances)
+        {
+            results.add(instance.getGUID());
+        }
+
+        return results;
+    }
+
+
+    private Set<String> guids(String... guids)
+    {
+        return new HashSet<>(Arrays.asList(guids));
+    }
+}
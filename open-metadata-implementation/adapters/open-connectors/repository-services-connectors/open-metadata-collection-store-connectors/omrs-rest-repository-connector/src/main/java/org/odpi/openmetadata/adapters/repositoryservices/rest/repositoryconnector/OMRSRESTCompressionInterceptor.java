@@ -0,0 +1,209 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * OMRSRESTCompressionInterceptor adds gzip compression to the REST calls made by the OMRSRESTMetadataCollection.
+ * Request bodies are compressed when compressRequests is set (the remote server must be able to accept
+ * compressed requests).  When compressResponses is set, the remote server is told that it may compress
+ * its responses and any compressed response is uncompressed before it is passed to the message converters.
+ */
+class OMRSRESTCompressionInterceptor implements ClientHttpRequestInterceptor
+{
+    private static final String gzipEncoding = "gzip";
+
+    private boolean compressRequests;
+    private boolean compressResponses;
+
+
+    /**
+     * Constructor
+     *
+     * @param compressRequests should request bodies be compressed
+     * @param compressResponses should the remote server be allowed to compress responses
+     */
+    OMRSRESTCompressionInterceptor(boolean compressRequests,
+                                   boolean compressResponses)
+    {
+        this.compressRequests = compressRequests;
+        this.compressResponses = compressResponses;
+    }
+
+
+    /**
+     * Compress the request body and/or uncompress the response body as needed.
+     *
+     * @param request outbound request
+     * @param body request body
+     * @param execution rest of the request processing
+     * @return response
+     * @throws IOException problem communicating with the remote server
+     */
+    public ClientHttpResponse intercept(HttpRequest                  request,
+                                        byte[]                       body,
+                                        ClientHttpRequestExecution   execution) throws IOException
+    {
+        byte[] requestBody = body;
+
+        if ((compressRequests) && (body != null) && (body.length > 0))
+        {
+            ByteArrayOutputStream compressedBody = new ByteArrayOutputStream(body.length);
+
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressedBody))
+            {
+                gzipStream.write(body);
+            }
+
+            requestBody = compressedBody.toByteArray();
+            request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, gzipEncoding);
+            request.getHeaders().setContentLength(requestBody.length);
+        }
+
+        if (compressResponses)
+        {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, gzipEncoding);
+        }
+
+        ClientHttpResponse response = execution.execute(request, requestBody);
+
+        /*
+         * A response with no body (such as 204 No Content) may still carry the Content-Encoding header.
+         */
+        if ((compressResponses) &&
+            (gzipEncoding.equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) &&
+            (response.getHeaders().getContentLength() != 0) &&
+            (response.getRawStatusCode() != HttpStatus.NO_CONTENT.value()))
+        {
+            return new UncompressedResponse(response);
+        }
+
+        return response;
+    }
+
+
+    /**
+     * UncompressedResponse wraps a gzip compressed response so that its body is uncompressed as it is read.
+     */
+    private static class UncompressedResponse implements ClientHttpResponse
+    {
+        private ClientHttpResponse compressedResponse;
+        private InputStream        uncompressedBody = null;
+
+
+        /**
+         * Constructor
+         *
+         * @param compressedResponse response from the remote server
+         */
+        UncompressedResponse(ClientHttpResponse   compressedResponse)
+        {
+            this.compressedResponse = compressedResponse;
+        }
+
+
+        /**
+         * Return the uncompressed body.  An empty body (for example, a chunked response with no content) is
+         * returned as it is since it has no gzip header to read.
+         *
+         * @return input stream
+         * @throws IOException problem reading the response
+         */
+        public InputStream getBody() throws IOException
+        {
+            if (uncompressedBody == null)
+            {
+                InputStream compressedBody = compressedResponse.getBody();
+
+                if (compressedBody == null)
+                {
+                    return null;
+                }
+
+                PushbackInputStream bufferedBody = new PushbackInputStream(compressedBody);
+                int                 firstByte    = bufferedBody.read();
+
+                if (firstByte == -1)
+                {
+                    uncompressedBody = bufferedBody;
+                }
+                else
+                {
+                    bufferedBody.unread(firstByte);
+                    uncompressedBody = new GZIPInputStream(bufferedBody);
+                }
+            }
+
+            return uncompressedBody;
+        }
+
+
+        /**
+         * Return the response headers.
+         *
+         * @return headers
+         */
+        public HttpHeaders getHeaders()
+        {
+            return compressedResponse.getHeaders();
+        }
+
+
+        /**
+         * Return the HTTP status code.
+         *
+         * @return status
+         * @throws IOException problem reading the response
+         */
+        public HttpStatus getStatusCode() throws IOException
+        {
+            return compressedResponse.getStatusCode();
+        }
+
+
+        /**
+         * Return the HTTP status code as an integer.
+         *
+         * @return status
+         * @throws IOException problem reading the response
+         */
+        public int getRawStatusCode() throws IOException
+        {
+            return compressedResponse.getRawStatusCode();
+        }
+
+
+        /**
+         * Return the HTTP status text.
+         *
+         * @return status text
+         * @throws IOException problem reading the response
+         */
+        public String getStatusText() throws IOException
+        {
+            return compressedResponse.getStatusText();
+        }
+
+
+        /**
+         * Close the response.  The underlying connection is returned for reuse.
+         */
+        public void close()
+        {
+            compressedResponse.close();
+        }
+    }
+}
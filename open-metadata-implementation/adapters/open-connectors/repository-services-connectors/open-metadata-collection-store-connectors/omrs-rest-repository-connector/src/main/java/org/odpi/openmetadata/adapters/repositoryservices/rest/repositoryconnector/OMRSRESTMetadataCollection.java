@@ -29,7 +29,8 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     static final private String defaultRepositoryName = "REST-connected Repository ";
     static final private String urlPathRoot           = "/open-metadata/repository-services/";
 
-    private String restURLRoot;                /* Initialized in constructor */
+    private String       restURLRoot;                /* Initialized in constructor */
+    private RestTemplate restTemplate;               /* Initialized in constructor */
 
 
     /**
@@ -41,12 +42,14 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
      * @param repositoryHelper     class used to build type definitions and instances.
      * @param repositoryValidator  class used to validate type definitions and instances.
      * @param metadataCollectionId unique identifier for the metadata collection
+     * @param restTemplate         client shared by all of the calls to the remote repository.
      */
     OMRSRESTMetadataCollection(OMRSRESTRepositoryConnector parentConnector,
                                String                      repositoryName,
                                OMRSRepositoryHelper        repositoryHelper,
                                OMRSRepositoryValidator     repositoryValidator,
-                               String                      metadataCollectionId)
+                               String                      metadataCollectionId,
+                               RestTemplate                restTemplate)
     {
         /*
          * The metadata collection Id is the unique Id for the metadata collection.  It is managed by the super class.
@@ -71,6 +74,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
 
         super.repositoryName = defaultRepositoryName + endpointAddress;
         this.restURLRoot = endpointAddress + urlPathRoot;
+        this.restTemplate = restTemplate;
     }
 
 
@@ -96,8 +100,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
 
         try
         {
-            RestTemplate restTemplate = new RestTemplate();
-
             restResult = restTemplate.getForObject(restURLRoot + urlTemplate, MetadataCollectionIdResponse.class);
         }
         catch (Throwable error)
@@ -1148,6 +1150,39 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return a list of entities in a single request to the remote repository.  Entities that can not be
+     * retrieved are reported in the failures of the returned batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids  list of unique identifiers for the entities.
+     * @return InstanceBatch containing the entities and the failures.
+     * @throws InvalidParameterException  the list of guids is null.
+     * @throws RepositoryErrorException   there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getEntityDetails(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String methodName  = "getEntityDetails";
+        final String urlTemplate = "users/{0}/instances/entities/by-guids";
+
+        InstanceBatchResponse restResult = this.callInstanceBatchPostRESTCall(methodName,
+                                                                             restURLRoot + urlTemplate,
+                                                                             guids,
+                                                                             userId);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getInstanceBatch();
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1688,6 +1723,39 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return a list of relationships in a single request to the remote repository.  Relationships that can not be
+     * retrieved are reported in the failures of the returned batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids  list of unique identifiers for the relationships.
+     * @return InstanceBatch containing the relationships and the failures.
+     * @throws InvalidParameterException  the list of guids is null.
+     * @throws RepositoryErrorException   there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getRelationships(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String methodName  = "getRelationships";
+        final String urlTemplate = "users/{0}/instances/relationships/by-guids";
+
+        InstanceBatchResponse restResult = this.callInstanceBatchPostRESTCall(methodName,
+                                                                             restURLRoot + urlTemplate,
+                                                                             guids,
+                                                                             userId);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getInstanceBatch();
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be received as a series of pages.
@@ -3833,8 +3901,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -3877,8 +3943,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.getForObject(urlTemplate, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -3923,8 +3987,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -3969,8 +4031,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4013,8 +4073,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.getForObject(urlTemplate, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4059,8 +4117,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4103,8 +4159,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.getForObject(urlTemplate, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4147,8 +4201,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.getForObject(urlTemplate, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4193,8 +4245,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4240,8 +4290,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4286,8 +4334,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4331,8 +4377,50 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
+            restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
+        }
+        catch (Throwable error)
+        {
+            OMRSErrorCode errorCode = OMRSErrorCode.CLIENT_SIDE_REST_API_ERROR;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(methodName,
+                                                                                                     repositoryName,
+                                                                                                     error.getMessage());
+
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               errorMessage,
+                                               errorCode.getSystemAction(),
+                                               errorCode.getUserAction(),
+                                               error);
+        }
+
+        return restResult;
+    }
+
+
+    /**
+     * Issue a POST REST call that returns a InstanceBatchResponse object.
+     *
+     * @param methodName  name of the method being called
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters
+     * @param request request body
+     * @param params  a list of parameters that are slotted into the url template
+     * @return InstanceBatchResponse
+     * @throws RepositoryErrorException something went wrong with the REST call stack.
+     */
+    private InstanceBatchResponse callInstanceBatchPostRESTCall(String    methodName,
+                                                                String    urlTemplate,
+                                                                Object    request,
+                                                                Object... params) throws RepositoryErrorException
+    {
+        InstanceBatchResponse restResult = new InstanceBatchResponse();
 
+        /*
+         * Issue the request
+         */
+        try
+        {
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4375,8 +4463,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate  restTemplate  = new RestTemplate();
-
             restResult = restTemplate.getForObject(urlTemplate, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4419,8 +4505,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate restTemplate = new RestTemplate();
-
             restResult = restTemplate.getForObject(urlTemplate, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4465,8 +4549,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate restTemplate = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4509,8 +4591,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate restTemplate = new RestTemplate();
-
             restResult = restTemplate.getForObject(urlTemplate, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4555,8 +4635,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate restTemplate = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -4601,8 +4679,6 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
          */
         try
         {
-            RestTemplate restTemplate = new RestTemplate();
-
             restResult = restTemplate.postForObject(urlTemplate, request, restResult.getClass(), params);
         }
         catch (Throwable error)
@@ -3,19 +3,33 @@
 package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
 
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
 
 /**
  * The OMRSRESTRepositoryConnector is a connector to a remote Apache Atlas repository (or any other metadata repository
  * that supports the OMRS REST APIs).  This is the connector used by the EnterpriseOMRSRepositoryConnector to make a direct call
  * to another open metadata repository.
+ *
+ * Each connector instance has its own RestTemplate that is shared by all of the calls it makes.  This means the
+ * message converters are built once and the connections to the remote server are kept alive and reused.
  */
 public class OMRSRESTRepositoryConnector extends OMRSRepositoryConnector
 {
+    /*
+     * A negative timeout leaves the HTTP client's own default in place (which is to wait indefinitely).
+     */
+    private static final int     defaultConnectTimeout    = -1;
+    private static final int     defaultReadTimeout       = -1;
+    private static final boolean defaultCompressRequests  = false;
+    private static final boolean defaultCompressResponses = false;
+
     private OMRSRESTMetadataCollection  metadataCollection   = null;
 
     /**
@@ -45,7 +59,134 @@ public class OMRSRESTRepositoryConnector extends OMRSRepositoryConnector
                                                             super.repositoryName,
                                                             repositoryHelper,
                                                             repositoryValidator,
-                                                            metadataCollectionId);
+                                                            metadataCollectionId,
+                                                            getRestTemplate());
+    }
+
+
+    /**
+     * Create the RestTemplate used for all calls to the remote server.  The timeouts and compression options
+     * come from the connection's additional properties.  If none are set, the RestTemplate behaves as a
+     * default RestTemplate.
+     *
+     * @return configured RestTemplate
+     */
+    RestTemplate getRestTemplate()
+    {
+        int     connectTimeout    = getIntProperty(OMRSRESTRepositoryConnectorProvider.connectTimeoutPropertyName,
+                                                   defaultConnectTimeout);
+        int     readTimeout       = getIntProperty(OMRSRESTRepositoryConnectorProvider.readTimeoutPropertyName,
+                                                   defaultReadTimeout);
+        boolean compressRequests  = getBooleanProperty(OMRSRESTRepositoryConnectorProvider.compressRequestsPropertyName,
+                                                       defaultCompressRequests);
+        boolean compressResponses = getBooleanProperty(OMRSRESTRepositoryConnectorProvider.compressResponsesPropertyName,
+                                                       defaultCompressResponses);
+
+        /*
+         * The JDK HTTP client keeps connections to the remote server alive and reuses them once each response
+         * has been read.
+         */
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+
+        if (connectTimeout >= 0)
+        {
+            requestFactory.setConnectTimeout(connectTimeout);
+        }
+
+        if (readTimeout >= 0)
+        {
+            requestFactory.setReadTimeout(readTimeout);
+        }
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+
+        if ((compressRequests) || (compressResponses))
+        {
+            restTemplate.getInterceptors().add(new OMRSRESTCompressionInterceptor(compressRequests, compressResponses));
+        }
+
+        return restTemplate;
+    }
+
+
+    /**
+     * Extract a numeric value from the connection's additional properties.  Values may be supplied as numbers or
+     * as strings.
+     *
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is missing or invalid
+     * @return value
+     */
+    int getIntProperty(String   propertyName,
+                       int      defaultValue)
+    {
+        Object propertyValue = getProperty(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).intValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Integer.parseInt(propertyValue.toString().trim());
+            }
+            catch (NumberFormatException error)
+            {
+                return defaultValue;
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Extract a boolean value from the connection's additional properties.  Values may be supplied as booleans or
+     * as strings.
+     *
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is missing
+     * @return value
+     */
+    boolean getBooleanProperty(String    propertyName,
+                               boolean   defaultValue)
+    {
+        Object propertyValue = getProperty(propertyName);
+
+        if (propertyValue instanceof Boolean)
+        {
+            return (Boolean)propertyValue;
+        }
+        else if (propertyValue != null)
+        {
+            return Boolean.parseBoolean(propertyValue.toString().trim());
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return one of the connection's additional properties.
+     *
+     * @param propertyName name of the property
+     * @return value or null if it is not set
+     */
+    private Object getProperty(String   propertyName)
+    {
+        if (connectionProperties != null)
+        {
+            AdditionalProperties additionalProperties = connectionProperties.getAdditionalProperties();
+
+            if (additionalProperties != null)
+            {
+                return additionalProperties.getProperty(propertyName);
+            }
+        }
+
+        return null;
     }
 
 
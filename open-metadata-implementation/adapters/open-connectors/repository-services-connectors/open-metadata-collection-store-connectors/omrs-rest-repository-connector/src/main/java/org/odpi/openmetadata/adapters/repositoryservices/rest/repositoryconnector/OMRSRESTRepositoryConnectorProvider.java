@@ -6,6 +6,9 @@ package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnect
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnectorProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * In the Open Connector Framework (OCF), a ConnectorProvider is a factory for a specific type of connector.
  * The OMRSRESTRepositoryConnectorProvider is the connector provider for the OMRSRESTRepositoryConnector.
@@ -15,6 +18,12 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
  * The OMRSRESTRepositoryConnectorProvider must initialize ConnectorProviderBase with the Java class
  * name of the OMRS Connector implementation (by calling super.setConnectorClassName(className)).
  * Then the connector provider will work.
+ *
+ * The HTTP client used to call the remote server can be tuned through the connection's additional properties:
+ * connectTimeout and readTimeout are the number of milliseconds to wait to connect to the remote server and
+ * for its response (if they are not set, or are zero, the client waits indefinitely), compressRequests set to
+ * true sends request bodies gzip compressed and compressResponses set to true allows the remote server to return
+ * gzip compressed responses.  None of these options are set by default.
  */
 public class OMRSRESTRepositoryConnectorProvider extends OMRSRepositoryConnectorProviderBase
 {
@@ -22,6 +31,12 @@ public class OMRSRESTRepositoryConnectorProvider extends OMRSRepositoryConnector
     static final String  connectorTypeName = "OMRS REST API Repository Connector";
     static final String  connectorTypeDescription = "OMRS Repository Connector that calls the repository services REST API of a remote server.";
 
+    public static final String  connectTimeoutPropertyName    = "connectTimeout";
+    public static final String  readTimeoutPropertyName       = "readTimeout";
+    public static final String  compressRequestsPropertyName  = "compressRequests";
+    public static final String  compressResponsesPropertyName = "compressResponses";
+
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
@@ -40,6 +55,14 @@ public class OMRSRESTRepositoryConnectorProvider extends OMRSRepositoryConnector
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String>  recognizedPropertyNames = new ArrayList<>();
+        recognizedPropertyNames.add(connectTimeoutPropertyName);
+        recognizedPropertyNames.add(readTimeoutPropertyName);
+        recognizedPropertyNames.add(compressRequestsPropertyName);
+        recognizedPropertyNames.add(compressResponsesPropertyName);
+
+        connectorType.setRecognizedAdditionalProperties(recognizedPropertyNames);
+
         super.connectorTypeBean = connectorType;
     }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Test the compression and uncompression of bodies by the OMRSRESTCompressionInterceptor.
+ */
+public class TestOMRSRESTCompressionInterceptor
+{
+    private static final String responseText = "{\"class\":\"EntityDetailResponse\"}";
+
+
+    @Test
+    void testCompressedRequest() throws IOException
+    {
+        OMRSRESTCompressionInterceptor interceptor = new OMRSRESTCompressionInterceptor(true, false);
+        TestRequest                    request     = new TestRequest();
+        byte[]                         body        = responseText.getBytes(StandardCharsets.UTF_8);
+        byte[][]                       sentBody    = new byte[1][];
+
+        interceptor.intercept(request, body, (sentRequest, sentBytes) ->
+        {
+            sentBody[0] = sentBytes;
+            return new TestResponse(HttpStatus.OK, new HttpHeaders(), new byte[0]);
+        });
+
+        assertEquals(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), "gzip");
+        assertNull(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(readText(new GZIPInputStream(new ByteArrayInputStream(sentBody[0]))), responseText);
+    }
+
+
+    @Test
+    void testCompressedResponse() throws IOException
+    {
+        OMRSRESTCompressionInterceptor interceptor = new OMRSRESTCompressionInterceptor(false, true);
+        TestRequest                    request     = new TestRequest();
+        HttpHeaders                    headers     = getGzipHeaders();
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (sentRequest, sentBytes) ->
+                new TestResponse(HttpStatus.OK, headers, compress(responseText)));
+
+        assertEquals(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING), "gzip");
+        assertEquals(readText(response.getBody()), responseText);
+    }
+
+
+    @Test
+    void testEmptyResponses() throws IOException
+    {
+        OMRSRESTCompressionInterceptor interceptor = new OMRSRESTCompressionInterceptor(false, true);
+
+        /*
+         * No content.
+         */
+        TestResponse noContent = new TestResponse(HttpStatus.NO_CONTENT, getGzipHeaders(), new byte[0]);
+
+        assertSame(interceptor.intercept(new TestRequest(), new byte[0], (request, body) -> noContent), noContent);
+
+        /*
+         * Zero content length.
+         */
+        HttpHeaders  emptyHeaders  = getGzipHeaders();
+
+        emptyHeaders.setContentLength(0);
+
+        TestResponse emptyResponse = new TestResponse(HttpStatus.OK, emptyHeaders, new byte[0]);
+
+        assertSame(interceptor.intercept(new TestRequest(), new byte[0], (request, body) -> emptyResponse), emptyResponse);
+
+        /*
+         * Empty body with no content length (for example, chunked).
+         */
+        ClientHttpResponse chunkedResponse = interceptor.intercept(new TestRequest(), new byte[0], (request, body) ->
+                new TestResponse(HttpStatus.OK, getGzipHeaders(), new byte[0]));
+
+        assertEquals(readText(chunkedResponse.getBody()), "");
+    }
+
+
+    private HttpHeaders getGzipHeaders()
+    {
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        return headers;
+    }
+
+
+    private byte[] compress(String text) throws IOException
+    {
+        ByteArrayOutputStream compressedText = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressedText))
+        {
+            gzipStream.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return compressedText.toByteArray();
+    }
+
+
+    private String readText(InputStream inputStream) throws IOException
+    {
+        ByteArrayOutputStream text   = new ByteArrayOutputStream();
+        byte[]                buffer = new byte[1024];
+        int                   length;
+
+        while ((length = inputStream.read(buffer)) != -1)
+        {
+            text.write(buffer, 0, length);
+        }
+
+        return new String(text.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Request with modifiable headers.
+     */
+    private static class TestRequest implements HttpRequest
+    {
+        private HttpHeaders headers = new HttpHeaders();
+
+        public String getMethodValue()
+        {
+            return "POST";
+        }
+
+        public URI getURI()
+        {
+            return URI.create("http://localhost:8080/open-metadata/repository-services/");
+        }
+
+        public HttpHeaders getHeaders()
+        {
+            return headers;
+        }
+    }
+
+
+    /**
+     * Response with a fixed status, headers and body.
+     */
+    private static class TestResponse implements ClientHttpResponse
+    {
+        private HttpStatus  status;
+        private HttpHeaders headers;
+        private byte[]      body;
+
+        TestResponse(HttpStatus  status,
+                     HttpHeaders headers,
+                     byte[]      body)
+        {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public HttpStatus getStatusCode()
+        {
+            return status;
+        }
+
+        public int getRawStatusCode()
+        {
+            return status.value();
+        }
+
+        public String getStatusText()
+        {
+            return status.getReasonPhrase();
+        }
+
+        public void close()
+        {
+        }
+
+        public InputStream getBody()
+        {
+            return new ByteArrayInputStream(body);
+        }
+
+        public HttpHeaders getHeaders()
+        {
+            return headers;
+        }
+    }
+}
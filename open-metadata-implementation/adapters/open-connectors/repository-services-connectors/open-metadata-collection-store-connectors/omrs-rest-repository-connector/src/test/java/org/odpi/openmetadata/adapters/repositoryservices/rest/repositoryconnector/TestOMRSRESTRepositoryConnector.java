@@ -0,0 +1,87 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.springframework.web.client.RestTemplate;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test the reading of the HTTP client options from the connection's additional properties.
+ */
+public class TestOMRSRESTRepositoryConnector
+{
+    @Test
+    void testDefaults()
+    {
+        OMRSRESTRepositoryConnector connector = getConnector(null);
+
+        assertEquals(connector.getIntProperty(OMRSRESTRepositoryConnectorProvider.connectTimeoutPropertyName, -1), -1);
+        assertFalse(connector.getBooleanProperty(OMRSRESTRepositoryConnectorProvider.compressResponsesPropertyName, false));
+
+        /*
+         * With no options set, no compression is requested.
+         */
+        assertTrue(connector.getRestTemplate().getInterceptors().isEmpty());
+    }
+
+
+    @Test
+    void testPropertyValues()
+    {
+        Map<String, Object> additionalProperties = new HashMap<>();
+
+        additionalProperties.put(OMRSRESTRepositoryConnectorProvider.connectTimeoutPropertyName, 5000);
+        additionalProperties.put(OMRSRESTRepositoryConnectorProvider.readTimeoutPropertyName, " 20000 ");
+        additionalProperties.put(OMRSRESTRepositoryConnectorProvider.compressRequestsPropertyName, "true");
+        additionalProperties.put(OMRSRESTRepositoryConnectorProvider.compressResponsesPropertyName, Boolean.TRUE);
+
+        OMRSRESTRepositoryConnector connector = getConnector(additionalProperties);
+
+        assertEquals(connector.getIntProperty(OMRSRESTRepositoryConnectorProvider.connectTimeoutPropertyName, -1), 5000);
+        assertEquals(connector.getIntProperty(OMRSRESTRepositoryConnectorProvider.readTimeoutPropertyName, -1), 20000);
+        assertTrue(connector.getBooleanProperty(OMRSRESTRepositoryConnectorProvider.compressRequestsPropertyName, false));
+        assertTrue(connector.getBooleanProperty(OMRSRESTRepositoryConnectorProvider.compressResponsesPropertyName, false));
+
+        RestTemplate restTemplate = connector.getRestTemplate();
+
+        assertEquals(restTemplate.getInterceptors().size(), 1);
+        assertTrue(restTemplate.getInterceptors().get(0) instanceof OMRSRESTCompressionInterceptor);
+    }
+
+
+    @Test
+    void testInvalidValues()
+    {
+        Map<String, Object> additionalProperties = new HashMap<>();
+
+        additionalProperties.put(OMRSRESTRepositoryConnectorProvider.connectTimeoutPropertyName, "soon");
+        additionalProperties.put(OMRSRESTRepositoryConnectorProvider.compressResponsesPropertyName, "yes please");
+
+        OMRSRESTRepositoryConnector connector = getConnector(additionalProperties);
+
+        assertEquals(connector.getIntProperty(OMRSRESTRepositoryConnectorProvider.connectTimeoutPropertyName, -1), -1);
+        assertFalse(connector.getBooleanProperty(OMRSRESTRepositoryConnectorProvider.compressResponsesPropertyName, false));
+        assertTrue(connector.getRestTemplate().getInterceptors().isEmpty());
+    }
+
+
+    private OMRSRESTRepositoryConnector getConnector(Map<String, Object> additionalProperties)
+    {
+        OMRSRESTRepositoryConnector connector  = new OMRSRESTRepositoryConnector();
+        Connection                  connection = new Connection();
+
+        connection.setAdditionalProperties(additionalProperties);
+        connector.initialize("TestConnectorInstance", new ConnectionProperties(connection));
+
+        return connector;
+    }
+}
@@ -8,9 +8,15 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * PagingIterator supports an iterator over a list of objects that extend AssetPropertyBase.
@@ -42,6 +48,12 @@ import java.util.List;
  * the first two would have 10 elements in them and the third will have 5 elements.
  * In the first 2 retrieves, maxCacheSize and cachedElementList.size() are set to 10.
  * In the last one, maxCacheSize==10 and cachedElementList.size()==5.
+ *
+ * By default, the next cache is only retrieved when the caller has stepped through the current one.
+ * Setting a prefetch depth turns on read-ahead: the following caches are retrieved in the background,
+ * several at once since the total number of elements is known, while the caller processes the current cache.
+ * The prefetch depth bounds how many caches are retrieved ahead of the caller.  With read-ahead on,
+ * getCachedList() of the type-specific iterator is called from other threads, and may be called concurrently.
  */
 public class AssetPagingIterator extends AssetPropertyBase implements Iterator<AssetPropertyBase>
 {
@@ -54,6 +66,13 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
 
     protected AssetPropertyIteratorBase iterator = null;
 
+    protected int                       prefetchDepth        = 0;
+
+    private int                                    prefetchStart  = 0;
+    private Deque<Future<List<AssetPropertyBase>>> prefetchedCaches = new ArrayDeque<>();
+
+    private static volatile ExecutorService prefetchExecutor = null;
+
     private static final Logger log = LoggerFactory.getLogger(AssetPagingIterator.class);
 
 
@@ -142,6 +161,8 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
                 this.maxCacheSize = templateIterator.maxCacheSize;
             }
 
+            this.prefetchDepth = templateIterator.prefetchDepth;
+
             if (iterator != null)
             {
                 this.iterator = iterator;
@@ -217,7 +238,14 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
             {
                 try
                 {
-                    cachedElementList = iterator.getCachedList(cachedElementStart, maxCacheSize);
+                    if (prefetchDepth > 0)
+                    {
+                        cachedElementList = getPrefetchedCache();
+                    }
+                    else
+                    {
+                        cachedElementList = iterator.getCachedList(cachedElementStart, maxCacheSize);
+                    }
                     cachedElementPointer = 0;
                 }
                 catch (PropertyServerException error)
@@ -273,6 +301,141 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
     }
 
 
+    /**
+     * Return the next cache of elements from the read-ahead queue, then queue up the retrieval of further caches
+     * so that up to prefetchDepth caches are being retrieved while the caller steps through this one.
+     *
+     * @return list of elements starting at cachedElementStart.
+     * @throws PropertyServerException there is a problem retrieving elements from the property (metadata) server.
+     */
+    private List<AssetPropertyBase> getPrefetchedCache() throws PropertyServerException
+    {
+        if (prefetchedCaches.isEmpty())
+        {
+            prefetchStart = cachedElementStart;
+        }
+
+        schedulePrefetch();
+
+        Future<List<AssetPropertyBase>> prefetchedCache = prefetchedCaches.poll();
+        List<AssetPropertyBase>         elements;
+
+        try
+        {
+            elements = prefetchedCache.get();
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+            cancelPrefetch();
+
+            throw new PropertyServerException(OCFErrorCode.PROPERTIES_NOT_AVAILABLE.getHTTPErrorCode(),
+                                              this.getClass().getName(),
+                                              "next",
+                                              "Interrupted while retrieving elements from the property server",
+                                              OCFErrorCode.PROPERTIES_NOT_AVAILABLE.getSystemAction(),
+                                              OCFErrorCode.PROPERTIES_NOT_AVAILABLE.getUserAction(),
+                                              error);
+        }
+        catch (ExecutionException error)
+        {
+            cancelPrefetch();
+
+            if (error.getCause() instanceof PropertyServerException)
+            {
+                throw (PropertyServerException) error.getCause();
+            }
+            else if (error.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) error.getCause();
+            }
+
+            throw new PropertyServerException(OCFErrorCode.PROPERTIES_NOT_AVAILABLE.getHTTPErrorCode(),
+                                              this.getClass().getName(),
+                                              "next",
+                                              String.valueOf(error.getCause()),
+                                              OCFErrorCode.PROPERTIES_NOT_AVAILABLE.getSystemAction(),
+                                              OCFErrorCode.PROPERTIES_NOT_AVAILABLE.getUserAction(),
+                                              error.getCause());
+        }
+
+        if ((elements.size() < maxCacheSize) && (cachedElementStart + elements.size() < totalElementCount))
+        {
+            /*
+             * The property server returned a short cache so the caches retrieved ahead start in the wrong place.
+             */
+            cancelPrefetch();
+        }
+        else
+        {
+            schedulePrefetch();
+        }
+
+        return elements;
+    }
+
+
+    /**
+     * Queue up the retrieval of the caches following the last one requested until there are prefetchDepth caches
+     * in the read-ahead queue or the end of the list is reached.
+     */
+    private void schedulePrefetch()
+    {
+        ExecutorService executor = getPrefetchExecutor();
+
+        while ((prefetchedCaches.size() < prefetchDepth) && (prefetchStart < totalElementCount))
+        {
+            final int cacheStart = prefetchStart;
+
+            prefetchedCaches.add(executor.submit(() -> iterator.getCachedList(cacheStart, maxCacheSize)));
+            prefetchStart = prefetchStart + maxCacheSize;
+        }
+    }
+
+
+    /**
+     * Discard the caches in the read-ahead queue.
+     */
+    private void cancelPrefetch()
+    {
+        for (Future<List<AssetPropertyBase>> prefetchedCache : prefetchedCaches)
+        {
+            prefetchedCache.cancel(true);
+        }
+
+        prefetchedCaches.clear();
+    }
+
+
+    /**
+     * Return the executor shared by all of the paging iterators for retrieving caches in the background.
+     * Its threads are daemon threads so an abandoned iterator does not stop the JVM from exiting.
+     *
+     * @return executor service
+     */
+    private static ExecutorService getPrefetchExecutor()
+    {
+        if (prefetchExecutor == null)
+        {
+            synchronized (AssetPagingIterator.class)
+            {
+                if (prefetchExecutor == null)
+                {
+                    prefetchExecutor = Executors.newCachedThreadPool((runnable) ->
+                    {
+                        Thread thread = new Thread(runnable, "AssetPagingIterator-prefetch");
+
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+
+        return prefetchExecutor;
+    }
+
+
     /**
      * Return the number of elements in the list.
      *
@@ -284,6 +447,37 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
     }
 
 
+    /**
+     * Return the number of caches that are retrieved ahead of the caller.
+     *
+     * @return prefetch depth; 0 means caches are only retrieved when they are needed
+     */
+    public int getPrefetchDepth()
+    {
+        return prefetchDepth;
+    }
+
+
+    /**
+     * Set up the number of caches to retrieve in the background ahead of the caller.  This is worth turning on
+     * when the caller does significant work on each element or the list spans many caches.
+     *
+     * @param prefetchDepth number of caches to retrieve ahead; 0 (or less) turns read-ahead off
+     */
+    public void setPrefetchDepth(int prefetchDepth)
+    {
+        if (prefetchDepth > 0)
+        {
+            this.prefetchDepth = prefetchDepth;
+        }
+        else
+        {
+            this.prefetchDepth = 0;
+            cancelPrefetch();
+        }
+    }
+
+
     /**
      * Remove the current element in the iterator.  This call is not supported and results in
      * an exception
@@ -320,6 +514,7 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
                 ", cachedElementStart=" + cachedElementStart +
                 ", cachedElementList=" + cachedElementList +
                 ", cachedElementPointer=" + cachedElementPointer +
+                ", prefetchDepth=" + prefetchDepth +
                 '}';
     }
 }
\ No newline at end of file
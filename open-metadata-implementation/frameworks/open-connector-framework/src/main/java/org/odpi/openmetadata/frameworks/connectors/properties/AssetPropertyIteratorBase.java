@@ -64,6 +64,21 @@ public abstract class AssetPropertyIteratorBase extends AssetPropertyBase
     }
 
 
+    /**
+     * Turn on read-ahead so the caches of elements following the current one are retrieved from the
+     * property (metadata) server in the background while the caller steps through the list.
+     *
+     * @param prefetchDepth number of caches to retrieve ahead; 0 (or less) turns read-ahead off
+     */
+    public void setPrefetchDepth(int prefetchDepth)
+    {
+        if (pagingIterator != null)
+        {
+            pagingIterator.setPrefetchDepth(prefetchDepth);
+        }
+    }
+
+
     /**
      * Method implemented by a subclass that ensures the cloning process is a deep clone.
      *
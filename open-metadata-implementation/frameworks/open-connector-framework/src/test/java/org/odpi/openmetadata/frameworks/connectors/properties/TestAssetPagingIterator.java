@@ -214,6 +214,57 @@ public class TestAssetPagingIterator
     }
 
 
+    /**
+     * Test that the iterator returns every element when the caches are retrieved ahead of the caller.
+     */
+    @Test public void testPrefetchIterator()
+    {
+        MockAssetPropertyIterator iterator = new MockAssetPropertyIterator(null,
+                                                                           95,
+                                                                           10);
+
+        iterator.setPrefetchDepth(3);
+
+        int elementCount = 0;
+        while (iterator.hasNext())
+        {
+            assertTrue(iterator.next() != null);
+            elementCount ++;
+        }
+
+        assertTrue(elementCount == 95);
+
+        MockAssetPropertyIterator iteratorClone = new MockAssetPropertyIterator(null, iterator);
+
+        assertTrue(iteratorClone.pagingIterator.getPrefetchDepth() == 3);
+    }
+
+
+    /**
+     * Validate that the paging iterator handles an error reading from the server ahead of the caller.
+     */
+    @Test public void testPrefetchDisconnectedServer()
+    {
+        MockDisconnectedAssetPropertyIterator iterator = new MockDisconnectedAssetPropertyIterator(null, 30, 10);
+
+        iterator.setPrefetchDepth(2);
+
+        try
+        {
+            iterator.next();
+            assertTrue(false);
+        }
+        catch (OCFRuntimeException err)
+        {
+            assertTrue(err.getMessage().contains("OCF-PROPERTIES-404-002 "));
+        }
+        catch (Throwable   exc)
+        {
+            assertTrue(false);
+        }
+    }
+
+
     /**
      * Validate that the paging iterator handles reading more elements than there is.
      */
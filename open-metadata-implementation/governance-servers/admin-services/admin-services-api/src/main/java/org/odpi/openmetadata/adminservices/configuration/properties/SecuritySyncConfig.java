@@ -31,6 +31,8 @@ public class SecuritySyncConfig extends AdminServicesConfigHeader {
     private String securityServerType;
     private String securityServerAuthorization;
     private String tagServiceName;
+    private String syncCheckpointDirectory;
+    private Integer fullSyncInterval;
 
     private String securitySyncInTopicName;
     private Connection securitySyncInTopic;
@@ -64,6 +66,8 @@ public class SecuritySyncConfig extends AdminServicesConfigHeader {
             governanceEngineServerURL =  template.governanceEngineServerURL;
             securityServerAuthorization = template.securityServerAuthorization;
             tagServiceName = template.tagServiceName;
+            syncCheckpointDirectory = template.syncCheckpointDirectory;
+            fullSyncInterval = template.fullSyncInterval;
 
             securitySyncInTopic = template.securitySyncInTopic;
 
@@ -233,6 +237,45 @@ public class SecuritySyncConfig extends AdminServicesConfigHeader {
         this.tagServiceName = tagServiceName;
     }
 
+    /**
+     * Return the directory where the Governance Services Connector keeps the checkpoint of its last synchronization.
+     * If it is not set, the checkpoint is kept in the working directory of the server.
+     *
+     * @return String directory name
+     */
+    public String getSyncCheckpointDirectory() {
+        return syncCheckpointDirectory;
+    }
+
+    /**
+     * Set up the directory where the Governance Services Connector keeps the checkpoint of its last synchronization.
+     *
+     * @param syncCheckpointDirectory String directory name
+     */
+    public void setSyncCheckpointDirectory(String syncCheckpointDirectory) {
+        this.syncCheckpointDirectory = syncCheckpointDirectory;
+    }
+
+    /**
+     * Return the number of hours between the full synchronizations of the governed assets, which remove the tags of
+     * the assets that are no longer governed.  The synchronizations in between only send the assets that have
+     * changed.  If it is not set, the connector's default is used; 0 turns off the periodic full synchronization.
+     *
+     * @return Integer number of hours
+     */
+    public Integer getFullSyncInterval() {
+        return fullSyncInterval;
+    }
+
+    /**
+     * Set up the number of hours between the full synchronizations of the governed assets.
+     *
+     * @param fullSyncInterval Integer number of hours
+     */
+    public void setFullSyncInterval(Integer fullSyncInterval) {
+        this.fullSyncInterval = fullSyncInterval;
+    }
+
     /**
      * Return the Input Topic Name for Security Sync
      *
@@ -320,6 +363,8 @@ public class SecuritySyncConfig extends AdminServicesConfigHeader {
                 ", securityServerType='" + securityServerType + '\'' +
                 ", securityServerAuthorization='" + securityServerAuthorization + '\'' +
                 ", tagServiceName='" + tagServiceName + '\'' +
+                ", syncCheckpointDirectory='" + syncCheckpointDirectory + '\'' +
+                ", fullSyncInterval=" + fullSyncInterval +
                 ", securitySyncInTopicName='" + securitySyncInTopicName + '\'' +
                 ", securitySyncInTopic=" + securitySyncInTopic +
                 ", securitySyncOutTopicName='" + securitySyncOutTopicName + '\'' +
@@ -350,6 +395,8 @@ public class SecuritySyncConfig extends AdminServicesConfigHeader {
                 Objects.equals(getGovernanceEngineServerURL(), that.getGovernanceEngineServerURL()) &&
                 getSecurityServerAuthorization() == that.getSecurityServerAuthorization() &&
                 Objects.equals(getTagServiceName(), that.getTagServiceName()) &&
+                Objects.equals(getSyncCheckpointDirectory(), that.getSyncCheckpointDirectory()) &&
+                Objects.equals(getFullSyncInterval(), that.getFullSyncInterval()) &&
                 Objects.equals(getSecuritySyncInTopic(), that.getSecuritySyncInTopic()) &&
                 Objects.equals(getSecuritySyncOutTopic(), that.getSecuritySyncOutTopic()) &&
                 Objects.equals(getSecuritySyncInTopicName(), that.getSecuritySyncInTopicName()) &&
@@ -365,7 +412,8 @@ public class SecuritySyncConfig extends AdminServicesConfigHeader {
     public int hashCode() {
         return Objects.hash(getSecuritySyncId(), getSecuritySyncName(),
                 getSecuritySyncDescription(), getSecuritySyncWiki(), getSecurityServerURL(), getGovernanceEngineServerURL(),
-                getSecurityServerAuthorization(), getTagServiceName(), getSecuritySyncInTopic(),
+                getSecurityServerAuthorization(), getTagServiceName(), getSyncCheckpointDirectory(), getFullSyncInterval(),
+                getSecuritySyncInTopic(),
                 getSecuritySyncOutTopic(), getSecuritySyncInTopicName(), getSecuritySyncOutTopicName());
     }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+
+/**
+ * OMRSEventSummary holds the values that OMRSTopicEventFilters use to decide whether to process an inbound
+ * event.  They are read from the JSON event with a streaming parser that skips over the nested objects it
+ * does not need (such as the entities and relationships in the event) rather than building the event beans.
+ */
+class OMRSEventSummary
+{
+    private static final String eventCategoryProperty        = "eventCategory";
+    private static final String instanceEventSectionProperty = "instanceEventSection";
+    private static final String eventTypeProperty            = "eventType";
+    private static final String typeDefGUIDProperty          = "typeDefGUID";
+
+    private OMRSEventCategory      eventCategory       = null;
+    private OMRSInstanceEventType  instanceEventType   = null;
+    private String                 typeDefGUID         = null;
+    private boolean                instanceSectionRead = false;
+
+
+    /**
+     * Read the summary from an event.
+     *
+     * @param jsonFactory factory for the streaming parser
+     * @param event inbound event
+     * @return summary or null if the event is not a JSON object or the category is not recognized
+     */
+    static OMRSEventSummary readSummary(JsonFactory   jsonFactory,
+                                        String        event)
+    {
+        OMRSEventSummary summary = new OMRSEventSummary();
+
+        try (JsonParser parser = jsonFactory.createParser(event))
+        {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+            {
+                return null;
+            }
+
+            while ((! summary.isComplete()) && (parser.nextToken() == JsonToken.FIELD_NAME))
+            {
+                String    fieldName = parser.getCurrentName();
+                JsonToken value     = parser.nextToken();
+
+                if (eventCategoryProperty.equals(fieldName) && (value == JsonToken.VALUE_STRING))
+                {
+                    summary.eventCategory = OMRSEventCategory.valueOf(parser.getText());
+                }
+                else if (instanceEventSectionProperty.equals(fieldName) && (value == JsonToken.START_OBJECT))
+                {
+                    summary.readInstanceEventSection(parser);
+                    summary.instanceSectionRead = true;
+                }
+                else
+                {
+                    parser.skipChildren();
+                }
+            }
+        }
+        catch (Throwable error)
+        {
+            /*
+             * The event will be fully parsed and any error reported then.
+             */
+            return null;
+        }
+
+        if (summary.eventCategory == null)
+        {
+            return null;
+        }
+
+        return summary;
+    }
+
+
+    /**
+     * Read the instance event type and type of the instance from the instance event section.  The parser is
+     * positioned at the start of the section and is left at its end.
+     *
+     * @param parser streaming parser
+     * @throws Exception problem reading or converting the values
+     */
+    private void readInstanceEventSection(JsonParser   parser) throws Exception
+    {
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String    fieldName = parser.getCurrentName();
+            JsonToken value     = parser.nextToken();
+
+            if (eventTypeProperty.equals(fieldName) && (value == JsonToken.VALUE_STRING))
+            {
+                instanceEventType = OMRSInstanceEventType.valueOf(parser.getText());
+            }
+            else if (typeDefGUIDProperty.equals(fieldName) && (value == JsonToken.VALUE_STRING))
+            {
+                typeDefGUID = parser.getText();
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+
+    /**
+     * Return whether all of the values needed by the filters have been read.
+     *
+     * @return boolean
+     */
+    private boolean isComplete()
+    {
+        if (eventCategory == null)
+        {
+            return false;
+        }
+
+        return (eventCategory != OMRSEventCategory.INSTANCE) || (instanceSectionRead);
+    }
+
+
+    /**
+     * Return the category of the event.
+     *
+     * @return event category enum
+     */
+    OMRSEventCategory getEventCategory()
+    {
+        return eventCategory;
+    }
+
+
+    /**
+     * Return the type of instance event.
+     *
+     * @return instance event type enum or null
+     */
+    OMRSInstanceEventType getInstanceEventType()
+    {
+        return instanceEventType;
+    }
+
+
+    /**
+     * Return the unique identifier of the type of the instance.
+     *
+     * @return String guid or null
+     */
+    String getTypeDefGUID()
+    {
+        return typeDefGUID;
+    }
+}
@@ -3,6 +3,8 @@
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.odpi.openmetadata.repositoryservices.connectors.auditable.AuditableConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +12,7 @@ import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.VirtualConnectorExtension;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
 
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
@@ -22,8 +25,11 @@ import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -51,6 +57,16 @@ import java.util.List;
  *         connectors that implement OpenMetadataTopic.
  *     </li>
  * </ul>
+ * <p>
+ *     Listeners that implement OMRSTopicEventFilter are asked whether they want each inbound event before
+ *     it is parsed.  Events that no listener wants are skipped after a partial read of the JSON payload.
+ * </p>
+ * <p>
+ *     Each inbound event is parsed once on the event bus thread and then added to a bounded queue for
+ *     each OMRSTopicListener.  Every queue has its own worker thread so a slow listener does not hold up
+ *     the event bus or the other listeners.  The size of the queues and what happens when a queue is full
+ *     are set through the connection's additional properties (see OMRSTopicProvider).
+ * </p>
  */
 public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                                                                  VirtualConnectorExtension,
@@ -61,9 +77,33 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     private static final String connectorName    = "OMRSTopicListener";
 
+    /*
+     * Maximum time in milliseconds to wait for each listener to process its queued events on disconnect.
+     */
+    private static final long   listenerShutdownTimeout = 10000;
+
+    /*
+     * Jackson readers and writers are immutable and thread-safe, so a single pair is shared by all
+     * instances of this connector rather than building a new ObjectMapper for each event.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader eventReader  = objectMapper.readerFor(OMRSEventBean.class);
+    private static final ObjectWriter eventWriter  = objectMapper.writerFor(OMRSEventV1.class);
+
     private List<Connector> embeddedConnectors = null;
 
-    private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
+    private List<OMRSTopicListenerQueue>     listenerQueues         = new CopyOnWriteArrayList<>();
+
+    /*
+     * Statistics on the parsing of inbound events.
+     */
+    private AtomicLong                       receivedEvents         = new AtomicLong(0);
+    private AtomicLong                       parsedEvents           = new AtomicLong(0);
+    private AtomicLong                       skippedEvents          = new AtomicLong(0);
+    private AtomicLong                       skippedBytes           = new AtomicLong(0);
+    private AtomicLong                       filterTime             = new AtomicLong(0);
+    private AtomicLong                       parseTime              = new AtomicLong(0);
+
     private List<OpenMetadataTopicConnector> eventBusConnectors     = new ArrayList<>();
 
     private String                    connectionName       = connectorName;
@@ -128,7 +168,38 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         if (topicListener != null)
         {
-            internalTopicListeners.add(topicListener);
+            int                              queueSize;
+            OMRSTopicListenerOverflowPolicy  overflowPolicy         = OMRSTopicListenerOverflowPolicy.BLOCK;
+            File                             spillDirectory         = null;
+            Object                           overflowPolicyProperty = this.getProperty(OMRSTopicProvider.listenerOverflowPolicyPropertyName);
+            Object                           spillDirectoryProperty = this.getProperty(OMRSTopicProvider.listenerSpillDirectoryPropertyName);
+
+            queueSize = this.getIntegerProperty(OMRSTopicProvider.listenerQueueSizePropertyName,
+                                                OMRSTopicProvider.defaultListenerQueueSize);
+
+            if (overflowPolicyProperty != null)
+            {
+                try
+                {
+                    overflowPolicy = OMRSTopicListenerOverflowPolicy.valueOf(overflowPolicyProperty.toString().trim());
+                }
+                catch (IllegalArgumentException error)
+                {
+                    log.debug("Ignoring invalid listener overflow policy: " + overflowPolicyProperty);
+                }
+            }
+
+            if (spillDirectoryProperty != null)
+            {
+                spillDirectory = new File(spillDirectoryProperty.toString());
+            }
+
+            listenerQueues.add(new OMRSTopicListenerQueue(this,
+                                                          topicListener,
+                                                          connectionName,
+                                                          queueSize,
+                                                          overflowPolicy,
+                                                          spillDirectory));
         }
         else
         {
@@ -363,6 +434,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     /**
      * Sends the supplied event outbound to the OMRSTopicListeners using the event bus connectors.
+     * The event is serialized once and the same bytes are passed to each event bus connector.
      *
      * @param event OMRSEvent object containing the event properties.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
@@ -373,13 +445,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                byte[] serializedEvent = eventWriter.writeValueAsBytes(event);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(serializedEvent);
                     }
                 }
             }
@@ -427,7 +499,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
 
     /**
-     * Receives events from the real topic, parses them into event objects and passes them on to
+     * Receives events from the real topic, parses them into event objects and adds them to the queue of each of
      * the OMRSTopicListeners registered with this connector.
      *
      * @param event inbound event
@@ -436,67 +508,33 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         if (event != null)
         {
-            OMRSEventBean   eventBean = null;
+            List<OMRSTopicListenerQueue>  interestedQueues = this.getInterestedListenerQueues(event);
 
-            /*
-             * Parse the string (JSON) event into a bean.
-             */
-            try
-            {
-                ObjectMapper objectMapper = new ObjectMapper();
+            receivedEvents.incrementAndGet();
 
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
-            }
-            catch (Throwable   exception)
+            if (interestedQueues.isEmpty())
             {
-                if (auditLog != null)
-                {
-                    OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PARSING_ERROR;
-
-                    auditLog.logException(connectorName,
-                                          auditCode.getLogMessageId(),
-                                          auditCode.getSeverity(),
-                                          auditCode.getFormattedLogMessage(event, exception.toString()),
-                                          null,
-                                          auditCode.getSystemAction(),
-                                          auditCode.getUserAction(),
-                                          exception);
-                }
+                log.debug("Skipping event that none of the topic listeners will process");
+
+                skippedEvents.incrementAndGet();
+                skippedBytes.addAndGet(event.length());
+                return;
             }
 
+            long          parseStart = System.nanoTime();
+            OMRSEventV1   eventBean  = this.parseEvent(event);
+
+            parseTime.addAndGet(System.nanoTime() - parseStart);
+            parsedEvents.incrementAndGet();
 
             /*
              * If the event bean is successfully created then pass it on to the registered listeners.
              */
-            if ((eventBean != null) && (eventBean instanceof OMRSEventV1))
+            if (eventBean != null)
             {
-                for (OMRSTopicListener  topicListener : internalTopicListeners)
+                for (OMRSTopicListenerQueue  listenerQueue : interestedQueues)
                 {
-                    try
-                    {
-                        this.processOMRSEvent((OMRSEventV1)eventBean,
-                                              topicListener);
-                    }
-                    catch (Throwable  error)
-                    {
-                        log.debug("Unable to pass event to one of the topic listeners");
-
-                        if (auditLog != null)
-                        {
-                            OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PROCESSING_ERROR;
-
-                            auditLog.logException(connectorName,
-                                                  auditCode.getLogMessageId(),
-                                                  auditCode.getSeverity(),
-                                                  auditCode.getFormattedLogMessage(event,
-                                                                                   error.toString(),
-                                                                                   topicListener.toString()),
-                                                  null,
-                                                  auditCode.getSystemAction(),
-                                                  auditCode.getUserAction(),
-                                                  error);
-                        }
-                    }
+                    listenerQueue.addEvent(event, eventBean);
                 }
             }
         }
@@ -520,6 +558,277 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Return the queues of the listeners that will process the event.  If any of the listeners have an
+     * OMRSTopicEventFilter, the values that the filters need are read from the event without parsing all
+     * of it, and the filters are called.
+     *
+     * @param event inbound event
+     * @return list of listener queues (may be empty)
+     */
+    private List<OMRSTopicListenerQueue> getInterestedListenerQueues(String   event)
+    {
+        boolean  filtersRegistered = false;
+
+        for (OMRSTopicListenerQueue  listenerQueue : listenerQueues)
+        {
+            if (listenerQueue.hasEventFilter())
+            {
+                filtersRegistered = true;
+                break;
+            }
+        }
+
+        if (! filtersRegistered)
+        {
+            return listenerQueues;
+        }
+
+        long              filterStart  = System.nanoTime();
+        OMRSEventSummary  eventSummary = OMRSEventSummary.readSummary(objectMapper.getFactory(), event);
+
+        filterTime.addAndGet(System.nanoTime() - filterStart);
+
+        List<OMRSTopicListenerQueue> interestedQueues = new ArrayList<>();
+
+        for (OMRSTopicListenerQueue  listenerQueue : listenerQueues)
+        {
+            if (listenerQueue.acceptsEvent(eventSummary))
+            {
+                interestedQueues.add(listenerQueue);
+            }
+        }
+
+        return interestedQueues;
+    }
+
+
+    /**
+     * Return the statistics on the parsing of inbound events, including the events skipped because none of the
+     * listeners' OMRSTopicEventFilters wanted them.
+     *
+     * @return statistics bean
+     */
+    public OMRSTopicParsingStatistics getParsingStatistics()
+    {
+        OMRSTopicParsingStatistics statistics = new OMRSTopicParsingStatistics();
+        long                       parsed     = parsedEvents.get();
+        long                       skipped    = skippedEvents.get();
+        long                       parsing    = parseTime.get();
+        long                       filtering  = filterTime.get();
+
+        statistics.setReceivedEvents(receivedEvents.get());
+        statistics.setParsedEvents(parsed);
+        statistics.setSkippedEvents(skipped);
+        statistics.setSkippedBytes(skippedBytes.get());
+        statistics.setFilterTime(filtering);
+        statistics.setParseTime(parsing);
+
+        if (parsed > 0)
+        {
+            statistics.setEstimatedSavedTime(Math.max((parsing / parsed) * skipped - filtering, 0));
+        }
+
+        return statistics;
+    }
+
+
+    /**
+     * Return the statistics of the queue of events for each of the registered OMRSTopicListeners.
+     *
+     * @return list of statistics - one for each listener
+     */
+    public List<OMRSTopicListenerStatistics> getListenerStatistics()
+    {
+        List<OMRSTopicListenerStatistics> listenerStatistics = new ArrayList<>();
+
+        for (OMRSTopicListenerQueue  listenerQueue : listenerQueues)
+        {
+            listenerStatistics.add(listenerQueue.getStatistics());
+        }
+
+        return listenerStatistics;
+    }
+
+
+    /**
+     * Return the maximum number of instances that outbound instance events may be gathered into a batch event.
+     * A value of less than 2 means the instance events are sent one by one.  The receivers of a batch event,
+     * including their OMASs, get a single BatchInstancesEvent in place of the per-change events (such as new,
+     * updated and classified entity events) of the batched instances.
+     *
+     * @return number of instances
+     */
+    public int getInstanceBatchSize()
+    {
+        return this.getIntegerProperty(OMRSTopicProvider.instanceBatchSizePropertyName,
+                                       OMRSTopicProvider.defaultInstanceBatchSize);
+    }
+
+
+    /**
+     * Return the maximum time that an outbound instance event waits for a batch to fill.
+     *
+     * @return milliseconds
+     */
+    public long getInstanceBatchLingerTime()
+    {
+        return this.getNumericProperty(OMRSTopicProvider.instanceBatchLingerTimePropertyName,
+                                       OMRSTopicProvider.defaultInstanceBatchLingerTime);
+    }
+
+
+    /**
+     * Return one of the additional properties from the connection.
+     *
+     * @param propertyName name of the property
+     * @return property value or null
+     */
+    private Object getProperty(String   propertyName)
+    {
+        if (super.connectionProperties != null)
+        {
+            AdditionalProperties additionalProperties = super.connectionProperties.getAdditionalProperties();
+
+            if (additionalProperties != null)
+            {
+                return additionalProperties.getProperty(propertyName);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return one of the additional properties from the connection as a number.
+     *
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a number
+     * @return property value
+     */
+    private long getNumericProperty(String   propertyName,
+                                    long     defaultValue)
+    {
+        Object propertyValue = this.getProperty(propertyName);
+
+        if (propertyValue != null)
+        {
+            try
+            {
+                return Long.parseLong(propertyValue.toString().trim());
+            }
+            catch (NumberFormatException error)
+            {
+                log.debug("Ignoring invalid value for " + propertyName + ": " + propertyValue);
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return one of the additional properties from the connection as an int.  Values that are too large
+     * or too small for an int are ignored rather than truncated.
+     *
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a valid int
+     * @return property value
+     */
+    private int getIntegerProperty(String   propertyName,
+                                   int      defaultValue)
+    {
+        long propertyValue = this.getNumericProperty(propertyName, defaultValue);
+
+        if ((propertyValue < Integer.MIN_VALUE) || (propertyValue > Integer.MAX_VALUE))
+        {
+            log.debug("Ignoring out of range value for " + propertyName + ": " + propertyValue);
+
+            return defaultValue;
+        }
+
+        return (int)propertyValue;
+    }
+
+
+    /**
+     * Parse the string (JSON) event into a bean.
+     *
+     * @param event inbound event
+     * @return event bean or null if the event can not be parsed
+     */
+    OMRSEventV1 parseEvent(String   event)
+    {
+        try
+        {
+            OMRSEventBean eventBean = eventReader.readValue(event);
+
+            if (eventBean instanceof OMRSEventV1)
+            {
+                return (OMRSEventV1)eventBean;
+            }
+        }
+        catch (Throwable   exception)
+        {
+            if (auditLog != null)
+            {
+                OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PARSING_ERROR;
+
+                auditLog.logException(connectorName,
+                                      auditCode.getLogMessageId(),
+                                      auditCode.getSeverity(),
+                                      auditCode.getFormattedLogMessage(event, exception.toString()),
+                                      null,
+                                      auditCode.getSystemAction(),
+                                      auditCode.getUserAction(),
+                                      exception);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Pass an event to one of the listeners.  This is called on the worker thread of the listener's queue.
+     * Errors from the listener are logged and the event is not retried.
+     *
+     * @param event inbound event as received from the event bus
+     * @param eventBean parsed event
+     * @param topicListener listener that will receive the event.
+     */
+    void deliverEvent(String             event,
+                      OMRSEventV1        eventBean,
+                      OMRSTopicListener  topicListener)
+    {
+        try
+        {
+            this.processOMRSEvent(eventBean, topicListener);
+        }
+        catch (Throwable  error)
+        {
+            log.debug("Unable to pass event to one of the topic listeners");
+
+            if (auditLog != null)
+            {
+                OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PROCESSING_ERROR;
+
+                auditLog.logException(connectorName,
+                                      auditCode.getLogMessageId(),
+                                      auditCode.getSeverity(),
+                                      auditCode.getFormattedLogMessage(event,
+                                                                       error.toString(),
+                                                                       topicListener.toString()),
+                                      null,
+                                      auditCode.getSystemAction(),
+                                      auditCode.getUserAction(),
+                                      error);
+            }
+        }
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
@@ -613,6 +922,14 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             eventBusConnector.disconnect();
         }
 
+        /*
+         * The events already received are passed to the listeners before their workers stop.
+         */
+        for (OMRSTopicListenerQueue  listenerQueue : listenerQueues)
+        {
+            listenerQueue.close(listenerShutdownTimeout);
+        }
+
         if (auditLog != null)
         {
             OMRSAuditCode auditCode = OMRSAuditCode.OMRS_TOPIC_LISTENER_DISCONNECTED;
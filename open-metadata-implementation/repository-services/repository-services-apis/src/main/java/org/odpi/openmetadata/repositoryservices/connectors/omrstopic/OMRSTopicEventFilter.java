@@ -0,0 +1,31 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+
+/**
+ * OMRSTopicEventFilter is an optional interface for an OMRSTopicListener.  It allows the OMRSTopicConnector to
+ * ask the listener whether it will process an inbound event before the event is fully parsed.  The connector
+ * only reads the event category, instance event type and instance type from the event to make this call.
+ * If none of the registered listeners wants the event, it is not parsed.
+ * <p>
+ *     The listener should only reject events that it is certain to ignore.  Any of the values passed may be
+ *     null if they are not present in the event.
+ * </p>
+ */
+public interface OMRSTopicEventFilter
+{
+    /**
+     * Determine whether an inbound event should be passed to the listener.
+     *
+     * @param eventCategory category of the event
+     * @param instanceEventType type of instance event (instance events only)
+     * @param typeDefGUID unique identifier of the type of the instance (instance events only)
+     * @return boolean flag - false means the event can be discarded without parsing
+     */
+    boolean processEvent(OMRSEventCategory       eventCategory,
+                         OMRSInstanceEventType   instanceEventType,
+                         String                  typeDefGUID);
+}
@@ -0,0 +1,89 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import java.io.Serializable;
+
+/**
+ * OMRSTopicListenerOverflowPolicy defines what the OMRSTopicConnector does with an inbound event when the
+ * queue of events waiting for one of its OMRSTopicListeners is full.
+ */
+public enum OMRSTopicListenerOverflowPolicy implements Serializable
+{
+    BLOCK         (0, "Block",         "The event bus thread waits until the listener has taken an event from its queue."),
+    DROP_OLDEST   (1, "Drop Oldest",   "The oldest event waiting for the listener is discarded to make space for the new event."),
+    SPILL_TO_DISK (2, "Spill To Disk", "The event is written to a file and passed to the listener once its queue is empty.");
+
+    private static final long serialVersionUID = 1L;
+
+
+    private  int    ordinal;
+    private  String name;
+    private  String description;
+
+
+    /**
+     * Default constructor sets up the specific values for this enum instance.
+     *
+     * @param ordinal int identifier for the enum, used for indexing arrays etc with the enum.
+     * @param name String name for the enum, used for message content.
+     * @param description String default description for the enum, used when there is not natural
+     *                             language resource bundle available.
+     */
+    OMRSTopicListenerOverflowPolicy(int ordinal, String name, String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the identifier for the enum, used for indexing arrays etc with the enum.
+     *
+     * @return int identifier
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the name for the enum, used for message content.
+     *
+     * @return String name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the default description for the enum, used when there is not natural
+     * language resource bundle available.
+     *
+     * @return String default description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * toString() JSON-style
+     *
+     * @return string description
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSTopicListenerOverflowPolicy{" +
+                "ordinal=" + ordinal +
+                ", name='" + name + '\'' +
+                ", description='" + description + '\'' +
+                '}';
+    }
+}
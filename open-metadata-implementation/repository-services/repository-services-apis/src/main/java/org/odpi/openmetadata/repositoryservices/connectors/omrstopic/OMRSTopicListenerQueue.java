@@ -0,0 +1,547 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OMRSTopicListenerQueue holds the inbound events waiting for one OMRSTopicListener and the worker thread that
+ * passes them to the listener.  This means a slow listener only delays its own events rather than the event bus
+ * and the other listeners.  When the queue is full, the overflow policy determines whether the event bus thread
+ * waits, the oldest event is discarded or the event is spilled to a file.  Spilled events are passed to the
+ * listener, in order, once the events in memory have been processed.  Spill files are not kept when the server
+ * restarts: any left in the spill directory by a previous run are removed when it is first used.
+ */
+class OMRSTopicListenerQueue implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSTopicListenerQueue.class);
+
+    private static final long   pollInterval    = 100;
+    private static final String spillFilePrefix = "omrs-topic-listener-";
+    private static final String spillFileSuffix = ".spill";
+
+    /*
+     * The spill directories that have been cleared of the spill files left by a previous run of the server.
+     */
+    private static final Set<File> clearedSpillDirectories = new HashSet<>();
+
+    private final OMRSTopicConnector               topicConnector;
+    private final OMRSTopicListener                topicListener;
+    private final OMRSTopicEventFilter             eventFilter;
+    private final String                           listenerName;
+    private final int                              queueCapacity;
+    private final OMRSTopicListenerOverflowPolicy  overflowPolicy;
+    private final File                             spillDirectory;
+    private final BlockingQueue<QueuedEvent>       queue;
+    private final Thread                           worker;
+
+    /*
+     * The spill file is shared by the event bus thread (writing) and the worker (reading).
+     */
+    private final Object            spillLock     = new Object();
+    private File                    spillFile     = null;
+    private DataOutputStream        spillWriter   = null;
+    private DataInputStream         spillReader   = null;
+    private long                    spillWritten  = 0;
+    private long                    spillRead     = 0;
+
+    private final AtomicLong        deliveredEvents = new AtomicLong(0);
+    private final AtomicLong        droppedEvents   = new AtomicLong(0);
+    private final AtomicLong        spilledEvents   = new AtomicLong(0);
+    private final AtomicLong        filteredEvents  = new AtomicLong(0);
+    private volatile long           deliveringSince = 0;
+    private volatile long           maximumLag      = 0;
+    private volatile boolean        closed          = false;
+
+
+    /**
+     * Constructor sets up the queue and starts its worker thread.
+     *
+     * @param topicConnector connector that parses the spilled events and passes events to the listener
+     * @param topicListener listener to receive the events
+     * @param connectionName name of the topic connector's connection - used for the worker thread name
+     * @param queueCapacity maximum number of events to hold in memory
+     * @param overflowPolicy what to do with an event when the queue is full
+     * @param spillDirectory directory for the spill file
+     */
+    OMRSTopicListenerQueue(OMRSTopicConnector               topicConnector,
+                           OMRSTopicListener                topicListener,
+                           String                           connectionName,
+                           int                              queueCapacity,
+                           OMRSTopicListenerOverflowPolicy  overflowPolicy,
+                           File                             spillDirectory)
+    {
+        this.topicConnector = topicConnector;
+        this.topicListener = topicListener;
+        this.eventFilter = (topicListener instanceof OMRSTopicEventFilter) ? (OMRSTopicEventFilter)topicListener : null;
+        this.listenerName = topicListener.getClass().getName();
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        this.overflowPolicy = overflowPolicy;
+        this.spillDirectory = spillDirectory;
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+
+        if (overflowPolicy == OMRSTopicListenerOverflowPolicy.SPILL_TO_DISK)
+        {
+            removeLeftoverSpillFiles(spillDirectory);
+        }
+
+        this.worker = new Thread(this, "OMRSTopicListener:" + connectionName + ":" + topicListener.getClass().getSimpleName());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+
+    /**
+     * Return the listener that this queue serves.
+     *
+     * @return topic listener
+     */
+    OMRSTopicListener getTopicListener()
+    {
+        return topicListener;
+    }
+
+
+    /**
+     * Return whether the listener has an event filter.
+     *
+     * @return boolean
+     */
+    boolean hasEventFilter()
+    {
+        return eventFilter != null;
+    }
+
+
+    /**
+     * Ask the listener's event filter (if any) whether the listener wants the event.  Rejected events are
+     * counted in the statistics.
+     *
+     * @param eventSummary values read from the event for the filter
+     * @return boolean flag - true if the event should be added to the queue
+     */
+    boolean acceptsEvent(OMRSEventSummary   eventSummary)
+    {
+        if ((eventFilter == null) || (eventSummary == null))
+        {
+            return true;
+        }
+
+        boolean accepted;
+
+        try
+        {
+            accepted = eventFilter.processEvent(eventSummary.getEventCategory(),
+                                                eventSummary.getInstanceEventType(),
+                                                eventSummary.getTypeDefGUID());
+        }
+        catch (Throwable error)
+        {
+            log.debug("Event filter for topic listener " + listenerName + " failed: " + error.getMessage());
+            accepted = true;
+        }
+
+        if (! accepted)
+        {
+            filteredEvents.incrementAndGet();
+        }
+
+        return accepted;
+    }
+
+
+    /**
+     * Add an event to the queue.  This is called on the event bus thread.
+     *
+     * @param event inbound event as received from the event bus
+     * @param eventBean parsed event
+     */
+    void addEvent(String        event,
+                  OMRSEventV1   eventBean)
+    {
+        QueuedEvent queuedEvent = new QueuedEvent(event, eventBean, System.currentTimeMillis());
+
+        if (closed)
+        {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+
+        switch (overflowPolicy)
+        {
+            case DROP_OLDEST:
+                while (! queue.offer(queuedEvent))
+                {
+                    if (queue.poll() != null)
+                    {
+                        droppedEvents.incrementAndGet();
+                        log.debug("Discarded an event waiting for topic listener " + listenerName);
+                    }
+                }
+                break;
+
+            case SPILL_TO_DISK:
+                synchronized (spillLock)
+                {
+                    /*
+                     * Once events have been spilled, new events follow them into the spill file so that the
+                     * listener receives the events in the order they arrived.
+                     */
+                    if ((spillWritten > spillRead) || (! queue.offer(queuedEvent)))
+                    {
+                        this.spillEvent(queuedEvent);
+                    }
+                }
+                break;
+
+            default:
+                try
+                {
+                    queue.put(queuedEvent);
+                }
+                catch (InterruptedException error)
+                {
+                    droppedEvents.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                }
+        }
+    }
+
+
+    /**
+     * Pass the events to the listener until the queue is closed and empty.
+     */
+    public void run()
+    {
+        while ((! closed) || (! this.isEmpty()))
+        {
+            try
+            {
+                /*
+                 * The events in memory arrived before any spilled events, so they are passed to the listener
+                 * first.  The worker only waits for new events once the spill file is empty too.
+                 */
+                QueuedEvent queuedEvent = queue.poll();
+
+                if (queuedEvent == null)
+                {
+                    queuedEvent = this.readSpilledEvent();
+                }
+
+                if (queuedEvent == null)
+                {
+                    queuedEvent = queue.poll(pollInterval, TimeUnit.MILLISECONDS);
+                }
+
+                if (queuedEvent != null)
+                {
+                    long lag = System.currentTimeMillis() - queuedEvent.receivedTime;
+
+                    if (lag > maximumLag)
+                    {
+                        maximumLag = lag;
+                    }
+
+                    deliveringSince = queuedEvent.receivedTime;
+
+                    if (queuedEvent.eventBean != null)
+                    {
+                        topicConnector.deliverEvent(queuedEvent.event, queuedEvent.eventBean, topicListener);
+                        deliveredEvents.incrementAndGet();
+                    }
+
+                    deliveringSince = 0;
+                }
+            }
+            catch (InterruptedException error)
+            {
+                long outstandingEvents = queue.size() + this.getSpilledEventCount();
+
+                droppedEvents.addAndGet(outstandingEvents);
+                log.debug("Topic listener worker for " + listenerName + " interrupted with "
+                                  + outstandingEvents + " events outstanding");
+                break;
+            }
+        }
+
+        synchronized (spillLock)
+        {
+            this.closeSpillFile();
+        }
+    }
+
+
+    /**
+     * Stop accepting events and wait for the events already queued to be passed to the listener.
+     *
+     * @param timeout maximum number of milliseconds to wait
+     */
+    void close(long   timeout)
+    {
+        closed = true;
+
+        try
+        {
+            worker.join(timeout);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if (worker.isAlive())
+        {
+            worker.interrupt();
+        }
+    }
+
+
+    /**
+     * Return the current statistics of the queue.
+     *
+     * @return statistics bean
+     */
+    OMRSTopicListenerStatistics getStatistics()
+    {
+        OMRSTopicListenerStatistics statistics = new OMRSTopicListenerStatistics();
+        long                        now        = System.currentTimeMillis();
+        long                        oldestTime = deliveringSince;
+
+        if (oldestTime == 0)
+        {
+            QueuedEvent nextEvent = queue.peek();
+
+            if (nextEvent != null)
+            {
+                oldestTime = nextEvent.receivedTime;
+            }
+        }
+
+        statistics.setListenerName(listenerName);
+        statistics.setOverflowPolicy(overflowPolicy);
+        statistics.setQueueCapacity(queueCapacity);
+        statistics.setQueuedEvents(queue.size() + this.getSpilledEventCount());
+        statistics.setSpilledEvents(spilledEvents.get());
+        statistics.setDeliveredEvents(deliveredEvents.get());
+        statistics.setDroppedEvents(droppedEvents.get());
+        statistics.setFilteredEvents(filteredEvents.get());
+        statistics.setCurrentLag((oldestTime == 0) ? 0 : Math.max(now - oldestTime, 0));
+        statistics.setMaximumLag(maximumLag);
+
+        return statistics;
+    }
+
+
+    /**
+     * Return whether there are any events waiting for the listener.
+     *
+     * @return boolean
+     */
+    private boolean isEmpty()
+    {
+        return queue.isEmpty() && (this.getSpilledEventCount() == 0);
+    }
+
+
+    /**
+     * Return the number of events in the spill file that have not been passed to the listener.
+     *
+     * @return count of events
+     */
+    private long getSpilledEventCount()
+    {
+        synchronized (spillLock)
+        {
+            return spillWritten - spillRead;
+        }
+    }
+
+
+    /**
+     * Write an event to the end of the spill file.  The caller must hold the spill lock.
+     *
+     * @param queuedEvent event to write
+     */
+    private void spillEvent(QueuedEvent   queuedEvent)
+    {
+        try
+        {
+            if (spillWriter == null)
+            {
+                spillFile = File.createTempFile(spillFilePrefix, spillFileSuffix, spillDirectory);
+                spillWriter = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile)));
+                spillReader = new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)));
+            }
+
+            byte[] event = queuedEvent.event.getBytes(StandardCharsets.UTF_8);
+
+            spillWriter.writeLong(queuedEvent.receivedTime);
+            spillWriter.writeInt(event.length);
+            spillWriter.write(event);
+            spillWriter.flush();
+
+            spillWritten++;
+            spilledEvents.incrementAndGet();
+        }
+        catch (IOException error)
+        {
+            droppedEvents.incrementAndGet();
+            log.error("Unable to spill an event for topic listener " + listenerName + " to " + spillFile, error);
+        }
+    }
+
+
+    /**
+     * Read the next event from the spill file.  The file is removed once all of its events have been read.
+     *
+     * @return event or null if there are no spilled events
+     */
+    private QueuedEvent readSpilledEvent()
+    {
+        synchronized (spillLock)
+        {
+            if (spillWritten == spillRead)
+            {
+                return null;
+            }
+
+            try
+            {
+                long   receivedTime = spillReader.readLong();
+                byte[] event        = new byte[spillReader.readInt()];
+
+                spillReader.readFully(event);
+                spillRead++;
+
+                String eventString = new String(event, StandardCharsets.UTF_8);
+
+                return new QueuedEvent(eventString, topicConnector.parseEvent(eventString), receivedTime);
+            }
+            catch (IOException error)
+            {
+                droppedEvents.addAndGet(spillWritten - spillRead);
+                log.error("Unable to read the events spilled for topic listener " + listenerName + " from " + spillFile, error);
+
+                spillRead = spillWritten;
+                return null;
+            }
+            finally
+            {
+                if (spillRead == spillWritten)
+                {
+                    this.closeSpillFile();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Close and remove the spill file.  The caller must hold the spill lock.
+     */
+    private void closeSpillFile()
+    {
+        if (spillWriter != null)
+        {
+            try
+            {
+                spillWriter.close();
+                spillReader.close();
+            }
+            catch (IOException error)
+            {
+                log.debug("Unable to close spill file " + spillFile + ": " + error.getMessage());
+            }
+
+            if (! spillFile.delete())
+            {
+                log.debug("Unable to delete spill file " + spillFile);
+            }
+
+            spillWriter = null;
+            spillReader = null;
+            spillFile = null;
+            spillWritten = 0;
+            spillRead = 0;
+        }
+    }
+
+
+    /**
+     * Remove the spill files left in a spill directory by a previous run of the server that stopped before its
+     * listeners had processed all of their spilled events.  The events in these files have been lost, since they
+     * are not read again.  The directory is only cleared the first time a spilling queue is created for it, before
+     * any of the queues in this server have written to it.
+     *
+     * @param spillDirectory directory for the spill files - null for the temporary directory
+     */
+    private static void removeLeftoverSpillFiles(File   spillDirectory)
+    {
+        File directory = (spillDirectory == null) ? new File(System.getProperty("java.io.tmpdir")) : spillDirectory;
+
+        synchronized (clearedSpillDirectories)
+        {
+            if (! clearedSpillDirectories.add(directory.getAbsoluteFile()))
+            {
+                return;
+            }
+
+            File[] leftoverFiles = directory.listFiles((dir, name) -> name.startsWith(spillFilePrefix) &&
+                                                                      name.endsWith(spillFileSuffix));
+
+            if (leftoverFiles != null)
+            {
+                for (File leftoverFile : leftoverFiles)
+                {
+                    if (leftoverFile.delete())
+                    {
+                        log.info("Removed spill file " + leftoverFile + " left by a previous run of the server");
+                    }
+                    else
+                    {
+                        log.debug("Unable to delete spill file " + leftoverFile);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * QueuedEvent is an event waiting for the listener.
+     */
+    private static class QueuedEvent
+    {
+        private final String        event;
+        private final OMRSEventV1   eventBean;
+        private final long          receivedTime;
+
+
+        /**
+         * Constructor
+         *
+         * @param event event as received from the event bus
+         * @param eventBean parsed event (null if it can not be parsed)
+         * @param receivedTime time the event was received in milliseconds
+         */
+        QueuedEvent(String        event,
+                    OMRSEventV1   eventBean,
+                    long          receivedTime)
+        {
+            this.event = event;
+            this.eventBean = eventBean;
+            this.receivedTime = receivedTime;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+/**
+ * OMRSTopicListenerStatistics describes the state of the queue of inbound events waiting for one of the
+ * OMRSTopicListeners registered with an OMRSTopicConnector.  The lag values show how far the listener is
+ * behind the event bus.
+ */
+public class OMRSTopicListenerStatistics
+{
+    private String                           listenerName     = null;
+    private OMRSTopicListenerOverflowPolicy  overflowPolicy   = null;
+    private int                              queueCapacity    = 0;
+    private long                             queuedEvents     = 0;
+    private long                             spilledEvents    = 0;
+    private long                             deliveredEvents  = 0;
+    private long                             droppedEvents    = 0;
+    private long                             filteredEvents   = 0;
+    private long                             currentLag       = 0;
+    private long                             maximumLag       = 0;
+
+
+    /**
+     * Default constructor
+     */
+    public OMRSTopicListenerStatistics()
+    {
+    }
+
+
+    /**
+     * Return the name of the listener.
+     *
+     * @return String name
+     */
+    public String getListenerName()
+    {
+        return listenerName;
+    }
+
+
+    /**
+     * Set up the name of the listener.
+     *
+     * @param listenerName String name
+     */
+    public void setListenerName(String listenerName)
+    {
+        this.listenerName = listenerName;
+    }
+
+
+    /**
+     * Return what happens to an event when the listener's queue is full.
+     *
+     * @return overflow policy enum
+     */
+    public OMRSTopicListenerOverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+
+    /**
+     * Set up what happens to an event when the listener's queue is full.
+     *
+     * @param overflowPolicy overflow policy enum
+     */
+    public void setOverflowPolicy(OMRSTopicListenerOverflowPolicy overflowPolicy)
+    {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+
+    /**
+     * Return the maximum number of events held in memory for the listener.
+     *
+     * @return int capacity
+     */
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+
+    /**
+     * Set up the maximum number of events held in memory for the listener.
+     *
+     * @param queueCapacity int capacity
+     */
+    public void setQueueCapacity(int queueCapacity)
+    {
+        this.queueCapacity = queueCapacity;
+    }
+
+
+    /**
+     * Return the number of events waiting for the listener, including those spilled to disk.
+     *
+     * @return count of events
+     */
+    public long getQueuedEvents()
+    {
+        return queuedEvents;
+    }
+
+
+    /**
+     * Set up the number of events waiting for the listener, including those spilled to disk.
+     *
+     * @param queuedEvents count of events
+     */
+    public void setQueuedEvents(long queuedEvents)
+    {
+        this.queuedEvents = queuedEvents;
+    }
+
+
+    /**
+     * Return the total number of events that have been spilled to disk for the listener.
+     *
+     * @return count of events
+     */
+    public long getSpilledEvents()
+    {
+        return spilledEvents;
+    }
+
+
+    /**
+     * Set up the total number of events that have been spilled to disk for the listener.
+     *
+     * @param spilledEvents count of events
+     */
+    public void setSpilledEvents(long spilledEvents)
+    {
+        this.spilledEvents = spilledEvents;
+    }
+
+
+    /**
+     * Return the number of events passed to the listener.
+     *
+     * @return count of events
+     */
+    public long getDeliveredEvents()
+    {
+        return deliveredEvents;
+    }
+
+
+    /**
+     * Set up the number of events passed to the listener.
+     *
+     * @param deliveredEvents count of events
+     */
+    public void setDeliveredEvents(long deliveredEvents)
+    {
+        this.deliveredEvents = deliveredEvents;
+    }
+
+
+    /**
+     * Return the number of events that were discarded without being passed to the listener.
+     *
+     * @return count of events
+     */
+    public long getDroppedEvents()
+    {
+        return droppedEvents;
+    }
+
+
+    /**
+     * Set up the number of events that were discarded without being passed to the listener.
+     *
+     * @param droppedEvents count of events
+     */
+    public void setDroppedEvents(long droppedEvents)
+    {
+        this.droppedEvents = droppedEvents;
+    }
+
+
+    /**
+     * Return the number of events that the listener's OMRSTopicEventFilter rejected before they were parsed.
+     *
+     * @return count of events
+     */
+    public long getFilteredEvents()
+    {
+        return filteredEvents;
+    }
+
+
+    /**
+     * Set up the number of events that the listener's OMRSTopicEventFilter rejected before they were parsed.
+     *
+     * @param filteredEvents count of events
+     */
+    public void setFilteredEvents(long filteredEvents)
+    {
+        this.filteredEvents = filteredEvents;
+    }
+
+
+    /**
+     * Return the number of milliseconds since the oldest event still waiting for the listener was received.
+     *
+     * @return lag in milliseconds - zero if the listener is idle
+     */
+    public long getCurrentLag()
+    {
+        return currentLag;
+    }
+
+
+    /**
+     * Set up the number of milliseconds since the oldest event still waiting for the listener was received.
+     *
+     * @param currentLag lag in milliseconds
+     */
+    public void setCurrentLag(long currentLag)
+    {
+        this.currentLag = currentLag;
+    }
+
+
+    /**
+     * Return the largest number of milliseconds between an event being received and it being passed to
+     * the listener.
+     *
+     * @return lag in milliseconds
+     */
+    public long getMaximumLag()
+    {
+        return maximumLag;
+    }
+
+
+    /**
+     * Set up the largest number of milliseconds between an event being received and it being passed to
+     * the listener.
+     *
+     * @param maximumLag lag in milliseconds
+     */
+    public void setMaximumLag(long maximumLag)
+    {
+        this.maximumLag = maximumLag;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSTopicListenerStatistics{" +
+                "listenerName='" + listenerName + '\'' +
+                ", overflowPolicy=" + overflowPolicy +
+                ", queueCapacity=" + queueCapacity +
+                ", queuedEvents=" + queuedEvents +
+                ", spilledEvents=" + spilledEvents +
+                ", deliveredEvents=" + deliveredEvents +
+                ", droppedEvents=" + droppedEvents +
+                ", filteredEvents=" + filteredEvents +
+                ", currentLag=" + currentLag +
+                ", maximumLag=" + maximumLag +
+                '}';
+    }
+}
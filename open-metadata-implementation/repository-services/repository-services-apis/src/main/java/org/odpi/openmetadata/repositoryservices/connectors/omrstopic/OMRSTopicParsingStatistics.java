@@ -0,0 +1,202 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+/**
+ * OMRSTopicParsingStatistics describes the work done by an OMRSTopicConnector to parse inbound events.
+ * Events that none of the listeners' OMRSTopicEventFilters want are skipped after a partial read and are
+ * not parsed.  The estimated saved time is the average time of a full parse multiplied by the number of
+ * skipped events, less the time taken for the partial reads.  Times are in nanoseconds.
+ */
+public class OMRSTopicParsingStatistics
+{
+    private long  receivedEvents     = 0;
+    private long  parsedEvents       = 0;
+    private long  skippedEvents      = 0;
+    private long  skippedBytes       = 0;
+    private long  filterTime         = 0;
+    private long  parseTime          = 0;
+    private long  estimatedSavedTime = 0;
+
+
+    /**
+     * Default constructor
+     */
+    public OMRSTopicParsingStatistics()
+    {
+    }
+
+
+    /**
+     * Return the number of events received from the event bus.
+     *
+     * @return count of events
+     */
+    public long getReceivedEvents()
+    {
+        return receivedEvents;
+    }
+
+
+    /**
+     * Set up the number of events received from the event bus.
+     *
+     * @param receivedEvents count of events
+     */
+    public void setReceivedEvents(long receivedEvents)
+    {
+        this.receivedEvents = receivedEvents;
+    }
+
+
+    /**
+     * Return the number of events that were fully parsed.
+     *
+     * @return count of events
+     */
+    public long getParsedEvents()
+    {
+        return parsedEvents;
+    }
+
+
+    /**
+     * Set up the number of events that were fully parsed.
+     *
+     * @param parsedEvents count of events
+     */
+    public void setParsedEvents(long parsedEvents)
+    {
+        this.parsedEvents = parsedEvents;
+    }
+
+
+    /**
+     * Return the number of events that were skipped without a full parse.
+     *
+     * @return count of events
+     */
+    public long getSkippedEvents()
+    {
+        return skippedEvents;
+    }
+
+
+    /**
+     * Set up the number of events that were skipped without a full parse.
+     *
+     * @param skippedEvents count of events
+     */
+    public void setSkippedEvents(long skippedEvents)
+    {
+        this.skippedEvents = skippedEvents;
+    }
+
+
+    /**
+     * Return the total length of the events that were skipped without a full parse.
+     *
+     * @return number of characters
+     */
+    public long getSkippedBytes()
+    {
+        return skippedBytes;
+    }
+
+
+    /**
+     * Set up the total length of the events that were skipped without a full parse.
+     *
+     * @param skippedBytes number of characters
+     */
+    public void setSkippedBytes(long skippedBytes)
+    {
+        this.skippedBytes = skippedBytes;
+    }
+
+
+    /**
+     * Return the time spent reading the values for the event filters.
+     *
+     * @return nanoseconds
+     */
+    public long getFilterTime()
+    {
+        return filterTime;
+    }
+
+
+    /**
+     * Set up the time spent reading the values for the event filters.
+     *
+     * @param filterTime nanoseconds
+     */
+    public void setFilterTime(long filterTime)
+    {
+        this.filterTime = filterTime;
+    }
+
+
+    /**
+     * Return the time spent fully parsing events.
+     *
+     * @return nanoseconds
+     */
+    public long getParseTime()
+    {
+        return parseTime;
+    }
+
+
+    /**
+     * Set up the time spent fully parsing events.
+     *
+     * @param parseTime nanoseconds
+     */
+    public void setParseTime(long parseTime)
+    {
+        this.parseTime = parseTime;
+    }
+
+
+    /**
+     * Return the estimate of the parsing time saved by skipping events.
+     *
+     * @return nanoseconds
+     */
+    public long getEstimatedSavedTime()
+    {
+        return estimatedSavedTime;
+    }
+
+
+    /**
+     * Set up the estimate of the parsing time saved by skipping events.
+     *
+     * @param estimatedSavedTime nanoseconds
+     */
+    public void setEstimatedSavedTime(long estimatedSavedTime)
+    {
+        this.estimatedSavedTime = estimatedSavedTime;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSTopicParsingStatistics{" +
+                "receivedEvents=" + receivedEvents +
+                ", parsedEvents=" + parsedEvents +
+                ", skippedEvents=" + skippedEvents +
+                ", skippedBytes=" + skippedBytes +
+                ", filterTime=" + filterTime +
+                ", parseTime=" + parseTime +
+                ", estimatedSavedTime=" + estimatedSavedTime +
+                '}';
+    }
+}
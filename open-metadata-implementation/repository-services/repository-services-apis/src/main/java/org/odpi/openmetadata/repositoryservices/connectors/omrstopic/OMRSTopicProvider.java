@@ -7,9 +7,31 @@ import org.odpi.openmetadata.frameworks.connectors.ConnectorProviderBase;
 
 /**
  * OMRSTopicProvider provides implementation of the connector provider for the OMRSTopicConnector.
+ *
+ * The queues of inbound events for the OMRSTopicListeners can be configured through the connection's
+ * additional properties: listenerQueueSize is the maximum number of events held in memory for each listener,
+ * listenerOverflowPolicy is BLOCK, DROP_OLDEST or SPILL_TO_DISK (see OMRSTopicListenerOverflowPolicy) and
+ * listenerSpillDirectory is the directory for the spill files (the default is the temporary directory).
+ *
+ * Outbound instance events from the local repository can be gathered into batch events: instanceBatchSize is
+ * the maximum number of instances in a batch (the default of 1 turns batching off) and instanceBatchLingerTime
+ * is the number of milliseconds an event waits for its batch to fill.  Batching replaces the new, updated,
+ * classified, deleted (etc) events of the batched instances with a single BatchInstancesEvent, so the OMASs
+ * of the receiving servers are not told which change was made to each instance.  Only turn batching on for
+ * cohorts whose members do not need these per-change events.
  */
 public class OMRSTopicProvider extends ConnectorProviderBase
 {
+    public static final String  listenerQueueSizePropertyName      = "listenerQueueSize";
+    public static final String  listenerOverflowPolicyPropertyName = "listenerOverflowPolicy";
+    public static final String  listenerSpillDirectoryPropertyName = "listenerSpillDirectory";
+    public static final String  instanceBatchSizePropertyName      = "instanceBatchSize";
+    public static final String  instanceBatchLingerTimePropertyName = "instanceBatchLingerTime";
+
+    static final int            defaultListenerQueueSize           = 1000;
+    static final int            defaultInstanceBatchSize           = 1;
+    static final long           defaultInstanceBatchLingerTime     = 100;
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
@@ -5,6 +5,8 @@ package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
 
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * OpenMetadataTopic defines the generic interface to an event bus topic for open metadata events.
  * It is implemented by the subclasses of OpenMetadataTopicConnector that connect to real world event
@@ -29,4 +31,21 @@ public interface OpenMetadataTopic
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
     void sendEvent(String event) throws ConnectorCheckedException;
+
+
+    /**
+     * Sends the supplied event to the topic.  The event is the UTF-8 encoded JSON payload.  The default
+     * implementation decodes the payload and calls sendEvent(String).  Event bus connectors that are able
+     * to send the bytes directly should override this method.
+     *
+     * @param event  bytes containing the serialized event.
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    default void sendEvent(byte[] event) throws ConnectorCheckedException
+    {
+        if (event != null)
+        {
+            this.sendEvent(new String(event, StandardCharsets.UTF_8));
+        }
+    }
 }
@@ -17,6 +17,9 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorExc
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -25,7 +28,10 @@ import java.util.List;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should either return them from the checkForEvents() method, which is
+ *         called periodically by the listener thread, or pass them to the protected deliverEvent() method
+ *         as they arrive.  Events passed to deliverEvent() wake the listener thread immediately so they
+ *         are distributed without waiting for the next poll.
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -47,6 +53,7 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private volatile boolean keepRunning = false;
 
     private List<OpenMetadataTopicListener> topicListeners     = new ArrayList<>();
+    private BlockingQueue<String>           deliveredEvents    = new LinkedBlockingQueue<>();
     private String                          listenerThreadName = defaultThreadName;
     private String                          topicName          = defaultTopicName;
     private int                             sleepTime          = 100;
@@ -111,7 +118,17 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                /*
+                 * Wait for events to be delivered.  The wait ends as soon as an event arrives, or after
+                 * sleepTime so that the connector can be checked for events again.
+                 */
+                String deliveredEvent = deliveredEvents.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+                while (deliveredEvent != null)
+                {
+                    this.distributeEvent(deliveredEvent);
+                    deliveredEvent = deliveredEvents.poll();
+                }
             }
             catch (InterruptedException   wakeUp)
             {
@@ -131,11 +148,14 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
 
     /**
-     * Pass an event that has been received on the topic to each of the registered listeners.
+     * Pass an event that has been received on the topic to each of the registered listeners.  This is called
+     * by the listener thread for the events returned by checkForEvents() or passed to deliverEvent().
+     * Connectors that receive events on their own threads may call it directly.  It returns once all of the
+     * listeners have processed the event.
      *
      * @param event OMRSEvent to distribute
      */
-    private void distributeEvent(String event)
+    protected void distributeEvent(String event)
     {
         for (OpenMetadataTopicListener  topicListener : topicListeners)
         {
@@ -160,6 +180,21 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Pass an event that has been received on the topic to the listener thread.  It is distributed to the
+     * registered listeners as soon as the listener thread is free.
+     *
+     * @param event OMRSEvent to distribute
+     */
+    protected void deliverEvent(String event)
+    {
+        if (event != null)
+        {
+            deliveredEvents.add(event);
+        }
+    }
+
+
     /**
      * Look to see if there is one of more new events to process.
      *
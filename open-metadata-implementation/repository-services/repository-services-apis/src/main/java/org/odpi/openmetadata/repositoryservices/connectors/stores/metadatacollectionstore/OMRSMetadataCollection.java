@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Date;
 
@@ -202,6 +203,34 @@ public abstract class OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate that the list of unique identifiers (guids) passed to a batch retrieval is not null.
+     *
+     * @param guids list of unique identifiers
+     * @param methodName name of method called
+     * @throws InvalidParameterException the list is null
+     */
+    protected void validateGUIDList(List<String>  guids,
+                                    String        methodName) throws InvalidParameterException
+    {
+        if (guids == null)
+        {
+            final String  guidsParameterName = "guids";
+
+            OMRSErrorCode errorCode    = OMRSErrorCode.NO_GUID;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(guidsParameterName, methodName, repositoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+    }
+
+
     /* ======================================================================
      * Group 1: Confirm the identity of the metadata repository being called.
      */
@@ -769,6 +798,57 @@ public abstract class OMRSMetadataCollection
                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  The entities
+     * that are retrieved are returned in the order they were requested.  Each entity that can not be retrieved
+     * (for example because it is not known, or is only a proxy in the metadata collection) is reported as a
+     * failure in the returned batch rather than causing the whole request to fail.
+     * <p>
+     *     This default implementation retrieves each entity in turn.  Repositories that can retrieve many
+     *     entities more efficiently (or are called remotely) should override it.
+     * </p>
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return InstanceBatch containing the entities and the failures.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getEntityDetails(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String  methodName = "getEntityDetails";
+
+        this.validateGUIDList(guids, methodName);
+
+        List<EntityDetail>         entities = new ArrayList<>();
+        List<InstanceBatchFailure> failures = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            try
+            {
+                entities.add(this.getEntityDetail(userId, guid));
+            }
+            catch (InvalidParameterException | EntityNotKnownException | EntityProxyOnlyException error)
+            {
+                failures.add(new InstanceBatchFailure(guid, error));
+            }
+        }
+
+        InstanceBatch batch = new InstanceBatch();
+
+        batch.setEntities(entities);
+        batch.setFailures(failures);
+
+        return batch;
+    }
+
+
 
     /**
      * Return the relationships for a specific entity.
@@ -1040,6 +1120,57 @@ public abstract class OMRSMetadataCollection
                                                                             UserNotAuthorizedException;
 
 
+    /**
+     * Return the current version of a list of relationships in a single request.  The relationships that are
+     * retrieved are returned in the order they were requested.  Each relationship that can not be retrieved
+     * is reported as a failure in the returned batch rather than causing the whole request to fail.
+     * <p>
+     *     This default implementation retrieves each relationship in turn.  Repositories that can retrieve many
+     *     relationships more efficiently (or are called remotely) should override it.
+     * </p>
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return InstanceBatch containing the relationships and the failures.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getRelationships(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        this.validateGUIDList(guids, methodName);
+
+        List<Relationship>         relationships = new ArrayList<>();
+        List<InstanceBatchFailure> failures      = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            try
+            {
+                relationships.add(this.getRelationship(userId, guid));
+            }
+            catch (InvalidParameterException | RelationshipNotKnownException error)
+            {
+                failures.add(new InstanceBatchFailure(guid, error));
+            }
+        }
+
+        InstanceBatch batch = new InstanceBatch();
+
+        batch.setRelationships(relationships);
+        batch.setFailures(failures);
+
+        return batch;
+    }
+
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be received as a series of pages.
@@ -1282,6 +1282,34 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for a retrieve of a list of instances.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the instances.
+     * @param methodName name of calling method.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    protected  void getInstanceListParameterValidation(String         userId,
+                                                       List<String>   guids,
+                                                       String         methodName) throws InvalidParameterException,
+                                                                                         RepositoryErrorException,
+                                                                                         UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        this.validateRepositoryConnector(methodName);
+        parentConnector.validateRepositoryIsActive(methodName);
+
+        repositoryValidator.validateUserId(repositoryName, userId, methodName);
+        this.validateGUIDList(guids, methodName);
+    }
+
+
     /**
      * Validate the parameters for a retrieve of a historical version of an instance.
      *
@@ -1508,6 +1536,37 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  Entities that can not be
+     * retrieved are reported as failures in the returned batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return InstanceBatch containing the entities and the failures.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getEntityDetails(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String  methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstanceListParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        return super.getEntityDetails(userId, guids);
+    }
+
+
     /**
      * Validate the parameters for getRelationshipsForEntity.
      *
@@ -2333,6 +2392,37 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the current version of a list of relationships.  Relationships that can not be retrieved are
+     * reported as failures in the returned batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return InstanceBatch containing the relationships and the failures.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getRelationships(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstanceListParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        return super.getRelationships(userId, guids);
+    }
+
+
     /**
      * Validate the parameters passed to findRelationshipsByProperty.
      *
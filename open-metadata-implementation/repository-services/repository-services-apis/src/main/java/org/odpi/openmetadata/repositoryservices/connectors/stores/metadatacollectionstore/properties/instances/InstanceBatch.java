@@ -0,0 +1,217 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * InstanceBatch is the result of retrieving a list of instances by their unique identifiers (guids) in a single
+ * request.  It holds the instances that were retrieved (in the order they were requested) and a failure for each
+ * instance that could not be retrieved.  A batch for entities has no relationships and a batch for relationships
+ * has no entities.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class InstanceBatch extends InstanceElementHeader
+{
+    private List<EntityDetail>         entities      = null;
+    private List<Relationship>         relationships = null;
+    private List<InstanceBatchFailure> failures      = null;
+
+
+    /**
+     * Default constructor
+     */
+    public InstanceBatch()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor.
+     *
+     * @param template batch to copy; null to create an empty batch
+     */
+    public InstanceBatch(InstanceBatch   template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.setEntities(template.getEntities());
+            this.setRelationships(template.getRelationships());
+            this.setFailures(template.getFailures());
+        }
+    }
+
+
+    /**
+     * Return the list of entities that were retrieved.
+     *
+     * @return list of entities - null if none
+     */
+    public List<EntityDetail> getEntities()
+    {
+        if (entities == null)
+        {
+            return null;
+        }
+        else
+        {
+            return new ArrayList<>(entities);
+        }
+    }
+
+
+    /**
+     * Set up the list of entities that were retrieved.
+     *
+     * @param entities list of entities
+     */
+    public void setEntities(List<EntityDetail> entities)
+    {
+        if (entities == null)
+        {
+            this.entities = null;
+        }
+        else
+        {
+            this.entities = new ArrayList<>(entities);
+        }
+    }
+
+
+    /**
+     * Return the list of relationships that were retrieved.
+     *
+     * @return list of relationships - null if none
+     */
+    public List<Relationship> getRelationships()
+    {
+        if (relationships == null)
+        {
+            return null;
+        }
+        else
+        {
+            return new ArrayList<>(relationships);
+        }
+    }
+
+
+    /**
+     * Set up the list of relationships that were retrieved.
+     *
+     * @param relationships list of relationships
+     */
+    public void setRelationships(List<Relationship> relationships)
+    {
+        if (relationships == null)
+        {
+            this.relationships = null;
+        }
+        else
+        {
+            this.relationships = new ArrayList<>(relationships);
+        }
+    }
+
+
+    /**
+     * Return the details of the instances that could not be retrieved.
+     *
+     * @return list of failures - null if all of the instances were retrieved
+     */
+    public List<InstanceBatchFailure> getFailures()
+    {
+        if (failures == null)
+        {
+            return null;
+        }
+        else
+        {
+            return new ArrayList<>(failures);
+        }
+    }
+
+
+    /**
+     * Set up the details of the instances that could not be retrieved.
+     *
+     * @param failures list of failures
+     */
+    public void setFailures(List<InstanceBatchFailure> failures)
+    {
+        if ((failures == null) || (failures.isEmpty()))
+        {
+            this.failures = null;
+        }
+        else
+        {
+            this.failures = new ArrayList<>(failures);
+        }
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return JSON style description of variables.
+     */
+    @Override
+    public String toString()
+    {
+        return "InstanceBatch{" +
+                "entities=" + entities +
+                ", relationships=" + relationships +
+                ", failures=" + failures +
+                '}';
+    }
+
+
+    /**
+     * Validate that an object is equal depending on their stored values.
+     *
+     * @param objectToCompare object
+     * @return boolean result
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof InstanceBatch))
+        {
+            return false;
+        }
+        InstanceBatch that = (InstanceBatch) objectToCompare;
+        return Objects.equals(entities, that.entities) &&
+                Objects.equals(relationships, that.relationships) &&
+                Objects.equals(failures, that.failures);
+    }
+
+
+    /**
+     * Return a hash code based on the values of this object.
+     *
+     * @return in hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(entities, relationships, failures);
+    }
+}
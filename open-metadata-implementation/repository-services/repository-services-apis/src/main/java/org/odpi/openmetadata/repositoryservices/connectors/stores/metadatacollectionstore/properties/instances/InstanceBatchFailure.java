@@ -0,0 +1,222 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSCheckedExceptionBase;
+
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * InstanceBatchFailure describes why one of the instances requested in a batch retrieval could not be returned.
+ * It records the unique identifier (guid) of the instance along with the details of the exception that would
+ * have been returned if the instance had been requested on its own.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class InstanceBatchFailure extends InstanceElementHeader
+{
+    private String guid                  = null;
+    private int    relatedHTTPCode       = 200;
+    private String exceptionClassName    = null;
+    private String exceptionErrorMessage = null;
+
+
+    /**
+     * Default constructor
+     */
+    public InstanceBatchFailure()
+    {
+        super();
+    }
+
+
+    /**
+     * Typical constructor records the exception returned for an instance.
+     *
+     * @param guid unique identifier of the instance
+     * @param error exception returned when the instance was retrieved
+     */
+    public InstanceBatchFailure(String                     guid,
+                                OMRSCheckedExceptionBase   error)
+    {
+        super();
+
+        this.guid = guid;
+
+        if (error != null)
+        {
+            this.relatedHTTPCode = error.getReportedHTTPCode();
+            this.exceptionClassName = error.getClass().getName();
+            this.exceptionErrorMessage = error.getErrorMessage();
+        }
+    }
+
+
+    /**
+     * Copy/clone constructor.
+     *
+     * @param template object to copy
+     */
+    public InstanceBatchFailure(InstanceBatchFailure   template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.guid = template.getGUID();
+            this.relatedHTTPCode = template.getRelatedHTTPCode();
+            this.exceptionClassName = template.getExceptionClassName();
+            this.exceptionErrorMessage = template.getExceptionErrorMessage();
+        }
+    }
+
+
+    /**
+     * Return the unique identifier of the instance that could not be retrieved.
+     *
+     * @return String guid
+     */
+    public String getGUID()
+    {
+        return guid;
+    }
+
+
+    /**
+     * Set up the unique identifier of the instance that could not be retrieved.
+     *
+     * @param guid String guid
+     */
+    public void setGUID(String guid)
+    {
+        this.guid = guid;
+    }
+
+
+    /**
+     * Return the HTTP code associated with the exception.
+     *
+     * @return int HTTP code
+     */
+    public int getRelatedHTTPCode()
+    {
+        return relatedHTTPCode;
+    }
+
+
+    /**
+     * Set up the HTTP code associated with the exception.
+     *
+     * @param relatedHTTPCode int HTTP code
+     */
+    public void setRelatedHTTPCode(int relatedHTTPCode)
+    {
+        this.relatedHTTPCode = relatedHTTPCode;
+    }
+
+
+    /**
+     * Return the name of the exception class (for example
+     * org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException).
+     *
+     * @return String class name
+     */
+    public String getExceptionClassName()
+    {
+        return exceptionClassName;
+    }
+
+
+    /**
+     * Set up the name of the exception class.
+     *
+     * @param exceptionClassName String class name
+     */
+    public void setExceptionClassName(String exceptionClassName)
+    {
+        this.exceptionClassName = exceptionClassName;
+    }
+
+
+    /**
+     * Return the error message from the exception.
+     *
+     * @return String error message
+     */
+    public String getExceptionErrorMessage()
+    {
+        return exceptionErrorMessage;
+    }
+
+
+    /**
+     * Set up the error message from the exception.
+     *
+     * @param exceptionErrorMessage String error message
+     */
+    public void setExceptionErrorMessage(String exceptionErrorMessage)
+    {
+        this.exceptionErrorMessage = exceptionErrorMessage;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return JSON style description of variables.
+     */
+    @Override
+    public String toString()
+    {
+        return "InstanceBatchFailure{" +
+                "guid='" + guid + '\'' +
+                ", relatedHTTPCode=" + relatedHTTPCode +
+                ", exceptionClassName='" + exceptionClassName + '\'' +
+                ", exceptionErrorMessage='" + exceptionErrorMessage + '\'' +
+                '}';
+    }
+
+
+    /**
+     * Validate that an object is equal depending on their stored values.
+     *
+     * @param objectToCompare object
+     * @return boolean result
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof InstanceBatchFailure))
+        {
+            return false;
+        }
+        InstanceBatchFailure that = (InstanceBatchFailure) objectToCompare;
+        return relatedHTTPCode == that.relatedHTTPCode &&
+                Objects.equals(guid, that.guid) &&
+                Objects.equals(exceptionClassName, that.exceptionClassName) &&
+                Objects.equals(exceptionErrorMessage, that.exceptionErrorMessage);
+    }
+
+
+    /**
+     * Return a hash code based on the values of this object.
+     *
+     * @return in hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(guid, relatedHTTPCode, exceptionClassName, exceptionErrorMessage);
+    }
+}
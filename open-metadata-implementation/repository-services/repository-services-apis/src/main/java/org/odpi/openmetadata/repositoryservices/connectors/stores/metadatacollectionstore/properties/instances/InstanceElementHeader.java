@@ -23,6 +23,8 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 @JsonSubTypes({
         @JsonSubTypes.Type(value = ClassificationEntityExtension.class, name = "ClassificationEntityExtension"),
         @JsonSubTypes.Type(value = InstanceAuditHeader.class, name = "InstanceAuditHeader"),
+        @JsonSubTypes.Type(value = InstanceBatch.class, name = "InstanceBatch"),
+        @JsonSubTypes.Type(value = InstanceBatchFailure.class, name = "InstanceBatchFailure"),
         @JsonSubTypes.Type(value = InstanceGraph.class, name = "InstanceGraph"),
         @JsonSubTypes.Type(value = InstanceType.class, name = "InstanceType"),
         @JsonSubTypes.Type(value = InstancePropertyValue.class, name = "InstancePropertyValue")
@@ -0,0 +1,364 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.*;
+
+/**
+ * InstanceRequestCache remembers the entities, relationships and type identifiers retrieved from a metadata
+ * collection while a single request is processed.  Access services that walk from one entity to its neighbours
+ * often reach the same entities many times, for example the table and schema of every column returned by a
+ * search.  Retrieving these through the cache means each one is only requested from the metadata collection once.
+ * <p>
+ *     The cache also resolves the entities at the other end of a set of relationships with a single
+ *     getEntityDetails() batch request rather than one getEntityDetail() request per relationship.
+ * </p>
+ * <p>
+ *     A cache is created for a single request from a single user and discarded when the request completes, so
+ *     it never returns instances that another user retrieved, or instances from an earlier request.  It is not
+ *     thread-safe.
+ * </p>
+ */
+public class InstanceRequestCache
+{
+    private final OMRSMetadataCollection           metadataCollection;
+    private final String                           userId;
+    private final List<InstanceStatus>             limitResultsByStatus;
+    private final SequencingOrder                  sequencingOrder;
+
+    private final Map<String, EntityDetail>        entities      = new HashMap<>();
+    private final Map<String, List<Relationship>>  relationships = new HashMap<>();
+    private final Map<String, String>              typeDefGUIDs  = new HashMap<>();
+
+
+    /**
+     * Constructor for a new, empty cache that retrieves active relationships.
+     *
+     * @param metadataCollection metadata collection that the instances are retrieved from
+     * @param userId unique identifier for requesting user
+     */
+    public InstanceRequestCache(OMRSMetadataCollection   metadataCollection,
+                                String                   userId)
+    {
+        this(metadataCollection, userId, Collections.singletonList(InstanceStatus.ACTIVE), SequencingOrder.ANY);
+    }
+
+
+    /**
+     * Constructor for a new, empty cache that passes the supplied status and sequencing order on each request
+     * for relationships.
+     *
+     * @param metadataCollection metadata collection that the instances are retrieved from
+     * @param userId unique identifier for requesting user
+     * @param limitResultsByStatus statuses of the relationships to retrieve (null for all statuses)
+     * @param sequencingOrder order that the relationships are returned in
+     */
+    public InstanceRequestCache(OMRSMetadataCollection   metadataCollection,
+                                String                   userId,
+                                List<InstanceStatus>     limitResultsByStatus,
+                                SequencingOrder          sequencingOrder)
+    {
+        this.metadataCollection = metadataCollection;
+        this.userId = userId;
+        this.limitResultsByStatus = limitResultsByStatus;
+        this.sequencingOrder = sequencingOrder;
+    }
+
+
+    /**
+     * Return the metadata collection that the instances are retrieved from.
+     *
+     * @return metadata collection
+     */
+    public OMRSMetadataCollection getMetadataCollection()
+    {
+        return metadataCollection;
+    }
+
+
+    /**
+     * Return the user that the instances are retrieved for.
+     *
+     * @return unique identifier for requesting user
+     */
+    public String getUserId()
+    {
+        return userId;
+    }
+
+
+    /**
+     * Return the unique identifier of the named TypeDef.
+     *
+     * @param typeDefName unique name of the TypeDef
+     * @return unique identifier of the TypeDef or null if the repository returns no TypeDef
+     * @throws InvalidParameterException the name is null
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository
+     * @throws TypeDefNotKnownException the requested TypeDef is not known in the metadata collection
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    public String getTypeDefGUID(String   typeDefName) throws InvalidParameterException,
+                                                              RepositoryErrorException,
+                                                              TypeDefNotKnownException,
+                                                              UserNotAuthorizedException
+    {
+        String typeDefGUID = typeDefGUIDs.get(typeDefName);
+
+        if (typeDefGUID == null)
+        {
+            TypeDef typeDef = metadataCollection.getTypeDefByName(userId, typeDefName);
+
+            if (typeDef != null)
+            {
+                typeDefGUID = typeDef.getGUID();
+                typeDefGUIDs.put(typeDefName, typeDefGUID);
+            }
+        }
+
+        return typeDefGUID;
+    }
+
+
+    /**
+     * Return the requested entity, retrieving it from the metadata collection the first time it is requested.
+     *
+     * @param guid unique identifier of the entity
+     * @return entity detail
+     * @throws InvalidParameterException the guid is null
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection
+     * @throws EntityProxyOnlyException the requested entity instance is only a proxy in the metadata collection
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    public EntityDetail getEntityDetail(String   guid) throws InvalidParameterException,
+                                                              RepositoryErrorException,
+                                                              EntityNotKnownException,
+                                                              EntityProxyOnlyException,
+                                                              UserNotAuthorizedException
+    {
+        EntityDetail entity = entities.get(guid);
+
+        if (entity == null)
+        {
+            entity = metadataCollection.getEntityDetail(userId, guid);
+
+            if (entity != null)
+            {
+                entities.put(guid, entity);
+            }
+        }
+
+        return entity;
+    }
+
+
+    /**
+     * Retrieve any of the requested entities that are not already cached with a single batch request.
+     * Entities that can not be retrieved are not cached, so a later call to getEntityDetail() for one of them
+     * requests it again and reports the error.
+     *
+     * @param guids unique identifiers of the entities
+     * @throws InvalidParameterException the batch request is not valid
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    public void prefetchEntities(Collection<String>   guids) throws InvalidParameterException,
+                                                                    RepositoryErrorException,
+                                                                    UserNotAuthorizedException
+    {
+        if (guids == null)
+        {
+            return;
+        }
+
+        Set<String> missingGUIDs = new LinkedHashSet<>();
+
+        for (String guid : guids)
+        {
+            if ((guid != null) && (! entities.containsKey(guid)))
+            {
+                missingGUIDs.add(guid);
+            }
+        }
+
+        if (missingGUIDs.size() > 1)
+        {
+            InstanceBatch batch = metadataCollection.getEntityDetails(userId, new ArrayList<>(missingGUIDs));
+
+            if ((batch != null) && (batch.getEntities() != null))
+            {
+                for (EntityDetail entity : batch.getEntities())
+                {
+                    if ((entity != null) && (entity.getGUID() != null))
+                    {
+                        entities.put(entity.getGUID(), entity);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the relationships of the requested type that are connected to the entity, retrieving them
+     * from the metadata collection the first time they are requested.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID unique identifier of the relationship type (null for all types)
+     * @return unmodifiable list of relationships (empty if there are none)
+     * @throws InvalidParameterException a parameter is invalid or null
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection
+     * @throws PropertyErrorException the sequencing property is not valid for the attached classifications
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly
+     * @throws FunctionNotSupportedException the repository does not support the request
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    public List<Relationship> getRelationshipsForEntity(String   entityGUID,
+                                                        String   relationshipTypeGUID) throws InvalidParameterException,
+                                                                                              TypeErrorException,
+                                                                                              RepositoryErrorException,
+                                                                                              EntityNotKnownException,
+                                                                                              PropertyErrorException,
+                                                                                              PagingErrorException,
+                                                                                              FunctionNotSupportedException,
+                                                                                              UserNotAuthorizedException
+    {
+        String             relationshipsKey       = entityGUID + ":" + relationshipTypeGUID;
+        List<Relationship> relationshipsForEntity = relationships.get(relationshipsKey);
+
+        if (relationshipsForEntity == null)
+        {
+            List<Relationship> results = metadataCollection.getRelationshipsForEntity(userId,
+                                                                                      entityGUID,
+                                                                                      relationshipTypeGUID,
+                                                                                      0,
+                                                                                      limitResultsByStatus,
+                                                                                      null,
+                                                                                      null,
+                                                                                      sequencingOrder,
+                                                                                      0);
+
+            if (results == null)
+            {
+                relationshipsForEntity = Collections.emptyList();
+            }
+            else
+            {
+                relationshipsForEntity = Collections.unmodifiableList(new ArrayList<>(results));
+            }
+
+            relationships.put(relationshipsKey, relationshipsForEntity);
+        }
+
+        return relationshipsForEntity;
+    }
+
+
+    /**
+     * Return the entity at the other end of a relationship.
+     *
+     * @param entityGUID unique identifier of the entity at the known end of the relationship
+     * @param relationship relationship
+     * @return entity detail
+     * @throws InvalidParameterException the relationship does not identify the other end
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository
+     * @throws EntityNotKnownException the entity instance is not known in the metadata collection
+     * @throws EntityProxyOnlyException the entity instance is only a proxy in the metadata collection
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    public EntityDetail getOtherEnd(String         entityGUID,
+                                    Relationship   relationship) throws InvalidParameterException,
+                                                                        RepositoryErrorException,
+                                                                        EntityNotKnownException,
+                                                                        EntityProxyOnlyException,
+                                                                        UserNotAuthorizedException
+    {
+        return this.getEntityDetail(getOtherEndGUID(entityGUID, relationship));
+    }
+
+
+    /**
+     * Return the entities at the other end of the relationships of the requested type that are
+     * connected to the entity.  The entities that are not already cached are retrieved with a single batch
+     * request.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID unique identifier of the relationship type (null for all types)
+     * @return list of entities in the same order as the relationships (empty if there are none)
+     * @throws InvalidParameterException a parameter is invalid or null
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository
+     * @throws EntityNotKnownException one of the entity instances is not known in the metadata collection
+     * @throws EntityProxyOnlyException one of the entity instances is only a proxy in the metadata collection
+     * @throws PropertyErrorException the sequencing property is not valid for the attached classifications
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly
+     * @throws FunctionNotSupportedException the repository does not support the request
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation
+     */
+    public List<EntityDetail> getRelatedEntities(String   entityGUID,
+                                                 String   relationshipTypeGUID) throws InvalidParameterException,
+                                                                                       TypeErrorException,
+                                                                                       RepositoryErrorException,
+                                                                                       EntityNotKnownException,
+                                                                                       EntityProxyOnlyException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        List<Relationship> relationshipsForEntity = this.getRelationshipsForEntity(entityGUID, relationshipTypeGUID);
+
+        if (relationshipsForEntity.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+
+        List<String> otherEndGUIDs = new ArrayList<>(relationshipsForEntity.size());
+
+        for (Relationship relationship : relationshipsForEntity)
+        {
+            otherEndGUIDs.add(getOtherEndGUID(entityGUID, relationship));
+        }
+
+        this.prefetchEntities(otherEndGUIDs);
+
+        List<EntityDetail> relatedEntities = new ArrayList<>(otherEndGUIDs.size());
+
+        for (String otherEndGUID : otherEndGUIDs)
+        {
+            relatedEntities.add(this.getEntityDetail(otherEndGUID));
+        }
+
+        return relatedEntities;
+    }
+
+
+    /**
+     * Return the unique identifier of the entity at the other end of a relationship.
+     *
+     * @param entityGUID unique identifier of the entity at the known end of the relationship
+     * @param relationship relationship
+     * @return unique identifier of the other entity
+     */
+    private static String getOtherEndGUID(String         entityGUID,
+                                          Relationship   relationship)
+    {
+        EntityProxy entityOneProxy = relationship.getEntityOneProxy();
+        EntityProxy entityTwoProxy = relationship.getEntityTwoProxy();
+
+        if ((entityOneProxy != null) && (entityOneProxy.getGUID() != null) && (entityOneProxy.getGUID().equals(entityGUID)))
+        {
+            return (entityTwoProxy == null) ? null : entityTwoProxy.getGUID();
+        }
+
+        return (entityOneProxy == null) ? null : entityOneProxy.getGUID();
+    }
+}
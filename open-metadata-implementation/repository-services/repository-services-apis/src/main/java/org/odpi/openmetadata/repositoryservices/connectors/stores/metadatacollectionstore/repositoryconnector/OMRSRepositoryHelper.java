@@ -158,6 +158,18 @@ public interface OMRSRepositoryHelper
                       String   expectedTypeName);
 
 
+    /**
+     * Return the names of all of the types that inherit from the supplied type, either directly or through
+     * other subtypes.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param superTypeName name of the type
+     * @return list of type names (not including the supplied type) or null if the type has no subtypes
+     */
+    List<String> getSubTypesOf(String   sourceName,
+                               String   superTypeName);
+
+
     /**
      * Return the names of all of the properties in the supplied TypeDef and all of its super-types.
      *
@@ -0,0 +1,299 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * SearchCriteriaMatcher tests string values against the search criteria (a regular expression) passed on
+ * the find requests.  It gives the same result as String.matches(searchCriteria) but the regular expression
+ * is compiled once and reused.  Search criteria that are a literal string, a literal prefix (literal.*),
+ * a literal suffix (.*literal) or a literal contained in the value (.*literal.*) are tested without the
+ * regular expression engine.
+ * <p>
+ * Matchers are cached by search criteria, so repository connectors can call getMatcher() for each instance
+ * they test without recompiling the regular expression.
+ * </p>
+ */
+public class SearchCriteriaMatcher
+{
+    private static final int    maxCachedMatchers  = 1000;
+    private static final String regexAnyString     = ".*";
+    private static final String regexQuoteStart    = "\\Q";
+    private static final String regexQuoteEnd      = "\\E";
+    private static final String regexCharacters    = "\\.[]{}()*+?^$|";
+
+    private static final char   nextLine           = 0x0085;
+    private static final char   lineSeparator      = 0x2028;
+    private static final char   paragraphSeparator = 0x2029;
+
+    private static final Map<String, SearchCriteriaMatcher> cachedMatchers = new ConcurrentHashMap<>();
+
+    /**
+     * The type of test that is used.  EXACT, PREFIX, SUFFIX and CONTAINS compare values with the literal
+     * string returned by getLiteral().  REGEX uses the regular expression.
+     */
+    public enum MatchType
+    {
+        EXACT, PREFIX, SUFFIX, CONTAINS, REGEX
+    }
+
+    private String                 searchCriteria;
+    private MatchType              matchType;
+    private String                 literal        = null;
+    private Pattern                pattern        = null;
+    private PatternSyntaxException patternError   = null;
+
+
+    /**
+     * Return the matcher for the supplied search criteria.
+     *
+     * @param searchCriteria regular expression
+     * @return matcher
+     */
+    public static SearchCriteriaMatcher getMatcher(String   searchCriteria)
+    {
+        if (searchCriteria == null)
+        {
+            return new SearchCriteriaMatcher(null);
+        }
+
+        SearchCriteriaMatcher matcher = cachedMatchers.get(searchCriteria);
+
+        if (matcher == null)
+        {
+            matcher = new SearchCriteriaMatcher(searchCriteria);
+
+            if (cachedMatchers.size() >= maxCachedMatchers)
+            {
+                cachedMatchers.clear();
+            }
+
+            cachedMatchers.put(searchCriteria, matcher);
+        }
+
+        return matcher;
+    }
+
+
+    /**
+     * Constructor analyses the search criteria to choose the test to use.  Null search criteria matches nothing.
+     *
+     * @param searchCriteria regular expression
+     */
+    private SearchCriteriaMatcher(String   searchCriteria)
+    {
+        this.searchCriteria = searchCriteria;
+        this.matchType = MatchType.REGEX;
+
+        if (searchCriteria != null)
+        {
+            this.analyseSearchCriteria(searchCriteria);
+        }
+    }
+
+
+    /**
+     * Choose the test to use for the search criteria and compile the regular expression.
+     *
+     * @param searchCriteria regular expression
+     */
+    private void analyseSearchCriteria(String   searchCriteria)
+    {
+        boolean anyStringAtStart = searchCriteria.startsWith(regexAnyString);
+        String  body             = searchCriteria;
+
+        if (anyStringAtStart)
+        {
+            body = body.substring(regexAnyString.length());
+        }
+
+        boolean anyStringAtEnd = (body.endsWith(regexAnyString)) && (! body.endsWith("\\" + regexAnyString));
+
+        if (anyStringAtEnd)
+        {
+            body = body.substring(0, body.length() - regexAnyString.length());
+        }
+
+        String bodyLiteral = getLiteral(body);
+
+        if (bodyLiteral == null)
+        {
+            this.matchType = MatchType.REGEX;
+        }
+        else
+        {
+            this.literal = bodyLiteral;
+
+            if (anyStringAtStart && anyStringAtEnd)
+            {
+                this.matchType = MatchType.CONTAINS;
+            }
+            else if (anyStringAtStart)
+            {
+                this.matchType = MatchType.SUFFIX;
+            }
+            else if (anyStringAtEnd)
+            {
+                this.matchType = MatchType.PREFIX;
+            }
+            else
+            {
+                this.matchType = MatchType.EXACT;
+            }
+        }
+
+        try
+        {
+            this.pattern = Pattern.compile(searchCriteria);
+        }
+        catch (PatternSyntaxException error)
+        {
+            this.patternError = error;
+        }
+    }
+
+
+    /**
+     * Return the literal string that a regular expression matches, or null if the expression contains
+     * regular expression constructs other than a quoted section.
+     *
+     * @param regex regular expression
+     * @return literal string or null
+     */
+    private static String getLiteral(String   regex)
+    {
+        if ((regex.startsWith(regexQuoteStart)) &&
+            (regex.endsWith(regexQuoteEnd)) &&
+            (regex.length() >= regexQuoteStart.length() + regexQuoteEnd.length()))
+        {
+            String quoted = regex.substring(regexQuoteStart.length(), regex.length() - regexQuoteEnd.length());
+
+            if (! quoted.contains(regexQuoteEnd))
+            {
+                return quoted;
+            }
+
+            return null;
+        }
+
+        for (int i = 0; i < regex.length(); i++)
+        {
+            if (regexCharacters.indexOf(regex.charAt(i)) >= 0)
+            {
+                return null;
+            }
+        }
+
+        return regex;
+    }
+
+
+    /**
+     * Return the search criteria used to create this matcher.
+     *
+     * @return regular expression
+     */
+    public String getSearchCriteria()
+    {
+        return searchCriteria;
+    }
+
+
+    /**
+     * Return the type of test used by this matcher.  Repositories with their own indexes can use this with
+     * getLiteral() to locate the values that may match, before testing them with matches().
+     *
+     * @return match type enum
+     */
+    public MatchType getMatchType()
+    {
+        return matchType;
+    }
+
+
+    /**
+     * Return the literal string that values are compared with.
+     *
+     * @return literal string or null if the regular expression is used
+     */
+    public String getLiteral()
+    {
+        return literal;
+    }
+
+
+    /**
+     * Test whether the supplied value matches the search criteria.
+     *
+     * @param value value to test
+     * @return boolean result
+     * @throws PatternSyntaxException the search criteria is not a valid regular expression
+     */
+    public boolean matches(String   value) throws PatternSyntaxException
+    {
+        if (patternError != null)
+        {
+            throw patternError;
+        }
+
+        if ((value == null) || (searchCriteria == null))
+        {
+            return false;
+        }
+
+        if (matchType == MatchType.EXACT)
+        {
+            return value.equals(literal);
+        }
+
+        /*
+         * ".*" does not match line terminators so values that contain them are left to the regular expression.
+         */
+        if ((matchType == MatchType.REGEX) || (containsLineTerminator(value)))
+        {
+            return pattern.matcher(value).matches();
+        }
+
+        switch (matchType)
+        {
+            case PREFIX:
+                return value.startsWith(literal);
+
+            case SUFFIX:
+                return value.endsWith(literal);
+
+            default:
+                return value.contains(literal);
+        }
+    }
+
+
+    /**
+     * Return whether the value contains any of the characters that the regular expression "." does not match.
+     *
+     * @param value value to test
+     * @return boolean result
+     */
+    private static boolean containsLineTerminator(String   value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char character = value.charAt(i);
+
+            if ((character == '\n') ||
+                (character == '\r') ||
+                (character == nextLine) ||
+                (character == lineSeparator) ||
+                (character == paragraphSeparator))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -629,6 +629,14 @@ public enum OMRSErrorCode
             "A remote open metadata repository {0} returned a null metadata collection identifier on its REST API.  It registered with the cohort using a metadata collection identifier of {1}",
             "There is an internal error in the remote open metadata repository.",
              "Raise a Github issue to get this fixed."),
+    GRAPH_REPOSITORY_JOURNAL_UNREADABLE(500, "OMRS-GRAPH-REPOSITORY-500-001 ",
+            "The graph repository {0} is unable to load its persistence journal from directory {1}.  The exception message was: {2}",
+            "The repository can not be started because the metadata it holds can not be restored.",
+            "Check that the directory is accessible to the server and that its snapshot and journal files have not been damaged."),
+    GRAPH_REPOSITORY_JOURNAL_WRITE_FAILED(500, "OMRS-GRAPH-REPOSITORY-500-002 ",
+            "The graph repository {0} is unable to write to its persistence journal in directory {1}.  The exception message was: {2}",
+            "The change has not been made to the repository.",
+            "Check that the directory is accessible to the server and that its file system has space."),
     NULL_OPEN_METADATA_TOPIC_LISTENER(500, "OPEN-METADATA-TOPIC-CONNECTOR-500-001 ",
             "A null topic listener has been passed to the {0} open metadata topic connector {1}",
             "There is an internal error in the open metadata repository.",
@@ -669,6 +677,10 @@ public enum OMRSErrorCode
             "The enterprise repository services has detected a repository connector from cohort {0} for metadata collection identifier {1} that has a null metadata collection API object.",
             "There is an internal error in the OMRS Repository Connector implementation.",
             "Raise a Github issue to get this fixed."),
+    COHORT_MEMBER_TIMEOUT(503, "OMRS-ENTERPRISE-REPOSITORY-503-004 ",
+            "The repository for metadata collection {0} did not respond to the {1} operation within {2} milliseconds and its request from enterprise repository {3} was cancelled.",
+            "The repository may be overloaded or unavailable.  Results from the other repositories are returned if partial results are allowed.",
+            "Check the status of the repository and retry the request.  The timeout can be increased in the enterprise connector configuration."),
     NULL_CONTENT_MANAGER(503, "OMRS-LOCAL-REPOSITORY-503-001 ",
             "A null repository content manager has been passed to one of the local repository's components on method {0}.",
             "There is an internal error in the OMRS Local Repository Connector implementation, or the way it has been initialized.",
@@ -0,0 +1,139 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.rest.properties;
+
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceBatch;
+
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * InstanceBatchResponse describes the response structure for an OMRS REST API that retrieves a list of
+ * instances and returns an InstanceBatch object.  The batch includes the instances that were retrieved and the
+ * reasons why any other requested instances could not be retrieved.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class InstanceBatchResponse extends OMRSAPIResponse
+{
+    private InstanceBatch instanceBatch = null;
+
+    /**
+     * Default constructor
+     */
+    public InstanceBatchResponse()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public InstanceBatchResponse(InstanceBatchResponse   template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            instanceBatch = template.getInstanceBatch();
+        }
+    }
+
+
+    /**
+     * Return the resulting batch of instances.
+     *
+     * @return batch object
+     */
+    public InstanceBatch getInstanceBatch()
+    {
+        if (instanceBatch == null)
+        {
+            return null;
+        }
+        else
+        {
+            return new InstanceBatch(instanceBatch);
+        }
+    }
+
+
+    /**
+     * Set up the resulting batch of instances.
+     *
+     * @param instanceBatch batch object
+     */
+    public void setInstanceBatch(InstanceBatch instanceBatch)
+    {
+        this.instanceBatch = instanceBatch;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "InstanceBatchResponse{" +
+                "instanceBatch=" + instanceBatch +
+                ", relatedHTTPCode=" + relatedHTTPCode +
+                ", exceptionClassName='" + exceptionClassName + '\'' +
+                ", exceptionErrorMessage='" + exceptionErrorMessage + '\'' +
+                ", exceptionSystemAction='" + exceptionSystemAction + '\'' +
+                ", exceptionUserAction='" + exceptionUserAction + '\'' +
+                ", exceptionProperties=" + exceptionProperties +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof InstanceBatchResponse))
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        InstanceBatchResponse that = (InstanceBatchResponse) objectToCompare;
+        return Objects.equals(getInstanceBatch(), that.getInstanceBatch());
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), getInstanceBatch());
+    }
+}
@@ -30,6 +30,7 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
                 @JsonSubTypes.Type(value = BooleanResponse.class, name = "BooleanResponse"),
                 @JsonSubTypes.Type(value = EntityDetailResponse.class, name = "EntityDetailResponse"),
                 @JsonSubTypes.Type(value = EntitySummaryResponse.class, name = "EntitySummaryResponse"),
+                @JsonSubTypes.Type(value = InstanceBatchResponse.class, name = "InstanceBatchResponse"),
                 @JsonSubTypes.Type(value = InstanceGraphResponse.class, name = "InstanceGraphResponse"),
                 @JsonSubTypes.Type(value = RelationshipListResponse.class, name = "RelationshipListResponse"),
                 @JsonSubTypes.Type(value = RelationshipResponse.class, name = "RelationshipResponse"),
@@ -0,0 +1,58 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MockOpenMetadataTopicConnector records the events that are sent to it rather than passing them to an event bus.
+ * It does not start a listener thread.
+ */
+public class MockOpenMetadataTopicConnector extends OpenMetadataTopicConnector
+{
+    private List<String> sentEvents = new ArrayList<>();
+
+
+    /**
+     * Indicates that the connector is completely configured and can begin processing.
+     */
+    public void start()
+    {
+    }
+
+
+    /**
+     * Record the supplied event.
+     *
+     * @param event object containing the event properties.
+     */
+    public void sendEvent(String event)
+    {
+        sentEvents.add(event);
+    }
+
+
+    /**
+     * Return the events that have been sent to this connector.
+     *
+     * @return list of events
+     */
+    List<String> getSentEvents()
+    {
+        return sentEvents;
+    }
+
+
+    /**
+     * There are no inbound events.
+     *
+     * @return null
+     */
+    protected List<String> checkForEvents()
+    {
+        return null;
+    }
+}
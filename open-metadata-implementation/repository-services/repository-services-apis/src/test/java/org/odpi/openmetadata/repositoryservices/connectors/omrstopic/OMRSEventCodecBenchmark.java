@@ -0,0 +1,158 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * OMRSEventCodecBenchmark measures the time taken to encode and decode an instance event, comparing a new
+ * ObjectMapper for each event (as the OMRSTopicConnector used to do) with the shared reader and writer that the
+ * connector now uses, and the String and byte[] send paths.  It is not run as part of the unit tests.  Run it
+ * from the module directory after the test classes are compiled with:
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSEventCodecBenchmark
+ * </pre>
+ * The optional argument is the number of events in each measured round (default 100000).  The operations that
+ * create a new ObjectMapper for each event use a tenth of this number.
+ */
+public class OMRSEventCodecBenchmark
+{
+    private static final int warmUpRounds   = 10;
+    private static final int measuredRounds = 5;
+
+    private static volatile Object sink;
+
+
+    /**
+     * Run the benchmark and print the average time for each event.
+     *
+     * @param args optional number of events in each round
+     * @throws Exception the event can not be encoded or decoded
+     */
+    public static void main(String[] args) throws Exception
+    {
+        int                eventCount     = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+        OMRSTopicConnector topicConnector = new OMRSTopicConnector();
+        OMRSEventV1        event          = getTestEvent();
+        ObjectWriter       sharedWriter   = new ObjectMapper().writerFor(OMRSEventV1.class);
+        String             encodedEvent   = sharedWriter.writeValueAsString(event);
+
+        System.out.println("Event size: " + encodedEvent.length() + " characters");
+
+        measure("Encode to byte[] with shared writer", eventCount, () -> sharedWriter.writeValueAsBytes(event));
+        measure("Encode to String then UTF-8 bytes", eventCount,
+                () -> sharedWriter.writeValueAsString(event).getBytes(StandardCharsets.UTF_8));
+        measure("Encode to String with shared writer", eventCount, () -> sharedWriter.writeValueAsString(event));
+        measure("Decode with shared reader", eventCount, () -> topicConnector.parseEvent(encodedEvent));
+
+        /*
+         * The operations that create a new ObjectMapper for each event are much slower, so they run last, on a tenth
+         * of the events.
+         */
+        measure("Encode to String with new ObjectMapper", eventCount / 10, () -> new ObjectMapper().writeValueAsString(event));
+        measure("Decode with new ObjectMapper", eventCount / 10, () -> new ObjectMapper().readValue(encodedEvent, OMRSEventBean.class));
+    }
+
+
+    /**
+     * Run an operation for a number of rounds and print the average time for each call in the measured rounds.
+     *
+     * @param name name of the operation
+     * @param eventCount number of calls in each round
+     * @param operation operation to measure
+     * @throws Exception the operation failed
+     */
+    private static void measure(String      name,
+                                int         eventCount,
+                                Operation   operation) throws Exception
+    {
+        long totalTime = 0;
+
+        for (int round = 0; round < warmUpRounds + measuredRounds; round++)
+        {
+            long startTime = System.nanoTime();
+
+            for (int i = 0; i < eventCount; i++)
+            {
+                sink = operation.run();
+            }
+
+            if (round >= warmUpRounds)
+            {
+                totalTime = totalTime + (System.nanoTime() - startTime);
+            }
+        }
+
+        System.out.println(String.format("%-40s %8.2f us/event", name, totalTime / 1000.0 / measuredRounds / eventCount));
+    }
+
+
+    /**
+     * Return a new entity event with some properties and a classification, similar in size to the events
+     * exchanged between cohort members.
+     *
+     * @return event bean
+     */
+    private static OMRSEventV1 getTestEvent()
+    {
+        EntityDetail entity = new EntityDetail();
+        InstanceType type   = new InstanceType();
+
+        type.setTypeDefGUID("b46cddb3-9864-4c5d-8a49-266b3fc95cb8");
+        type.setTypeDefName("RelationalColumn");
+        entity.setType(type);
+        entity.setGUID("8b2f4a0c-2b06-4b4e-9c79-0c4ad6a5e2a1");
+        entity.setMetadataCollectionId("c4d1e5b4-5d46-4d3a-8f55-3b37d5c9b6b0");
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setCreatedBy("benchmark");
+        entity.setCreateTime(new Date());
+        entity.setVersion(1L);
+
+        Map<String, InstancePropertyValue> propertyMap = new HashMap<>();
+
+        for (String propertyName : new String[] { "qualifiedName", "displayName", "description", "owner" })
+        {
+            PrimitivePropertyValue value = new PrimitivePropertyValue();
+
+            value.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            value.setPrimitiveValue("Value of the " + propertyName + " property for the benchmark");
+            propertyMap.put(propertyName, value);
+        }
+
+        InstanceProperties properties = new InstanceProperties();
+
+        properties.setInstanceProperties(propertyMap);
+        entity.setProperties(properties);
+
+        Classification classification = new Classification();
+
+        classification.setName("Confidentiality");
+        classification.setClassificationOrigin(ClassificationOrigin.ASSIGNED);
+        entity.setClassifications(Collections.singletonList(classification));
+
+        return new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity).getOMRSEventV1();
+    }
+
+
+    /**
+     * Operation that is measured.
+     */
+    private interface Operation
+    {
+        Object run() throws Exception;
+    }
+}
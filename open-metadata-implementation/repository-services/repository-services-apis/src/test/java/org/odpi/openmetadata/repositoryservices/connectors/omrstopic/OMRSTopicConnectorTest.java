@@ -0,0 +1,474 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * OMRSTopicConnectorTest tests that events sent through the OMRSTopicConnector are serialized once for all of
+ * the event bus connectors and that the serialized events can be parsed and passed to the registered listeners.
+ */
+public class OMRSTopicConnectorTest
+{
+    /**
+     * Send a registry event to two event bus connectors and pass one of the resulting JSON events back in.
+     *
+     * @throws Exception problem in the connector
+     */
+    @Test public void testSendAndProcessEvent() throws Exception
+    {
+        MockOpenMetadataTopicConnector firstEventBus  = new MockOpenMetadataTopicConnector();
+        MockOpenMetadataTopicConnector secondEventBus = new MockOpenMetadataTopicConnector();
+        List<Connector>                eventBuses     = new ArrayList<>();
+
+        eventBuses.add(firstEventBus);
+        eventBuses.add(secondEventBus);
+
+        OMRSTopicConnector topicConnector = new OMRSTopicConnector();
+        TestListener       listener       = new TestListener();
+
+        topicConnector.initializeEmbeddedConnectors(eventBuses);
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        topicConnector.sendRegistryEvent(new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT,
+                                                               new Date(),
+                                                               "TestMetadataCollectionName",
+                                                               null));
+
+        assertTrue(firstEventBus.getSentEvents().size() == 1);
+        assertTrue(firstEventBus.getSentEvents().equals(secondEventBus.getSentEvents()));
+
+        topicConnector.processEvent(firstEventBus.getSentEvents().get(0));
+
+        /*
+         * Disconnect waits for the listener's queue to drain.
+         */
+        topicConnector.disconnect();
+
+        assertTrue(listener.registryEvents.size() == 1);
+        assertTrue(topicConnector.getListenerStatistics().get(0).getDeliveredEvents() == 1);
+
+        OMRSRegistryEvent receivedEvent = listener.registryEvents.get(0);
+
+        assertTrue(receivedEvent.getRegistryEventType() == OMRSRegistryEventType.REGISTRATION_EVENT);
+        assertTrue(receivedEvent.getMetadataCollectionName().equals("TestMetadataCollectionName"));
+    }
+
+
+    /**
+     * An event that can not be parsed is ignored.
+     *
+     * @throws Exception problem in the connector
+     */
+    @Test public void testProcessBadEvent() throws Exception
+    {
+        OMRSTopicConnector topicConnector = new OMRSTopicConnector();
+        TestListener       listener       = new TestListener();
+
+        topicConnector.registerListener(listener);
+        topicConnector.processEvent("Not an event");
+        topicConnector.disconnect();
+
+        assertTrue(listener.registryEvents.isEmpty());
+    }
+
+
+    /**
+     * Events that overflow the queue of a slow listener are spilled to disk and still passed to the listener
+     * in the order they arrived.
+     *
+     * @throws Exception problem in the connector
+     */
+    @Test public void testSpillToDisk() throws Exception
+    {
+        OMRSTopicConnector     topicConnector = new OMRSTopicConnector();
+        BlockedListener        listener       = new BlockedListener();
+        List<String>           events         = createRegistryEvents(topicConnector, 5);
+        OMRSTopicListenerQueue listenerQueue  = new OMRSTopicListenerQueue(topicConnector,
+                                                                           listener,
+                                                                           "Test",
+                                                                           1,
+                                                                           OMRSTopicListenerOverflowPolicy.SPILL_TO_DISK,
+                                                                           null);
+
+        for (String event : events)
+        {
+            listenerQueue.addEvent(event, topicConnector.parseEvent(event));
+        }
+
+        assertTrue(listenerQueue.getStatistics().getSpilledEvents() > 0);
+
+        listener.release.countDown();
+        listenerQueue.close(10000);
+
+        OMRSTopicListenerStatistics statistics = listenerQueue.getStatistics();
+
+        assertTrue(statistics.getDeliveredEvents() == 5);
+        assertTrue(statistics.getDroppedEvents() == 0);
+        assertTrue(statistics.getQueuedEvents() == 0);
+        assertTrue(listener.registryEvents.size() == 5);
+
+        for (int i = 0; i < 5; i++)
+        {
+            assertTrue(listener.registryEvents.get(i).getMetadataCollectionName().equals("TestMetadataCollection" + i));
+        }
+    }
+
+
+    /**
+     * Spill files left in the spill directory by a previous run of the server are removed when the first spilling
+     * queue is created, and the files of the running queues are not.
+     *
+     * @throws Exception problem in the connector
+     */
+    @Test public void testLeftoverSpillFilesRemoved() throws Exception
+    {
+        File spillDirectory = Files.createTempDirectory("omrs-topic-listener-test").toFile();
+        File leftoverFile   = new File(spillDirectory, "omrs-topic-listener-1234.spill");
+        File otherFile      = new File(spillDirectory, "other.spill");
+
+        assertTrue(leftoverFile.createNewFile());
+        assertTrue(otherFile.createNewFile());
+
+        OMRSTopicConnector     topicConnector = new OMRSTopicConnector();
+        BlockedListener        listener       = new BlockedListener();
+        OMRSTopicListenerQueue listenerQueue  = new OMRSTopicListenerQueue(topicConnector,
+                                                                           listener,
+                                                                           "Test",
+                                                                           1,
+                                                                           OMRSTopicListenerOverflowPolicy.SPILL_TO_DISK,
+                                                                           spillDirectory);
+
+        assertFalse(leftoverFile.exists());
+        assertTrue(otherFile.exists());
+
+        for (String event : createRegistryEvents(topicConnector, 5))
+        {
+            listenerQueue.addEvent(event, topicConnector.parseEvent(event));
+        }
+
+        File[] spillFiles = spillDirectory.listFiles((dir, name) -> name.startsWith("omrs-topic-listener-"));
+
+        assertTrue((spillFiles != null) && (spillFiles.length == 1));
+
+        OMRSTopicListenerQueue secondQueue = new OMRSTopicListenerQueue(topicConnector,
+                                                                        new BlockedListener(),
+                                                                        "Test",
+                                                                        1,
+                                                                        OMRSTopicListenerOverflowPolicy.SPILL_TO_DISK,
+                                                                        spillDirectory);
+
+        assertTrue(spillFiles[0].exists());
+
+        listener.release.countDown();
+        listenerQueue.close(10000);
+        secondQueue.close(10000);
+
+        assertTrue(listenerQueue.getStatistics().getDeliveredEvents() == 5);
+        assertFalse(spillFiles[0].exists());
+
+        assertTrue(otherFile.delete());
+        assertTrue(spillDirectory.delete());
+    }
+
+
+    /**
+     * Spilled events are passed to the listener as fast as it processes them rather than waiting for new events
+     * to arrive in memory between each one.
+     *
+     * @throws Exception problem in the connector
+     */
+    @Test public void testSpilledEventThroughput() throws Exception
+    {
+        final int eventCount = 200;
+
+        OMRSTopicConnector     topicConnector = new OMRSTopicConnector();
+        BlockedListener        listener       = new BlockedListener();
+        List<String>           events         = createRegistryEvents(topicConnector, eventCount);
+        OMRSTopicListenerQueue listenerQueue  = new OMRSTopicListenerQueue(topicConnector,
+                                                                           listener,
+                                                                           "Test",
+                                                                           1,
+                                                                           OMRSTopicListenerOverflowPolicy.SPILL_TO_DISK,
+                                                                           null);
+
+        for (String event : events)
+        {
+            listenerQueue.addEvent(event, topicConnector.parseEvent(event));
+        }
+
+        assertTrue(listenerQueue.getStatistics().getSpilledEvents() >= eventCount - 2);
+
+        long startTime = System.currentTimeMillis();
+
+        listener.release.countDown();
+        listenerQueue.close(10000);
+
+        long elapsedTime = System.currentTimeMillis() - startTime;
+
+        /*
+         * Waiting on the empty queue before each spilled event would take at least 100ms an event.
+         */
+        assertTrue(listenerQueue.getStatistics().getDeliveredEvents() == eventCount);
+        assertTrue(elapsedTime < 5000, "Delivered " + eventCount + " spilled events in " + elapsedTime + "ms");
+    }
+
+
+    /**
+     * The oldest events are discarded when the queue of a slow listener is full.
+     *
+     * @throws Exception problem in the connector
+     */
+    @Test public void testDropOldest() throws Exception
+    {
+        OMRSTopicConnector     topicConnector = new OMRSTopicConnector();
+        BlockedListener        listener       = new BlockedListener();
+        List<String>           events         = createRegistryEvents(topicConnector, 5);
+        OMRSTopicListenerQueue listenerQueue  = new OMRSTopicListenerQueue(topicConnector,
+                                                                           listener,
+                                                                           "Test",
+                                                                           2,
+                                                                           OMRSTopicListenerOverflowPolicy.DROP_OLDEST,
+                                                                           null);
+
+        for (String event : events)
+        {
+            listenerQueue.addEvent(event, topicConnector.parseEvent(event));
+        }
+
+        listener.release.countDown();
+        listenerQueue.close(10000);
+
+        OMRSTopicListenerStatistics statistics = listenerQueue.getStatistics();
+
+        assertTrue(statistics.getDroppedEvents() > 0);
+        assertTrue(statistics.getDeliveredEvents() + statistics.getDroppedEvents() == 5);
+        assertTrue(listener.registryEvents.get(listener.registryEvents.size() - 1)
+                                          .getMetadataCollectionName().equals("TestMetadataCollection4"));
+    }
+
+
+    /**
+     * Instance events that the listener's filter rejects are not parsed.  Other events are passed to the
+     * listener as normal.
+     *
+     * @throws Exception problem in the connector
+     */
+    @Test public void testEventFilter() throws Exception
+    {
+        MockOpenMetadataTopicConnector eventBus       = new MockOpenMetadataTopicConnector();
+        List<Connector>                eventBuses     = new ArrayList<>();
+        OMRSTopicConnector             topicConnector = new OMRSTopicConnector();
+        FilteringListener              listener       = new FilteringListener();
+
+        eventBuses.add(eventBus);
+        topicConnector.initializeEmbeddedConnectors(eventBuses);
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        topicConnector.sendInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT,
+                                                               getTestEntity("SelectedTypeGUID")));
+        topicConnector.sendInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT,
+                                                               getTestEntity("OtherTypeGUID")));
+        topicConnector.sendRegistryEvent(new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT,
+                                                               new Date(),
+                                                               "TestMetadataCollectionName",
+                                                               null));
+
+        for (String event : eventBus.getSentEvents())
+        {
+            topicConnector.processEvent(event);
+        }
+
+        topicConnector.disconnect();
+
+        assertTrue(listener.instanceEvents.size() == 1);
+        assertTrue(listener.instanceEvents.get(0).getTypeDefGUID().equals("SelectedTypeGUID"));
+        assertTrue(listener.registryEvents.size() == 1);
+
+        OMRSTopicParsingStatistics parsingStatistics = topicConnector.getParsingStatistics();
+
+        assertTrue(parsingStatistics.getReceivedEvents() == 3);
+        assertTrue(parsingStatistics.getParsedEvents() == 2);
+        assertTrue(parsingStatistics.getSkippedEvents() == 1);
+        assertTrue(parsingStatistics.getSkippedBytes() == eventBus.getSentEvents().get(1).length());
+        assertTrue(topicConnector.getListenerStatistics().get(0).getFilteredEvents() == 1);
+    }
+
+
+    /**
+     * Return an entity of the requested type.
+     *
+     * @param typeDefGUID unique identifier of the type
+     * @return entity
+     */
+    private EntityDetail getTestEntity(String typeDefGUID)
+    {
+        EntityDetail entity = new EntityDetail();
+        InstanceType type   = new InstanceType();
+
+        type.setTypeDefGUID(typeDefGUID);
+        type.setTypeDefName("TestType");
+        entity.setType(type);
+        entity.setGUID("TestEntityGUID");
+
+        return entity;
+    }
+
+
+    /**
+     * Serialize a number of registry events through a mock event bus.
+     *
+     * @param topicConnector connector to serialize the events
+     * @param count number of events
+     * @return list of JSON events
+     * @throws Exception problem in the connector
+     */
+    private List<String> createRegistryEvents(OMRSTopicConnector topicConnector,
+                                              int                count) throws Exception
+    {
+        MockOpenMetadataTopicConnector eventBus   = new MockOpenMetadataTopicConnector();
+        List<Connector>                eventBuses = new ArrayList<>();
+
+        eventBuses.add(eventBus);
+        topicConnector.initializeEmbeddedConnectors(eventBuses);
+        topicConnector.start();
+
+        for (int i = 0; i < count; i++)
+        {
+            topicConnector.sendRegistryEvent(new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT,
+                                                                   new Date(),
+                                                                   "TestMetadataCollection" + i,
+                                                                   null));
+        }
+
+        return eventBus.getSentEvents();
+    }
+
+
+    /**
+     * TestListener saves the registry events it receives.
+     */
+    private static class TestListener implements OMRSTopicListener
+    {
+        List<OMRSRegistryEvent> registryEvents = Collections.synchronizedList(new ArrayList<>());
+
+
+        /**
+         * Save the registry event.
+         *
+         * @param event inbound event
+         */
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+            registryEvents.add(event);
+        }
+
+
+        /**
+         * Ignore TypeDef events.
+         *
+         * @param event inbound event
+         */
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+
+        /**
+         * Ignore instance events.
+         *
+         * @param event inbound event
+         */
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+        }
+    }
+
+
+    /**
+     * FilteringListener only accepts instance events for one type.
+     */
+    private static class FilteringListener extends TestListener implements OMRSTopicEventFilter
+    {
+        List<OMRSInstanceEvent> instanceEvents = Collections.synchronizedList(new ArrayList<>());
+
+
+        /**
+         * Reject instance events for other types.
+         *
+         * @param eventCategory category of the event
+         * @param instanceEventType type of instance event
+         * @param typeDefGUID unique identifier of the type of the instance
+         * @return boolean flag
+         */
+        public boolean processEvent(OMRSEventCategory       eventCategory,
+                                    OMRSInstanceEventType   instanceEventType,
+                                    String                  typeDefGUID)
+        {
+            return (eventCategory != OMRSEventCategory.INSTANCE) || ("SelectedTypeGUID".equals(typeDefGUID));
+        }
+
+
+        /**
+         * Save the instance event.
+         *
+         * @param event inbound event
+         */
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+            instanceEvents.add(event);
+        }
+    }
+
+
+    /**
+     * BlockedListener does not process its first event until it is released.
+     */
+    private static class BlockedListener extends TestListener
+    {
+        private CountDownLatch release = new CountDownLatch(1);
+
+
+        /**
+         * Wait to be released then save the registry event.
+         *
+         * @param event inbound event
+         */
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+            try
+            {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            super.processRegistryEvent(event);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * InstanceBatchTest provides test of InstanceBatch and InstanceBatchFailure
+ */
+public class InstanceBatchTest
+{
+    private List<EntityDetail>         entities = new ArrayList<>();
+    private List<InstanceBatchFailure> failures = new ArrayList<>();
+
+
+    public InstanceBatchTest()
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID("TestEntityGUID");
+        entities.add(entity);
+
+        EntityNotKnownException error = new EntityNotKnownException(404,
+                                                                    "TestClass",
+                                                                    "testMethod",
+                                                                    "TestErrorMessage",
+                                                                    "TestSystemAction",
+                                                                    "TestUserAction");
+
+        failures.add(new InstanceBatchFailure("TestMissingGUID", error));
+    }
+
+
+    /**
+     * Return a filled in test object
+     *
+     * @return test object
+     */
+    private InstanceBatch getTestObject()
+    {
+        InstanceBatch testObject = new InstanceBatch();
+
+        testObject.setEntities(entities);
+        testObject.setFailures(failures);
+
+        return testObject;
+    }
+
+
+    /**
+     * Validate supplied object.
+     *
+     * @param testObject object to test
+     */
+    private void validateObject(InstanceBatch testObject)
+    {
+        assertTrue(testObject.getEntities().equals(entities));
+        assertTrue(testObject.getRelationships() == null);
+        assertTrue(testObject.getFailures().equals(failures));
+
+        InstanceBatchFailure failure = testObject.getFailures().get(0);
+
+        assertTrue(failure.getGUID().equals("TestMissingGUID"));
+        assertTrue(failure.getRelatedHTTPCode() == 404);
+        assertTrue(failure.getExceptionClassName().equals(EntityNotKnownException.class.getName()));
+        assertTrue(failure.getExceptionErrorMessage().equals("TestErrorMessage"));
+    }
+
+
+    /**
+     * Validate that the constructors set up the correct properties
+     */
+    @Test public void testConstructors()
+    {
+        InstanceBatch testObject = new InstanceBatch();
+
+        assertTrue(testObject.getEntities() == null);
+        assertTrue(testObject.getRelationships() == null);
+        assertTrue(testObject.getFailures() == null);
+
+        testObject.setFailures(new ArrayList<>());
+        assertTrue(testObject.getFailures() == null);
+
+        validateObject(new InstanceBatch(getTestObject()));
+    }
+
+
+    /**
+     * Validate that an object generated from a JSON String has the same content as the object used to
+     * create the JSON String.
+     */
+    @Test public void testJSON()
+    {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String       jsonString   = null;
+
+        try
+        {
+            jsonString = objectMapper.writeValueAsString(getTestObject());
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+
+        try
+        {
+            validateObject(objectMapper.readValue(jsonString, InstanceBatch.class));
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+    }
+
+
+    /**
+     * Test that toString is overridden.
+     */
+    @Test public void testToString()
+    {
+        assertTrue(getTestObject().toString().contains("InstanceBatch"));
+    }
+
+
+    /**
+     * Test that equals works
+     */
+    @Test public void testEquals()
+    {
+        assertTrue(getTestObject().equals(getTestObject()));
+
+        InstanceBatch testObject = getTestObject();
+
+        assertTrue(testObject.equals(testObject));
+
+        assertFalse(getTestObject().equals(null));
+        assertFalse(getTestObject().equals("A String"));
+
+        InstanceBatch differentObject = getTestObject();
+
+        differentObject.setFailures(null);
+
+        assertFalse(testObject.equals(differentObject));
+    }
+
+
+    /**
+     * Test that hashcode is consistent
+     */
+    @Test public void testHash()
+    {
+        assertTrue(getTestObject().hashCode() == getTestObject().hashCode());
+    }
+}
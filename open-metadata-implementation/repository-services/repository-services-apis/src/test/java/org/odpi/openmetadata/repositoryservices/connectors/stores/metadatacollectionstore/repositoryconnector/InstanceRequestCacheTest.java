@@ -0,0 +1,222 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * InstanceRequestCacheTest checks that InstanceRequestCache only requests each instance once and resolves
+ * the ends of relationships with a single batch request.
+ */
+public class InstanceRequestCacheTest
+{
+    /**
+     * A metadata collection holding a table entity linked to a number of column entities.  It counts the
+     * requests that it receives.
+     */
+    private static class CountingMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        Map<String, EntityDetail>        entities             = new HashMap<>();
+        Map<String, List<Relationship>>  relationships        = new HashMap<>();
+        int                              entityRequests       = 0;
+        int                              batchRequests        = 0;
+        int                              relationshipRequests = 0;
+
+        @SuppressWarnings("deprecation")
+        CountingMetadataCollection()
+        {
+            super("TestMetadataCollection");
+        }
+
+        @Override
+        public EntityDetail getEntityDetail(String userId, String guid) throws EntityNotKnownException
+        {
+            entityRequests++;
+
+            EntityDetail entity = entities.get(guid);
+            if (entity == null)
+            {
+                throw new EntityNotKnownException(404, "CountingMetadataCollection", "getEntityDetail", guid, "", "");
+            }
+
+            return entity;
+        }
+
+        @Override
+        public InstanceBatch getEntityDetails(String userId, List<String> guids)
+        {
+            batchRequests++;
+
+            List<EntityDetail> found = new ArrayList<>();
+            for (String guid : guids)
+            {
+                if (entities.containsKey(guid))
+                {
+                    found.add(entities.get(guid));
+                }
+            }
+
+            InstanceBatch batch = new InstanceBatch();
+            batch.setEntities(found);
+            return batch;
+        }
+
+        @Override
+        public List<Relationship> getRelationshipsForEntity(String               userId,
+                                                            String               entityGUID,
+                                                            String               relationshipTypeGUID,
+                                                            int                  fromRelationshipElement,
+                                                            List<InstanceStatus> limitResultsByStatus,
+                                                            Date                 asOfTime,
+                                                            String               sequencingProperty,
+                                                            SequencingOrder      sequencingOrder,
+                                                            int                  pageSize)
+        {
+            relationshipRequests++;
+
+            return relationships.get(entityGUID);
+        }
+    }
+
+
+    /**
+     * Create a metadata collection with a table and the requested number of columns.
+     *
+     * @param columnCount number of columns
+     * @return metadata collection
+     */
+    private CountingMetadataCollection getMetadataCollection(int columnCount)
+    {
+        CountingMetadataCollection metadataCollection = new CountingMetadataCollection();
+
+        EntityDetail table = getEntity("table");
+        metadataCollection.entities.put(table.getGUID(), table);
+
+        List<Relationship> tableRelationships = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++)
+        {
+            EntityDetail column = getEntity("column" + i);
+            metadataCollection.entities.put(column.getGUID(), column);
+
+            Relationship relationship = new Relationship();
+            relationship.setGUID("relationship" + i);
+            relationship.setEntityOneProxy(new EntityProxy(column));
+            relationship.setEntityTwoProxy(new EntityProxy(table));
+
+            tableRelationships.add(relationship);
+            metadataCollection.relationships.put(column.getGUID(), Collections.singletonList(relationship));
+        }
+        metadataCollection.relationships.put(table.getGUID(), tableRelationships);
+
+        return metadataCollection;
+    }
+
+
+    /**
+     * Create an entity.
+     *
+     * @param guid unique identifier
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        return entity;
+    }
+
+
+    /**
+     * Walking from each column to its table only retrieves the table once.
+     */
+    @Test public void testEntitiesRetrievedOnce() throws Exception
+    {
+        CountingMetadataCollection metadataCollection = getMetadataCollection(200);
+        InstanceRequestCache       cache              = new InstanceRequestCache(metadataCollection, "testUser");
+
+        EntityDetail table = null;
+        for (int i = 0; i < 200; i++)
+        {
+            String             columnGUID          = "column" + i;
+            List<Relationship> columnRelationships = cache.getRelationshipsForEntity(columnGUID, null);
+
+            assertEquals(columnRelationships.size(), 1);
+
+            EntityDetail columnTable = cache.getOtherEnd(columnGUID, columnRelationships.get(0));
+            if (table != null)
+            {
+                assertSame(columnTable, table);
+            }
+            table = columnTable;
+        }
+
+        assertEquals(table.getGUID(), "table");
+        assertEquals(metadataCollection.entityRequests, 1);
+        assertEquals(metadataCollection.relationshipRequests, 200);
+
+        cache.getRelationshipsForEntity("column0", null);
+        assertEquals(metadataCollection.relationshipRequests, 200);
+    }
+
+
+    /**
+     * The columns of the table are retrieved with one batch request, in relationship order.
+     */
+    @Test public void testRelatedEntitiesBatched() throws Exception
+    {
+        CountingMetadataCollection metadataCollection = getMetadataCollection(50);
+        InstanceRequestCache       cache              = new InstanceRequestCache(metadataCollection, "testUser");
+
+        List<EntityDetail> columns = cache.getRelatedEntities("table", null);
+
+        assertEquals(columns.size(), 50);
+        for (int i = 0; i < 50; i++)
+        {
+            assertEquals(columns.get(i).getGUID(), "column" + i);
+        }
+        assertEquals(metadataCollection.batchRequests, 1);
+        assertEquals(metadataCollection.entityRequests, 0);
+
+        cache.getRelatedEntities("table", null);
+        cache.getEntityDetail("column7");
+        assertEquals(metadataCollection.batchRequests, 1);
+        assertEquals(metadataCollection.entityRequests, 0);
+        assertEquals(metadataCollection.relationshipRequests, 1);
+
+        assertTrue(cache.getRelatedEntities("unknown", null).isEmpty());
+    }
+
+
+    /**
+     * An entity that the batch request can not return is reported when it is requested.
+     */
+    @Test public void testMissingEntityReported() throws Exception
+    {
+        CountingMetadataCollection metadataCollection = getMetadataCollection(3);
+        InstanceRequestCache       cache              = new InstanceRequestCache(metadataCollection, "testUser");
+
+        metadataCollection.entities.remove("column1");
+
+        try
+        {
+            cache.getRelatedEntities("table", null);
+            fail("The missing column should be reported");
+        }
+        catch (EntityNotKnownException error)
+        {
+            assertEquals(metadataCollection.batchRequests, 1);
+            assertEquals(metadataCollection.entityRequests, 1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.testng.annotations.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * SearchCriteriaMatcherTest checks that SearchCriteriaMatcher gives the same results as String.matches().
+ */
+public class SearchCriteriaMatcherTest
+{
+    private String[] searchCriteria = { "Asset", "Asset.*", ".*Asset", ".*Asset.*", ".*", "",
+                                        "\\QData.Set\\E", ".*\\QData.Set\\E.*", "Data.Set", "A.*t", "(?i)asset",
+                                        "Asset\\.*", "Data-Set", "[A-Z]+" };
+
+    private String[] values = { "Asset", "DataAsset", "AssetSchema", "MyAssetType", "asset", "", "Data.Set",
+                                "DataXSet", "Data-Set", "Data.Set.Type", "Asset\nType", "My\nAsset", "Asset....",
+                                "ASSET" };
+
+
+    /**
+     * Test each search criteria against each value.
+     */
+    @Test public void testSameResultAsRegex()
+    {
+        for (String criteria : searchCriteria)
+        {
+            SearchCriteriaMatcher matcher = SearchCriteriaMatcher.getMatcher(criteria);
+
+            assertTrue(criteria.equals(matcher.getSearchCriteria()));
+
+            for (String value : values)
+            {
+                assertTrue(matcher.matches(value) == value.matches(criteria),
+                           "Search criteria " + criteria + " with value " + value);
+            }
+
+            assertFalse(matcher.matches(null));
+        }
+    }
+
+
+    /**
+     * Test that matchers are reused.
+     */
+    @Test public void testCache()
+    {
+        assertTrue(SearchCriteriaMatcher.getMatcher(".*Cached.*") == SearchCriteriaMatcher.getMatcher(".*Cached.*"));
+    }
+
+
+    /**
+     * Test that null search criteria matches nothing.
+     */
+    @Test public void testNullSearchCriteria()
+    {
+        assertFalse(SearchCriteriaMatcher.getMatcher(null).matches("Asset"));
+    }
+
+
+    /**
+     * Test that invalid search criteria is reported when the matcher is used.
+     */
+    @Test public void testInvalidSearchCriteria()
+    {
+        SearchCriteriaMatcher matcher = SearchCriteriaMatcher.getMatcher("Asset[");
+
+        try
+        {
+            matcher.matches("Asset");
+            assertTrue(false);
+        }
+        catch (PatternSyntaxException error)
+        {
+            assertTrue(error.getPattern().equals("Asset["));
+        }
+    }
+}
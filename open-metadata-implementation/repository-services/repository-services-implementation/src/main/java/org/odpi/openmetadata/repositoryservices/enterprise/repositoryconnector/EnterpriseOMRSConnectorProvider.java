@@ -29,6 +29,11 @@ import java.util.UUID;
  * It will return new instances of the EnterpriseOMRSRepositoryConnector as long as it is configured with the connector
  * manager.  This should happen at server startup, which means the exception due to a lack of connector
  * manager are unexpected.
+ *
+ * The way that requests are federated across the cohort members can be controlled through the connection's
+ * additional properties: maxParallelRequests is the number of cohort members that are called at the same time,
+ * cohortMemberTimeout is the number of milliseconds to wait for each member (zero means no timeout) and
+ * allowPartialResults determines whether the results from the other members are returned when a member times out.
  */
 public class EnterpriseOMRSConnectorProvider extends OMRSRepositoryConnectorProviderBase
 {
@@ -36,6 +41,10 @@ public class EnterpriseOMRSConnectorProvider extends OMRSRepositoryConnectorProv
 
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSConnectorProvider.class);
 
+    public static final String  maxParallelRequestsPropertyName = "maxParallelRequests";
+    public static final String  cohortMemberTimeoutPropertyName = "cohortMemberTimeout";
+    public static final String  allowPartialResultsPropertyName = "allowPartialResults";
+
     private  OMRSConnectorManager         connectorManager;
     private  OMRSRepositoryContentManager repositoryContentManager;
     private  String                       localServerName;
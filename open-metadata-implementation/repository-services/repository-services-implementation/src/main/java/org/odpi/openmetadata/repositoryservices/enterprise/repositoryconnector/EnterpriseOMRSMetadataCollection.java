@@ -13,14 +13,20 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.FederatedQueryExecutor.FederatedMemberQuery;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.FederatedQueryExecutor.FederatedQuery;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.FederatedQueryExecutor.FederatedQueryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
 import java.util.Date;
+import java.util.function.BiFunction;
 
 
 /**
@@ -46,9 +52,11 @@ import java.util.Date;
  *     list looking for the first metadata repository that supports the metadata type and stores it there.
  * </p>
  * <p>
- *     Updates and deletes are routed to the owning (home) repository.  Searches are made to each repository in turn
- *     and the duplicates are removed.  Queries are directed to the local repository and then the remote repositories
- *     until all of the requested metadata is assembled.
+ *     Updates and deletes are routed to the owning (home) repository.  Searches are made to each repository in
+ *     parallel (see FederatedQueryExecutor) and the results are combined in the order of the repositories with the
+ *     duplicates removed.  Searches that return pages of entities or relationships ask each repository for its
+ *     results in the requested sequence and merge them (see FederatedPagingCursor).  Queries are directed to the
+ *     local repository and then the remote repositories until all of the requested metadata is assembled.
  * </p>
  */
 class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
@@ -58,7 +66,9 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     /*
      * Private variables for a metadata collection instance
      */
-    private EnterpriseOMRSRepositoryConnector enterpriseParentConnector;
+    private EnterpriseOMRSRepositoryConnector              enterpriseParentConnector;
+    private FederatedPagingCursorCache<EntityDetail>       entityPagingCursors       = new FederatedPagingCursorCache<>();
+    private FederatedPagingCursorCache<Relationship>       relationshipPagingCursors = new FederatedPagingCursorCache<>();
 
 
     /**
@@ -140,53 +150,54 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                   anotherException                = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
+         * Issue the request to each of the metadata collections.  The requests run in parallel.
          */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
-        {
-            if (cohortConnector != null)
-            {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
+        List<FederatedQueryResult<TypeDefGallery>> federatedResults;
 
-                validateMetadataCollection(metadataCollection, methodName);
+        federatedResults = this.issueFederatedQuery(cohortConnectors,
+                                                    metadataCollection -> metadataCollection.getAllTypes(userId),
+                                                    methodName);
 
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    TypeDefGallery     results = metadataCollection.getAllTypes(userId);
+        /*
+         * Loop through the results from each metadata collection, combining them and saving any exceptions.
+         */
+        for (FederatedQueryResult<TypeDefGallery> federatedResult : federatedResults)
+        {
+            OMRSRepositoryConnector cohortConnector = federatedResult.getCohortConnector();
 
-                    /*
-                     * Step through the list of returned TypeDefs and consolidate.
-                     */
-                    if (results != null)
-                    {
-                        combinedAttributeTypeDefResults = this.addUniqueAttributeTypeDefs(combinedAttributeTypeDefResults,
-                                                                                          results.getAttributeTypeDefs(),
-                                                                                          cohortConnector.getServerName(),
-                                                                                          cohortConnector.getMetadataCollectionId(),
-                                                                                          methodName);
-                        combinedTypeDefResults = this.addUniqueTypeDefs(combinedTypeDefResults,
-                                                                        results.getTypeDefs(),
-                                                                        cohortConnector.getServerName(),
-                                                                        cohortConnector.getMetadataCollectionId(),
-                                                                        methodName);
-                    }
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
+            try
+            {
+                TypeDefGallery results = federatedResult.getResult();
+
+                /*
+                 * Step through the list of returned TypeDefs and consolidate.
+                 */
+                if (results != null)
+                {
+                    combinedAttributeTypeDefResults = this.addUniqueAttributeTypeDefs(combinedAttributeTypeDefResults,
+                                                                                      results.getAttributeTypeDefs(),
+                                                                                      cohortConnector.getServerName(),
+                                                                                      cohortConnector.getMetadataCollectionId(),
+                                                                                      methodName);
+                    combinedTypeDefResults = this.addUniqueTypeDefs(combinedTypeDefResults,
+                                                                    results.getTypeDefs(),
+                                                                    cohortConnector.getServerName(),
+                                                                    cohortConnector.getMetadataCollectionId(),
+                                                                    methodName);
                 }
             }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
+            }
         }
 
         return validatedTypeDefGalleryResults(repositoryName,
@@ -249,53 +260,54 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                   anotherException                = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
+         * Issue the request to each of the metadata collections.  The requests run in parallel.
          */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
-        {
-            if (cohortConnector != null)
-            {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
+        List<FederatedQueryResult<TypeDefGallery>> federatedResults;
 
-                validateMetadataCollection(metadataCollection, methodName);
+        federatedResults = this.issueFederatedQuery(cohortConnectors,
+                                                    metadataCollection -> metadataCollection.findTypesByName(userId, name),
+                                                    methodName);
 
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    TypeDefGallery     results = metadataCollection.findTypesByName(userId, name);
+        /*
+         * Loop through the results from each metadata collection, combining them and saving any exceptions.
+         */
+        for (FederatedQueryResult<TypeDefGallery> federatedResult : federatedResults)
+        {
+            OMRSRepositoryConnector cohortConnector = federatedResult.getCohortConnector();
 
-                    /*
-                     * Step through the list of returned TypeDefs and consolidate.
-                     */
-                    if (results != null)
-                    {
-                        combinedAttributeTypeDefResults = this.addUniqueAttributeTypeDefs(combinedAttributeTypeDefResults,
-                                                                                          results.getAttributeTypeDefs(),
-                                                                                          cohortConnector.getServerName(),
-                                                                                          cohortConnector.getMetadataCollectionId(),
-                                                                                          methodName);
-                        combinedTypeDefResults = this.addUniqueTypeDefs(combinedTypeDefResults,
-                                                                        results.getTypeDefs(),
-                                                                        cohortConnector.getServerName(),
-                                                                        cohortConnector.getMetadataCollectionId(),
-                                                                        methodName);
-                    }
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
+            try
+            {
+                TypeDefGallery results = federatedResult.getResult();
+
+                /*
+                 * Step through the list of returned TypeDefs and consolidate.
+                 */
+                if (results != null)
+                {
+                    combinedAttributeTypeDefResults = this.addUniqueAttributeTypeDefs(combinedAttributeTypeDefResults,
+                                                                                      results.getAttributeTypeDefs(),
+                                                                                      cohortConnector.getServerName(),
+                                                                                      cohortConnector.getMetadataCollectionId(),
+                                                                                      methodName);
+                    combinedTypeDefResults = this.addUniqueTypeDefs(combinedTypeDefResults,
+                                                                    results.getTypeDefs(),
+                                                                    cohortConnector.getServerName(),
+                                                                    cohortConnector.getMetadataCollectionId(),
+                                                                    methodName);
                 }
             }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
+            }
         }
 
         return validatedTypeDefGalleryResults(repositoryName,
@@ -1921,6 +1933,158 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of entities in a single request to each member of the cohort.  The members are asked in
+     * turn for the entities that have not yet been found, so each entity is returned from the first
+     * member that has it - the same as getEntityDetail.  Entities that are not retrieved from any member are reported
+     * in the failures of the returned batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return InstanceBatch containing the entities and the failures.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getEntityDetails(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String  methodName        = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceListParameterValidation(userId, guids, methodName);
+
+        /*
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        /*
+         * Ready to process the request.  Some repositories may produce exceptions.  These exceptions are saved
+         * and one selected to be returned if no repository is able to process the request.
+         */
+        Map<String, EntityDetail>         retrievedInstances         = new HashMap<>();
+        Map<String, InstanceBatchFailure> failures                   = new HashMap<>();
+        Set<String>                       remainingGUIDs             = new LinkedHashSet<>(guids);
+        boolean                           batchProcessed             = false;
+
+        UserNotAuthorizedException        userNotAuthorizedException = null;
+        RepositoryErrorException          repositoryErrorException   = null;
+        Throwable                         anotherException           = null;
+
+        /*
+         * Loop through the metadata collections asking for the instances that have not been found yet.
+         */
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (remainingGUIDs.isEmpty())
+            {
+                break;
+            }
+
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
+
+                validateMetadataCollection(metadataCollection, methodName);
+
+                try
+                {
+                    InstanceBatch batch = metadataCollection.getEntityDetails(userId, new ArrayList<>(remainingGUIDs));
+
+                    batchProcessed = true;
+
+                    if (batch != null)
+                    {
+                        if (batch.getEntities() != null)
+                        {
+                            for (EntityDetail entity : batch.getEntities())
+                            {
+                                if ((entity != null) && (remainingGUIDs.contains(entity.getGUID())))
+                                {
+                                    EntityDetail processedEntity = enterpriseParentConnector.processRetrievedEntityDetail(cohortConnector.getMetadataCollectionId(),
+                                                                                                                          entity);
+
+                                    retrievedInstances.put(entity.getGUID(), processedEntity);
+                                }
+                            }
+                        }
+
+                        if (batch.getFailures() != null)
+                        {
+                            for (InstanceBatchFailure failure : batch.getFailures())
+                            {
+                                if (failure != null)
+                                {
+                                    failures.put(failure.getGUID(), failure);
+                                }
+                            }
+                        }
+                    }
+
+                    remainingGUIDs.removeAll(retrievedInstances.keySet());
+                }
+                catch (RepositoryErrorException error)
+                {
+                    repositoryErrorException = error;
+                }
+                catch (UserNotAuthorizedException error)
+                {
+                    userNotAuthorizedException = error;
+                }
+                catch (Throwable error)
+                {
+                    anotherException = error;
+                }
+            }
+        }
+
+        if (! batchProcessed)
+        {
+            throwCapturedRepositoryErrorException(repositoryErrorException);
+            throwCapturedUserNotAuthorizedException(userNotAuthorizedException);
+            throwCapturedThrowableException(anotherException, methodName);
+        }
+
+        /*
+         * Assemble the results in the order requested.
+         */
+        List<EntityDetail>         entityList  = new ArrayList<>();
+        List<InstanceBatchFailure> failureList = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = retrievedInstances.get(guid);
+
+            if (entity != null)
+            {
+                entityList.add(entity);
+            }
+            else if (failures.get(guid) != null)
+            {
+                failureList.add(failures.get(guid));
+            }
+            else
+            {
+                failureList.add(this.getInstanceNotKnownFailure(guid, OMRSErrorCode.ENTITY_NOT_KNOWN, methodName));
+            }
+        }
+
+        InstanceBatch batch = new InstanceBatch();
+
+        batch.setEntities(entityList);
+        batch.setFailures(failureList);
+
+        return batch;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1998,8 +2162,6 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and one selected to
          * be returned if there are no results from any repository.
          */
-        Map<String, Relationship>     combinedResults               = new HashMap<>();
-
         InvalidParameterException     invalidParameterException     = null;
         EntityNotKnownException       entityNotKnownException       = null;
         FunctionNotSupportedException functionNotSupportedException = null;
@@ -2009,91 +2171,103 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                     anotherException              = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
+         * Retrieve the requested page of the combined results.  Each member is asked for its results in
+         * sequence order, continuing from the position reached by the previous page (if its cursor is still
+         * available), and the members' results are merged with the duplicates removed.  The requests to the
+         * members run in parallel.
+         */
+        String queryKey = this.getQueryKey(methodName,
+                                           userId,
+                                           entityGUID,
+                                           relationshipTypeGUID,
+                                           limitResultsByStatus,
+                                           asOfTime,
+                                           sequencingProperty,
+                                           sequencingOrder);
+
+        FederatedPagingCursor<Relationship> pagingCursor = relationshipPagingCursors.getCursor(queryKey,
+                                                                                               fromRelationshipElement,
+                                                                                               cohortConnectors,
+                                                                                               sequencingProperty,
+                                                                                               sequencingOrder);
+
+        FederatedMemberQuery<List<Relationship>> memberQuery = (cohortConnector, metadataCollection) ->
+                metadataCollection.getRelationshipsForEntity(userId,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             pagingCursor.getMemberFromElement(cohortConnector),
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder,
+                                                             pagingCursor.getMemberPageSize(cohortConnector));
+
+        List<FederatedQueryResult<List<Relationship>>> failedResults = new ArrayList<>();
+
+        List<Relationship> combinedResults = this.getFederatedPage(pagingCursor,
+                                                                   fromRelationshipElement,
+                                                                   pageSize,
+                                                                   memberQuery,
+                                                                   enterpriseParentConnector::processRetrievedRelationships,
+                                                                   failedResults,
+                                                                   methodName);
+
+        relationshipPagingCursors.saveCursor(queryKey, cohortConnectors, pagingCursor);
+
+        /*
+         * Process the exceptions returned by the members.
          */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        for (FederatedQueryResult<List<Relationship>> federatedResult : failedResults)
         {
-            if (cohortConnector != null)
+            try
             {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
+                federatedResult.getResult();
+            }
+            catch (InvalidParameterException error)
+            {
+                invalidParameterException = error;
+            }
+            catch (EntityNotKnownException error)
+            {
+                entityNotKnownException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
+            }
+        }
 
-                validateMetadataCollection(metadataCollection, methodName);
 
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    List<Relationship> results = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                              entityGUID,
-                                                                                              relationshipTypeGUID,
-                                                                                              fromRelationshipElement,
-                                                                                              limitResultsByStatus,
-                                                                                              asOfTime,
-                                                                                              sequencingProperty,
-                                                                                              sequencingOrder,
-                                                                                              pageSize);
-
-                    /*
-                     * Step through the list of returned relationships and remove duplicates.
-                     */
-                    combinedResults = this.addUniqueRelationships(combinedResults,
-                                                                  results,
-                                                                  cohortConnector.getServerName(),
-                                                                  cohortConnector.getMetadataCollectionId(),
-                                                                  methodName);
-                }
-                catch (InvalidParameterException error)
-                {
-                    invalidParameterException = error;
-                }
-                catch (EntityNotKnownException error)
-                {
-                    entityNotKnownException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
-                }
-            }
-        }
-
-
-        if (combinedResults.isEmpty())
-        {
-            throwCapturedRepositoryErrorException(repositoryErrorException);
-            throwCapturedUserNotAuthorizedException(userNotAuthorizedException);
-            throwCapturedThrowableException(anotherException, methodName);
-            throwCapturedPropertyErrorException(propertyErrorException);
-            throwCapturedInvalidParameterException(invalidParameterException);
-            throwCapturedFunctionNotSupportedException(functionNotSupportedException);
-            throwCapturedEntityNotKnownException(entityNotKnownException);
+        if (combinedResults.isEmpty())
+        {
+            throwCapturedRepositoryErrorException(repositoryErrorException);
+            throwCapturedUserNotAuthorizedException(userNotAuthorizedException);
+            throwCapturedThrowableException(anotherException, methodName);
+            throwCapturedPropertyErrorException(propertyErrorException);
+            throwCapturedInvalidParameterException(invalidParameterException);
+            throwCapturedFunctionNotSupportedException(functionNotSupportedException);
+            throwCapturedEntityNotKnownException(entityNotKnownException);
 
             return null;
         }
 
-        return validatedRelationshipResults(repositoryName,
-                                            combinedResults,
-                                            sequencingProperty,
-                                            sequencingOrder,
-                                            pageSize,
-                                            methodName);
+        return combinedResults;
     }
 
 
@@ -2180,8 +2354,6 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and one selected to
          * be returned if there are no results from any repository.
          */
-        Map<String, EntityDetail>     combinedResults               = new HashMap<>();
-
         InvalidParameterException     invalidParameterException     = null;
         FunctionNotSupportedException functionNotSupportedException = null;
         TypeErrorException            typeErrorException            = null;
@@ -2191,70 +2363,89 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                     anotherException              = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
+         * Retrieve the requested page of the combined results.  Each member is asked for its results in
+         * sequence order, continuing from the position reached by the previous page (if its cursor is still
+         * available), and the members' results are merged with the duplicates removed.  The requests to the
+         * members run in parallel.
          */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        String queryKey = this.getQueryKey(methodName,
+                                           userId,
+                                           entityTypeGUID,
+                                           matchProperties,
+                                           matchCriteria,
+                                           limitResultsByStatus,
+                                           limitResultsByClassification,
+                                           asOfTime,
+                                           sequencingProperty,
+                                           sequencingOrder);
+
+        FederatedPagingCursor<EntityDetail> pagingCursor = entityPagingCursors.getCursor(queryKey,
+                                                                                         fromEntityElement,
+                                                                                         cohortConnectors,
+                                                                                         sequencingProperty,
+                                                                                         sequencingOrder);
+
+        FederatedMemberQuery<List<EntityDetail>> memberQuery = (cohortConnector, metadataCollection) ->
+                metadataCollection.findEntitiesByProperty(userId,
+                                                          entityTypeGUID,
+                                                          matchProperties,
+                                                          matchCriteria,
+                                                          pagingCursor.getMemberFromElement(cohortConnector),
+                                                          limitResultsByStatus,
+                                                          limitResultsByClassification,
+                                                          asOfTime,
+                                                          sequencingProperty,
+                                                          sequencingOrder,
+                                                          pagingCursor.getMemberPageSize(cohortConnector));
+
+        List<FederatedQueryResult<List<EntityDetail>>> failedResults = new ArrayList<>();
+
+        List<EntityDetail> combinedResults = this.getFederatedPage(pagingCursor,
+                                                                   fromEntityElement,
+                                                                   pageSize,
+                                                                   memberQuery,
+                                                                   enterpriseParentConnector::processRetrievedEntities,
+                                                                   failedResults,
+                                                                   methodName);
+
+        entityPagingCursors.saveCursor(queryKey, cohortConnectors, pagingCursor);
+
+        /*
+         * Process the exceptions returned by the members.
+         */
+        for (FederatedQueryResult<List<EntityDetail>> federatedResult : failedResults)
         {
-            if (cohortConnector != null)
+            try
             {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
-
-                validateMetadataCollection(metadataCollection, methodName);
-
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    List<EntityDetail> results = metadataCollection.findEntitiesByProperty(userId,
-                                                                                           entityTypeGUID,
-                                                                                           matchProperties,
-                                                                                           matchCriteria,
-                                                                                           fromEntityElement,
-                                                                                           limitResultsByStatus,
-                                                                                           limitResultsByClassification,
-                                                                                           asOfTime,
-                                                                                           sequencingProperty,
-                                                                                           sequencingOrder,
-                                                                                           pageSize);
-
-                    /*
-                     * Step through the list of returned TypeDefs and remove duplicates.
-                     */
-                    combinedResults = this.addUniqueEntities(combinedResults,
-                                                             results,
-                                                             cohortConnector.getServerName(),
-                                                             cohortConnector.getMetadataCollectionId(),
-                                                             methodName);
-                }
-                catch (InvalidParameterException error)
-                {
-                    invalidParameterException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (TypeErrorException error)
-                {
-                    typeErrorException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
-                }
+                federatedResult.getResult();
+            }
+            catch (InvalidParameterException error)
+            {
+                invalidParameterException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (TypeErrorException error)
+            {
+                typeErrorException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
             }
         }
 
@@ -2272,12 +2463,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             return null;
         }
 
-        return validatedEntityListResults(repositoryName,
-                                          combinedResults,
-                                          sequencingProperty,
-                                          sequencingOrder,
-                                          pageSize,
-                                          methodName);
+        return combinedResults;
     }
 
 
@@ -2368,8 +2554,6 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and one selected to
          * be returned if there are no results from any repository.
          */
-        Map<String, EntityDetail>     combinedResults               = new HashMap<>();
-
         InvalidParameterException     invalidParameterException     = null;
         FunctionNotSupportedException functionNotSupportedException = null;
         TypeErrorException            typeErrorException            = null;
@@ -2379,70 +2563,89 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                     anotherException              = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
+         * Retrieve the requested page of the combined results.  Each member is asked for its results in
+         * sequence order, continuing from the position reached by the previous page (if its cursor is still
+         * available), and the members' results are merged with the duplicates removed.  The requests to the
+         * members run in parallel.
          */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        String queryKey = this.getQueryKey(methodName,
+                                           userId,
+                                           entityTypeGUID,
+                                           classificationName,
+                                           matchClassificationProperties,
+                                           matchCriteria,
+                                           limitResultsByStatus,
+                                           asOfTime,
+                                           sequencingProperty,
+                                           sequencingOrder);
+
+        FederatedPagingCursor<EntityDetail> pagingCursor = entityPagingCursors.getCursor(queryKey,
+                                                                                         fromEntityElement,
+                                                                                         cohortConnectors,
+                                                                                         sequencingProperty,
+                                                                                         sequencingOrder);
+
+        FederatedMemberQuery<List<EntityDetail>> memberQuery = (cohortConnector, metadataCollection) ->
+                metadataCollection.findEntitiesByClassification(userId,
+                                                                entityTypeGUID,
+                                                                classificationName,
+                                                                matchClassificationProperties,
+                                                                matchCriteria,
+                                                                pagingCursor.getMemberFromElement(cohortConnector),
+                                                                limitResultsByStatus,
+                                                                asOfTime,
+                                                                sequencingProperty,
+                                                                sequencingOrder,
+                                                                pagingCursor.getMemberPageSize(cohortConnector));
+
+        List<FederatedQueryResult<List<EntityDetail>>> failedResults = new ArrayList<>();
+
+        List<EntityDetail> combinedResults = this.getFederatedPage(pagingCursor,
+                                                                   fromEntityElement,
+                                                                   pageSize,
+                                                                   memberQuery,
+                                                                   enterpriseParentConnector::processRetrievedEntities,
+                                                                   failedResults,
+                                                                   methodName);
+
+        entityPagingCursors.saveCursor(queryKey, cohortConnectors, pagingCursor);
+
+        /*
+         * Process the exceptions returned by the members.
+         */
+        for (FederatedQueryResult<List<EntityDetail>> federatedResult : failedResults)
         {
-            if (cohortConnector != null)
+            try
             {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
-
-                validateMetadataCollection(metadataCollection, methodName);
-
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    List<EntityDetail> results = metadataCollection.findEntitiesByClassification(userId,
-                                                                                                 entityTypeGUID,
-                                                                                                 classificationName,
-                                                                                                 matchClassificationProperties,
-                                                                                                 matchCriteria,
-                                                                                                 fromEntityElement,
-                                                                                                 limitResultsByStatus,
-                                                                                                 asOfTime,
-                                                                                                 sequencingProperty,
-                                                                                                 sequencingOrder,
-                                                                                                 pageSize);
-
-                    /*
-                     * Step through the list of returned TypeDefs and remove duplicates.
-                     */
-                    combinedResults = this.addUniqueEntities(combinedResults,
-                                                             results,
-                                                             cohortConnector.getServerName(),
-                                                             cohortConnector.getMetadataCollectionId(),
-                                                             methodName);
-                }
-                catch (InvalidParameterException error)
-                {
-                    invalidParameterException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (TypeErrorException error)
-                {
-                    typeErrorException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
-                }
+                federatedResult.getResult();
+            }
+            catch (InvalidParameterException error)
+            {
+                invalidParameterException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (TypeErrorException error)
+            {
+                typeErrorException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
             }
         }
 
@@ -2460,12 +2663,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             return null;
         }
 
-        return validatedEntityListResults(repositoryName,
-                                          combinedResults,
-                                          sequencingProperty,
-                                          sequencingOrder,
-                                          pageSize,
-                                          methodName);
+        return combinedResults;
     }
 
 
@@ -2551,8 +2749,6 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and one selected to
          * be returned if there are no results from any repository.
          */
-        Map<String, EntityDetail>     combinedResults               = new HashMap<>();
-
         InvalidParameterException     invalidParameterException     = null;
         FunctionNotSupportedException functionNotSupportedException = null;
         TypeErrorException            typeErrorException            = null;
@@ -2562,69 +2758,87 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                     anotherException              = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
+         * Retrieve the requested page of the combined results.  Each member is asked for its results in
+         * sequence order, continuing from the position reached by the previous page (if its cursor is still
+         * available), and the members' results are merged with the duplicates removed.  The requests to the
+         * members run in parallel.
          */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        String queryKey = this.getQueryKey(methodName,
+                                           userId,
+                                           entityTypeGUID,
+                                           searchCriteria,
+                                           limitResultsByStatus,
+                                           limitResultsByClassification,
+                                           asOfTime,
+                                           sequencingProperty,
+                                           sequencingOrder);
+
+        FederatedPagingCursor<EntityDetail> pagingCursor = entityPagingCursors.getCursor(queryKey,
+                                                                                         fromEntityElement,
+                                                                                         cohortConnectors,
+                                                                                         sequencingProperty,
+                                                                                         sequencingOrder);
+
+        FederatedMemberQuery<List<EntityDetail>> memberQuery = (cohortConnector, metadataCollection) ->
+                metadataCollection.findEntitiesByPropertyValue(userId,
+                                                               entityTypeGUID,
+                                                               searchCriteria,
+                                                               pagingCursor.getMemberFromElement(cohortConnector),
+                                                               limitResultsByStatus,
+                                                               limitResultsByClassification,
+                                                               asOfTime,
+                                                               sequencingProperty,
+                                                               sequencingOrder,
+                                                               pagingCursor.getMemberPageSize(cohortConnector));
+
+        List<FederatedQueryResult<List<EntityDetail>>> failedResults = new ArrayList<>();
+
+        List<EntityDetail> combinedResults = this.getFederatedPage(pagingCursor,
+                                                                   fromEntityElement,
+                                                                   pageSize,
+                                                                   memberQuery,
+                                                                   enterpriseParentConnector::processRetrievedEntities,
+                                                                   failedResults,
+                                                                   methodName);
+
+        entityPagingCursors.saveCursor(queryKey, cohortConnectors, pagingCursor);
+
+        /*
+         * Process the exceptions returned by the members.
+         */
+        for (FederatedQueryResult<List<EntityDetail>> federatedResult : failedResults)
         {
-            if (cohortConnector != null)
+            try
             {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
-
-                validateMetadataCollection(metadataCollection, methodName);
-
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
-                                                                                                entityTypeGUID,
-                                                                                                searchCriteria,
-                                                                                                fromEntityElement,
-                                                                                                limitResultsByStatus,
-                                                                                                limitResultsByClassification,
-                                                                                                asOfTime,
-                                                                                                sequencingProperty,
-                                                                                                sequencingOrder,
-                                                                                                pageSize);
-
-                    /*
-                     * Step through the list of returned TypeDefs and remove duplicates.
-                     */
-                    combinedResults = this.addUniqueEntities(combinedResults,
-                                                             results,
-                                                             cohortConnector.getServerName(),
-                                                             cohortConnector.getMetadataCollectionId(),
-                                                             methodName);
-                }
-                catch (InvalidParameterException error)
-                {
-                    invalidParameterException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (TypeErrorException error)
-                {
-                    typeErrorException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
-                }
+                federatedResult.getResult();
+            }
+            catch (InvalidParameterException error)
+            {
+                invalidParameterException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (TypeErrorException error)
+            {
+                typeErrorException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
             }
         }
 
@@ -2642,12 +2856,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             return null;
         }
 
-        return validatedEntityListResults(repositoryName,
-                                          combinedResults,
-                                          sequencingProperty,
-                                          sequencingOrder,
-                                          pageSize,
-                                          methodName);
+        return combinedResults;
     }
 
 
@@ -2926,13 +3135,201 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             }
         }
 
-        throwCapturedRepositoryErrorException(repositoryErrorException);
-        throwCapturedUserNotAuthorizedException(userNotAuthorizedException);
-        throwCapturedThrowableException(anotherException, methodName);
-        throwCapturedRelationshipNotKnownException(relationshipNotKnownException);
-        throwCapturedFunctionNotSupportedException(functionNotSupportedException);
+        throwCapturedRepositoryErrorException(repositoryErrorException);
+        throwCapturedUserNotAuthorizedException(userNotAuthorizedException);
+        throwCapturedThrowableException(anotherException, methodName);
+        throwCapturedRelationshipNotKnownException(relationshipNotKnownException);
+        throwCapturedFunctionNotSupportedException(functionNotSupportedException);
+
+        return null;
+    }
+
+
+    /**
+     * Return a list of relationships in a single request to each member of the cohort.  The members are asked in
+     * turn for the relationships that have not yet been found, so each relationship is returned from the first
+     * member that has it - the same as getRelationship.  Relationships that are not retrieved from any member are reported
+     * in the failures of the returned batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return InstanceBatch containing the relationships and the failures.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getRelationships(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String  methodName        = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceListParameterValidation(userId, guids, methodName);
+
+        /*
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        /*
+         * Ready to process the request.  Some repositories may produce exceptions.  These exceptions are saved
+         * and one selected to be returned if no repository is able to process the request.
+         */
+        Map<String, Relationship>         retrievedInstances         = new HashMap<>();
+        Map<String, InstanceBatchFailure> failures                   = new HashMap<>();
+        Set<String>                       remainingGUIDs             = new LinkedHashSet<>(guids);
+        boolean                           batchProcessed             = false;
+
+        UserNotAuthorizedException        userNotAuthorizedException = null;
+        RepositoryErrorException          repositoryErrorException   = null;
+        Throwable                         anotherException           = null;
+
+        /*
+         * Loop through the metadata collections asking for the instances that have not been found yet.
+         */
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (remainingGUIDs.isEmpty())
+            {
+                break;
+            }
+
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
+
+                validateMetadataCollection(metadataCollection, methodName);
+
+                try
+                {
+                    InstanceBatch batch = metadataCollection.getRelationships(userId, new ArrayList<>(remainingGUIDs));
+
+                    batchProcessed = true;
+
+                    if (batch != null)
+                    {
+                        if (batch.getRelationships() != null)
+                        {
+                            for (Relationship relationship : batch.getRelationships())
+                            {
+                                if ((relationship != null) && (remainingGUIDs.contains(relationship.getGUID())))
+                                {
+                                    Relationship processedRelationship = enterpriseParentConnector.processRetrievedRelationship(cohortConnector.getMetadataCollectionId(),
+                                                                                                                                relationship);
+
+                                    retrievedInstances.put(relationship.getGUID(), processedRelationship);
+                                }
+                            }
+                        }
+
+                        if (batch.getFailures() != null)
+                        {
+                            for (InstanceBatchFailure failure : batch.getFailures())
+                            {
+                                if (failure != null)
+                                {
+                                    failures.put(failure.getGUID(), failure);
+                                }
+                            }
+                        }
+                    }
+
+                    remainingGUIDs.removeAll(retrievedInstances.keySet());
+                }
+                catch (RepositoryErrorException error)
+                {
+                    repositoryErrorException = error;
+                }
+                catch (UserNotAuthorizedException error)
+                {
+                    userNotAuthorizedException = error;
+                }
+                catch (Throwable error)
+                {
+                    anotherException = error;
+                }
+            }
+        }
+
+        if (! batchProcessed)
+        {
+            throwCapturedRepositoryErrorException(repositoryErrorException);
+            throwCapturedUserNotAuthorizedException(userNotAuthorizedException);
+            throwCapturedThrowableException(anotherException, methodName);
+        }
+
+        /*
+         * Assemble the results in the order requested.
+         */
+        List<Relationship>         relationshipList = new ArrayList<>();
+        List<InstanceBatchFailure> failureList      = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            Relationship relationship = retrievedInstances.get(guid);
+
+            if (relationship != null)
+            {
+                relationshipList.add(relationship);
+            }
+            else if (failures.get(guid) != null)
+            {
+                failureList.add(failures.get(guid));
+            }
+            else
+            {
+                failureList.add(this.getInstanceNotKnownFailure(guid, OMRSErrorCode.RELATIONSHIP_NOT_KNOWN, methodName));
+            }
+        }
+
+        InstanceBatch batch = new InstanceBatch();
 
-        return null;
+        batch.setRelationships(relationshipList);
+        batch.setFailures(failureList);
+
+        return batch;
+    }
+
+
+    /**
+     * Return the failure reported in a batch for an instance that was not returned by any cohort member and
+     * for which no member reported an exception.
+     *
+     * @param guid unique identifier of the instance
+     * @param errorCode ENTITY_NOT_KNOWN or RELATIONSHIP_NOT_KNOWN
+     * @param methodName name of the batch method
+     * @return failure for the batch
+     */
+    private InstanceBatchFailure getInstanceNotKnownFailure(String          guid,
+                                                            OMRSErrorCode   errorCode,
+                                                            String          methodName)
+    {
+        String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(guid,
+                                                                                                 methodName,
+                                                                                                 repositoryName);
+
+        if (errorCode == OMRSErrorCode.RELATIONSHIP_NOT_KNOWN)
+        {
+            return new InstanceBatchFailure(guid, new RelationshipNotKnownException(errorCode.getHTTPErrorCode(),
+                                                                                    this.getClass().getName(),
+                                                                                    methodName,
+                                                                                    errorMessage,
+                                                                                    errorCode.getSystemAction(),
+                                                                                    errorCode.getUserAction()));
+        }
+
+        return new InstanceBatchFailure(guid, new EntityNotKnownException(errorCode.getHTTPErrorCode(),
+                                                                          this.getClass().getName(),
+                                                                          methodName,
+                                                                          errorMessage,
+                                                                          errorCode.getSystemAction(),
+                                                                          errorCode.getUserAction()));
     }
 
 
@@ -3018,8 +3415,6 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and one selected to
          * be returned if there are no results from any repository.
          */
-        Map<String, Relationship>     combinedResults               = new HashMap<>();
-
         InvalidParameterException     invalidParameterException     = null;
         FunctionNotSupportedException functionNotSupportedException = null;
         PropertyErrorException        propertyErrorException        = null;
@@ -3029,69 +3424,87 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                     anotherException              = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
-         */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+         * Retrieve the requested page of the combined results.  Each member is asked for its results in
+         * sequence order, continuing from the position reached by the previous page (if its cursor is still
+         * available), and the members' results are merged with the duplicates removed.  The requests to the
+         * members run in parallel.
+         */
+        String queryKey = this.getQueryKey(methodName,
+                                           userId,
+                                           relationshipTypeGUID,
+                                           matchProperties,
+                                           matchCriteria,
+                                           limitResultsByStatus,
+                                           asOfTime,
+                                           sequencingProperty,
+                                           sequencingOrder);
+
+        FederatedPagingCursor<Relationship> pagingCursor = relationshipPagingCursors.getCursor(queryKey,
+                                                                                               fromRelationshipElement,
+                                                                                               cohortConnectors,
+                                                                                               sequencingProperty,
+                                                                                               sequencingOrder);
+
+        FederatedMemberQuery<List<Relationship>> memberQuery = (cohortConnector, metadataCollection) ->
+                metadataCollection.findRelationshipsByProperty(userId,
+                                                               relationshipTypeGUID,
+                                                               matchProperties,
+                                                               matchCriteria,
+                                                               pagingCursor.getMemberFromElement(cohortConnector),
+                                                               limitResultsByStatus,
+                                                               asOfTime,
+                                                               sequencingProperty,
+                                                               sequencingOrder,
+                                                               pagingCursor.getMemberPageSize(cohortConnector));
+
+        List<FederatedQueryResult<List<Relationship>>> failedResults = new ArrayList<>();
+
+        List<Relationship> combinedResults = this.getFederatedPage(pagingCursor,
+                                                                   fromRelationshipElement,
+                                                                   pageSize,
+                                                                   memberQuery,
+                                                                   enterpriseParentConnector::processRetrievedRelationships,
+                                                                   failedResults,
+                                                                   methodName);
+
+        relationshipPagingCursors.saveCursor(queryKey, cohortConnectors, pagingCursor);
+
+        /*
+         * Process the exceptions returned by the members.
+         */
+        for (FederatedQueryResult<List<Relationship>> federatedResult : failedResults)
         {
-            if (cohortConnector != null)
+            try
             {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
-
-                validateMetadataCollection(metadataCollection, methodName);
-
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    List<Relationship> results = metadataCollection.findRelationshipsByProperty(userId,
-                                                                                                relationshipTypeGUID,
-                                                                                                matchProperties,
-                                                                                                matchCriteria,
-                                                                                                fromRelationshipElement,
-                                                                                                limitResultsByStatus,
-                                                                                                asOfTime,
-                                                                                                sequencingProperty,
-                                                                                                sequencingOrder,
-                                                                                                pageSize);
-
-                    /*
-                     * Step through the list of returned TypeDefs and remove duplicates.
-                     */
-                    combinedResults = this.addUniqueRelationships(combinedResults,
-                                                                  results,
-                                                                  cohortConnector.getServerName(),
-                                                                  cohortConnector.getMetadataCollectionId(),
-                                                                  methodName);
-                }
-                catch (InvalidParameterException error)
-                {
-                    invalidParameterException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (TypeErrorException error)
-                {
-                    typeErrorException = error;
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
-                }
+                federatedResult.getResult();
+            }
+            catch (InvalidParameterException error)
+            {
+                invalidParameterException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (TypeErrorException error)
+            {
+                typeErrorException = error;
+            }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
             }
         }
 
@@ -3109,12 +3522,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             return null;
         }
 
-        return validatedRelationshipResults(repositoryName,
-                                            combinedResults,
-                                            sequencingProperty,
-                                            sequencingOrder,
-                                            pageSize,
-                                            methodName);
+        return combinedResults;
     }
 
 
@@ -3197,8 +3605,6 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and one selected to
          * be returned if there are no results from any repository.
          */
-        Map<String, Relationship>     combinedResults               = new HashMap<>();
-
         InvalidParameterException     invalidParameterException     = null;
         FunctionNotSupportedException functionNotSupportedException = null;
         PropertyErrorException        propertyErrorException        = null;
@@ -3208,68 +3614,85 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                     anotherException              = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
-         */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+         * Retrieve the requested page of the combined results.  Each member is asked for its results in
+         * sequence order, continuing from the position reached by the previous page (if its cursor is still
+         * available), and the members' results are merged with the duplicates removed.  The requests to the
+         * members run in parallel.
+         */
+        String queryKey = this.getQueryKey(methodName,
+                                           userId,
+                                           relationshipTypeGUID,
+                                           searchCriteria,
+                                           limitResultsByStatus,
+                                           asOfTime,
+                                           sequencingProperty,
+                                           sequencingOrder);
+
+        FederatedPagingCursor<Relationship> pagingCursor = relationshipPagingCursors.getCursor(queryKey,
+                                                                                               fromRelationshipElement,
+                                                                                               cohortConnectors,
+                                                                                               sequencingProperty,
+                                                                                               sequencingOrder);
+
+        FederatedMemberQuery<List<Relationship>> memberQuery = (cohortConnector, metadataCollection) ->
+                metadataCollection.findRelationshipsByPropertyValue(userId,
+                                                                    relationshipTypeGUID,
+                                                                    searchCriteria,
+                                                                    pagingCursor.getMemberFromElement(cohortConnector),
+                                                                    limitResultsByStatus,
+                                                                    asOfTime,
+                                                                    sequencingProperty,
+                                                                    sequencingOrder,
+                                                                    pagingCursor.getMemberPageSize(cohortConnector));
+
+        List<FederatedQueryResult<List<Relationship>>> failedResults = new ArrayList<>();
+
+        List<Relationship> combinedResults = this.getFederatedPage(pagingCursor,
+                                                                   fromRelationshipElement,
+                                                                   pageSize,
+                                                                   memberQuery,
+                                                                   enterpriseParentConnector::processRetrievedRelationships,
+                                                                   failedResults,
+                                                                   methodName);
+
+        relationshipPagingCursors.saveCursor(queryKey, cohortConnectors, pagingCursor);
+
+        /*
+         * Process the exceptions returned by the members.
+         */
+        for (FederatedQueryResult<List<Relationship>> federatedResult : failedResults)
         {
-            if (cohortConnector != null)
+            try
             {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
-
-                validateMetadataCollection(metadataCollection, methodName);
-
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    List<Relationship> results = metadataCollection.findRelationshipsByPropertyValue(userId,
-                                                                                                     relationshipTypeGUID,
-                                                                                                     searchCriteria,
-                                                                                                     fromRelationshipElement,
-                                                                                                     limitResultsByStatus,
-                                                                                                     asOfTime,
-                                                                                                     sequencingProperty,
-                                                                                                     sequencingOrder,
-                                                                                                     pageSize);
-
-                    /*
-                     * Step through the list of returned TypeDefs and remove duplicates.
-                     */
-                    combinedResults = this.addUniqueRelationships(combinedResults,
-                                                                  results,
-                                                                  cohortConnector.getServerName(),
-                                                                  cohortConnector.getMetadataCollectionId(),
-                                                                  methodName);
-                }
-                catch (InvalidParameterException error)
-                {
-                    invalidParameterException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (TypeErrorException error)
-                {
-                    typeErrorException = error;
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
-                }
+                federatedResult.getResult();
+            }
+            catch (InvalidParameterException error)
+            {
+                invalidParameterException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (TypeErrorException error)
+            {
+                typeErrorException = error;
+            }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
             }
         }
 
@@ -3287,12 +3710,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             return null;
         }
 
-        return validatedRelationshipResults(repositoryName,
-                                            combinedResults,
-                                            sequencingProperty,
-                                            sequencingOrder,
-                                            pageSize,
-                                            methodName);
+        return combinedResults;
     }
 
 
@@ -3363,69 +3781,70 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                      anotherException                = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
+         * Issue the request to each of the metadata collections.  The requests run in parallel.
          */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
-        {
-            if (cohortConnector != null)
-            {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
+        List<FederatedQueryResult<InstanceGraph>> federatedResults;
 
-                validateMetadataCollection(metadataCollection, methodName);
+        federatedResults = this.issueFederatedQuery(cohortConnectors,
+                                                    metadataCollection -> metadataCollection.getLinkingEntities(userId,
+                                                                                                                startEntityGUID,
+                                                                                                                endEntityGUID,
+                                                                                                                limitResultsByStatus,
+                                                                                                                asOfTime),
+                                                    methodName);
 
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    InstanceGraph     results = metadataCollection.getLinkingEntities(userId,
-                                                                                      startEntityGUID,
-                                                                                      endEntityGUID,
-                                                                                      limitResultsByStatus,
-                                                                                      asOfTime);
+        /*
+         * Loop through the results from each metadata collection, combining them and saving any exceptions.
+         */
+        for (FederatedQueryResult<InstanceGraph> federatedResult : federatedResults)
+        {
+            OMRSRepositoryConnector cohortConnector = federatedResult.getCohortConnector();
 
-                    /*
-                     * Step through the list of returned TypeDefs and consolidate.
-                     */
-                    if (results != null)
-                    {
-                        combinedRelationshipResults = this.addUniqueRelationships(combinedRelationshipResults,
-                                                                                  results.getRelationships(),
-                                                                                  cohortConnector.getServerName(),
-                                                                                  cohortConnector.getMetadataCollectionId(),
-                                                                                  methodName);
-                        combinedEntityResults = this.addUniqueEntities(combinedEntityResults,
-                                                                       results.getEntities(),
-                                                                       cohortConnector.getServerName(),
-                                                                       cohortConnector.getMetadataCollectionId(),
-                                                                       methodName);
-                    }
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (EntityNotKnownException error)
-                {
-                    entityNotKnownException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
+            try
+            {
+                InstanceGraph results = federatedResult.getResult();
+
+                /*
+                 * Step through the list of returned TypeDefs and consolidate.
+                 */
+                if (results != null)
+                {
+                    combinedRelationshipResults = this.addUniqueRelationships(combinedRelationshipResults,
+                                                                              results.getRelationships(),
+                                                                              cohortConnector.getServerName(),
+                                                                              cohortConnector.getMetadataCollectionId(),
+                                                                              methodName);
+                    combinedEntityResults = this.addUniqueEntities(combinedEntityResults,
+                                                                   results.getEntities(),
+                                                                   cohortConnector.getServerName(),
+                                                                   cohortConnector.getMetadataCollectionId(),
+                                                                   methodName);
                 }
             }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (EntityNotKnownException error)
+            {
+                entityNotKnownException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
+            }
         }
 
         return validatedInstanceGraphResults(repositoryName,
@@ -3522,72 +3941,73 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                      anotherException                = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
+         * Issue the request to each of the metadata collections.  The requests run in parallel.
          */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
-        {
-            if (cohortConnector != null)
-            {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
+        List<FederatedQueryResult<InstanceGraph>> federatedResults;
 
-                validateMetadataCollection(metadataCollection, methodName);
+        federatedResults = this.issueFederatedQuery(cohortConnectors,
+                                                    metadataCollection -> metadataCollection.getEntityNeighborhood(userId,
+                                                                                                                   entityGUID,
+                                                                                                                   entityTypeGUIDs,
+                                                                                                                   relationshipTypeGUIDs,
+                                                                                                                   limitResultsByStatus,
+                                                                                                                   limitResultsByClassification,
+                                                                                                                   asOfTime,
+                                                                                                                   level),
+                                                    methodName);
 
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    InstanceGraph     results = metadataCollection.getEntityNeighborhood(userId,
-                                                                                         entityGUID,
-                                                                                         entityTypeGUIDs,
-                                                                                         relationshipTypeGUIDs,
-                                                                                         limitResultsByStatus,
-                                                                                         limitResultsByClassification,
-                                                                                         asOfTime,
-                                                                                         level);
+        /*
+         * Loop through the results from each metadata collection, combining them and saving any exceptions.
+         */
+        for (FederatedQueryResult<InstanceGraph> federatedResult : federatedResults)
+        {
+            OMRSRepositoryConnector cohortConnector = federatedResult.getCohortConnector();
 
-                    /*
-                     * Step through the list of returned TypeDefs and consolidate.
-                     */
-                    if (results != null)
-                    {
-                        combinedRelationshipResults = this.addUniqueRelationships(combinedRelationshipResults,
-                                                                                  results.getRelationships(),
-                                                                                  cohortConnector.getServerName(),
-                                                                                  cohortConnector.getMetadataCollectionId(),
-                                                                                  methodName);
-                        combinedEntityResults = this.addUniqueEntities(combinedEntityResults,
-                                                                       results.getEntities(),
-                                                                       cohortConnector.getServerName(),
-                                                                       cohortConnector.getMetadataCollectionId(),
-                                                                       methodName);
-                    }
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (EntityNotKnownException error)
-                {
-                    entityNotKnownException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
+            try
+            {
+                InstanceGraph results = federatedResult.getResult();
+
+                /*
+                 * Step through the list of returned TypeDefs and consolidate.
+                 */
+                if (results != null)
+                {
+                    combinedRelationshipResults = this.addUniqueRelationships(combinedRelationshipResults,
+                                                                              results.getRelationships(),
+                                                                              cohortConnector.getServerName(),
+                                                                              cohortConnector.getMetadataCollectionId(),
+                                                                              methodName);
+                    combinedEntityResults = this.addUniqueEntities(combinedEntityResults,
+                                                                   results.getEntities(),
+                                                                   cohortConnector.getServerName(),
+                                                                   cohortConnector.getMetadataCollectionId(),
+                                                                   methodName);
                 }
             }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (EntityNotKnownException error)
+            {
+                entityNotKnownException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
+            }
         }
 
         return validatedInstanceGraphResults(repositoryName,
@@ -3693,8 +4113,6 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and one selected to
          * be returned if there are no results from any repository.
          */
-        Map<String, EntityDetail>     combinedResults               = new HashMap<>();
-
         InvalidParameterException     invalidParameterException     = null;
         EntityNotKnownException       entityNotKnownException       = null;
         FunctionNotSupportedException functionNotSupportedException = null;
@@ -3705,73 +4123,91 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         Throwable                     anotherException              = null;
 
         /*
-         * Loop through the metadata collections extracting the typedefs from each repository.
-         */
-        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+         * Retrieve the requested page of the combined results.  Each member is asked for its results in
+         * sequence order, continuing from the position reached by the previous page (if its cursor is still
+         * available), and the members' results are merged with the duplicates removed.  The requests to the
+         * members run in parallel.
+         */
+        String queryKey = this.getQueryKey(methodName,
+                                           userId,
+                                           startEntityGUID,
+                                           entityTypeGUIDs,
+                                           limitResultsByStatus,
+                                           limitResultsByClassification,
+                                           asOfTime,
+                                           sequencingProperty,
+                                           sequencingOrder);
+
+        FederatedPagingCursor<EntityDetail> pagingCursor = entityPagingCursors.getCursor(queryKey,
+                                                                                         fromEntityElement,
+                                                                                         cohortConnectors,
+                                                                                         sequencingProperty,
+                                                                                         sequencingOrder);
+
+        FederatedMemberQuery<List<EntityDetail>> memberQuery = (cohortConnector, metadataCollection) ->
+                metadataCollection.getRelatedEntities(userId,
+                                                      startEntityGUID,
+                                                      entityTypeGUIDs,
+                                                      pagingCursor.getMemberFromElement(cohortConnector),
+                                                      limitResultsByStatus,
+                                                      limitResultsByClassification,
+                                                      asOfTime,
+                                                      sequencingProperty,
+                                                      sequencingOrder,
+                                                      pagingCursor.getMemberPageSize(cohortConnector));
+
+        List<FederatedQueryResult<List<EntityDetail>>> failedResults = new ArrayList<>();
+
+        List<EntityDetail> combinedResults = this.getFederatedPage(pagingCursor,
+                                                                   fromEntityElement,
+                                                                   pageSize,
+                                                                   memberQuery,
+                                                                   enterpriseParentConnector::processRetrievedEntities,
+                                                                   failedResults,
+                                                                   methodName);
+
+        entityPagingCursors.saveCursor(queryKey, cohortConnectors, pagingCursor);
+
+        /*
+         * Process the exceptions returned by the members.
+         */
+        for (FederatedQueryResult<List<EntityDetail>> federatedResult : failedResults)
         {
-            if (cohortConnector != null)
+            try
             {
-                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
-
-                validateMetadataCollection(metadataCollection, methodName);
-
-                try
-                {
-                    /*
-                     * Issue the request
-                     */
-                    List<EntityDetail> results = metadataCollection.getRelatedEntities(userId,
-                                                                                       startEntityGUID,
-                                                                                       entityTypeGUIDs,
-                                                                                       fromEntityElement,
-                                                                                       limitResultsByStatus,
-                                                                                       limitResultsByClassification,
-                                                                                       asOfTime,
-                                                                                       sequencingProperty,
-                                                                                       sequencingOrder,
-                                                                                       pageSize);
-
-                    /*
-                     * Step through the list of returned TypeDefs and remove duplicates.
-                     */
-                    combinedResults = this.addUniqueEntities(combinedResults,
-                                                             results,
-                                                             cohortConnector.getServerName(),
-                                                             cohortConnector.getMetadataCollectionId(),
-                                                             methodName);
-                }
-                catch (InvalidParameterException error)
-                {
-                    invalidParameterException = error;
-                }
-                catch (EntityNotKnownException error)
-                {
-                    entityNotKnownException = error;
-                }
-                catch (FunctionNotSupportedException error)
-                {
-                    functionNotSupportedException = error;
-                }
-                catch (TypeErrorException error)
-                {
-                    typeErrorException = error;
-                }
-                catch (PropertyErrorException error)
-                {
-                    propertyErrorException = error;
-                }
-                catch (RepositoryErrorException error)
-                {
-                    repositoryErrorException = error;
-                }
-                catch (UserNotAuthorizedException error)
-                {
-                    userNotAuthorizedException = error;
-                }
-                catch (Throwable error)
-                {
-                    anotherException = error;
-                }
+                federatedResult.getResult();
+            }
+            catch (InvalidParameterException error)
+            {
+                invalidParameterException = error;
+            }
+            catch (EntityNotKnownException error)
+            {
+                entityNotKnownException = error;
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                functionNotSupportedException = error;
+            }
+            catch (TypeErrorException error)
+            {
+                typeErrorException = error;
+            }
+            catch (PropertyErrorException error)
+            {
+                propertyErrorException = error;
+            }
+            catch (RepositoryErrorException error)
+            {
+                repositoryErrorException = error;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                userNotAuthorizedException = error;
+            }
+            catch (Throwable error)
+            {
+                anotherException = error;
             }
         }
 
@@ -3790,12 +4226,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             return null;
         }
 
-        return validatedEntityListResults(repositoryName,
-                                          combinedResults,
-                                          sequencingProperty,
-                                          sequencingOrder,
-                                          pageSize,
-                                          methodName);
+        return combinedResults;
     }
 
 
@@ -5939,6 +6370,180 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Issue a request to each of the cohort members through the enterprise connector's FederatedQueryExecutor.
+     * The metadata collection for each member is validated before any requests are issued.
+     *
+     * @param cohortConnectors connectors to the cohort members
+     * @param query request to issue to each member's metadata collection
+     * @param methodName name of the calling method
+     * @param <T> type of result returned by the request
+     * @return the result or exception from each member in the same order as the cohort connectors
+     * @throws RepositoryErrorException a metadata collection is invalid, or a member timed out and partial
+     *                                  results are not allowed.
+     */
+    private <T> List<FederatedQueryResult<T>> issueFederatedQuery(List<OMRSRepositoryConnector> cohortConnectors,
+                                                                  FederatedQuery<T>             query,
+                                                                  String                        methodName) throws RepositoryErrorException
+    {
+        return this.issueFederatedMemberQuery(cohortConnectors,
+                                              (cohortConnector, metadataCollection) -> query.issueQuery(metadataCollection),
+                                              methodName);
+    }
+
+
+    /**
+     * Issue a request, whose parameters depend on the cohort member, to each of the cohort members through the
+     * enterprise connector's FederatedQueryExecutor.  The metadata collection for each member is validated before
+     * any requests are issued.
+     *
+     * @param cohortConnectors connectors to the cohort members
+     * @param query request to issue to each member's metadata collection
+     * @param methodName name of the calling method
+     * @param <T> type of result returned by the request
+     * @return the result or exception from each member in the same order as the cohort connectors
+     * @throws RepositoryErrorException a metadata collection is invalid, or a member timed out and partial
+     *                                  results are not allowed.
+     */
+    private <T> List<FederatedQueryResult<T>> issueFederatedMemberQuery(List<OMRSRepositoryConnector> cohortConnectors,
+                                                                        FederatedMemberQuery<T>       query,
+                                                                        String                        methodName) throws RepositoryErrorException
+    {
+        List<OMRSRepositoryConnector> activeConnectors    = new ArrayList<>();
+        List<OMRSMetadataCollection>  metadataCollections = new ArrayList<>();
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection   metadataCollection = cohortConnector.getMetadataCollection();
+
+                validateMetadataCollection(metadataCollection, methodName);
+
+                activeConnectors.add(cohortConnector);
+                metadataCollections.add(metadataCollection);
+            }
+        }
+
+        return enterpriseParentConnector.getFederatedQueryExecutor().issueMemberQuery(activeConnectors,
+                                                                                      metadataCollections,
+                                                                                      query,
+                                                                                      methodName);
+    }
+
+
+    /**
+     * Build the string that identifies a search request so that its paging cursor can be located when the
+     * next page is requested.  The paging parameters (fromElement and pageSize) are not included.
+     *
+     * @param methodName name of the search method
+     * @param parameters parameters of the search
+     * @return query key
+     */
+    private String getQueryKey(String      methodName,
+                               Object...   parameters)
+    {
+        StringBuilder queryKey = new StringBuilder(methodName);
+
+        for (Object parameter : parameters)
+        {
+            queryKey.append('|').append(parameter);
+        }
+
+        return queryKey.toString();
+    }
+
+
+    /**
+     * Retrieve a page of the combined results of a search from the cohort members.  Members are queried
+     * (in parallel) whenever the cursor has no buffered results for them, and the buffered results are merged
+     * in sequence order until the page is full or all of the results have been returned.  If the cursor is
+     * positioned before fromElement (because it is new), the results before fromElement are skipped.
+     *
+     * @param pagingCursor cursor for the search
+     * @param fromElement starting element of the requested page
+     * @param pageSize maximum number of results to return - zero means all results
+     * @param memberQuery request to issue to a member for its next page of results
+     * @param resultsProcessor function to process the results retrieved from a member
+     * @param failedResults list to add the results from members that returned an exception
+     * @param methodName name of the search method
+     * @param <T> type of instance
+     * @return page of results
+     * @throws RepositoryErrorException there is a problem issuing the requests to the members
+     */
+    private <T extends InstanceHeader> List<T> getFederatedPage(FederatedPagingCursor<T>              pagingCursor,
+                                                                int                                   fromElement,
+                                                                int                                   pageSize,
+                                                                FederatedMemberQuery<List<T>>         memberQuery,
+                                                                BiFunction<String, List<T>, List<T>>  resultsProcessor,
+                                                                List<FederatedQueryResult<List<T>>>   failedResults,
+                                                                String                                methodName) throws RepositoryErrorException
+    {
+        List<T>  results = new ArrayList<>();
+
+        while ((pageSize == 0) || (results.size() < pageSize))
+        {
+            int                           memberPageSize = 0;
+
+            if (pageSize > 0)
+            {
+                memberPageSize = Math.max(fromElement - pagingCursor.getPosition(), 0) + pageSize;
+            }
+
+            List<OMRSRepositoryConnector> membersToQuery = pagingCursor.getMembersToQuery(memberPageSize);
+
+            if (! membersToQuery.isEmpty())
+            {
+                List<FederatedQueryResult<List<T>>> federatedResults = this.issueFederatedMemberQuery(membersToQuery,
+                                                                                                      memberQuery,
+                                                                                                      methodName);
+
+                for (FederatedQueryResult<List<T>> federatedResult : federatedResults)
+                {
+                    OMRSRepositoryConnector cohortConnector = federatedResult.getCohortConnector();
+                    List<T>                 memberResults   = null;
+
+                    try
+                    {
+                        memberResults = federatedResult.getResult();
+                    }
+                    catch (Throwable error)
+                    {
+                        failedResults.add(federatedResult);
+                    }
+
+                    if (memberResults != null)
+                    {
+                        /*
+                         * The member's position advances by the number of results it returned, not by the
+                         * number that survive processing.
+                         */
+                        pagingCursor.addMemberResults(cohortConnector,
+                                                      memberResults.size(),
+                                                      resultsProcessor.apply(cohortConnector.getMetadataCollectionId(),
+                                                                             memberResults));
+                    }
+                }
+            }
+            else if (pagingCursor.isComplete())
+            {
+                break;
+            }
+            else
+            {
+                T result = pagingCursor.nextResult();
+
+                if ((result != null) && (pagingCursor.getPosition() > fromElement))
+                {
+                    results.add(result);
+                }
+            }
+        }
+
+        return results;
+    }
+
+
     /**
      * Verify that a cohort member's metadata collection is not null.
      *
@@ -6397,74 +7002,6 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         }
     }
 
-    /**
-     * Return a validated, sorted list of search results.
-     *
-     * @param repositoryName name of this repository
-     * @param combinedResults results from all cohort repositories
-     * @param sequencingProperty String name of the property that is to be used to sequence the results.
-     *                           Null means do not sequence on a property name (see SequencingOrder).
-     * @param sequencingOrder Enum defining how the results should be ordered.
-     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
-     *                 unrestricted return results size.
-     * @param methodName name of method called
-     * @return list of entities
-     * @throws RepositoryErrorException there is a problem with the results
-     */
-    private List<EntityDetail> validatedEntityListResults(String                         repositoryName,
-                                                          Map<String, EntityDetail>      combinedResults,
-                                                          String                         sequencingProperty,
-                                                          SequencingOrder                sequencingOrder,
-                                                          int                            pageSize,
-                                                          String                         methodName) throws RepositoryErrorException
-    {
-        if (combinedResults.isEmpty())
-        {
-            return null;
-        }
-
-        List<EntityDetail>   actualResults = new ArrayList<>(combinedResults.values());
-
-        // todo: sort results and crop to max page size
-
-        return actualResults;
-    }
-
-
-    /**
-     * Return a validated, sorted list of search results.
-     *
-     * @param repositoryName name of this repository
-     * @param combinedResults relationships from all cohort repositories
-     * @param sequencingProperty String name of the property that is to be used to sequence the results.
-     *                           Null means do not sequence on a property name (see SequencingOrder).
-     * @param sequencingOrder Enum defining how the results should be ordered.
-     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
-     *                 unrestricted return results size.
-     * @param methodName name of the method called
-     * @return list of relationships
-     * @throws RepositoryErrorException there is a problem with the results
-     */
-    private List<Relationship> validatedRelationshipResults(String                         repositoryName,
-                                                            Map<String, Relationship>      combinedResults,
-                                                            String                         sequencingProperty,
-                                                            SequencingOrder                sequencingOrder,
-                                                            int                            pageSize,
-                                                            String                         methodName) throws RepositoryErrorException
-    {
-        if (combinedResults.isEmpty())
-        {
-            return null;
-        }
-
-        List<Relationship>   actualResults = new ArrayList<>(combinedResults.values());
-
-        // todo, sort results and crop to max page size
-
-        return actualResults;
-    }
-
-
     /**
      * Return a validated InstanceGraph.
      *
@@ -10,6 +10,7 @@ import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnec
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
@@ -51,9 +52,14 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     private List<FederatedConnector>            remoteCohortConnectors    = new ArrayList<>();
 
     private String                              accessServiceName         = null;
+    private FederatedQueryExecutor              federatedQueryExecutor    = null;
 
     private static final Logger       log      = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
+    private static final int          defaultMaxParallelRequests = 10;
+    private static final long         defaultCohortMemberTimeout = 0;
+    private static final boolean      defaultAllowPartialResults = true;
+
     /**
      * Constructor used by the EnterpriseOMRSConnectorProvider.
      *
@@ -98,6 +104,8 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
 
         if (metadataCollectionId != null)
         {
+            this.setUpFederatedQueryExecutor();
+
             super.metadataCollection = new EnterpriseOMRSMetadataCollection(this,
                                                                             super.serverName,
                                                                             repositoryHelper,
@@ -108,6 +116,90 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Create the executor used to issue requests to the cohort members in parallel.  Its settings are taken from
+     * the additional properties of the connection (if supplied).
+     */
+    private void setUpFederatedQueryExecutor()
+    {
+        int      maxParallelRequests = defaultMaxParallelRequests;
+        long     cohortMemberTimeout = defaultCohortMemberTimeout;
+        boolean  allowPartialResults = defaultAllowPartialResults;
+
+        if ((connectionProperties != null) && (connectionProperties.getAdditionalProperties() != null))
+        {
+            AdditionalProperties additionalProperties = connectionProperties.getAdditionalProperties();
+
+            Object maxParallelRequestsProperty = additionalProperties.getProperty(EnterpriseOMRSConnectorProvider.maxParallelRequestsPropertyName);
+            Object cohortMemberTimeoutProperty = additionalProperties.getProperty(EnterpriseOMRSConnectorProvider.cohortMemberTimeoutPropertyName);
+            Object allowPartialResultsProperty = additionalProperties.getProperty(EnterpriseOMRSConnectorProvider.allowPartialResultsPropertyName);
+
+            if (maxParallelRequestsProperty != null)
+            {
+                maxParallelRequests = (int)getLongProperty(maxParallelRequestsProperty, maxParallelRequests);
+            }
+
+            if (cohortMemberTimeoutProperty != null)
+            {
+                cohortMemberTimeout = getLongProperty(cohortMemberTimeoutProperty, cohortMemberTimeout);
+            }
+
+            if (allowPartialResultsProperty != null)
+            {
+                allowPartialResults = Boolean.parseBoolean(allowPartialResultsProperty.toString());
+            }
+        }
+
+        if (federatedQueryExecutor != null)
+        {
+            federatedQueryExecutor.shutdown();
+        }
+
+        federatedQueryExecutor = new FederatedQueryExecutor(repositoryName,
+                                                            maxParallelRequests,
+                                                            cohortMemberTimeout,
+                                                            allowPartialResults);
+    }
+
+
+    /**
+     * Convert an additional property to a long value.
+     *
+     * @param property property value - either a number or a string
+     * @param defaultValue value to use if the property is not a valid number
+     * @return long value
+     */
+    private long getLongProperty(Object   property,
+                                 long     defaultValue)
+    {
+        if (property instanceof Number)
+        {
+            return ((Number) property).longValue();
+        }
+
+        try
+        {
+            return Long.parseLong(property.toString().trim());
+        }
+        catch (NumberFormatException error)
+        {
+            log.error("Invalid value for enterprise connector property: " + property);
+            return defaultValue;
+        }
+    }
+
+
+    /**
+     * Return the executor used to issue requests to the cohort members.
+     *
+     * @return federated query executor
+     */
+    FederatedQueryExecutor getFederatedQueryExecutor()
+    {
+        return federatedQueryExecutor;
+    }
+
+
     /**
      * Return the name of the access service using this connector.
      *
@@ -183,6 +275,11 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             connectorManager.unregisterConnectorConsumer(connectorConsumerId);
         }
 
+        if (federatedQueryExecutor != null)
+        {
+            federatedQueryExecutor.shutdown();
+        }
+
         localConnector = null;
         remoteCohortConnectors = new ArrayList<>();
     }
@@ -499,6 +596,11 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
              */
         }
 
+        if (federatedQueryExecutor != null)
+        {
+            federatedQueryExecutor.shutdown();
+        }
+
         /*
          * Need to disconnect the remote connectors
          */
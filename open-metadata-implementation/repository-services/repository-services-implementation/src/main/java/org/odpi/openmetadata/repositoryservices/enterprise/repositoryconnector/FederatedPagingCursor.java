@@ -0,0 +1,393 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+
+import java.util.*;
+
+/**
+ * FederatedPagingCursor supports paging through the combined results of a search issued to the members of the
+ * cohort.  Each member is asked for its results a page at a time, in the requested sequencing order.
+ * The pages from the members are merged (k-way) in sequence order and duplicate instances (the same GUID
+ * returned by more than one member) are removed.
+ * <p>
+ *     The cursor remembers the position reached in each member's results together with the results it has
+ *     retrieved but not yet returned.  This means that when it is used to retrieve the next page of the
+ *     combined results, only the additional results needed from each member are requested.
+ * </p>
+ * <p>
+ *     A cursor is used by one request at a time.
+ * </p>
+ *
+ * @param <T> type of instance returned by the search
+ */
+class FederatedPagingCursor<T extends InstanceHeader>
+{
+    private final Comparator<T>                                 comparator;
+    private final Map<OMRSRepositoryConnector, MemberCursor<T>> memberCursors = new LinkedHashMap<>();
+    private final Set<String>                                   returnedGUIDs = new HashSet<>();
+    private int                                                 position      = 0;
+
+
+    /**
+     * Constructor sets up the position in each member's results.
+     *
+     * @param cohortConnectors connectors to the members of the cohort (in priority order)
+     * @param sequencingProperty name of the property used to sequence the results
+     * @param sequencingOrder order of the results
+     */
+    FederatedPagingCursor(List<OMRSRepositoryConnector>  cohortConnectors,
+                          String                         sequencingProperty,
+                          SequencingOrder                sequencingOrder)
+    {
+        this.comparator = getComparator(sequencingProperty, sequencingOrder);
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                memberCursors.put(cohortConnector, new MemberCursor<>());
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of combined results that have been returned through this cursor.  This is the
+     * fromElement value of the next page.
+     *
+     * @return position in the combined results
+     */
+    int getPosition()
+    {
+        return position;
+    }
+
+
+    /**
+     * Return the list of members that need to be asked for more results before the next result can be merged.
+     * These are the members that have no buffered results and have not reached the end of their results.
+     * Any member that was asked for results on the previous call and did not supply them (because it returned
+     * an exception) is treated as having no more results.
+     *
+     * @param memberPageSize number of results that will be requested from each member (zero means all results)
+     * @return list of cohort connectors - empty list means the next result can be merged
+     */
+    List<OMRSRepositoryConnector> getMembersToQuery(int   memberPageSize)
+    {
+        List<OMRSRepositoryConnector> membersToQuery = new ArrayList<>();
+
+        for (Map.Entry<OMRSRepositoryConnector, MemberCursor<T>> entry : memberCursors.entrySet())
+        {
+            MemberCursor<T> memberCursor = entry.getValue();
+
+            if (memberCursor.awaitingResults)
+            {
+                memberCursor.awaitingResults = false;
+                memberCursor.endOfResults = true;
+            }
+            else if ((memberCursor.bufferedResults.isEmpty()) && (! memberCursor.endOfResults))
+            {
+                memberCursor.awaitingResults = true;
+                memberCursor.requestedPageSize = memberPageSize;
+                membersToQuery.add(entry.getKey());
+            }
+        }
+
+        return membersToQuery;
+    }
+
+
+    /**
+     * Return the element number that the next request to a member should start from.
+     *
+     * @param cohortConnector connector to the member
+     * @return fromElement value for the member
+     */
+    int getMemberFromElement(OMRSRepositoryConnector   cohortConnector)
+    {
+        MemberCursor<T> memberCursor = memberCursors.get(cohortConnector);
+
+        if (memberCursor != null)
+        {
+            return memberCursor.nextFromElement;
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Return the number of results that the next request to a member should ask for.
+     *
+     * @param cohortConnector connector to the member
+     * @return pageSize value for the member (zero means all results)
+     */
+    int getMemberPageSize(OMRSRepositoryConnector   cohortConnector)
+    {
+        MemberCursor<T> memberCursor = memberCursors.get(cohortConnector);
+
+        if (memberCursor != null)
+        {
+            return memberCursor.requestedPageSize;
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Add the results returned by a member.  The position in the member's results is advanced by the number
+     * of results the member returned, which may be more than the number of results added (the enterprise
+     * connector drops any results that it fails to process).  A member has reached the end of its results
+     * when it returns fewer results than requested.
+     *
+     * @param cohortConnector connector to the member
+     * @param memberResultCount number of results returned by the member
+     * @param results results from the member after processing (null means no results)
+     */
+    void addMemberResults(OMRSRepositoryConnector   cohortConnector,
+                          int                       memberResultCount,
+                          List<T>                   results)
+    {
+        MemberCursor<T> memberCursor = memberCursors.get(cohortConnector);
+
+        if ((memberCursor != null) && (memberCursor.awaitingResults))
+        {
+            memberCursor.awaitingResults = false;
+
+            if (memberResultCount <= 0)
+            {
+                memberCursor.endOfResults = true;
+            }
+            else
+            {
+                if (results != null)
+                {
+                    memberCursor.bufferedResults.addAll(results);
+                }
+
+                memberCursor.nextFromElement = memberCursor.nextFromElement + memberResultCount;
+
+                if ((memberCursor.requestedPageSize == 0) || (memberResultCount < memberCursor.requestedPageSize))
+                {
+                    memberCursor.endOfResults = true;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Take the next result from the members' buffered results.  This must only be called when getMembersToQuery
+     * returns an empty list so that the first buffered result from each member is available for comparison.
+     * A result that has already been returned by another member is discarded.
+     *
+     * @return next instance, or null if there is no result to return from this step (the result was a duplicate
+     * or there are no more results)
+     */
+    T nextResult()
+    {
+        MemberCursor<T> selectedCursor = null;
+
+        for (MemberCursor<T> memberCursor : memberCursors.values())
+        {
+            T candidate = memberCursor.bufferedResults.peekFirst();
+
+            if (candidate != null)
+            {
+                if ((selectedCursor == null) ||
+                    (comparator.compare(candidate, selectedCursor.bufferedResults.peekFirst()) < 0))
+                {
+                    selectedCursor = memberCursor;
+                }
+            }
+        }
+
+        if (selectedCursor != null)
+        {
+            T result = selectedCursor.bufferedResults.pollFirst();
+
+            if ((result.getGUID() == null) || (returnedGUIDs.add(result.getGUID())))
+            {
+                position++;
+
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return whether all of the results from all members have been returned.
+     *
+     * @return boolean
+     */
+    boolean isComplete()
+    {
+        for (MemberCursor<T> memberCursor : memberCursors.values())
+        {
+            if ((! memberCursor.bufferedResults.isEmpty()) || (! memberCursor.endOfResults))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the comparator that sequences the instances according to the requested sequencing order.
+     * Instances that are equal in this order are returned in the order of the cohort members.
+     *
+     * @param sequencingProperty name of the property used to sequence the results
+     * @param sequencingOrder order of the results
+     * @param <T> type of instance
+     * @return comparator
+     */
+    static <T extends InstanceHeader> Comparator<T> getComparator(String            sequencingProperty,
+                                                                  SequencingOrder   sequencingOrder)
+    {
+        if (sequencingOrder == null)
+        {
+            return (first, second) -> 0;
+        }
+
+        switch (sequencingOrder)
+        {
+            case GUID:
+                return (first, second) -> compareValues(first.getGUID(), second.getGUID());
+
+            case CREATION_DATE_RECENT:
+                return (first, second) -> compareValues(second.getCreateTime(), first.getCreateTime());
+
+            case CREATION_DATE_OLDEST:
+                return (first, second) -> compareValues(first.getCreateTime(), second.getCreateTime());
+
+            case LAST_UPDATE_RECENT:
+                return (first, second) -> compareValues(getLastUpdateTime(second), getLastUpdateTime(first));
+
+            case LAST_UPDATE_OLDEST:
+                return (first, second) -> compareValues(getLastUpdateTime(first), getLastUpdateTime(second));
+
+            case PROPERTY_ASCENDING:
+                return (first, second) -> compareValues(getPropertyValue(first, sequencingProperty),
+                                                        getPropertyValue(second, sequencingProperty));
+
+            case PROPERTY_DESCENDING:
+                return (first, second) -> compareValues(getPropertyValue(second, sequencingProperty),
+                                                        getPropertyValue(first, sequencingProperty));
+
+            default:
+                return (first, second) -> 0;
+        }
+    }
+
+
+    /**
+     * Return the time that the instance was last changed.
+     *
+     * @param instance instance
+     * @return update time, or create time if the instance has not been updated
+     */
+    private static Date getLastUpdateTime(InstanceHeader   instance)
+    {
+        if (instance.getUpdateTime() != null)
+        {
+            return instance.getUpdateTime();
+        }
+
+        return instance.getCreateTime();
+    }
+
+
+    /**
+     * Return the value of the sequencing property from an instance.
+     *
+     * @param instance entity or relationship
+     * @param sequencingProperty name of the property
+     * @return primitive or enum value - or null if the property is not set
+     */
+    private static Object getPropertyValue(InstanceHeader   instance,
+                                           String           sequencingProperty)
+    {
+        InstanceProperties properties = null;
+
+        if (instance instanceof EntityDetail)
+        {
+            properties = ((EntityDetail) instance).getProperties();
+        }
+        else if (instance instanceof Relationship)
+        {
+            properties = ((Relationship) instance).getProperties();
+        }
+
+        if ((properties != null) && (sequencingProperty != null))
+        {
+            InstancePropertyValue propertyValue = properties.getPropertyValue(sequencingProperty);
+
+            if (propertyValue instanceof PrimitivePropertyValue)
+            {
+                return ((PrimitivePropertyValue) propertyValue).getPrimitiveValue();
+            }
+            else if (propertyValue instanceof EnumPropertyValue)
+            {
+                return ((EnumPropertyValue) propertyValue).getOrdinal();
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Compare two values.  Null values are sequenced after all other values.  Values of different types are
+     * compared using their string form.
+     *
+     * @param first first value
+     * @param second second value
+     * @return negative, zero or positive result of the comparison
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object   first,
+                                     Object   second)
+    {
+        if (first == null)
+        {
+            return (second == null) ? 0 : 1;
+        }
+
+        if (second == null)
+        {
+            return -1;
+        }
+
+        if ((first instanceof Comparable) && (first.getClass().equals(second.getClass())))
+        {
+            return ((Comparable<Object>) first).compareTo(second);
+        }
+
+        return first.toString().compareTo(second.toString());
+    }
+
+
+    /**
+     * MemberCursor holds the position reached in a single member's results.
+     *
+     * @param <T> type of instance
+     */
+    private static class MemberCursor<T>
+    {
+        private final Deque<T> bufferedResults   = new ArrayDeque<>();
+        private int            nextFromElement   = 0;
+        private int            requestedPageSize = 0;
+        private boolean        awaitingResults   = false;
+        private boolean        endOfResults      = false;
+    }
+}
@@ -0,0 +1,158 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FederatedPagingCursorCache keeps the FederatedPagingCursors for federated searches between requests.
+ * A cursor is saved under the search parameters, the members of the cohort and the position reached in the
+ * combined results.  A request for the next page of the same search picks up the cursor and continues from where
+ * the previous request finished.
+ * <p>
+ *     The cache holds a limited number of cursors and discards cursors that have not been used for a while.
+ *     If there is no cursor for a request, a new cursor is created and the search starts from the beginning of
+ *     each member's results.
+ * </p>
+ *
+ * @param <T> type of instance returned by the searches
+ */
+class FederatedPagingCursorCache<T extends InstanceHeader>
+{
+    private static final int    maxCursors    = 100;
+    private static final long   cursorTimeout = 5 * 60 * 1000;
+
+    private final Map<String, SavedCursor<T>> savedCursors = new LinkedHashMap<String, SavedCursor<T>>(16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected boolean removeEldestEntry(Map.Entry<String, SavedCursor<T>> eldest)
+        {
+            return size() > maxCursors;
+        }
+    };
+
+
+    /**
+     * Default constructor
+     */
+    FederatedPagingCursorCache()
+    {
+    }
+
+
+    /**
+     * Return the cursor for a search request.  The cursor is removed from the cache so that it is only used
+     * by one request at a time.
+     *
+     * @param queryKey string identifying the search request (excluding its fromElement)
+     * @param fromElement starting element of the requested page
+     * @param cohortConnectors connectors to the members of the cohort
+     * @param sequencingProperty name of the property used to sequence the results
+     * @param sequencingOrder order of the results
+     * @return saved cursor positioned at fromElement, or a new cursor positioned at the start of the results
+     */
+    FederatedPagingCursor<T> getCursor(String                         queryKey,
+                                       int                            fromElement,
+                                       List<OMRSRepositoryConnector>  cohortConnectors,
+                                       String                         sequencingProperty,
+                                       SequencingOrder                sequencingOrder)
+    {
+        if (fromElement > 0)
+        {
+            SavedCursor<T> savedCursor;
+
+            synchronized (savedCursors)
+            {
+                savedCursor = savedCursors.remove(getCursorKey(queryKey, cohortConnectors, fromElement));
+            }
+
+            if ((savedCursor != null) && (System.currentTimeMillis() - savedCursor.savedTime < cursorTimeout))
+            {
+                return savedCursor.cursor;
+            }
+        }
+
+        return new FederatedPagingCursor<>(cohortConnectors, sequencingProperty, sequencingOrder);
+    }
+
+
+    /**
+     * Save a cursor so that it can be used to retrieve the next page of results.  Cursors that have returned all
+     * of the results are not saved.
+     *
+     * @param queryKey string identifying the search request (excluding its fromElement)
+     * @param cohortConnectors connectors to the members of the cohort
+     * @param cursor cursor to save
+     */
+    void saveCursor(String                         queryKey,
+                    List<OMRSRepositoryConnector>  cohortConnectors,
+                    FederatedPagingCursor<T>       cursor)
+    {
+        if ((cursor != null) && (! cursor.isComplete()))
+        {
+            String cursorKey = getCursorKey(queryKey, cohortConnectors, cursor.getPosition());
+
+            synchronized (savedCursors)
+            {
+                savedCursors.put(cursorKey, new SavedCursor<>(cursor));
+            }
+        }
+    }
+
+
+    /**
+     * Build the key for a cursor.  This includes the members of the cohort so that a cursor is not used if the
+     * shape of the cohort changes.
+     *
+     * @param queryKey string identifying the search request
+     * @param cohortConnectors connectors to the members of the cohort
+     * @param position position in the combined results
+     * @return key
+     */
+    private String getCursorKey(String                         queryKey,
+                                List<OMRSRepositoryConnector>  cohortConnectors,
+                                int                            position)
+    {
+        StringBuilder cursorKey = new StringBuilder(queryKey);
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                cursorKey.append('|').append(cohortConnector.getMetadataCollectionId());
+            }
+        }
+
+        return cursorKey.append('@').append(position).toString();
+    }
+
+
+    /**
+     * SavedCursor records when a cursor was saved.
+     *
+     * @param <T> type of instance
+     */
+    private static class SavedCursor<T extends InstanceHeader>
+    {
+        private final FederatedPagingCursor<T> cursor;
+        private final long                     savedTime = System.currentTimeMillis();
+
+
+        /**
+         * Constructor
+         *
+         * @param cursor cursor to save
+         */
+        SavedCursor(FederatedPagingCursor<T>   cursor)
+        {
+            this.cursor = cursor;
+        }
+    }
+}
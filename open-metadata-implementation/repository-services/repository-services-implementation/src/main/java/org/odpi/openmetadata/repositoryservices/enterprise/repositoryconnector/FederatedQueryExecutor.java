@@ -0,0 +1,421 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FederatedQueryExecutor issues a request to each of the cohort members in parallel and gathers the results
+ * (or exceptions) from each member.  The results are returned in the same order as the cohort connectors so
+ * the EnterpriseOMRSMetadataCollection can combine them exactly as it would if the members had been called in turn.
+ * <p>
+ *     A timeout can be set for each member.  If a member does not respond in time, its request is cancelled.
+ *     Then either the member's result is replaced by a RepositoryErrorException (partial results are allowed) or
+ *     the remaining requests are cancelled and the whole request fails.
+ * </p>
+ * <p>
+ *     When the executor is configured with one thread (or only one member is called and there is no timeout)
+ *     the requests are issued on the caller's thread.
+ * </p>
+ */
+class FederatedQueryExecutor
+{
+    private static final Logger log = LoggerFactory.getLogger(FederatedQueryExecutor.class);
+
+    private static final long   threadKeepAliveTime = 60;
+
+    private String              repositoryName;
+    private int                 maxParallelRequests;
+    private long                memberTimeout;
+    private boolean             partialResultsAllowed;
+    private ThreadPoolExecutor  executorService = null;
+
+
+    /**
+     * Constructor sets up the thread pool used for the requests.
+     *
+     * @param repositoryName name of the enterprise repository (used for thread names and messages)
+     * @param maxParallelRequests maximum number of requests to cohort members running at the same time.  One or less
+     *                            means the members are called in turn on the caller's thread.
+     * @param memberTimeout number of milliseconds to wait for each member to respond - zero means wait until the
+     *                      member responds.
+     * @param partialResultsAllowed should the results from the members that responded be returned when one or
+     *                              more members time out?
+     */
+    FederatedQueryExecutor(String   repositoryName,
+                           int      maxParallelRequests,
+                           long     memberTimeout,
+                           boolean  partialResultsAllowed)
+    {
+        this.repositoryName = repositoryName;
+        this.maxParallelRequests = maxParallelRequests;
+        this.memberTimeout = Math.max(memberTimeout, 0);
+        this.partialResultsAllowed = partialResultsAllowed;
+
+        if (maxParallelRequests > 1)
+        {
+            executorService = new ThreadPoolExecutor(maxParallelRequests,
+                                                     maxParallelRequests,
+                                                     threadKeepAliveTime,
+                                                     TimeUnit.SECONDS,
+                                                     new LinkedBlockingQueue<>(),
+                                                     new FederatedQueryThreadFactory(repositoryName));
+            executorService.allowCoreThreadTimeOut(true);
+        }
+    }
+
+
+    /**
+     * Issue the query to each of the cohort members and return their results.  The exceptions from the
+     * members are returned in the results so that they can be processed by the caller.
+     *
+     * @param cohortConnectors connectors to the cohort members
+     * @param metadataCollections metadata collections for the cohort connectors (in the same order)
+     * @param query request to issue to each member
+     * @param methodName name of the calling method
+     * @param <T> type of result returned by the query
+     * @return list of results in the same order as the cohort connectors
+     * @throws RepositoryErrorException a member timed out and partial results are not allowed or the request
+     *                                  was interrupted.
+     */
+    <T> List<FederatedQueryResult<T>> issueQuery(List<OMRSRepositoryConnector>  cohortConnectors,
+                                                 List<OMRSMetadataCollection>   metadataCollections,
+                                                 FederatedQuery<T>              query,
+                                                 String                         methodName) throws RepositoryErrorException
+    {
+        return this.issueMemberQuery(cohortConnectors,
+                                     metadataCollections,
+                                     (cohortConnector, metadataCollection) -> query.issueQuery(metadataCollection),
+                                     methodName);
+    }
+
+
+    /**
+     * Issue a query that depends on the cohort member to each of the cohort members and return their results.
+     * This is used when the parameters of the request are different for each member.
+     *
+     * @param cohortConnectors connectors to the cohort members
+     * @param metadataCollections metadata collections for the cohort connectors (in the same order)
+     * @param query request to issue to each member
+     * @param methodName name of the calling method
+     * @param <T> type of result returned by the query
+     * @return list of results in the same order as the cohort connectors
+     * @throws RepositoryErrorException a member timed out and partial results are not allowed or the request
+     *                                  was interrupted.
+     */
+    <T> List<FederatedQueryResult<T>> issueMemberQuery(List<OMRSRepositoryConnector>  cohortConnectors,
+                                                       List<OMRSMetadataCollection>   metadataCollections,
+                                                       FederatedMemberQuery<T>        query,
+                                                       String                         methodName) throws RepositoryErrorException
+    {
+        List<FederatedQueryResult<T>> results = new ArrayList<>();
+
+        if ((executorService == null) || ((cohortConnectors.size() == 1) && (memberTimeout == 0)))
+        {
+            for (int i = 0; i < cohortConnectors.size(); i++)
+            {
+                results.add(issueQueryToMember(cohortConnectors.get(i), metadataCollections.get(i), query));
+            }
+
+            return results;
+        }
+
+        List<Future<FederatedQueryResult<T>>> futures = new ArrayList<>();
+
+        try
+        {
+            for (int i = 0; i < cohortConnectors.size(); i++)
+            {
+                final OMRSRepositoryConnector cohortConnector    = cohortConnectors.get(i);
+                final OMRSMetadataCollection  metadataCollection = metadataCollections.get(i);
+
+                futures.add(executorService.submit(() -> issueQueryToMember(cohortConnector, metadataCollection, query)));
+            }
+
+            final long deadline = System.currentTimeMillis() + memberTimeout;
+
+            for (int i = 0; i < futures.size(); i++)
+            {
+                Future<FederatedQueryResult<T>> future = futures.get(i);
+
+                try
+                {
+                    if (memberTimeout == 0)
+                    {
+                        results.add(future.get());
+                    }
+                    else
+                    {
+                        results.add(future.get(Math.max(deadline - System.currentTimeMillis(), 0),
+                                               TimeUnit.MILLISECONDS));
+                    }
+                }
+                catch (TimeoutException  error)
+                {
+                    future.cancel(true);
+
+                    RepositoryErrorException timeoutException = getTimeoutException(cohortConnectors.get(i), methodName);
+
+                    log.debug("Cohort member timed out: " + timeoutException.getErrorMessage());
+
+                    if (partialResultsAllowed)
+                    {
+                        results.add(new FederatedQueryResult<>(cohortConnectors.get(i), null, timeoutException));
+                    }
+                    else
+                    {
+                        throw timeoutException;
+                    }
+                }
+                catch (ExecutionException  error)
+                {
+                    results.add(new FederatedQueryResult<>(cohortConnectors.get(i), null, error.getCause()));
+                }
+            }
+        }
+        catch (InterruptedException  error)
+        {
+            Thread.currentThread().interrupt();
+
+            OMRSErrorCode errorCode = OMRSErrorCode.ENTERPRISE_DISCONNECTED;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage();
+
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               errorMessage,
+                                               errorCode.getSystemAction(),
+                                               errorCode.getUserAction());
+        }
+        catch (RejectedExecutionException  error)
+        {
+            OMRSErrorCode errorCode = OMRSErrorCode.ENTERPRISE_DISCONNECTED;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage();
+
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               errorMessage,
+                                               errorCode.getSystemAction(),
+                                               errorCode.getUserAction());
+        }
+        finally
+        {
+            /*
+             * Cancel any requests still outstanding if the request failed.
+             */
+            for (Future<FederatedQueryResult<T>> future : futures)
+            {
+                future.cancel(true);
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Stop the threads used to issue the requests.  Outstanding requests are cancelled.
+     */
+    void shutdown()
+    {
+        if (executorService != null)
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Issue the query to a single cohort member, capturing any exception.
+     *
+     * @param cohortConnector connector to the member
+     * @param metadataCollection metadata collection of the member
+     * @param query request to issue
+     * @param <T> type of result returned by the query
+     * @return result or exception from the member
+     */
+    private <T> FederatedQueryResult<T> issueQueryToMember(OMRSRepositoryConnector  cohortConnector,
+                                                           OMRSMetadataCollection   metadataCollection,
+                                                           FederatedMemberQuery<T>  query)
+    {
+        try
+        {
+            return new FederatedQueryResult<>(cohortConnector, query.issueQuery(cohortConnector, metadataCollection), null);
+        }
+        catch (Throwable  error)
+        {
+            return new FederatedQueryResult<>(cohortConnector, null, error);
+        }
+    }
+
+
+    /**
+     * Build the exception that reports that a cohort member did not respond in time.
+     *
+     * @param cohortConnector connector to the member
+     * @param methodName name of the calling method
+     * @return exception
+     */
+    private RepositoryErrorException getTimeoutException(OMRSRepositoryConnector  cohortConnector,
+                                                         String                   methodName)
+    {
+        OMRSErrorCode errorCode = OMRSErrorCode.COHORT_MEMBER_TIMEOUT;
+        String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(cohortConnector.getMetadataCollectionId(),
+                                                                                                 methodName,
+                                                                                                 Long.toString(memberTimeout),
+                                                                                                 repositoryName);
+
+        return new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            errorMessage,
+                                            errorCode.getSystemAction(),
+                                            errorCode.getUserAction());
+    }
+
+
+    /**
+     * FederatedQuery is the request issued to each cohort member's metadata collection.
+     *
+     * @param <T> type of result
+     */
+    interface FederatedQuery<T>
+    {
+        /**
+         * Issue the request to a cohort member.
+         *
+         * @param metadataCollection metadata collection for the cohort member
+         * @return result from the member
+         * @throws Exception any exception from the member
+         */
+        T issueQuery(OMRSMetadataCollection metadataCollection) throws Exception;
+    }
+
+
+    /**
+     * FederatedMemberQuery is a request issued to each cohort member's metadata collection where the request
+     * parameters depend on the member.
+     *
+     * @param <T> type of result
+     */
+    interface FederatedMemberQuery<T>
+    {
+        /**
+         * Issue the request to a cohort member.
+         *
+         * @param cohortConnector connector for the cohort member
+         * @param metadataCollection metadata collection for the cohort member
+         * @return result from the member
+         * @throws Exception any exception from the member
+         */
+        T issueQuery(OMRSRepositoryConnector cohortConnector, OMRSMetadataCollection metadataCollection) throws Exception;
+    }
+
+
+    /**
+     * FederatedQueryResult holds the result or exception returned by a single cohort member.
+     *
+     * @param <T> type of result
+     */
+    static class FederatedQueryResult<T>
+    {
+        private OMRSRepositoryConnector cohortConnector;
+        private T                       result;
+        private Throwable               exception;
+
+
+        /**
+         * Constructor
+         *
+         * @param cohortConnector connector to the cohort member
+         * @param result result returned by the member
+         * @param exception exception returned by the member
+         */
+        FederatedQueryResult(OMRSRepositoryConnector  cohortConnector,
+                             T                        result,
+                             Throwable                exception)
+        {
+            this.cohortConnector = cohortConnector;
+            this.result = result;
+            this.exception = exception;
+        }
+
+
+        /**
+         * Return the connector for the cohort member that produced this result.
+         *
+         * @return connector
+         */
+        OMRSRepositoryConnector getCohortConnector()
+        {
+            return cohortConnector;
+        }
+
+
+        /**
+         * Return the result from the cohort member, or throw the exception that it returned.  This means
+         * the caller can process the exceptions from each member in the same way as a direct call.
+         *
+         * @return result
+         * @throws Throwable the exception returned by the cohort member
+         */
+        T getResult() throws Throwable
+        {
+            if (exception != null)
+            {
+                throw exception;
+            }
+
+            return result;
+        }
+    }
+
+
+    /**
+     * FederatedQueryThreadFactory creates named daemon threads for the executor so that they do not hold up
+     * the shutdown of the server.
+     */
+    private static class FederatedQueryThreadFactory implements ThreadFactory
+    {
+        private final String        threadNamePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+
+        /**
+         * Constructor
+         *
+         * @param repositoryName name of the enterprise repository
+         */
+        FederatedQueryThreadFactory(String   repositoryName)
+        {
+            this.threadNamePrefix = "FederatedQuery-" + repositoryName + "-";
+        }
+
+
+        /**
+         * Create a new thread for the executor.
+         *
+         * @param runnable work for the thread
+         * @return new thread
+         */
+        public Thread newThread(Runnable   runnable)
+        {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
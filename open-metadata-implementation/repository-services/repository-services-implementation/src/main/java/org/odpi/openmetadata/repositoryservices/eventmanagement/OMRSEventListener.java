@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.events.*;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicEventFilter;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
 
 /**
@@ -21,8 +22,12 @@ import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicLi
  * The role of the OMRSEventListener is to decide which events to process.  This is controlled by the
  * synchronization rule passed on the constructor.
  * </p>
+ * <p>
+ * As an OMRSTopicEventFilter, it lets the OMRS Topic skip the parsing of inbound TypeDef and instance events
+ * that its event processors (typically the cohort's OMRSRepositoryEventManager) would discard.
+ * </p>
  */
-public class OMRSEventListener implements OMRSTopicListener
+public class OMRSEventListener implements OMRSTopicListener, OMRSTopicEventFilter
 {
     private String cohortName;
     private String localMetadataCollectionId;
@@ -80,6 +85,51 @@ public class OMRSEventListener implements OMRSTopicListener
     }
 
 
+    /**
+     * Determine, before an inbound event is parsed, whether it will be processed.  Registry events are always
+     * processed.  TypeDef and instance events are checked by their event processor if it is also an
+     * OMRSTopicEventFilter.
+     *
+     * @param eventCategory category of the event
+     * @param instanceEventType type of instance event (instance events only)
+     * @param typeDefGUID unique identifier of the type of the instance (instance events only)
+     * @return boolean flag - false means the event can be discarded without parsing
+     */
+    public boolean processEvent(OMRSEventCategory       eventCategory,
+                                OMRSInstanceEventType   instanceEventType,
+                                String                  typeDefGUID)
+    {
+        if (eventCategory == OMRSEventCategory.TYPEDEF)
+        {
+            if (typeDefEventProcessor == null)
+            {
+                return false;
+            }
+            else if (typeDefEventProcessor instanceof OMRSTopicEventFilter)
+            {
+                return ((OMRSTopicEventFilter)typeDefEventProcessor).processEvent(eventCategory,
+                                                                                  instanceEventType,
+                                                                                  typeDefGUID);
+            }
+        }
+        else if (eventCategory == OMRSEventCategory.INSTANCE)
+        {
+            if (instanceEventProcessor == null)
+            {
+                return false;
+            }
+            else if (instanceEventProcessor instanceof OMRSTopicEventFilter)
+            {
+                return ((OMRSTopicEventFilter)instanceEventProcessor).processEvent(eventCategory,
+                                                                                   instanceEventType,
+                                                                                   typeDefGUID);
+            }
+        }
+
+        return true;
+    }
+
+
     /**
      * The event contains a registry event.  It needs to be further unpacked and passed to the appropriate
      * registry event processor (OMRSCohortRegistry).
@@ -0,0 +1,395 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.eventmanagement;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OMRSInstanceEventBatcher gathers the outbound instance events of an OMRSRepositoryEventPublisher into batch
+ * events.  Only the events that carry the complete current state of an entity or relationship (such as new,
+ * updated, classified, deleted and restored events) are batched since the receiving repositories save these
+ * as reference copies whichever event type is used.  Successive events for the same instance are coalesced
+ * so only the latest version is sent.
+ * <p>
+ *     The batch is published when it holds the maximum number of instances, when the linger time has passed
+ *     since the first event was added, or before any event that can not be batched is published (so the
+ *     order of the changes is preserved).  A batch of one instance is published as its original event.
+ * </p>
+ * <p>
+ *     A batch event does not say which change was made to each of its instances.  The receivers, including
+ *     the OMASs, get a single BATCH_INSTANCES_EVENT in place of the new, updated, classified, deleted (etc)
+ *     events for the instances in the batch, so batching should only be turned on for cohorts whose members
+ *     do not rely on these events.
+ * </p>
+ * <p>
+ *     Events are published outside of the batcher's lock so a slow topic does not hold up the threads that
+ *     are adding events to the next batch.  The events are queued in order under the lock and the queue is
+ *     published by one thread at a time.
+ * </p>
+ */
+class OMRSInstanceEventBatcher
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSInstanceEventBatcher.class);
+
+    private static final Set<OMRSInstanceEventType> batchableEventTypes =
+            EnumSet.of(OMRSInstanceEventType.NEW_ENTITY_EVENT,
+                       OMRSInstanceEventType.UPDATED_ENTITY_EVENT,
+                       OMRSInstanceEventType.UNDONE_ENTITY_EVENT,
+                       OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT,
+                       OMRSInstanceEventType.DECLASSIFIED_ENTITY_EVENT,
+                       OMRSInstanceEventType.RECLASSIFIED_ENTITY_EVENT,
+                       OMRSInstanceEventType.DELETED_ENTITY_EVENT,
+                       OMRSInstanceEventType.RESTORED_ENTITY_EVENT,
+                       OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT,
+                       OMRSInstanceEventType.UPDATED_RELATIONSHIP_EVENT,
+                       OMRSInstanceEventType.UNDONE_RELATIONSHIP_EVENT,
+                       OMRSInstanceEventType.DELETED_RELATIONSHIP_EVENT,
+                       OMRSInstanceEventType.RESTORED_RELATIONSHIP_EVENT);
+
+    private final OMRSRepositoryEventPublisher    eventPublisher;
+    private final int                             maxBatchSize;
+    private final long                            lingerTime;
+    private final ScheduledExecutorService        lingerTimer;
+
+    /*
+     * The pending batch - the maps are keyed by the guid of the instance and keep the order of the first
+     * event for each instance.
+     */
+    private String                                batchSourceName    = null;
+    private OMRSEventOriginator                   batchOriginator    = null;
+    private Map<String, OMRSInstanceEvent>        entityEvents       = new LinkedHashMap<>();
+    private Map<String, OMRSInstanceEvent>        relationshipEvents = new LinkedHashMap<>();
+    private ScheduledFuture<?>                    lingerTask         = null;
+    private boolean                               closed             = false;
+
+    /*
+     * The events waiting to be published, in order.  The queue is guarded by the batcher's lock and is
+     * published while holding the publish lock.
+     */
+    private final Queue<OutboundEvent>            outboundEvents     = new ArrayDeque<>();
+    private final Object                          publishLock        = new Object();
+
+
+    /**
+     * Constructor
+     *
+     * @param eventPublisher publisher that sends the events to the OMRS Topic
+     * @param publisherName name of the publisher - used to name the linger timer thread
+     * @param maxBatchSize maximum number of instances in a batch event
+     * @param lingerTime maximum time in milliseconds that an event waits for a batch to fill
+     */
+    OMRSInstanceEventBatcher(OMRSRepositoryEventPublisher   eventPublisher,
+                             String                         publisherName,
+                             int                            maxBatchSize,
+                             long                           lingerTime)
+    {
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerTime = Math.max(lingerTime, 0);
+        this.lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "OMRSInstanceEventBatcher:" + publisherName);
+
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Add an instance event to the pending batch, or publish it (after the pending batch) if it can not
+     * be batched.
+     *
+     * @param sourceName name of the caller
+     * @param instanceEvent event to send
+     */
+    void sendInstanceEvent(String              sourceName,
+                           OMRSInstanceEvent   instanceEvent)
+    {
+        if (this.addInstanceEvent(sourceName, instanceEvent))
+        {
+            this.publishOutboundEvents();
+        }
+    }
+
+
+    /**
+     * Add an instance event to the pending batch, or queue it for publishing (after the pending batch) if it
+     * can not be batched.
+     *
+     * @param sourceName name of the caller
+     * @param instanceEvent event to send
+     * @return boolean flag - true if there are events to publish
+     */
+    private synchronized boolean addInstanceEvent(String              sourceName,
+                                               OMRSInstanceEvent   instanceEvent)
+    {
+        InstanceHeader instance = getBatchableInstance(instanceEvent);
+
+        if ((instance == null) || (closed))
+        {
+            this.releaseBatch();
+            outboundEvents.add(new OutboundEvent(sourceName, instanceEvent));
+            return true;
+        }
+
+        if ((! this.isEmpty()) && (! this.matchesBatch(sourceName, instanceEvent.getEventOriginator())))
+        {
+            this.releaseBatch();
+        }
+
+        batchSourceName = sourceName;
+        batchOriginator = instanceEvent.getEventOriginator();
+
+        Map<String, OMRSInstanceEvent> pendingEvents = (instance instanceof EntityDetail) ? entityEvents : relationshipEvents;
+        OMRSInstanceEvent              pendingEvent  = pendingEvents.get(instance.getGUID());
+
+        /*
+         * Events for the same instance are coalesced - the latest version is kept.
+         */
+        if ((pendingEvent == null) || (getBatchableInstance(pendingEvent).getVersion() <= instance.getVersion()))
+        {
+            pendingEvents.put(instance.getGUID(), instanceEvent);
+        }
+
+        if (entityEvents.size() + relationshipEvents.size() >= maxBatchSize)
+        {
+            this.releaseBatch();
+        }
+        else if (lingerTask == null)
+        {
+            lingerTask = lingerTimer.schedule(this::lingerTimeExpired, lingerTime, TimeUnit.MILLISECONDS);
+        }
+
+        return ! outboundEvents.isEmpty();
+    }
+
+
+    /**
+     * Publish the pending batch and stop the linger timer.  Later events are published without batching.
+     */
+    void close()
+    {
+        synchronized (this)
+        {
+            closed = true;
+
+            this.releaseBatch();
+        }
+
+        lingerTimer.shutdown();
+        this.publishOutboundEvents();
+    }
+
+
+    /**
+     * Called by the linger timer to publish the pending batch.
+     */
+    private void lingerTimeExpired()
+    {
+        synchronized (this)
+        {
+            lingerTask = null;
+
+            this.releaseBatch();
+        }
+
+        this.publishOutboundEvents();
+    }
+
+
+    /**
+     * Publish the queued events in order.  Only one thread publishes at a time, and it publishes any events
+     * queued by other threads while it holds the publish lock.  Threads that have not queued any events do not
+     * call this method, so they do not wait for the publishing thread.
+     */
+    private void publishOutboundEvents()
+    {
+        synchronized (publishLock)
+        {
+            OutboundEvent outboundEvent = this.getNextOutboundEvent();
+
+            while (outboundEvent != null)
+            {
+                eventPublisher.publishInstanceEvent(outboundEvent.sourceName, outboundEvent.instanceEvent);
+                outboundEvent = this.getNextOutboundEvent();
+            }
+        }
+    }
+
+
+    /**
+     * Remove the next event to publish from the queue.
+     *
+     * @return event or null if the queue is empty
+     */
+    private synchronized OutboundEvent getNextOutboundEvent()
+    {
+        return outboundEvents.poll();
+    }
+
+
+    /**
+     * Move the pending batch to the queue of events to publish.  A batch with a single instance is queued as
+     * its original event.  The caller must hold the batcher's lock.
+     */
+    private void releaseBatch()
+    {
+        if (lingerTask != null)
+        {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+
+        if (this.isEmpty())
+        {
+            return;
+        }
+
+        if (entityEvents.size() + relationshipEvents.size() == 1)
+        {
+            for (OMRSInstanceEvent instanceEvent : entityEvents.values())
+            {
+                outboundEvents.add(new OutboundEvent(batchSourceName, instanceEvent));
+            }
+
+            for (OMRSInstanceEvent instanceEvent : relationshipEvents.values())
+            {
+                outboundEvents.add(new OutboundEvent(batchSourceName, instanceEvent));
+            }
+        }
+        else
+        {
+            List<EntityDetail> entities      = new ArrayList<>();
+            List<Relationship> relationships = new ArrayList<>();
+
+            for (OMRSInstanceEvent instanceEvent : entityEvents.values())
+            {
+                entities.add(instanceEvent.getEntity());
+            }
+
+            for (OMRSInstanceEvent instanceEvent : relationshipEvents.values())
+            {
+                relationships.add(instanceEvent.getRelationship());
+            }
+
+            log.debug("Queuing batch of " + entities.size() + " entities and " + relationships.size() + " relationships");
+
+            OMRSInstanceEvent batchEvent = new OMRSInstanceEvent(OMRSInstanceEventType.BATCH_INSTANCES_EVENT,
+                                                                 new InstanceGraph(entities, relationships));
+
+            batchEvent.setEventOriginator(batchOriginator);
+            outboundEvents.add(new OutboundEvent(batchSourceName, batchEvent));
+        }
+
+        entityEvents.clear();
+        relationshipEvents.clear();
+        batchSourceName = null;
+        batchOriginator = null;
+    }
+
+
+    /**
+     * Return whether there are any events in the pending batch.
+     *
+     * @return boolean
+     */
+    private boolean isEmpty()
+    {
+        return entityEvents.isEmpty() && relationshipEvents.isEmpty();
+    }
+
+
+    /**
+     * Return whether an event has the same source and originator as the pending batch.
+     *
+     * @param sourceName name of the caller
+     * @param eventOriginator originator of the event
+     * @return boolean
+     */
+    private boolean matchesBatch(String                sourceName,
+                                 OMRSEventOriginator   eventOriginator)
+    {
+        if (! Objects.equals(sourceName, batchSourceName))
+        {
+            return false;
+        }
+
+        if ((eventOriginator == null) || (batchOriginator == null))
+        {
+            return eventOriginator == batchOriginator;
+        }
+
+        return Objects.equals(eventOriginator.getMetadataCollectionId(), batchOriginator.getMetadataCollectionId()) &&
+               Objects.equals(eventOriginator.getServerName(), batchOriginator.getServerName()) &&
+               Objects.equals(eventOriginator.getServerType(), batchOriginator.getServerType()) &&
+               Objects.equals(eventOriginator.getOrganizationName(), batchOriginator.getOrganizationName());
+    }
+
+
+    /**
+     * Return the instance carried by an event if the event can be batched.
+     *
+     * @param instanceEvent event to test
+     * @return entity, relationship or null if the event can not be batched
+     */
+    private static InstanceHeader getBatchableInstance(OMRSInstanceEvent   instanceEvent)
+    {
+        if ((instanceEvent == null) || (! batchableEventTypes.contains(instanceEvent.getInstanceEventType())))
+        {
+            return null;
+        }
+
+        InstanceHeader instance = instanceEvent.getEntity();
+
+        if (instance == null)
+        {
+            instance = instanceEvent.getRelationship();
+        }
+
+        if ((instance == null) || (instance.getGUID() == null))
+        {
+            return null;
+        }
+
+        return instance;
+    }
+
+
+    /**
+     * OutboundEvent is an event waiting to be published and the name of the caller that sent it.
+     */
+    private static class OutboundEvent
+    {
+        private final String              sourceName;
+        private final OMRSInstanceEvent   instanceEvent;
+
+
+        /**
+         * Constructor
+         *
+         * @param sourceName name of the caller
+         * @param instanceEvent event to publish
+         */
+        OutboundEvent(String              sourceName,
+                      OMRSInstanceEvent   instanceEvent)
+        {
+            this.sourceName = sourceName;
+            this.instanceEvent = instanceEvent;
+        }
+    }
+}
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.repositoryservices.eventmanagement;
 
 import org.odpi.openmetadata.adminservices.configuration.properties.OpenMetadataExchangeRule;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
@@ -132,6 +133,37 @@ public class OMRSRepositoryEventExchangeRule
     }
 
 
+    /**
+     * Determine, before an inbound instance event is parsed, whether it may be processed.  This is used to
+     * skip the parsing of events that this rule will reject.  It only returns false when the event would be
+     * rejected once it is parsed.  Batch events are filtered instance by instance after they are parsed.
+     *
+     * @param instanceEventType type of instance event
+     * @param typeDefGUID unique identifier of the type of the instance
+     * @return boolean flag - false means the event can be discarded
+     */
+    public boolean mayProcessInstanceEvent(OMRSInstanceEventType   instanceEventType,
+                                           String                  typeDefGUID)
+    {
+        if ((exchangeRule == OpenMetadataExchangeRule.REGISTRATION_ONLY) ||
+            (exchangeRule == OpenMetadataExchangeRule.JUST_TYPEDEFS))
+        {
+            return false;
+        }
+        else if ((exchangeRule == OpenMetadataExchangeRule.ALL) ||
+                 (instanceEventType == null) ||
+                 (instanceEventType == OMRSInstanceEventType.BATCH_INSTANCES_EVENT) ||
+                 (typeDefGUID == null))
+        {
+            return true;
+        }
+        else
+        {
+            return selectedTypesToProcess.contains(typeDefGUID);
+        }
+    }
+
+
     /**
      * Determine from the type of the instance if an instance event should be processed.
      *
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.repositoryservices.eventmanagement;
 
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicEventFilter;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryeventmapper.OMRSRepositoryEventProcessor;
 import org.odpi.openmetadata.repositoryservices.events.*;
@@ -29,7 +30,7 @@ import java.util.List;
  * the local repository and the enterprise access components, it performs detailed error checking of the
  * event contents to help assure the integrity of the open metadata ecosystem.
  */
-public class OMRSRepositoryEventManager extends OMRSRepositoryEventBuilder
+public class OMRSRepositoryEventManager extends OMRSRepositoryEventBuilder implements OMRSTopicEventFilter
 {
     private String                                    eventManagerName;
     private boolean                                   isActive               = false;
@@ -256,6 +257,32 @@ public class OMRSRepositoryEventManager extends OMRSRepositoryEventBuilder
     }
 
 
+    /**
+     * Determine, before an inbound event is parsed, whether the exchange rule may allow it to be distributed.
+     * Only events that the rule is certain to reject are refused.
+     *
+     * @param eventCategory category of the event
+     * @param instanceEventType type of instance event (instance events only)
+     * @param typeDefGUID unique identifier of the type of the instance (instance events only)
+     * @return boolean flag - false means the event can be discarded without parsing
+     */
+    public boolean processEvent(OMRSEventCategory       eventCategory,
+                                OMRSInstanceEventType   instanceEventType,
+                                String                  typeDefGUID)
+    {
+        if (eventCategory == OMRSEventCategory.TYPEDEF)
+        {
+            return exchangeRule.processTypeDefEvents();
+        }
+        else if (eventCategory == OMRSEventCategory.INSTANCE)
+        {
+            return exchangeRule.mayProcessInstanceEvent(instanceEventType, typeDefGUID);
+        }
+
+        return true;
+    }
+
+
     /**
      * Providing the rule allows, send the typeDef event to all registered
      * consumers.
@@ -291,26 +318,32 @@ public class OMRSRepositoryEventManager extends OMRSRepositoryEventBuilder
     	     * references and entities in the contained graph are valid to be processed
     		 */
     		InstanceGraph eventGraph = event.getInstanceBatch();
-    		List<EntityDetail> eventEntities = eventGraph.getEntities();
-    		List<Relationship> eventRelationships = eventGraph.getRelationships();
+    		List<EntityDetail> eventEntities = (eventGraph == null) ? null : eventGraph.getEntities();
+    		List<Relationship> eventRelationships = (eventGraph == null) ? null : eventGraph.getRelationships();
     		
     		List<EntityDetail> validEntities = new ArrayList<>();
     		List<Relationship> validRelationships = new ArrayList<>();
     		
-    		for (EntityDetail entity: eventEntities)
+    		if (eventEntities != null)
     		{
-    			if(exchangeRule.processInstanceEvent(entity))
+    			for (EntityDetail entity: eventEntities)
     			{
-    				validEntities.add(entity);
+    				if(exchangeRule.processInstanceEvent(entity))
+    				{
+    					validEntities.add(entity);
+    				}
     			}
     		}
     		
     		
-    		for (Relationship relationship: eventRelationships)
+    		if (eventRelationships != null)
     		{
-    			if (exchangeRule.processInstanceEvent(relationship))
+    			for (Relationship relationship: eventRelationships)
     			{
-    				validRelationships.add(relationship);
+    				if (exchangeRule.processInstanceEvent(relationship))
+    				{
+    					validRelationships.add(relationship);
+    				}
     			}
     		}
     		
@@ -14,6 +14,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicCo
 
 /**
  * OMRSRepositoryEventPublisher publishes TypeDef and Instance OMRS Events to the supplied OMRSTopicConnector.
+ * Optionally, the instance events can be gathered into batch events (see OMRSInstanceEventBatcher) to reduce
+ * the number of events sent to the topic during bulk changes.
  */
 public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
 {
@@ -22,6 +24,7 @@ public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
     private static final Logger log = LoggerFactory.getLogger(OMRSRepositoryEventPublisher.class);
 
     private OMRSTopicConnector omrsTopicConnector;
+    private OMRSInstanceEventBatcher instanceEventBatcher = null;
 
 
     /**
@@ -67,6 +70,48 @@ public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
     }
 
 
+    /**
+     * Constructor for a publisher that gathers instance events into batch events.
+     *
+     * @param publisherName  name of the cohort (or enterprise virtual repository) that this event publisher
+     *                       is sending events to.
+     * @param topicConnector OMRS Topic to send requests on
+     * @param maxBatchSize maximum number of instances in a batch event - batching is off if this is less than 2.
+     *                     Batched instances are received as a BatchInstancesEvent rather than their per-change
+     *                     events, so the receiving OMASs are not told about each change.
+     * @param batchLingerTime maximum time in milliseconds that an instance event waits for a batch to fill
+     * @param auditLog audit log for this component.
+     */
+    public OMRSRepositoryEventPublisher(String             publisherName,
+                                        OMRSTopicConnector topicConnector,
+                                        int                maxBatchSize,
+                                        long               batchLingerTime,
+                                        OMRSAuditLog       auditLog)
+    {
+        this(publisherName, topicConnector, auditLog);
+
+        if (maxBatchSize > 1)
+        {
+            log.debug("Event Publisher " + publisherName + " batching up to " + maxBatchSize + " instances");
+
+            this.instanceEventBatcher = new OMRSInstanceEventBatcher(this, publisherName, maxBatchSize, batchLingerTime);
+        }
+    }
+
+
+    /**
+     * Publish any pending batch of instance events and stop batching.  This is called before the OMRS Topic
+     * is disconnected.
+     */
+    public void disconnect()
+    {
+        if (instanceEventBatcher != null)
+        {
+            instanceEventBatcher.close();
+        }
+    }
+
+
     /**
      * Send the TypeDef event to the OMRS Topic connector (providing TypeDef Events are enabled).
      *
@@ -114,6 +159,26 @@ public class OMRSRepositoryEventPublisher extends OMRSRepositoryEventBuilder
      */
     public void sendInstanceEvent(String            sourceName,
                                   OMRSInstanceEvent instanceEvent)
+    {
+        if (instanceEventBatcher != null)
+        {
+            instanceEventBatcher.sendInstanceEvent(sourceName, instanceEvent);
+        }
+        else
+        {
+            this.publishInstanceEvent(sourceName, instanceEvent);
+        }
+    }
+
+
+    /**
+     * Send the instance event to the OMRS Topic connector.
+     *
+     * @param sourceName name of caller
+     * @param instanceEvent properties of the event to send
+     */
+    void publishInstanceEvent(String            sourceName,
+                              OMRSInstanceEvent instanceEvent)
     {
         String actionDescription = "Send Instance Event";
 
@@ -20,6 +20,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -1381,7 +1383,41 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         {
             verifyEventProcessor(methodName);
 
-            realMetadataCollection.saveInstanceReferenceCopies(sourceName, instances);
+            if (instances != null)
+            {
+                /*
+                 * The save rule is applied to each instance as it would be for an event about a single instance.
+                 */
+                List<EntityDetail> entities      = new ArrayList<>();
+                List<Relationship> relationships = new ArrayList<>();
+
+                if (instances.getEntities() != null)
+                {
+                    for (EntityDetail entity : instances.getEntities())
+                    {
+                        if ((entity != null) && (entity.getType() != null) && (verifyEventToSave(sourceName, entity)))
+                        {
+                            entities.add(entity);
+                        }
+                    }
+                }
+
+                if (instances.getRelationships() != null)
+                {
+                    for (Relationship relationship : instances.getRelationships())
+                    {
+                        if ((relationship != null) && (relationship.getType() != null) && (verifyEventToSave(sourceName, relationship)))
+                        {
+                            relationships.add(relationship);
+                        }
+                    }
+                }
+
+                if ((! entities.isEmpty()) || (! relationships.isEmpty()))
+                {
+                    realMetadataCollection.saveInstanceReferenceCopies(sourceName, new InstanceGraph(entities, relationships));
+                }
+            }
         }
         catch (Throwable error)
         {
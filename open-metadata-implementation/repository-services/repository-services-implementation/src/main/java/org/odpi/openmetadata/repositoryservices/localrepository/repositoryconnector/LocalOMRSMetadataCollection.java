@@ -1431,6 +1431,51 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of entities in a single request.  Entities that can not be retrieved are reported in the
+     * failures of the returned batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return InstanceBatch containing the entities and the failures.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getEntityDetails(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String  methodName        = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceListParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        InstanceBatch  batch = realMetadataCollection.getEntityDetails(userId, guids);
+
+        if ((batch != null) && (batch.getEntities() != null))
+        {
+            List<EntityDetail> entities = batch.getEntities();
+
+            for (EntityDetail entity : entities)
+            {
+                setLocalProvenance(entity);
+            }
+
+            batch.setEntities(entities);
+        }
+
+        return batch;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1887,6 +1932,51 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  Relationships that can not be retrieved are reported in the
+     * failures of the returned batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return InstanceBatch containing the relationships and the failures.
+     * @throws InvalidParameterException the list of guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatch getRelationships(String         userId,
+                                          List<String>   guids) throws InvalidParameterException,
+                                                                       RepositoryErrorException,
+                                                                       UserNotAuthorizedException
+    {
+        final String  methodName        = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceListParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        InstanceBatch  batch = realMetadataCollection.getRelationships(userId, guids);
+
+        if ((batch != null) && (batch.getRelationships() != null))
+        {
+            List<Relationship> relationships = batch.getRelationships();
+
+            for (Relationship relationship : relationships)
+            {
+                setLocalProvenance(relationship);
+            }
+
+            batch.setRelationships(relationships);
+        }
+
+        return batch;
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be received as a series of pages.
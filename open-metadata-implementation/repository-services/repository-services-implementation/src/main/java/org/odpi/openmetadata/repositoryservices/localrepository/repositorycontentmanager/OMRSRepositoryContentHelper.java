@@ -634,6 +634,25 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
     }
 
 
+    /**
+     * Return the names of all of the types that inherit from the supplied type, either directly or through
+     * other subtypes.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param superTypeName name of the type
+     * @return list of type names (not including the supplied type) or null if the type has no subtypes
+     */
+    public List<String> getSubTypesOf(String   sourceName,
+                                      String   superTypeName)
+    {
+        final String  methodName = "getSubTypesOf";
+
+        validateRepositoryContentManager(methodName);
+
+        return repositoryContentManager.getSubTypesOf(sourceName, superTypeName);
+    }
+
+
     /**
      * Match the supplied external standard identifiers against the active types for this repository.
      *
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.SearchCriteriaMatcher;
 import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
@@ -19,6 +20,8 @@ import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnec
 import org.odpi.openmetadata.repositoryservices.rest.server.OMRSRepositoryRESTServices;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * OMRSRepositoryContentManager supports an in-memory cache of TypeDefs for the local server.  It is used by the OMRS
@@ -49,17 +52,8 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private OMRSRepositoryConnector         realLocalConnector             = null;
     private OMRSRepositoryEventExchangeRule saveExchangeRule               = null;
     private String                          openTypesOriginGUID            = null;
-    private Map<String, TypeDef>            knownTypeDefGUIDs              = new HashMap<>();
-    private Map<String, TypeDef>            knownTypeDefNames              = new HashMap<>();
-    private Map<String, AttributeTypeDef>   knownAttributeTypeDefGUIDs     = new HashMap<>();
-    private Map<String, AttributeTypeDef>   knownAttributeTypeDefNames     = new HashMap<>();
-    private Map<String, TypeDef>            activeTypeDefGUIDs             = new HashMap<>();
-    private Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
-    private Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
-    private Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
-    private Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
-    private Map<String, String>             metadataCollectionNames        = new HashMap<>();
+    private volatile TypeDefRegistry        typeDefRegistry                = new TypeDefRegistry();
+    private Map<String, String>             metadataCollectionNames        = new ConcurrentHashMap<>();
 
 
     /*
@@ -150,14 +144,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeDef(sourceName, newTypeDef))
         {
-            knownTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
-            knownTypeDefNames.put(newTypeDef.getName(), newTypeDef);
+            this.updateTypeDefRegistry(registry -> registry.putTypeDef(newTypeDef, isLocallySupported));
 
             if (isLocallySupported)
             {
-                activeTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
-                activeTypeDefNames.put(newTypeDef.getName(), newTypeDef);
-
                 log.debug("New Active Type " + newTypeDef.getName() + " from " + sourceName + ". Full TypeDef: " + newTypeDef);
             }
             else
@@ -193,14 +183,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validAttributeTypeDef(sourceName, newAttributeTypeDef))
         {
-            knownAttributeTypeDefGUIDs.put(newAttributeTypeDef.getGUID(), newAttributeTypeDef);
-            knownAttributeTypeDefNames.put(newAttributeTypeDef.getName(), newAttributeTypeDef);
+            this.updateTypeDefRegistry(registry -> registry.putAttributeTypeDef(newAttributeTypeDef, isLocallySupported));
 
             if (isLocallySupported)
             {
-                activeAttributeTypeDefGUIDs.put(newAttributeTypeDef.getGUID(), newAttributeTypeDef);
-                activeAttributeTypeDefNames.put(newAttributeTypeDef.getName(), newAttributeTypeDef);
-
                 if (log.isDebugEnabled())
                 {
                     log.debug("New Active Attribute Type " + newAttributeTypeDef.getName() + " from " + sourceName+ ". Full AttributeTypeDef: " + newAttributeTypeDef);
@@ -225,14 +211,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeDef(sourceName, typeDef))
         {
-            knownTypeDefGUIDs.put(typeDef.getGUID(), typeDef);
-            knownTypeDefNames.put(typeDef.getName(), typeDef);
+            boolean isActive = (localRepositoryConnector != null);
 
-            if (localRepositoryConnector != null)
-            {
-                activeTypeDefGUIDs.put(typeDef.getGUID(), typeDef);
-                activeTypeDefNames.put(typeDef.getName(), typeDef);
+            this.updateTypeDefRegistry(registry -> registry.putTypeDef(typeDef, isActive));
 
+            if (isActive)
+            {
                 log.debug("Updated Active Type " + typeDef.getName() + " from " + sourceName + ". Full TypeDef: " + typeDef);
             }
         }
@@ -252,14 +236,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, obsoleteTypeDefGUID, obsoleteTypeDefName))
         {
-            knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-            knownTypeDefNames.remove(obsoleteTypeDefName);
+            boolean isActive = (localRepositoryConnector != null);
 
-            if (localRepositoryConnector != null)
-            {
-                activeTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-                activeTypeDefNames.remove(obsoleteTypeDefName);
+            this.updateTypeDefRegistry(registry -> registry.removeTypeDef(obsoleteTypeDefGUID, obsoleteTypeDefName, isActive));
 
+            if (isActive)
+            {
                 log.debug("Deleted Active TypeDef " + obsoleteTypeDefName + " from " + sourceName);
             }
         }
@@ -279,14 +261,14 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, obsoleteAttributeTypeDefGUID, obsoleteAttributeTypeDefName))
         {
-            knownAttributeTypeDefGUIDs.remove(obsoleteAttributeTypeDefGUID);
-            knownAttributeTypeDefNames.remove(obsoleteAttributeTypeDefName);
+            boolean isActive = (localRepositoryConnector != null);
 
-            if (localRepositoryConnector != null)
-            {
-                activeAttributeTypeDefGUIDs.remove(obsoleteAttributeTypeDefGUID);
-                activeAttributeTypeDefNames.remove(obsoleteAttributeTypeDefName);
+            this.updateTypeDefRegistry(registry -> registry.removeAttributeTypeDef(obsoleteAttributeTypeDefGUID,
+                                                                                   obsoleteAttributeTypeDefName,
+                                                                                   isActive));
 
+            if (isActive)
+            {
                 if (log.isDebugEnabled())
                 {
                     log.debug("Deleted Active AttributeTypeDef " + obsoleteAttributeTypeDefName + " from " + sourceName);
@@ -422,7 +404,24 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
 
     /**
-     * Evaluate the superTypes for a type.  The results are cached in typeDefSuperTypes.
+     * Apply a change to the cached types.  The change is made to a copy of the current registry which then
+     * replaces the current registry in a single assignment.  Changes are serialized so none are lost, but the
+     * methods that read the registry do not need to lock.
+     *
+     * @param change change to make to the copy of the registry
+     */
+    private synchronized void updateTypeDefRegistry(Consumer<TypeDefRegistry>   change)
+    {
+        TypeDefRegistry newRegistry = new TypeDefRegistry(typeDefRegistry);
+
+        change.accept(newRegistry);
+
+        typeDefRegistry = newRegistry.prepareForPublishing();
+    }
+
+
+    /**
+     * Return the superTypes for a type from the type hierarchy.
      *
      * @param sourceName source of the request (used for logging)
      * @param typeName name of type to process
@@ -435,88 +434,60 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String  thisMethodName = "getSuperTypes";
 
-        List<TypeDefLink>   typeHierarchy = typeDefSuperTypes.get(typeName);
+        List<TypeDefLink>   typeHierarchy = typeDefRegistry.typeDefHierarchy.getSuperTypeLinks(typeName);
 
         if (typeHierarchy == null)
         {
-            /*
-             * The type hierarchy is not known at this time (it is evaluated lazily).
-             */
-            typeHierarchy = new ArrayList<>();
-
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
-
-            if (typeDef != null)
-            {
-                TypeDefLink superTypeLink = typeDef.getSuperType();
-
-                while (superTypeLink != null)
-                {
-                    String superTypeName = superTypeLink.getName();
-
-                    if (superTypeName != null)
-                    {
-                        log.debug(typeName + " has super type " + superTypeName);
-
-                        typeHierarchy.add(superTypeLink);
-
-                        /*
-                         * Retrieve the TypeDef for this super type
-                         */
-                        TypeDef superTypeDef = knownTypeDefNames.get(superTypeName);
-
-                        if (superTypeDef != null)
-                        {
-                            /*
-                             * Retrieve the super type for this super typeDef.  It will be null if the type is top-level.
-                             */
-                            superTypeLink = superTypeDef.getSuperType();
-                        }
-                        else
-                        {
-                            log.error(superTypeName + " supertype is not known in TypeDef cache");
-                            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                        }
-                    }
-                    else
-                    {
-                        log.error("Corrupted TypeDef cache, no name for " + superTypeLink.toString());
-                        throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                    }
-                }
-
-                /*
-                 * Cache the resulting superType list
-                 */
-                typeDefSuperTypes.put(typeName, typeHierarchy);
-            }
-            else
-            {
-                log.error(typeName + " type is not known in TypeDef cache");
-                throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-            }
+            this.reportTypeNotInHierarchy(sourceName, typeName, methodName, thisMethodName);
         }
 
         if (typeHierarchy.isEmpty())
         {
             /*
-             * The type hierarchy has been evaluated and this type has no supertypes.
+             * This type has no supertypes.
              */
             return null;
         }
         else
         {
             /*
-             * The type hierarchy is known and can be returned directly.
+             * The caller receives its own copy of the supertype list.
              */
-            return typeHierarchy;
+            return new ArrayList<>(typeHierarchy);
+        }
+    }
+
+
+    /**
+     * Log and throw a logic error for a type that is missing from the type hierarchy, either because it is not
+     * known or because one of its supertypes is not known.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param typeName name of the type
+     * @param methodName calling method
+     * @param thisMethodName method that detected the error
+     */
+    private void reportTypeNotInHierarchy(String    sourceName,
+                                          String    typeName,
+                                          String    methodName,
+                                          String    thisMethodName)
+    {
+        if (typeDefRegistry.knownTypeDefNames.get(typeName) == null)
+        {
+            log.error(typeName + " type is not known in TypeDef cache");
+        }
+        else
+        {
+            log.error(typeName + " has a supertype that is not known in TypeDef cache");
         }
+
+        throwContentManagerLogicError(sourceName, methodName, thisMethodName);
     }
 
 
     /**
      * Validate that the type of an entity is of the expected/desired type.  The actual entity may be a subtype
-     * of the expected type of course.
+     * of the expected type of course.  The test uses the precomputed type hierarchy.
      *
      * @param sourceName source of the request (used for logging)
      * @param actualTypeName name of the entity type
@@ -529,7 +500,6 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String methodName = "isTypeOf";
 
-        log.debug("IsTypeOf: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeName = " + expectedTypeName);
         if ((expectedTypeName != null) && (actualTypeName != null))
         {
             /*
@@ -537,36 +507,45 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
              */
             if (actualTypeName.equals(expectedTypeName))
             {
-                log.debug("Simple match success");
                 return true;
             }
 
-            /*
-             * Looking for a match in the superTypes.
-             */
-            List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+            TypeDefHierarchy hierarchy = typeDefRegistry.typeDefHierarchy;
 
-            if (typeHierarchy != null)
+            if (! hierarchy.isKnownType(actualTypeName))
             {
-                for (TypeDefLink superType : typeHierarchy)
-                {
-                    if (superType != null)
-                    {
-                        if (expectedTypeName.equals(superType.getName()))
-                        {
-                            log.debug("SuperType match success");
-                            return true;
-                        }
-                        log.debug("No match with " + superType.getName());
-                    }
-                }
+                this.reportTypeNotInHierarchy(sourceName, actualTypeName, methodName, methodName);
             }
+
+            return hierarchy.isTypeOf(actualTypeName, expectedTypeName);
         }
 
         return false;
     }
 
 
+    /**
+     * Return the names of all of the types that inherit from the supplied type, either directly or
+     * through other subtypes.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param superTypeName name of the type
+     * @return list of type names (not including the supplied type) or null if the type has no subtypes
+     */
+    public List<String> getSubTypesOf(String   sourceName,
+                                      String   superTypeName)
+    {
+        List<String>  subTypeNames = typeDefRegistry.typeDefHierarchy.getSubTypeNames(superTypeName);
+
+        if (subTypeNames.isEmpty())
+        {
+            return null;
+        }
+
+        return subTypeNames;
+    }
+
+
     /**
      * Return the InstanceType that matches the supplied type name.  If the type name is not recognized,
      * of the category is incorrect, a logic exception is thrown.
@@ -589,7 +568,8 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (isValidTypeCategory(sourceName, category, typeName, methodName))
         {
-            InstanceType    instanceType = knownInstanceTypes.get(typeName);
+            TypeDefRegistry registry     = typeDefRegistry;
+            InstanceType    instanceType = registry.knownInstanceTypes.get(typeName);
 
             if (instanceType != null)
             {
@@ -599,7 +579,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             /*
              * The instance type has not yet been created. (They are created lazily.)
              */
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
+            TypeDef typeDef = registry.knownTypeDefNames.get(typeName);
 
             if (typeDef != null)
             {
@@ -650,7 +630,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                         /*
                          * Retrieve the TypeDef for this super type
                          */
-                        TypeDef         superTypeDef  = knownTypeDefNames.get(superTypeName);
+                        TypeDef         superTypeDef  = registry.knownTypeDefNames.get(superTypeName);
 
                         if (superTypeDef != null)
                         {
@@ -696,7 +676,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                 /*
                  * Cache the instance type for next time
                  */
-                knownInstanceTypes.put(typeName, instanceType);
+                registry.knownInstanceTypes.put(typeName, instanceType);
 
                 return instanceType;
             }
@@ -753,7 +733,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeName);
+        TypeDef   typeDef = typeDefRegistry.knownTypeDefNames.get(typeName);
 
         if (typeDef != null)
         {
@@ -811,7 +791,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             if ((isValidTypeCategory(sourceName, TypeDefCategory.CLASSIFICATION_DEF, classificationTypeName, methodName)) &&
                 (isValidTypeCategory(sourceName, TypeDefCategory.ENTITY_DEF, entityTypeName, methodName)))
             {
-                ClassificationDef  classificationTypeDef = (ClassificationDef) knownTypeDefNames.get(classificationTypeName);
+                ClassificationDef  classificationTypeDef = (ClassificationDef) typeDefRegistry.knownTypeDefNames.get(classificationTypeName);
 
                 if (classificationTypeDef != null)
                 {
@@ -843,7 +823,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                             TypeDefLink superTypeLink=typeDef.getSuperType();
                             String parentName= superTypeLink.getName();
                             entityTypes.add(parentName);
-                            typeDef  = this.knownTypeDefGUIDs.get(superTypeLink.getGUID());
+                            typeDef  = typeDefRegistry.knownTypeDefGUIDs.get(superTypeLink.getGUID());
                         }
 
                         for (TypeDefLink  allowedEntityDefLink : entityDefs)
@@ -905,7 +885,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             this.throwContentManagerLogicError(sourceName, thisMethodName, originalMethodName);
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeName);
+        TypeDef   typeDef = typeDefRegistry.knownTypeDefNames.get(typeName);
 
         if (typeDef == null)
         {
@@ -1001,15 +981,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     public TypeDefGallery   getActiveTypeDefGallery()
     {
         TypeDefGallery               typeDefGallery               = new TypeDefGallery();
+        TypeDefRegistry              registry                     = typeDefRegistry;
 
-        if (! activeAttributeTypeDefNames.isEmpty())
+        if (! registry.activeAttributeTypeDefNames.isEmpty())
         {
-            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(activeAttributeTypeDefNames.values()));
+            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(registry.activeAttributeTypeDefNames.values()));
         }
 
-        if (! activeTypeDefNames.isEmpty())
+        if (! registry.activeTypeDefNames.isEmpty())
         {
-            typeDefGallery.setTypeDefs(new ArrayList<>(activeTypeDefNames.values()));
+            typeDefGallery.setTypeDefs(new ArrayList<>(registry.activeTypeDefNames.values()));
         }
 
         return typeDefGallery;
@@ -1024,15 +1005,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     public TypeDefGallery   getKnownTypeDefGallery()
     {
         TypeDefGallery               typeDefGallery               = new TypeDefGallery();
+        TypeDefRegistry              registry                     = typeDefRegistry;
 
-        if (! knownAttributeTypeDefNames.isEmpty())
+        if (! registry.knownAttributeTypeDefNames.isEmpty())
         {
-            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(knownAttributeTypeDefNames.values()));
+            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(registry.knownAttributeTypeDefNames.values()));
         }
 
-        if (! knownTypeDefNames.isEmpty())
+        if (! registry.knownTypeDefNames.isEmpty())
         {
-            typeDefGallery.setTypeDefs(new ArrayList<>(knownTypeDefNames.values()));
+            typeDefGallery.setTypeDefs(new ArrayList<>(registry.knownTypeDefNames.values()));
         }
 
         return typeDefGallery;
@@ -1051,7 +1033,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     public TypeDef  getTypeDefByName (String    sourceName,
                                       String    typeDefName)
     {
-        return knownTypeDefNames.get(typeDefName);
+        return typeDefRegistry.knownTypeDefNames.get(typeDefName);
     }
 
 
@@ -1067,7 +1049,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     public AttributeTypeDef getAttributeTypeDefByName (String    sourceName,
                                                        String    attributeTypeDefName)
     {
-        return knownAttributeTypeDefNames.get(attributeTypeDefName);
+        return typeDefRegistry.knownAttributeTypeDefNames.get(attributeTypeDefName);
     }
 
 
@@ -1084,28 +1066,30 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeDefName != null)
         {
-            Collection<TypeDef>   typeDefs       = activeTypeDefNames.values();
+            TypeDefRegistry       registry           = typeDefRegistry;
+            SearchCriteriaMatcher typeDefNameMatcher = SearchCriteriaMatcher.getMatcher(typeDefName);
+            Collection<TypeDef>   typeDefs           = registry.activeTypeDefNames.values();
 
             List<TypeDef>         matchedTypeDefs = new ArrayList<>();
             for (TypeDef typeDef : typeDefs)
             {
                 if (typeDef != null)
                 {
-                    if (typeDef.getName().matches(typeDefName))
+                    if (typeDefNameMatcher.matches(typeDef.getName()))
                     {
                         matchedTypeDefs.add(typeDef);
                     }
                 }
             }
 
-            Collection<AttributeTypeDef>   attributeTypeDefs        = activeAttributeTypeDefNames.values();
+            Collection<AttributeTypeDef>   attributeTypeDefs        = registry.activeAttributeTypeDefNames.values();
             List<AttributeTypeDef>         matchedAttributeTypeDefs = new ArrayList<>();
 
             for (AttributeTypeDef attributeTypeDef : attributeTypeDefs)
             {
                 if (attributeTypeDef != null)
                 {
-                    if (attributeTypeDef.getName().matches(typeDefName))
+                    if (typeDefNameMatcher.matches(attributeTypeDef.getName()))
                     {
                         matchedAttributeTypeDefs.add(attributeTypeDef);
                     }
@@ -1162,7 +1146,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (typeDefGUID != null)
         {
-            TypeDef typeDef = knownTypeDefGUIDs.get(typeDefGUID);
+            TypeDef typeDef = typeDefRegistry.knownTypeDefGUIDs.get(typeDefGUID);
 
             if (typeDef == null)
             {
@@ -1206,7 +1190,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (attributeTypeDefGUID != null)
         {
-            AttributeTypeDef attributeTypeDef = knownAttributeTypeDefGUIDs.get(attributeTypeDefGUID);
+            AttributeTypeDef attributeTypeDef = typeDefRegistry.knownAttributeTypeDefGUIDs.get(attributeTypeDefGUID);
 
             if (attributeTypeDef == null)
             {
@@ -1250,7 +1234,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (validTypeId(sourceName, typeDefGUID, typeDefName))
         {
-            return knownTypeDefNames.get(typeDefName);
+            return typeDefRegistry.knownTypeDefNames.get(typeDefName);
         }
         else
         {
@@ -1286,7 +1270,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (validTypeId(sourceName, attributeTypeDefGUID, attributeTypeDefName))
         {
-            return knownAttributeTypeDefNames.get(attributeTypeDefName);
+            return typeDefRegistry.knownAttributeTypeDefNames.get(attributeTypeDefName);
         }
         else
         {
@@ -1340,7 +1324,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         while (superTypeLink != null)
         {
-            TypeDef                superTypeDef                  = this.knownTypeDefGUIDs.get(superTypeLink.getGUID());
+            TypeDef                superTypeDef                  = typeDefRegistry.knownTypeDefGUIDs.get(superTypeLink.getGUID());
             List<TypeDefAttribute> superTypePropertiesDefinition = superTypeDef.getPropertiesDefinition();
 
             if (superTypePropertiesDefinition != null)
@@ -1377,7 +1361,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
                 {
-                    knownTypeDefNames.put(typeDef.getName(), typeDef);
+                    this.updateTypeDefRegistry(registry -> registry.putKnownTypeDefName(typeDef));
                 }
             }
             else
@@ -1418,7 +1402,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, attributeTypeDef.getGUID(), attributeTypeDef.getName()))
                 {
-                    knownAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
+                    this.updateTypeDefRegistry(registry -> registry.putKnownAttributeTypeDefName(attributeTypeDef));
                 }
             }
             else
@@ -1449,7 +1433,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
+            TypeDef typeDef = typeDefRegistry.knownTypeDefNames.get(typeName);
 
             if (typeDef == null)
             {
@@ -1485,7 +1469,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            TypeDef typeDef = knownTypeDefGUIDs.get(typeGUID);
+            TypeDef typeDef = typeDefRegistry.knownTypeDefGUIDs.get(typeGUID);
             if (typeDef != null)
             {
                 String originGUID = typeDef.getOrigin();
@@ -1517,11 +1501,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef  typeDef = knownTypeDefNames.get(typeName);
+            TypeDef  typeDef = typeDefRegistry.knownTypeDefNames.get(typeName);
 
             if (typeDef == null)
             {
-                AttributeTypeDef  attributeTypeDef = knownAttributeTypeDefNames.get(typeName);
+                AttributeTypeDef  attributeTypeDef = typeDefRegistry.knownAttributeTypeDefNames.get(typeName);
 
                 if (attributeTypeDef == null)
                 {
@@ -1561,12 +1545,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            if (knownTypeDefGUIDs.get(typeGUID) != null)
+            if (typeDefRegistry.knownTypeDefGUIDs.get(typeGUID) != null)
             {
                 return true;
             }
 
-            if (knownAttributeTypeDefGUIDs.get(typeGUID) != null)
+            if (typeDefRegistry.knownAttributeTypeDefGUIDs.get(typeGUID) != null)
             {
                 return true;
             }
@@ -1588,11 +1572,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef  typeDef = activeTypeDefNames.get(typeName);
+            TypeDef  typeDef = typeDefRegistry.activeTypeDefNames.get(typeName);
 
             if (typeDef == null)
             {
-                AttributeTypeDef  attributeTypeDef = activeAttributeTypeDefNames.get(typeName);
+                AttributeTypeDef  attributeTypeDef = typeDefRegistry.activeAttributeTypeDefNames.get(typeName);
 
                 if (attributeTypeDef == null)
                 {
@@ -1631,12 +1615,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            if (activeTypeDefGUIDs.get(typeGUID) != null)
+            if (typeDefRegistry.activeTypeDefGUIDs.get(typeGUID) != null)
             {
                 return true;
             }
 
-            if (activeAttributeTypeDefGUIDs.get(typeGUID) != null)
+            if (typeDefRegistry.activeAttributeTypeDefGUIDs.get(typeGUID) != null)
             {
                 return true;
             }
@@ -1677,14 +1661,14 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef typeDef = knownTypeDefNames.get(typeName);
+        TypeDef typeDef = typeDefRegistry.knownTypeDefNames.get(typeName);
 
         if (typeDef == null)
         {
             /*
              * This TypeDef is unknown so see if it is an AttributeTypeDef
              */
-            AttributeTypeDef   attributeTypeDef = knownAttributeTypeDefNames.get(typeName);
+            AttributeTypeDef   attributeTypeDef = typeDefRegistry.knownAttributeTypeDefNames.get(typeName);
 
             if (attributeTypeDef == null)
             {
@@ -1742,7 +1726,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef          typeDef = knownTypeDefNames.get(typeDefName);
+        TypeDef          typeDef = typeDefRegistry.knownTypeDefNames.get(typeDefName);
 
         if (typeDef != null)
         {
@@ -1787,7 +1771,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        AttributeTypeDef          attributeTypeDef = knownAttributeTypeDefNames.get(attributeTypeDefName);
+        AttributeTypeDef          attributeTypeDef = typeDefRegistry.knownAttributeTypeDefNames.get(attributeTypeDefName);
 
         if (attributeTypeDef != null)
         {
@@ -1834,7 +1818,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeDefName);
+        TypeDef   typeDef = typeDefRegistry.knownTypeDefNames.get(typeDefName);
 
         if (typeDef == null)
         {
@@ -1877,7 +1861,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(attributeTypeDefName);
+        TypeDef   typeDef = typeDefRegistry.knownTypeDefNames.get(attributeTypeDefName);
 
         if (typeDef == null)
         {
@@ -2264,7 +2248,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                                                        localRepositoryConnector.getOrganizationName(),
                                                                        typeDef,
                                                                        originatorMetadataCollectionId,
-                                                                       knownTypeDefNames.get(typeDef.getName()),
+                                                                       typeDefRegistry.knownTypeDefNames.get(typeDef.getName()),
                                                                        null);
         }
         catch (InvalidTypeDefException error)
@@ -2336,7 +2320,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                     /*
                      * Update the active TypeDefs as this new TypeDef has been accepted by the local repository.
                      */
-                    activeAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
+                    this.updateTypeDefRegistry(registry -> registry.putActiveAttributeTypeDefName(attributeTypeDef));
 
                     OMRSAuditCode auditCode = OMRSAuditCode.NEW_TYPE_ADDED;
                     auditLog.logRecord(actionDescription,
@@ -2412,7 +2396,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                                                                 localRepositoryConnector.getOrganizationName(),
                                                                                 attributeTypeDef,
                                                                                 originatorMetadataCollectionId,
-                                                                                knownAttributeTypeDefNames.get(
+                                                                                typeDefRegistry.knownAttributeTypeDefNames.get(
                                                                                         attributeTypeDef.getName()),
                                                                                 null);
         }
@@ -2719,7 +2703,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      * @param metadataCollectionId unique identifier (guid) for the metadata collection.
      * @param metadataCollectionName display name for the metadata collection (can be null).
      */
-    public synchronized void registerMetadataCollection(String    metadataCollectionId,
+    public void registerMetadataCollection(String    metadataCollectionId,
                                            String    metadataCollectionName)
     {
         if (metadataCollectionId != null)
@@ -2735,7 +2719,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      * @param metadataCollectionId unique identifier (guid) for the metadata collection.
      * @return display name
      */
-    public synchronized String getMetadataCollectionName(String    metadataCollectionId)
+    public String getMetadataCollectionName(String    metadataCollectionId)
     {
         if (metadataCollectionId != null)
         {
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.SearchCriteriaMatcher;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.*;
@@ -3195,8 +3196,10 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                             {
                                                 try
                                                 {
+                                                    SearchCriteriaMatcher matcher = SearchCriteriaMatcher.getMatcher(matchPropertyValueString);
+
                                                     if ((instancePropertyName.equals(matchPropertyName)) &&
-                                                        (instancePropertyValueString.matches(matchPropertyValueString)))
+                                                        (matcher.matches(instancePropertyValueString)))
                                                     {
                                                         matchingProperties++;
                                                     }
@@ -3269,7 +3272,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         }
                         else
                         {
-                            if (matchValue.matches(expectedValue))
+                            if (SearchCriteriaMatcher.getMatcher(expectedValue).matches(matchValue))
                             {
                                 result = true;
                             }
@@ -3583,6 +3586,29 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                                InstanceProperties  properties,
                                                                String              searchCriteria,
                                                                String              methodName) throws RepositoryErrorException
+    {
+        return this.verifyInstancePropertiesMatchSearchCriteria(sourceName,
+                                                                properties,
+                                                                SearchCriteriaMatcher.getMatcher(searchCriteria),
+                                                                methodName);
+    }
+
+
+    /**
+     * Search for property values matching the search criteria.  The matcher holds the compiled search criteria
+     * so it can be reused for the nested properties and for each of the instances being tested.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param properties list of properties associated with the in instance
+     * @param searchCriteria matcher for testing the property values
+     * @param methodName name of the method requiring the search.
+     * @return boolean indicating whether the search criteria is located in any of the string parameter values.
+     * @throws RepositoryErrorException the properties are not properly set up in the instance
+     */
+    private boolean verifyInstancePropertiesMatchSearchCriteria(String                sourceName,
+                                                                InstanceProperties    properties,
+                                                                SearchCriteriaMatcher searchCriteria,
+                                                                String                methodName) throws RepositoryErrorException
     {
         if (properties == null)
         {
@@ -3607,7 +3633,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                             if (stringProperty != null)
                             {
-                                if (stringProperty.matches(searchCriteria))
+                                if (searchCriteria.matches(stringProperty))
                                 {
                                     return true;
                                 }
@@ -3621,7 +3647,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         String  enumValue = enumPropertyValue.getSymbolicName();
                         if (enumValue != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (searchCriteria.matches(enumValue))
                             {
                                 return true;
                             }
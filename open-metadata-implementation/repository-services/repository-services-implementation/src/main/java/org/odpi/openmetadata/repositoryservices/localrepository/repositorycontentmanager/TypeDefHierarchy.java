@@ -0,0 +1,201 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.*;
+
+/**
+ * TypeDefHierarchy is an immutable snapshot of the super type and sub type relationships between a set of TypeDefs.
+ * Each type name is given a small integer identifier and the full list of super types and sub types of each
+ * type is held as a bit set.  This means testing whether one type is a sub type of another is a single lookup
+ * rather than a walk up the type hierarchy.
+ *
+ * A type is only included in the hierarchy if all of its super types are present in the set of TypeDefs.
+ * The OMRSRepositoryContentManager builds a new snapshot whenever its TypeDefs change and replaces the old one
+ * in a single assignment so that readers do not need to lock.
+ */
+class TypeDefHierarchy
+{
+    private final Map<String, Integer>     typeIds        = new HashMap<>();
+    private final List<String>             typeNames      = new ArrayList<>();
+    private final List<BitSet>             superTypes     = new ArrayList<>();
+    private final List<BitSet>             subTypes       = new ArrayList<>();
+    private final List<List<TypeDefLink>>  superTypeLinks = new ArrayList<>();
+
+
+    /**
+     * Build the hierarchy for the supplied TypeDefs.
+     *
+     * @param typeDefs known TypeDefs - null for an empty hierarchy
+     */
+    TypeDefHierarchy(Collection<TypeDef>   typeDefs)
+    {
+        if (typeDefs == null)
+        {
+            return;
+        }
+
+        Map<String, TypeDef>  typeDefsByName = new HashMap<>();
+
+        for (TypeDef typeDef : typeDefs)
+        {
+            if ((typeDef != null) && (typeDef.getName() != null))
+            {
+                typeDefsByName.put(typeDef.getName(), typeDef);
+            }
+        }
+
+        /*
+         * Walk up the hierarchy from each type.  Types with a super type that is not known (or that are part of
+         * a loop) are left out.
+         */
+        Map<String, List<String>>  superTypeNames = new HashMap<>();
+
+        for (TypeDef typeDef : typeDefsByName.values())
+        {
+            List<String>       names         = new ArrayList<>();
+            List<TypeDefLink>  links         = new ArrayList<>();
+            boolean            complete      = true;
+            TypeDefLink        superTypeLink = typeDef.getSuperType();
+
+            while (superTypeLink != null)
+            {
+                String   superTypeName = superTypeLink.getName();
+                TypeDef  superTypeDef  = typeDefsByName.get(superTypeName);
+
+                if ((superTypeDef == null) || (superTypeName.equals(typeDef.getName())) || (names.contains(superTypeName)))
+                {
+                    complete = false;
+                    break;
+                }
+
+                names.add(superTypeName);
+                links.add(superTypeLink);
+                superTypeLink = superTypeDef.getSuperType();
+            }
+
+            if (complete)
+            {
+                int typeId = typeNames.size();
+
+                typeIds.put(typeDef.getName(), typeId);
+                typeNames.add(typeDef.getName());
+                superTypes.add(new BitSet());
+                subTypes.add(new BitSet());
+                superTypeLinks.add(Collections.unmodifiableList(links));
+                superTypeNames.put(typeDef.getName(), names);
+            }
+        }
+
+        /*
+         * Convert the super type names to identifiers and fill in the sub types from them.  Each type is
+         * included in its own super types and sub types.
+         */
+        for (Map.Entry<String, List<String>> entry : superTypeNames.entrySet())
+        {
+            int    typeId         = typeIds.get(entry.getKey());
+            BitSet typeSuperTypes = superTypes.get(typeId);
+
+            typeSuperTypes.set(typeId);
+            subTypes.get(typeId).set(typeId);
+
+            for (String superTypeName : entry.getValue())
+            {
+                int superTypeId = typeIds.get(superTypeName);
+
+                typeSuperTypes.set(superTypeId);
+                subTypes.get(superTypeId).set(typeId);
+            }
+        }
+    }
+
+
+    /**
+     * Return whether the type is in the hierarchy, that is, it is known and all of its super types are known.
+     *
+     * @param typeName name of the type
+     * @return boolean result
+     */
+    boolean isKnownType(String   typeName)
+    {
+        return (typeName != null) && (typeIds.containsKey(typeName));
+    }
+
+
+    /**
+     * Return whether the actual type is the same as, or a sub type of, the expected type.
+     *
+     * @param actualTypeName name of the type to test
+     * @param expectedTypeName name of the type it should be
+     * @return boolean result - false if either type is not in the hierarchy
+     */
+    boolean isTypeOf(String   actualTypeName,
+                     String   expectedTypeName)
+    {
+        if ((actualTypeName == null) || (expectedTypeName == null))
+        {
+            return false;
+        }
+
+        Integer actualTypeId   = typeIds.get(actualTypeName);
+        Integer expectedTypeId = typeIds.get(expectedTypeName);
+
+        if ((actualTypeId == null) || (expectedTypeId == null))
+        {
+            return false;
+        }
+
+        return superTypes.get(actualTypeId).get(expectedTypeId);
+    }
+
+
+    /**
+     * Return the links to the super types of the type, starting with its immediate super type.
+     *
+     * @param typeName name of the type
+     * @return unmodifiable list of links (empty for a top level type) or null if the type is not in the hierarchy
+     */
+    List<TypeDefLink> getSuperTypeLinks(String   typeName)
+    {
+        Integer typeId = (typeName == null) ? null : typeIds.get(typeName);
+
+        if (typeId == null)
+        {
+            return null;
+        }
+
+        return superTypeLinks.get(typeId);
+    }
+
+
+    /**
+     * Return the names of all of the types that are sub types of the type, directly or indirectly.
+     *
+     * @param typeName name of the type
+     * @return list of type names (not including the type itself) - empty if there are no sub types or the type
+     * is not in the hierarchy
+     */
+    List<String> getSubTypeNames(String   typeName)
+    {
+        Integer       typeId       = (typeName == null) ? null : typeIds.get(typeName);
+        List<String>  subTypeNames = new ArrayList<>();
+
+        if (typeId != null)
+        {
+            BitSet typeSubTypes = subTypes.get(typeId);
+
+            for (int subTypeId = typeSubTypes.nextSetBit(0); subTypeId >= 0; subTypeId = typeSubTypes.nextSetBit(subTypeId + 1))
+            {
+                if (subTypeId != typeId)
+                {
+                    subTypeNames.add(typeNames.get(subTypeId));
+                }
+            }
+        }
+
+        return subTypeNames;
+    }
+}
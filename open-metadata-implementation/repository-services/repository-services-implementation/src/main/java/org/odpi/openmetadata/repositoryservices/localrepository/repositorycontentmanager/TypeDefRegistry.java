@@ -0,0 +1,216 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TypeDefRegistry is a snapshot of the TypeDefs and AttributeTypeDefs cached by the OMRSRepositoryContentManager.
+ * The known types are all of the types that have been seen by the local server.  The active types are the
+ * subset that are supported by the local repository.
+ *
+ * The content manager never changes a registry once it has been published.  To change the types, it copies the
+ * current registry, makes the changes to the copy and then publishes the copy through a single volatile
+ * reference.  This means readers do not need to lock and they never see a change that is only partly applied.
+ * The instance types created from the TypeDefs are cached with the registry that they were created from, so
+ * they are discarded when the TypeDefs change.
+ */
+class TypeDefRegistry
+{
+    final Map<String, TypeDef>           knownTypeDefGUIDs;
+    final Map<String, TypeDef>           knownTypeDefNames;
+    final Map<String, AttributeTypeDef>  knownAttributeTypeDefGUIDs;
+    final Map<String, AttributeTypeDef>  knownAttributeTypeDefNames;
+    final Map<String, TypeDef>           activeTypeDefGUIDs;
+    final Map<String, TypeDef>           activeTypeDefNames;
+    final Map<String, AttributeTypeDef>  activeAttributeTypeDefGUIDs;
+    final Map<String, AttributeTypeDef>  activeAttributeTypeDefNames;
+    final Map<String, InstanceType>      knownInstanceTypes          = new ConcurrentHashMap<>();
+    TypeDefHierarchy                     typeDefHierarchy;
+
+    private boolean                      typeDefsChanged             = false;
+
+
+    /**
+     * Constructor for an empty registry.
+     */
+    TypeDefRegistry()
+    {
+        knownTypeDefGUIDs           = new HashMap<>();
+        knownTypeDefNames           = new HashMap<>();
+        knownAttributeTypeDefGUIDs  = new HashMap<>();
+        knownAttributeTypeDefNames  = new HashMap<>();
+        activeTypeDefGUIDs          = new HashMap<>();
+        activeTypeDefNames          = new HashMap<>();
+        activeAttributeTypeDefGUIDs = new HashMap<>();
+        activeAttributeTypeDefNames = new HashMap<>();
+        typeDefHierarchy            = new TypeDefHierarchy(null);
+    }
+
+
+    /**
+     * Copy constructor creates a registry that can be changed before it is published.
+     *
+     * @param template registry to copy
+     */
+    TypeDefRegistry(TypeDefRegistry   template)
+    {
+        knownTypeDefGUIDs           = new HashMap<>(template.knownTypeDefGUIDs);
+        knownTypeDefNames           = new HashMap<>(template.knownTypeDefNames);
+        knownAttributeTypeDefGUIDs  = new HashMap<>(template.knownAttributeTypeDefGUIDs);
+        knownAttributeTypeDefNames  = new HashMap<>(template.knownAttributeTypeDefNames);
+        activeTypeDefGUIDs          = new HashMap<>(template.activeTypeDefGUIDs);
+        activeTypeDefNames          = new HashMap<>(template.activeTypeDefNames);
+        activeAttributeTypeDefGUIDs = new HashMap<>(template.activeAttributeTypeDefGUIDs);
+        activeAttributeTypeDefNames = new HashMap<>(template.activeAttributeTypeDefNames);
+        typeDefHierarchy            = template.typeDefHierarchy;
+    }
+
+
+    /**
+     * Add or replace a TypeDef.
+     *
+     * @param typeDef type definition
+     * @param isActive whether the type is supported by the local repository
+     */
+    void putTypeDef(TypeDef   typeDef,
+                    boolean   isActive)
+    {
+        knownTypeDefGUIDs.put(typeDef.getGUID(), typeDef);
+        knownTypeDefNames.put(typeDef.getName(), typeDef);
+
+        if (isActive)
+        {
+            activeTypeDefGUIDs.put(typeDef.getGUID(), typeDef);
+            activeTypeDefNames.put(typeDef.getName(), typeDef);
+        }
+
+        typeDefsChanged = true;
+    }
+
+
+    /**
+     * Add a TypeDef that is used elsewhere in the cohort to the known types by name.
+     *
+     * @param typeDef type definition
+     */
+    void putKnownTypeDefName(TypeDef   typeDef)
+    {
+        knownTypeDefNames.put(typeDef.getName(), typeDef);
+
+        typeDefsChanged = true;
+    }
+
+
+    /**
+     * Remove a TypeDef.
+     *
+     * @param typeDefGUID unique identifier of the type
+     * @param typeDefName unique name of the type
+     * @param isActive whether to also remove the type from the active types
+     */
+    void removeTypeDef(String    typeDefGUID,
+                       String    typeDefName,
+                       boolean   isActive)
+    {
+        knownTypeDefGUIDs.remove(typeDefGUID);
+        knownTypeDefNames.remove(typeDefName);
+
+        if (isActive)
+        {
+            activeTypeDefGUIDs.remove(typeDefGUID);
+            activeTypeDefNames.remove(typeDefName);
+        }
+
+        typeDefsChanged = true;
+    }
+
+
+    /**
+     * Add or replace an AttributeTypeDef.
+     *
+     * @param attributeTypeDef attribute type definition
+     * @param isActive whether the type is supported by the local repository
+     */
+    void putAttributeTypeDef(AttributeTypeDef   attributeTypeDef,
+                             boolean            isActive)
+    {
+        knownAttributeTypeDefGUIDs.put(attributeTypeDef.getGUID(), attributeTypeDef);
+        knownAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
+
+        if (isActive)
+        {
+            activeAttributeTypeDefGUIDs.put(attributeTypeDef.getGUID(), attributeTypeDef);
+            activeAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
+        }
+    }
+
+
+    /**
+     * Add an AttributeTypeDef that is used elsewhere in the cohort to the known types by name.
+     *
+     * @param attributeTypeDef attribute type definition
+     */
+    void putKnownAttributeTypeDefName(AttributeTypeDef   attributeTypeDef)
+    {
+        knownAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
+    }
+
+
+    /**
+     * Add an AttributeTypeDef that has been accepted by the local repository to the active types by name.
+     *
+     * @param attributeTypeDef attribute type definition
+     */
+    void putActiveAttributeTypeDefName(AttributeTypeDef   attributeTypeDef)
+    {
+        activeAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
+    }
+
+
+    /**
+     * Remove an AttributeTypeDef.
+     *
+     * @param attributeTypeDefGUID unique identifier of the type
+     * @param attributeTypeDefName unique name of the type
+     * @param isActive whether to also remove the type from the active types
+     */
+    void removeAttributeTypeDef(String    attributeTypeDefGUID,
+                                String    attributeTypeDefName,
+                                boolean   isActive)
+    {
+        knownAttributeTypeDefGUIDs.remove(attributeTypeDefGUID);
+        knownAttributeTypeDefNames.remove(attributeTypeDefName);
+
+        if (isActive)
+        {
+            activeAttributeTypeDefGUIDs.remove(attributeTypeDefGUID);
+            activeAttributeTypeDefNames.remove(attributeTypeDefName);
+        }
+    }
+
+
+    /**
+     * Prepare the registry for publishing by rebuilding the type hierarchy if the TypeDefs have changed.
+     * The registry must not be changed after this call.
+     *
+     * @return this registry
+     */
+    TypeDefRegistry prepareForPublishing()
+    {
+        if (typeDefsChanged)
+        {
+            typeDefHierarchy = new TypeDefHierarchy(new ArrayList<>(knownTypeDefNames.values()));
+            typeDefsChanged = false;
+        }
+
+        return this;
+    }
+}
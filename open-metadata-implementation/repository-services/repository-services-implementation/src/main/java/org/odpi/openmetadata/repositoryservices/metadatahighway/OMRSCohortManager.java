@@ -31,6 +31,7 @@ public class OMRSCohortManager
     private OMRSRepositoryEventManager cohortRepositoryEventManager = null;
     private OMRSCohortRegistry         cohortRegistry               = null;
     private OMRSEventListener          cohortEventListener          = null;
+    private OMRSRepositoryEventPublisher cohortEventPublisher       = null;
     private CohortConnectionStatus     cohortConnectionStatus       = CohortConnectionStatus.NOT_INITIALIZED;
 
     private OMRSRepositoryEventManager localRepositoryEventManager  = null;
@@ -157,12 +158,25 @@ public class OMRSCohortManager
                     /*
                      * Register an event publisher with the local repository for this cohort.  This will mean
                      * other members of the cohort can receive events from the local server's repository.
+                     * The cohort topic's connection determines whether the instance events are batched.
                      */
+                    int   instanceBatchSize       = 1;
+                    long  instanceBatchLingerTime = 0;
+
+                    if (cohortTopicConnector != null)
+                    {
+                        instanceBatchSize = cohortTopicConnector.getInstanceBatchSize();
+                        instanceBatchLingerTime = cohortTopicConnector.getInstanceBatchLingerTime();
+                    }
+
                     OMRSRepositoryEventPublisher repositoryEventPublisher = new OMRSRepositoryEventPublisher(cohortName,
                                                                                                              cohortTopicConnector,
+                                                                                                             instanceBatchSize,
+                                                                                                             instanceBatchLingerTime,
                                                                                                              auditLog.createNewAuditLog(OMRSAuditingComponent.EVENT_PUBLISHER));
 
                     localRepositoryEventManager.registerRepositoryEventProcessor(repositoryEventPublisher);
+                    this.cohortEventPublisher = repositoryEventPublisher;
                 }
 
                 /*
@@ -309,6 +323,11 @@ public class OMRSCohortManager
                 cohortRegistry.disconnectFromCohort(permanent);
             }
 
+            if (cohortEventPublisher != null)
+            {
+                cohortEventPublisher.disconnect();
+            }
+
             if (cohortTopicConnector != null)
             {
                 cohortTopicConnector.disconnect();
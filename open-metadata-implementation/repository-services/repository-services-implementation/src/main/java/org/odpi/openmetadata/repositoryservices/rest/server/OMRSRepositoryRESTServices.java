@@ -1737,6 +1737,55 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return a list of entities in a single request.  Entities that can not be retrieved are reported in the
+     * failures of the returned batch.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return InstanceBatchResponse:
+     * InstanceBatch structure or
+     * InvalidParameterException the list of guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatchResponse getEntityDetails(String         serverName,
+                                                  String         userId,
+                                                  List<String>   guids)
+    {
+        final  String   methodName = "getEntityDetails";
+
+        log.debug("Calling method: " + methodName);
+
+        InstanceBatchResponse response = new InstanceBatchResponse();
+
+        try
+        {
+            OMRSMetadataCollection localMetadataCollection = validateLocalRepository(serverName, methodName);
+
+            response.setInstanceBatch(localMetadataCollection.getEntityDetails(userId, guids));
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -2907,6 +2956,55 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  Relationships that can not be retrieved are reported in the
+     * failures of the returned batch.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return InstanceBatchResponse:
+     * InstanceBatch structure or
+     * InvalidParameterException the list of guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceBatchResponse getRelationships(String         serverName,
+                                                  String         userId,
+                                                  List<String>   guids)
+    {
+        final  String   methodName = "getRelationships";
+
+        log.debug("Calling method: " + methodName);
+
+        InstanceBatchResponse response = new InstanceBatchResponse();
+
+        try
+        {
+            OMRSMetadataCollection localMetadataCollection = validateLocalRepository(serverName, methodName);
+
+            response.setInstanceBatch(localMetadataCollection.getRelationships(userId, guids));
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be broken into pages.
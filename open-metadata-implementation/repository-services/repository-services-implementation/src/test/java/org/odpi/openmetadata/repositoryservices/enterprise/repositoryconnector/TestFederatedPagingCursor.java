@@ -0,0 +1,210 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the merging of the members' results by the FederatedPagingCursor and the saving of cursors between pages.
+ */
+public class TestFederatedPagingCursor
+{
+    @Test
+    void testMergeInSequenceOrder()
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("one", "two");
+        Map<String, List<String>>     memberResults    = new HashMap<>();
+
+        memberResults.put("one", Arrays.asList("a", "c", "d", "f"));
+        memberResults.put("two", Arrays.asList("b", "c", "e"));
+
+        FederatedPagingCursor<EntityDetail> cursor = new FederatedPagingCursor<>(cohortConnectors, null, SequencingOrder.GUID);
+
+        assertEquals(getPage(cursor, memberResults, 0, 3), Arrays.asList("a", "b", "c"));
+        assertEquals(cursor.getPosition(), 3);
+        assertFalse(cursor.isComplete());
+
+        assertEquals(getPage(cursor, memberResults, 3, 3), Arrays.asList("d", "e", "f"));
+        assertEquals(getPage(cursor, memberResults, 6, 3), Collections.emptyList());
+        assertTrue(cursor.isComplete());
+    }
+
+
+    @Test
+    void testSkipToFromElement()
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("one", "two");
+        Map<String, List<String>>     memberResults    = new HashMap<>();
+
+        memberResults.put("one", Arrays.asList("a", "c", "e"));
+        memberResults.put("two", Arrays.asList("b", "d", "f"));
+
+        FederatedPagingCursor<EntityDetail> cursor = new FederatedPagingCursor<>(cohortConnectors, null, SequencingOrder.GUID);
+
+        assertEquals(getPage(cursor, memberResults, 2, 2), Arrays.asList("c", "d"));
+    }
+
+
+    @Test
+    void testDroppedResults()
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("one");
+        Map<String, List<String>>     memberResults    = new HashMap<>();
+
+        memberResults.put("one", Arrays.asList("a", "b", "c", "d", "e", "f"));
+
+        /*
+         * A result dropped during processing neither shortens the member's position nor ends its results.
+         */
+        FederatedPagingCursor<EntityDetail> cursor  = new FederatedPagingCursor<>(cohortConnectors, null, SequencingOrder.GUID);
+        Set<String>                         dropped = Collections.singleton("b");
+
+        assertEquals(getPage(cursor, memberResults, dropped, 0, 2), Arrays.asList("a", "c"));
+        assertEquals(getPage(cursor, memberResults, dropped, 2, 2), Arrays.asList("d", "e"));
+        assertEquals(getPage(cursor, memberResults, dropped, 4, 2), Collections.singletonList("f"));
+        assertTrue(cursor.isComplete());
+    }
+
+
+    @Test
+    void testCursorCache()
+    {
+        List<OMRSRepositoryConnector>            cohortConnectors = getCohortConnectors("one", "two");
+        FederatedPagingCursorCache<EntityDetail> cache            = new FederatedPagingCursorCache<>();
+
+        FederatedPagingCursor<EntityDetail> cursor = cache.getCursor("query", 0, cohortConnectors, null, SequencingOrder.GUID);
+        Map<String, List<String>>           memberResults = new HashMap<>();
+
+        memberResults.put("one", Arrays.asList("a", "c"));
+        memberResults.put("two", Arrays.asList("b", "d"));
+
+        getPage(cursor, memberResults, 0, 2);
+        cache.saveCursor("query", cohortConnectors, cursor);
+
+        assertNotSame(cache.getCursor("other", 2, cohortConnectors, null, SequencingOrder.GUID), cursor);
+        assertNotSame(cache.getCursor("query", 3, cohortConnectors, null, SequencingOrder.GUID), cursor);
+        assertSame(cache.getCursor("query", 2, cohortConnectors, null, SequencingOrder.GUID), cursor);
+
+        /*
+         * A cursor is only used once.
+         */
+        assertNotSame(cache.getCursor("query", 2, cohortConnectors, null, SequencingOrder.GUID), cursor);
+    }
+
+
+    /**
+     * Drive the cursor in the same way as the enterprise metadata collection, returning the GUIDs on the page.
+     *
+     * @param cursor cursor to use
+     * @param memberResults ordered GUIDs held by each member
+     * @param fromElement start of the page
+     * @param pageSize size of the page
+     * @return GUIDs on the page
+     */
+    private List<String> getPage(FederatedPagingCursor<EntityDetail> cursor,
+                                 Map<String, List<String>>           memberResults,
+                                 int                                 fromElement,
+                                 int                                 pageSize)
+    {
+        return getPage(cursor, memberResults, Collections.emptySet(), fromElement, pageSize);
+    }
+
+
+    /**
+     * Drive the cursor in the same way as the enterprise metadata collection, dropping the requested
+     * results as if they had failed processing, and return the GUIDs on the page.
+     *
+     * @param cursor cursor to use
+     * @param memberResults ordered GUIDs held by each member
+     * @param droppedGUIDs GUIDs removed when the members' results are processed
+     * @param fromElement start of the page
+     * @param pageSize size of the page
+     * @return GUIDs on the page
+     */
+    private List<String> getPage(FederatedPagingCursor<EntityDetail> cursor,
+                                 Map<String, List<String>>           memberResults,
+                                 Set<String>                         droppedGUIDs,
+                                 int                                 fromElement,
+                                 int                                 pageSize)
+    {
+        List<String> page = new ArrayList<>();
+
+        while (page.size() < pageSize)
+        {
+            int memberPageSize = Math.max(fromElement - cursor.getPosition(), 0) + pageSize;
+
+            List<OMRSRepositoryConnector> membersToQuery = cursor.getMembersToQuery(memberPageSize);
+
+            if (! membersToQuery.isEmpty())
+            {
+                for (OMRSRepositoryConnector member : membersToQuery)
+                {
+                    List<String> guids = memberResults.get(member.getMetadataCollectionId());
+                    int          start = Math.min(cursor.getMemberFromElement(member), guids.size());
+                    int          end   = Math.min(start + cursor.getMemberPageSize(member), guids.size());
+
+                    List<String> processedGUIDs = new ArrayList<>(guids.subList(start, end));
+
+                    processedGUIDs.removeAll(droppedGUIDs);
+                    cursor.addMemberResults(member, end - start, getEntities(processedGUIDs));
+                }
+            }
+            else if (cursor.isComplete())
+            {
+                break;
+            }
+            else
+            {
+                EntityDetail result = cursor.nextResult();
+
+                if ((result != null) && (cursor.getPosition() > fromElement))
+                {
+                    page.add(result.getGUID());
+                }
+            }
+        }
+
+        return page;
+    }
+
+
+    private List<EntityDetail> getEntities(List<String> guids)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+
+    private List<OMRSRepositoryConnector> getCohortConnectors(String... memberNames)
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = new ArrayList<>();
+
+        for (String name : memberNames)
+        {
+            OMRSRepositoryConnector cohortConnector = new OMRSRepositoryConnector()
+            {
+            };
+
+            cohortConnector.setMetadataCollectionId(name);
+            cohortConnectors.add(cohortConnector);
+        }
+
+        return cohortConnectors;
+    }
+}
@@ -0,0 +1,209 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.FederatedQueryExecutor.FederatedQueryResult;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the parallel issuing of requests to cohort members by the FederatedQueryExecutor.
+ */
+public class TestFederatedQueryExecutor
+{
+    @Test
+    void testResultsInCohortOrder() throws Throwable
+    {
+        FederatedQueryExecutor        executor         = new FederatedQueryExecutor("test", 4, 0, true);
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("slow", "fast", "failing");
+
+        try
+        {
+            List<FederatedQueryResult<String>> results = executor.issueQuery(cohortConnectors,
+                                                                             getMetadataCollections("slow", "fast", "failing"),
+                                                                             this::getMemberResult,
+                                                                             "testResultsInCohortOrder");
+
+            assertEquals(results.size(), 3);
+            assertEquals(results.get(0).getResult(), "slow");
+            assertEquals(results.get(1).getResult(), "fast");
+            assertSame(results.get(2).getCohortConnector(), cohortConnectors.get(2));
+            expectException(results.get(2), UserNotAuthorizedException.class);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    void testPartialResults() throws Throwable
+    {
+        FederatedQueryExecutor        executor         = new FederatedQueryExecutor("test", 4, 200, true);
+        List<OMRSRepositoryConnector> cohortConnectors = getCohortConnectors("fast", "hung");
+
+        try
+        {
+            long startTime = System.currentTimeMillis();
+
+            List<FederatedQueryResult<String>> results = executor.issueQuery(cohortConnectors,
+                                                                             getMetadataCollections("fast", "hung"),
+                                                                             this::getMemberResult,
+                                                                             "testPartialResults");
+
+            assertTrue(System.currentTimeMillis() - startTime < 5000);
+            assertEquals(results.get(0).getResult(), "fast");
+            expectException(results.get(1), RepositoryErrorException.class);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    void testNoPartialResults()
+    {
+        FederatedQueryExecutor executor = new FederatedQueryExecutor("test", 4, 200, false);
+
+        try
+        {
+            executor.issueQuery(getCohortConnectors("fast", "hung"),
+                                getMetadataCollections("fast", "hung"),
+                                this::getMemberResult,
+                                "testNoPartialResults");
+            fail("Timeout not reported");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertTrue(error.getErrorMessage().contains("hung"));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    void testSequentialExecution() throws Throwable
+    {
+        FederatedQueryExecutor             executor      = new FederatedQueryExecutor("test", 1, 0, true);
+        final Thread                       callingThread = Thread.currentThread();
+
+        List<FederatedQueryResult<Thread>> results = executor.issueQuery(getCohortConnectors("one", "two"),
+                                                                         getMetadataCollections("one", "two"),
+                                                                         metadataCollection -> Thread.currentThread(),
+                                                                         "testSequentialExecution");
+
+        assertSame(results.get(0).getResult(), callingThread);
+        assertSame(results.get(1).getResult(), callingThread);
+    }
+
+
+    /**
+     * Simulate the behavior of a cohort member based on its name.
+     *
+     * @param metadataCollection metadata collection for the member
+     * @return member name
+     * @throws Exception simulated error
+     */
+    private String getMemberResult(OMRSMetadataCollection metadataCollection) throws Exception
+    {
+        String member = ((TestMemberCollection) metadataCollection).getMemberName();
+
+        switch (member)
+        {
+            case "slow":
+                Thread.sleep(300);
+                return member;
+
+            case "hung":
+                Thread.sleep(60000);
+                return member;
+
+            case "failing":
+                throw new UserNotAuthorizedException(401, this.getClass().getName(), "getMemberResult", "test", "test", "test");
+
+            default:
+                return member;
+        }
+    }
+
+
+    private List<OMRSRepositoryConnector> getCohortConnectors(String... memberNames)
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = new ArrayList<>();
+
+        for (String name : memberNames)
+        {
+            OMRSRepositoryConnector cohortConnector = new OMRSRepositoryConnector()
+            {
+            };
+
+            cohortConnector.setMetadataCollectionId(name);
+            cohortConnectors.add(cohortConnector);
+        }
+
+        return cohortConnectors;
+    }
+
+
+    private List<OMRSMetadataCollection> getMetadataCollections(String... memberNames)
+    {
+        List<OMRSMetadataCollection> metadataCollections = new ArrayList<>();
+
+        for (String name : memberNames)
+        {
+            metadataCollections.add(new TestMemberCollection(name));
+        }
+
+        return metadataCollections;
+    }
+
+
+    private void expectException(FederatedQueryResult<?> result, Class<? extends Exception> exceptionClass)
+    {
+        try
+        {
+            result.getResult();
+            fail("Exception not returned");
+        }
+        catch (Throwable error)
+        {
+            assertEquals(error.getClass(), exceptionClass);
+        }
+    }
+
+
+    /**
+     * Metadata collection that identifies the cohort member it belongs to.
+     */
+    private static class TestMemberCollection extends OMRSMetadataCollectionBase
+    {
+        private String memberName;
+
+        @SuppressWarnings("deprecation")
+        TestMemberCollection(String memberName)
+        {
+            super(memberName);
+            this.memberName = memberName;
+        }
+
+        String getMemberName()
+        {
+            return memberName;
+        }
+    }
+}
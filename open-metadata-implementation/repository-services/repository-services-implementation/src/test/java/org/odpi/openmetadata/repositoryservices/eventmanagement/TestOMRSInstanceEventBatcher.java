@@ -0,0 +1,224 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.eventmanagement;
+
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that OMRSRepositoryEventPublisher gathers instance events into batch events.
+ */
+public class TestOMRSInstanceEventBatcher
+{
+    /**
+     * Updates to the same entity are coalesced and the entities are sent in a single batch event.
+     */
+    @Test
+    public void testCoalescedBatch()
+    {
+        TestTopicConnector           topicConnector = new TestTopicConnector();
+        OMRSRepositoryEventPublisher publisher      = new OMRSRepositoryEventPublisher("Test", topicConnector, 10, 60000, null);
+
+        publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, getEntity("GUID1", 1)));
+        publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, getEntity("GUID2", 1)));
+        publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity("GUID1", 2)));
+
+        assertTrue(topicConnector.sentEvents.isEmpty());
+
+        publisher.disconnect();
+
+        assertTrue(topicConnector.sentEvents.size() == 1);
+
+        OMRSInstanceEvent batchEvent = topicConnector.sentEvents.get(0);
+
+        assertTrue(batchEvent.getInstanceEventType() == OMRSInstanceEventType.BATCH_INSTANCES_EVENT);
+        assertTrue(batchEvent.getInstanceBatch().getEntities().size() == 2);
+        assertTrue(batchEvent.getInstanceBatch().getEntities().get(0).getVersion() == 2);
+    }
+
+
+    /**
+     * A full batch is sent straight away and an event that can not be batched is sent after the pending batch.
+     */
+    @Test
+    public void testBatchSizeAndOrdering()
+    {
+        TestTopicConnector           topicConnector = new TestTopicConnector();
+        OMRSRepositoryEventPublisher publisher      = new OMRSRepositoryEventPublisher("Test", topicConnector, 2, 60000, null);
+
+        publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, getEntity("GUID1", 1)));
+        publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, getEntity("GUID2", 1)));
+
+        assertTrue(topicConnector.sentEvents.size() == 1);
+
+        publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, getEntity("GUID3", 1)));
+        publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.PURGED_ENTITY_EVENT,
+                                                                  "TypeGUID",
+                                                                  "TestType",
+                                                                  "GUID1"));
+
+        assertTrue(topicConnector.sentEvents.size() == 3);
+        assertTrue(topicConnector.sentEvents.get(1).getInstanceEventType() == OMRSInstanceEventType.NEW_ENTITY_EVENT);
+        assertTrue(topicConnector.sentEvents.get(2).getInstanceEventType() == OMRSInstanceEventType.PURGED_ENTITY_EVENT);
+
+        publisher.disconnect();
+    }
+
+
+    /**
+     * The linger time limits how long an event waits for its batch to fill.
+     *
+     * @throws Exception interrupted
+     */
+    @Test
+    public void testLingerTime() throws Exception
+    {
+        TestTopicConnector           topicConnector = new TestTopicConnector();
+        OMRSRepositoryEventPublisher publisher      = new OMRSRepositoryEventPublisher("Test", topicConnector, 100, 10, null);
+
+        publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, getEntity("GUID1", 1)));
+
+        for (int i = 0; (i < 500) && (topicConnector.sentEvents.isEmpty()); i++)
+        {
+            Thread.sleep(10);
+        }
+
+        assertTrue(topicConnector.sentEvents.size() == 1);
+
+        publisher.disconnect();
+    }
+
+
+    /**
+     * Events are added to the next batch while an earlier event is being published, and the events are
+     * published in the order they were sent.
+     *
+     * @throws Exception interrupted or timed out
+     */
+    @Test
+    public void testPublishOutsideLock() throws Exception
+    {
+        BlockedTopicConnector        topicConnector = new BlockedTopicConnector();
+        OMRSRepositoryEventPublisher publisher      = new OMRSRepositoryEventPublisher("Test", topicConnector, 10, 60000, null);
+        ExecutorService              executor       = Executors.newFixedThreadPool(2);
+
+        try
+        {
+            Future<?> blockedSend = executor.submit(() -> publisher.sendInstanceEvent("Test",
+                                                                                      new OMRSInstanceEvent(OMRSInstanceEventType.PURGED_ENTITY_EVENT,
+                                                                                                            "TypeGUID",
+                                                                                                            "TestType",
+                                                                                                            "GUID1")));
+
+            assertTrue(topicConnector.publishing.await(10, TimeUnit.SECONDS));
+
+            /*
+             * The batcher's lock is not held while the first event is published, so new events are batched.
+             */
+            executor.submit(() -> publisher.sendInstanceEvent("Test",
+                                                              new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT,
+                                                                                    getEntity("GUID2", 1)))).get(10, TimeUnit.SECONDS);
+            publisher.sendInstanceEvent("Test", new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, getEntity("GUID3", 1)));
+
+            topicConnector.release.countDown();
+            blockedSend.get(10, TimeUnit.SECONDS);
+            publisher.disconnect();
+
+            assertTrue(topicConnector.sentEvents.size() == 2);
+            assertTrue(topicConnector.sentEvents.get(0).getInstanceEventType() == OMRSInstanceEventType.PURGED_ENTITY_EVENT);
+            assertTrue(topicConnector.sentEvents.get(1).getInstanceEventType() == OMRSInstanceEventType.BATCH_INSTANCES_EVENT);
+        }
+        finally
+        {
+            topicConnector.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Return an entity.
+     *
+     * @param guid unique identifier
+     * @param version version number
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return entity;
+    }
+
+
+    /**
+     * TestTopicConnector saves the instance events it is asked to send.
+     */
+    private static class TestTopicConnector extends OMRSTopicConnector
+    {
+        List<OMRSInstanceEvent> sentEvents = Collections.synchronizedList(new ArrayList<>());
+
+
+        /**
+         * Save the event.
+         *
+         * @param instanceEvent event to send
+         */
+        @Override
+        public void sendInstanceEvent(OMRSInstanceEvent instanceEvent)
+        {
+            sentEvents.add(instanceEvent);
+        }
+    }
+
+
+    /**
+     * BlockedTopicConnector waits to be released before it saves the first instance event it is asked to send.
+     */
+    private static class BlockedTopicConnector extends TestTopicConnector
+    {
+        private CountDownLatch publishing = new CountDownLatch(1);
+        private CountDownLatch release    = new CountDownLatch(1);
+
+
+        /**
+         * Wait to be released then save the event.
+         *
+         * @param instanceEvent event to send
+         */
+        @Override
+        public void sendInstanceEvent(OMRSInstanceEvent instanceEvent)
+        {
+            publishing.countDown();
+
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            super.sendInstanceEvent(instanceEvent);
+        }
+    }
+}
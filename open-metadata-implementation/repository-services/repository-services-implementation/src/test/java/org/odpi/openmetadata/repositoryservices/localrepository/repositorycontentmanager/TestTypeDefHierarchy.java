@@ -0,0 +1,103 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the type hierarchy maintained by the OMRSRepositoryContentManager.
+ */
+public class TestTypeDefHierarchy
+{
+    private static final String sourceName = "TestTypeDefHierarchy";
+
+
+    @Test
+    void testIsTypeOf()
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager(null);
+
+        contentManager.addTypeDef(sourceName, getTypeDef("Referenceable", null));
+        contentManager.addTypeDef(sourceName, getTypeDef("Asset", "Referenceable"));
+        contentManager.addTypeDef(sourceName, getTypeDef("DataSet", "Asset"));
+        contentManager.addTypeDef(sourceName, getTypeDef("Process", "Asset"));
+
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "DataSet"));
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Asset"));
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Referenceable"));
+        assertFalse(contentManager.isTypeOf(sourceName, "DataSet", "Process"));
+        assertFalse(contentManager.isTypeOf(sourceName, "Asset", "DataSet"));
+        assertFalse(contentManager.isTypeOf(sourceName, "Asset", "Unknown"));
+        assertFalse(contentManager.isTypeOf(sourceName, null, "Asset"));
+
+        assertEquals(new HashSet<>(contentManager.getSubTypesOf(sourceName, "Referenceable")),
+                     new HashSet<>(Arrays.asList("Asset", "DataSet", "Process")));
+        assertEquals(contentManager.getSubTypesOf(sourceName, "Asset").size(), 2);
+        assertNull(contentManager.getSubTypesOf(sourceName, "DataSet"));
+    }
+
+
+    @Test
+    void testHierarchyChanges()
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager(null);
+
+        /*
+         * A type is not in the hierarchy until its supertypes are known.
+         */
+        contentManager.addTypeDef(sourceName, getTypeDef("DataSet", "Asset"));
+
+        try
+        {
+            contentManager.isTypeOf(sourceName, "DataSet", "Asset");
+            fail("Type with unknown supertype accepted");
+        }
+        catch (OMRSLogicErrorException error)
+        {
+            /* expected */
+        }
+
+        contentManager.addTypeDef(sourceName, getTypeDef("Asset", null));
+
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Asset"));
+
+        contentManager.updateTypeDef(sourceName, getTypeDef("Referenceable", null));
+        contentManager.updateTypeDef(sourceName, getTypeDef("Asset", "Referenceable"));
+
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Referenceable"));
+
+        contentManager.reIdentifyTypeDef(sourceName, "Asset-GUID", "Asset", getTypeDef("Asset2", "Referenceable"));
+
+        assertEquals(contentManager.getSubTypesOf(sourceName, "Referenceable"), Collections.singletonList("Asset2"));
+    }
+
+
+    private EntityDef getTypeDef(String typeName,
+                                 String superTypeName)
+    {
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setGUID(typeName + "-GUID");
+        typeDef.setName(typeName);
+        typeDef.setVersion(1);
+        typeDef.setVersionName("1.0");
+
+        if (superTypeName != null)
+        {
+            TypeDefLink superType = new TypeDefLink();
+
+            superType.setGUID(superTypeName + "-GUID");
+            superType.setName(superTypeName);
+            typeDef.setSuperType(superType);
+        }
+
+        return typeDef;
+    }
+}
@@ -0,0 +1,102 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the copy-on-write TypeDefRegistry used by the OMRSRepositoryContentManager.
+ */
+public class TestTypeDefRegistry
+{
+    private static final String sourceName = "TestTypeDefRegistry";
+
+
+    @Test
+    void testCopyIsIndependent()
+    {
+        TypeDefRegistry original = new TypeDefRegistry();
+
+        original.putTypeDef(getTypeDef("Asset", null), true);
+        original.prepareForPublishing();
+
+        TypeDefRegistry copy = new TypeDefRegistry(original);
+
+        copy.putTypeDef(getTypeDef("DataSet", "Asset"), false);
+        copy.prepareForPublishing();
+
+        assertNull(original.knownTypeDefNames.get("DataSet"));
+        assertFalse(original.typeDefHierarchy.isKnownType("DataSet"));
+        assertNotNull(copy.knownTypeDefNames.get("DataSet"));
+        assertNull(copy.activeTypeDefNames.get("DataSet"));
+        assertTrue(copy.typeDefHierarchy.isTypeOf("DataSet", "Asset"));
+    }
+
+
+    @Test
+    void testReadsDuringUpdates() throws InterruptedException
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager(null);
+        AtomicReference<Throwable>   readError      = new AtomicReference<>();
+
+        contentManager.addTypeDef(sourceName, getTypeDef("Asset", null));
+
+        Thread reader = new Thread(() ->
+        {
+            try
+            {
+                for (int i = 0; i < 10000; i++)
+                {
+                    assertTrue(contentManager.isTypeOf(sourceName, "Asset", "Asset"));
+                    assertNotNull(contentManager.getTypeDefByName(sourceName, "Asset"));
+                    contentManager.getKnownTypeDefGallery();
+                }
+            }
+            catch (Throwable error)
+            {
+                readError.set(error);
+            }
+        });
+
+        reader.start();
+
+        for (int i = 0; i < 200; i++)
+        {
+            contentManager.addTypeDef(sourceName, getTypeDef("Type" + i, "Asset"));
+        }
+
+        reader.join();
+
+        assertNull(readError.get());
+        assertEquals(contentManager.getSubTypesOf(sourceName, "Asset").size(), 200);
+    }
+
+
+    private EntityDef getTypeDef(String typeName,
+                                 String superTypeName)
+    {
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setGUID(typeName + "-GUID");
+        typeDef.setName(typeName);
+        typeDef.setVersion(1);
+        typeDef.setVersionName("1.0");
+
+        if (superTypeName != null)
+        {
+            TypeDefLink superType = new TypeDefLink();
+
+            superType.setGUID(superTypeName + "-GUID");
+            superType.setName(superTypeName);
+            typeDef.setSuperType(superType);
+        }
+
+        return typeDef;
+    }
+}
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.repositoryservices.rest.server.OMRSRepositoryRESTSe
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Date;
+import java.util.List;
 
 /**
  * OMRSRepositoryRESTServices provides the server-side support for the OMRS Repository REST Services API.
@@ -780,6 +781,30 @@ public class RepositoryServicesResource
     }
 
 
+    /**
+     * Return a list of entities in a single request.  Entities that can not be retrieved are reported in the
+     * failures of the returned batch.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return InstanceBatchResponse:
+     * InstanceBatch structure or
+     * InvalidParameterException the list of guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/users/{userId}/instances/entities/by-guids")
+
+    public InstanceBatchResponse getEntityDetails(@PathVariable String         serverName,
+                                                  @PathVariable String         userId,
+                                                  @RequestBody  List<String>   guids)
+    {
+        return restAPI.getEntityDetails(serverName, userId, guids);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1132,6 +1157,30 @@ public class RepositoryServicesResource
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  Relationships that can not be retrieved are reported in the
+     * failures of the returned batch.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return InstanceBatchResponse:
+     * InstanceBatch structure or
+     * InvalidParameterException the list of guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/users/{userId}/instances/relationships/by-guids")
+
+    public InstanceBatchResponse getRelationships(@PathVariable String         serverName,
+                                                  @PathVariable String         userId,
+                                                  @RequestBody  List<String>   guids)
+    {
+        return restAPI.getRelationships(serverName, userId, guids);
+    }
+
+
     /**
      * Return a list of relationships that match the requested properties by the matching criteria.   The results
      * can be broken into pages.